@@ -27,10 +27,28 @@ import com.github.lukesky19.skyshop.database.ConnectionManager;
 import com.github.lukesky19.skyshop.database.DatabaseManager;
 import com.github.lukesky19.skyshop.database.QueueManager;
 import com.github.lukesky19.skyshop.gui.GUIManager;
+import com.github.lukesky19.skyshop.listener.AutoSellListener;
+import com.github.lukesky19.skyshop.listener.SellWandListener;
 import com.github.lukesky19.skyshop.listener.InventoryListener;
+import com.github.lukesky19.skyshop.listener.PlayerListener;
+import com.github.lukesky19.skyshop.manager.AnalysisManager;
+import com.github.lukesky19.skyshop.manager.AutoSellManager;
+import com.github.lukesky19.skyshop.manager.SellWandManager;
+import com.github.lukesky19.skyshop.manager.CommandQueueManager;
+import com.github.lukesky19.skyshop.manager.CurrencyManager;
+import com.github.lukesky19.skyshop.manager.EconomyManager;
+import com.github.lukesky19.skyshop.manager.PlayerDataManager;
+import com.github.lukesky19.skyshop.manager.PlayerLimitManager;
+import com.github.lukesky19.skyshop.manager.PendingCreditManager;
 import com.github.lukesky19.skyshop.manager.PriceManager;
+import com.github.lukesky19.skyshop.manager.PriceTierManager;
+import com.github.lukesky19.skyshop.manager.SaleScheduleManager;
+import com.github.lukesky19.skyshop.manager.SellMultiplierManager;
+import com.github.lukesky19.skyshop.manager.ShopIndexManager;
 import com.github.lukesky19.skyshop.manager.StatsManager;
+import com.github.lukesky19.skyshop.manager.StockManager;
 import com.github.lukesky19.skyshop.manager.TaskManager;
+import com.github.lukesky19.skyshop.manager.TransactionItemManager;
 import io.papermc.paper.plugin.lifecycle.event.types.LifecycleEvents;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.milkbowl.vault.economy.Economy;
@@ -45,6 +63,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This class is the entry point to the plugin.
@@ -54,13 +73,35 @@ public final class SkyShop extends JavaPlugin {
     private SettingsManager settingsManager;
     private LocaleManager localeManager;
     private MenuManager menuManager;
+    private PricingRulesManager pricingRulesManager;
+    private LimitsManager limitsManager;
+    private MultipliersManager multipliersManager;
+    private CurrenciesManager currenciesManager;
+    private SalesManager salesManager;
+    private ImportManager importManager;
+    private ShopIndexManager shopIndexManager;
+    private AnalysisManager analysisManager;
     private ShopManager shopManager;
     private TransactionManager transactionManager;
+    private CommandQueueManager commandQueueManager;
     private SellAllManager sellAllManager;
     private DatabaseManager databaseManager;
     private StatsManager statsManager;
+    private StockManager stockManager;
+    private PriceTierManager priceTierManager;
+    private TransactionItemManager transactionItemManager;
+    private PlayerDataManager playerDataManager;
+    private PlayerLimitManager playerLimitManager;
+    private SellMultiplierManager sellMultiplierManager;
+    private AutoSellManager autoSellManager;
+    private SellWandManager sellWandManager;
     private TaskManager taskManager;
+    private EconomyManager economyManager;
+    private PendingCreditManager pendingCreditManager;
+    private CurrencyManager currencyManager;
     private GUIManager guiManager;
+    private SkyShopAPI skyShopAPI;
+    private SaleScheduleManager saleScheduleManager;
 
     // The plugin is disabled if the Economy fails to be created so Economy will always be non-null.
     @SuppressWarnings("NotNullFieldNotInitialized")
@@ -79,6 +120,134 @@ public final class SkyShop extends JavaPlugin {
         return this.economy;
     }
 
+    /**
+     * Get the {@link LocaleManager} used to get the plugin's messages.
+     * @return The {@link LocaleManager}.
+     */
+    public @NotNull LocaleManager getLocaleManager() {
+        return this.localeManager;
+    }
+
+    /**
+     * Get the {@link MenuManager} used to get the menu configuration.
+     * @return The {@link MenuManager}.
+     */
+    public @NotNull MenuManager getMenuManager() {
+        return this.menuManager;
+    }
+
+    /**
+     * Get the {@link ShopManager} used to get the shop configurations.
+     * @return The {@link ShopManager}.
+     */
+    public @NotNull ShopManager getShopManager() {
+        return this.shopManager;
+    }
+
+    /**
+     * Get the {@link TransactionManager} used to get the transaction styles.
+     * @return The {@link TransactionManager}.
+     */
+    public @NotNull TransactionManager getTransactionManager() {
+        return this.transactionManager;
+    }
+
+    /**
+     * Get the {@link CommandQueueManager} used to queue the commands of COMMAND transactions.
+     * @return The {@link CommandQueueManager}.
+     */
+    public @NotNull CommandQueueManager getCommandQueueManager() {
+        return this.commandQueueManager;
+    }
+
+    /**
+     * Get the {@link StockManager} used to track the stock of transactions.
+     * @return The {@link StockManager}.
+     */
+    public @NotNull StockManager getStockManager() {
+        return this.stockManager;
+    }
+
+    /**
+     * Get the {@link PlayerDataManager} used to get the data of online players.
+     * @return The {@link PlayerDataManager}.
+     */
+    public @NotNull PlayerDataManager getPlayerDataManager() {
+        return this.playerDataManager;
+    }
+
+    /**
+     * Get the {@link PlayerLimitManager} used to check the purchase and sell limits of players.
+     * @return The {@link PlayerLimitManager}.
+     */
+    public @NotNull PlayerLimitManager getPlayerLimitManager() {
+        return this.playerLimitManager;
+    }
+
+    /**
+     * Get the {@link SellAllManager} used to get the sellall GUI configuration.
+     * @return The {@link SellAllManager}.
+     */
+    public @NotNull SellAllManager getSellAllManager() {
+        return this.sellAllManager;
+    }
+
+    /**
+     * Get the {@link StatsManager} used to track statistics.
+     * @return The {@link StatsManager}. Will be null if statistics are disabled.
+     */
+    public @Nullable StatsManager getStatsManager() {
+        return this.statsManager;
+    }
+
+    /**
+     * Get the {@link SkyShopAPI} registered by the plugin.
+     * @return The {@link SkyShopAPI}.
+     */
+    public @NotNull SkyShopAPI getSkyShopAPI() {
+        return this.skyShopAPI;
+    }
+
+    /**
+     * Get the {@link EconomyManager} used to make economy calls.
+     * @return The {@link EconomyManager}.
+     */
+    public @NotNull EconomyManager getEconomyManager() {
+        return this.economyManager;
+    }
+
+    /**
+     * Get the {@link PendingCreditManager} used to deposit the money from sales.
+     * @return The {@link PendingCreditManager}.
+     */
+    public @NotNull PendingCreditManager getPendingCreditManager() {
+        return this.pendingCreditManager;
+    }
+
+    /**
+     * Get the {@link CurrencyManager} used to look up the currencies of transactions.
+     * @return The {@link CurrencyManager}.
+     */
+    public @NotNull CurrencyManager getCurrencyManager() {
+        return this.currencyManager;
+    }
+
+    /**
+     * Get the {@link PriceTierManager} used to look up the tiered prices of transactions.
+     * @return The {@link PriceTierManager}.
+     */
+    public @NotNull PriceTierManager getPriceTierManager() {
+        return this.priceTierManager;
+    }
+
+    /**
+     * Get the {@link TransactionItemManager} used to look up the items bought and sold by transactions.
+     * @return The {@link TransactionItemManager}.
+     */
+    public @NotNull TransactionItemManager getTransactionItemManager() {
+        return this.transactionItemManager;
+    }
+
     /**
      * Startup logic
     */
@@ -92,53 +261,101 @@ public final class SkyShop extends JavaPlugin {
         // Set up bstats.
         setupBStats();
 
+        // Set up database related classes. Stock is always stored, so the database is created even if stats are disabled.
+        ConnectionManager connectionManager = new ConnectionManager(this);
+        QueueManager queueManager = new QueueManager(connectionManager);
+        databaseManager = new DatabaseManager(this, connectionManager, queueManager);
+        stockManager = new StockManager(this, databaseManager);
+        playerDataManager = new PlayerDataManager(this, databaseManager);
+
         // Set up configuration manager classes
         this.settingsManager = new SettingsManager(this);
         this.localeManager = new LocaleManager(this, this.settingsManager);
-        PriceManager priceManager = new PriceManager(this);
+        this.pricingRulesManager = new PricingRulesManager(this);
+        PriceManager priceManager = new PriceManager(this, pricingRulesManager);
+        this.limitsManager = new LimitsManager(this);
+        playerLimitManager = new PlayerLimitManager(this, limitsManager, playerDataManager);
+        this.multipliersManager = new MultipliersManager(this);
+        sellMultiplierManager = new SellMultiplierManager(this, multipliersManager, playerDataManager, databaseManager);
+        this.currenciesManager = new CurrenciesManager(this);
+        currencyManager = new CurrencyManager(this, currenciesManager);
+        this.salesManager = new SalesManager(this);
         this.menuManager = new MenuManager(this);
-        this.shopManager = new ShopManager(this, settingsManager, priceManager);
+        this.importManager = new ImportManager(this);
+        this.shopIndexManager = new ShopIndexManager(this);
+        this.analysisManager = new AnalysisManager(this, priceManager);
+        priceTierManager = new PriceTierManager(this);
+        transactionItemManager = new TransactionItemManager(this);
+        this.shopManager = new ShopManager(this, settingsManager, priceManager, importManager, shopIndexManager, analysisManager, stockManager, priceTierManager, transactionItemManager);
         transactionManager = new TransactionManager(this);
+        commandQueueManager = new CommandQueueManager(this);
         sellAllManager = new SellAllManager(this);
 
         // Create the gui manager class
         guiManager = new GUIManager(this);
 
+        // Create the sale schedule manager, which re-renders the open GUIs when a sale starts or ends
+        saleScheduleManager = new SaleScheduleManager(this, salesManager, priceManager, priceTierManager, guiManager);
+
         // Register listeners
         Bukkit.getPluginManager().registerEvents(new InventoryListener(guiManager), this);
 
         // Reload the plugin data
         reload();
 
+        // Load the remaining stock from the database
+        stockManager.loadStock();
+
+        // Load the global sell boosters from the database
+        sellMultiplierManager.loadGlobalBoosters();
+
+        // Load the player data of any players already online
+        Bukkit.getOnlinePlayers().forEach(player -> playerDataManager.loadPlayerData(player.getUniqueId()));
+
         // Get the plugin's settings and whether or not statistics should be tracked.
         @Nullable Settings settings = settingsManager.getSettingsConfig();
         boolean statistics = Objects.requireNonNullElse(settings != null ? settings.statistics() : null, false);
+        boolean asyncEconomy = settings != null && settings.asyncEconomy();
 
-        // If statistics are to be tracked, setup the ConnectionManager, QueueManager, DatabaseManager, StatsManager, TaskManager, and start the save stats task.
-        if(statistics) {
-            // Setup database related classes classes.
-            ConnectionManager connectionManager = new ConnectionManager(this);
-            QueueManager queueManager = new QueueManager(connectionManager);
-            databaseManager = new DatabaseManager(this, connectionManager, queueManager);
+        // Setup the economy manager class and start reconciling completed economy calls.
+        economyManager = new EconomyManager(this, asyncEconomy, settings != null ? settings.economyCircuitBreaker() : null);
+        economyManager.start();
+
+        // Setup the pending credit manager class, which coalesces sale deposits and pays any journaled credits.
+        pendingCreditManager = new PendingCreditManager(this, databaseManager, settings != null ? settings.depositCoalescing() : null);
+        pendingCreditManager.start();
+        Bukkit.getPluginManager().registerEvents(new PlayerListener(playerDataManager, economyManager), this);
 
+        // If statistics are to be tracked, setup the StatsManager.
+        if(statistics) {
             // Setup the stats manager class.
             statsManager = new StatsManager(this.getComponentLogger(), databaseManager);
             // Loads stats from the database
             statsManager.loadStats();
-
-            // Setup the task manager class.
-            taskManager = new TaskManager(this, statsManager);
-            // Start the save stats task.
-            taskManager.startSaveStatsTask();
         }
 
+        // Setup the auto-sell manager class and register its listener.
+        autoSellManager = new AutoSellManager(this, localeManager, priceManager, playerDataManager, playerLimitManager, sellMultiplierManager, statsManager);
+        Bukkit.getPluginManager().registerEvents(new AutoSellListener(autoSellManager), this);
+
+        // Setup the task manager class and start the save tasks.
+        taskManager = new TaskManager(this, statsManager, stockManager, playerDataManager, autoSellManager);
+        taskManager.startSaveStatsTask();
+        taskManager.startSaveStockTask();
+        taskManager.startSavePlayerDataTask();
+        taskManager.startAutoSellFlushTask();
+
         // Create and register the SkyShopAPI
-        SkyShopAPI skyShopAPI = new SkyShopAPI(this, localeManager, priceManager, statsManager);
+        skyShopAPI = new SkyShopAPI(this, localeManager, priceManager, shopIndexManager, statsManager, playerDataManager, playerLimitManager, sellMultiplierManager);
         this.getServer().getServicesManager().register(SkyShopAPI.class, skyShopAPI, this, ServicePriority.Lowest);
 
+        // Setup the sell wand manager class and register its listener.
+        sellWandManager = new SellWandManager(this, localeManager, skyShopAPI);
+        Bukkit.getPluginManager().registerEvents(new SellWandListener(sellWandManager), this);
+
         // Register commands
-        SkyShopCommand skyShopCommand = new SkyShopCommand(this, guiManager, localeManager, menuManager, shopManager, transactionManager, sellAllManager, statsManager, skyShopAPI);
-        SellCommand sellCommand = new SellCommand(skyShopAPI);
+        SkyShopCommand skyShopCommand = new SkyShopCommand(this, guiManager, localeManager, importManager, shopManager, shopIndexManager, analysisManager, sellMultiplierManager, sellWandManager, sellAllManager, statsManager, skyShopAPI);
+        SellCommand sellCommand = new SellCommand(localeManager, autoSellManager, skyShopAPI);
 
         this.getLifecycleManager().registerEventHandler(LifecycleEvents.COMMANDS, commands -> {
             commands.registrar().register(skyShopCommand.createCommand(),
@@ -151,40 +368,80 @@ public final class SkyShop extends JavaPlugin {
 
     @Override
     public void onDisable() {
+        if(saleScheduleManager != null) saleScheduleManager.stop();
         if(guiManager != null) guiManager.closeOpenGUIs(true);
 
-        if(taskManager != null) taskManager.stopSaveStatsTask();
+        if(commandQueueManager != null) commandQueueManager.flush();
+
+        if(sellWandManager != null) sellWandManager.finishAll();
+        if(autoSellManager != null) autoSellManager.flush();
+
+        // Pay any pending credits, then finish any economy calls still queued so their transactions are settled before data is saved.
+        if(pendingCreditManager != null) pendingCreditManager.stop();
+        if(economyManager != null) economyManager.shutdown();
+
+        if(taskManager != null) {
+            taskManager.stopSaveStatsTask();
+            taskManager.stopSaveStockTask();
+            taskManager.stopSavePlayerDataTask();
+            taskManager.stopAutoSellFlushTask();
+        }
+
+        if(databaseManager == null) return;
 
+        CompletableFuture<Void> saveStatsFuture = CompletableFuture.completedFuture(null);
         if(statsManager != null) {
-            statsManager.saveStats().thenAccept(results -> {
-                boolean finalResult = !results.contains(false);
-
-                if (finalResult) {
-                    databaseManager.handlePluginDisable();
-                } else {
-                    this.getComponentLogger().warn(AdventureUtil.serialize("Failed to save stats on plugin disable. Data loss will occur."));
-                    databaseManager.handlePluginDisable();
-                }
+            saveStatsFuture = statsManager.saveStats().thenAccept(results -> {
+                if(results.contains(false)) this.getComponentLogger().warn(AdventureUtil.serialize("Failed to save stats on plugin disable. Data loss will occur."));
             }).exceptionally(ex -> {
                 this.getComponentLogger().warn(AdventureUtil.serialize("Failed to save stats on plugin disable. Data loss will occur."));
-                databaseManager.handlePluginDisable();
                 return null;
             });
         }
+
+        CompletableFuture<Void> saveStockFuture = CompletableFuture.completedFuture(null);
+        if(stockManager != null) {
+            saveStockFuture = stockManager.saveStock().thenAccept(result -> {
+                if(!result) this.getComponentLogger().warn(AdventureUtil.serialize("Failed to save stock on plugin disable. Data loss will occur."));
+            });
+        }
+
+        CompletableFuture<Void> savePlayerDataFuture = CompletableFuture.completedFuture(null);
+        if(playerDataManager != null) {
+            savePlayerDataFuture = playerDataManager.savePlayerData().thenAccept(result -> {
+                if(!result) this.getComponentLogger().warn(AdventureUtil.serialize("Failed to save player data on plugin disable. Data loss will occur."));
+            });
+        }
+
+        CompletableFuture<Void> pendingCreditsFuture = pendingCreditManager != null ? pendingCreditManager.getPendingWrites() : CompletableFuture.completedFuture(null);
+
+        CompletableFuture.allOf(saveStatsFuture, saveStockFuture, savePlayerDataFuture, pendingCreditsFuture).whenComplete((unused, throwable) -> databaseManager.handlePluginDisable());
     }
 
     /**
-     * Main reload method
+     * Main reload method.
+     * Each manager builds its new state before swapping it in, then any open GUIs are re-rendered in place.
     */
     public void reload() {
-        guiManager.closeOpenGUIs(false);
-
         this.settingsManager.reload();
         this.localeManager.reload();
         this.menuManager.reload();
+        this.pricingRulesManager.reload();
+        this.limitsManager.reload();
+        this.playerLimitManager.reload();
+        this.multipliersManager.reload();
+        this.sellMultiplierManager.reload();
+        this.currenciesManager.reload();
+        this.currencyManager.reload();
+        this.importManager.reload();
         this.shopManager.reload();
         this.transactionManager.reload();
         this.sellAllManager.reload();
+        // The sales are applied on top of the prices the shops were just reloaded with.
+        this.salesManager.reload();
+        this.saleScheduleManager.reload();
+
+        guiManager.refreshOpenGUIs();
     }
 
     /**
@@ -20,10 +20,26 @@ package com.github.lukesky19.skyshop;
 import com.github.lukesky19.skylib.api.adventure.AdventureUtil;
 import com.github.lukesky19.skylib.api.player.PlayerUtil;
 import com.github.lukesky19.skyshop.configuration.LocaleManager;
+import com.github.lukesky19.skyshop.currency.Currency;
+import com.github.lukesky19.skyshop.data.EconomyResult;
 import com.github.lukesky19.skyshop.data.Locale;
+import com.github.lukesky19.skyshop.data.SellQuote;
+import com.github.lukesky19.skyshop.data.SellSession;
+import com.github.lukesky19.skyshop.data.ShopEntry;
 import com.github.lukesky19.skyshop.event.ItemSoldEvent;
+import com.github.lukesky19.skyshop.event.SellSessionCommittedEvent;
+import com.github.lukesky19.skyshop.manager.EconomyManager;
+import com.github.lukesky19.skyshop.manager.PendingCreditManager;
+import com.github.lukesky19.skyshop.manager.PlayerDataManager;
+import com.github.lukesky19.skyshop.manager.PlayerLimitManager;
 import com.github.lukesky19.skyshop.manager.PriceManager;
+import com.github.lukesky19.skyshop.manager.SellMultiplierManager;
+import com.github.lukesky19.skyshop.manager.ShopIndexManager;
 import com.github.lukesky19.skyshop.manager.StatsManager;
+import com.github.lukesky19.skyshop.util.InventoryUtil;
+import io.papermc.paper.datacomponent.DataComponentTypes;
+import io.papermc.paper.datacomponent.item.BundleContents;
+import io.papermc.paper.datacomponent.item.ItemContainerContents;
 import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import org.bukkit.entity.Player;
@@ -37,119 +53,301 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * This class provides methods to sell items using the prices configured in SkyShop.
  */
 public class SkyShopAPI {
+    private static final int MAX_CONTENTS_DEPTH = 4;
+    private static final int MAX_CONTENTS_STACKS = 2048;
+
     private final @NotNull SkyShop skyShop;
     private final @NotNull LocaleManager localeManager;
     private final @NotNull PriceManager priceManager;
+    private final @NotNull ShopIndexManager shopIndexManager;
     private final @Nullable StatsManager statsManager;
+    private final @NotNull PlayerDataManager playerDataManager;
+    private final @NotNull PlayerLimitManager playerLimitManager;
+    private final @NotNull SellMultiplierManager sellMultiplierManager;
 
     /**
      * Constructor
      * @param skyShop A {@link SkyShop} instance.
      * @param localeManager A {@link LocaleManager} instance.
      * @param priceManager A {@link PriceManager} instance.
+     * @param shopIndexManager A {@link ShopIndexManager} instance.
      * @param statsManager A {@link StatsManager} instance.
+     * @param playerDataManager A {@link PlayerDataManager} instance.
+     * @param playerLimitManager A {@link PlayerLimitManager} instance.
+     * @param sellMultiplierManager A {@link SellMultiplierManager} instance.
      */
     public SkyShopAPI(
             @NotNull SkyShop skyShop,
             @NotNull LocaleManager localeManager,
             @NotNull PriceManager priceManager,
-            @Nullable StatsManager statsManager) {
+            @NotNull ShopIndexManager shopIndexManager,
+            @Nullable StatsManager statsManager,
+            @NotNull PlayerDataManager playerDataManager,
+            @NotNull PlayerLimitManager playerLimitManager,
+            @NotNull SellMultiplierManager sellMultiplierManager) {
         this.skyShop = skyShop;
         this.localeManager = localeManager;
         this.priceManager = priceManager;
+        this.shopIndexManager = shopIndexManager;
         this.statsManager = statsManager;
+        this.playerDataManager = playerDataManager;
+        this.playerLimitManager = playerLimitManager;
+        this.sellMultiplierManager = sellMultiplierManager;
+    }
+
+    /**
+     * Get every shop, page, and slot where the {@link ItemType} can be bought or sold.
+     * @param itemType The {@link ItemType}.
+     * @return A {@link List} of {@link ShopEntry}s. Will be empty if the {@link ItemType} is not in any shop.
+     */
+    public @NotNull List<@NotNull ShopEntry> getShopEntries(@NotNull ItemType itemType) {
+        return shopIndexManager.getEntries(itemType);
+    }
+
+    /**
+     * Get every shop, page, and slot with a transaction using the provided transaction name.
+     * The name is compared without formatting and ignoring case.
+     * @param transactionName The transaction name.
+     * @return A {@link List} of {@link ShopEntry}s. Will be empty if no transaction uses the name.
+     */
+    public @NotNull List<@NotNull ShopEntry> getShopEntries(@NotNull String transactionName) {
+        return shopIndexManager.getEntries(transactionName);
+    }
+
+    /**
+     * Get the {@link Currency} used by transactions with the provided currency id.
+     * @param id The currency id. Null or blank ids return the Vault money currency.
+     * @return An {@link Optional} containing the {@link Currency}. Will be empty if no currency with the id exists.
+     */
+    public @NotNull Optional<Currency> getCurrency(@Nullable String id) {
+        return skyShop.getCurrencyManager().getCurrency(id);
+    }
+
+    /**
+     * Register a {@link Currency} so transactions can be bought and sold with it by setting their currency to its id.
+     * Registered currencies are kept when SkyShop is reloaded. Shops using the currency should be reloaded after it is registered.
+     * @param currency The {@link Currency} to register.
+     * @return true if the currency was registered, false if a currency with the same id already exists.
+     */
+    public boolean registerCurrency(@NotNull Currency currency) {
+        return skyShop.getCurrencyManager().registerCurrency(currency);
+    }
+
+    /**
+     * Unregister a {@link Currency} that was registered with {@link #registerCurrency(Currency)}.
+     * @param id The id of the currency.
+     * @return true if the currency was unregistered, false if no currency with the id was registered.
+     */
+    public boolean unregisterCurrency(@NotNull String id) {
+        return skyShop.getCurrencyManager().unregisterCurrency(id);
+    }
+
+    /**
+     * Get the effective sell multiplier of a player, combining their permission multiplier with any active player and global boosters.
+     * @param player The {@link Player}.
+     * @return The effective sell multiplier.
+     */
+    public double getSellMultiplier(@NotNull Player player) {
+        return sellMultiplierManager.getMultiplier(player);
+    }
+
+    /**
+     * Recalculate the sell multiplier of a player the next time it is used. Call this after changing a player's permissions.
+     * @param player The {@link Player}.
+     */
+    public void refreshSellMultiplier(@NotNull Player player) {
+        sellMultiplierManager.refresh(player);
+    }
+
+    /**
+     * Give a player a timed sell booster, i.e., as a reward for an event.
+     * @param player The {@link Player}.
+     * @param multiplier The multiplier of the booster.
+     * @param durationSeconds How long the booster lasts in seconds.
+     * @return true if the booster was given, false if the player's data isn't loaded.
+     */
+    public boolean addBooster(@NotNull Player player, double multiplier, long durationSeconds) {
+        return sellMultiplierManager.addBooster(player, multiplier, durationSeconds);
+    }
+
+    /**
+     * Start a timed sell booster for every player, i.e., during a server event.
+     * @param multiplier The multiplier of the booster.
+     * @param durationSeconds How long the booster lasts in seconds.
+     */
+    public void addGlobalBooster(double multiplier, long durationSeconds) {
+        sellMultiplierManager.addGlobalBooster(multiplier, durationSeconds);
     }
 
     /**
      * Sells all possible items in an inventory GUI, if a sell price is configured for that item at least once.
-     * Any remaining items that weren't sold will be returned to the player's inventory.
+     * Any remaining items that weren't sold will be returned to the player's inventory, or their ender chest if their inventory is full.
      * @param inventory An inventory containing items.
      * @param player The player selling items.
      * @param message Should the sell success or unsellable message from SkyShop be sent?
-     * @return true if successful, otherwise false.
+     * @return true if any items were priced and the player's payment was started, otherwise false.
+     * The sale may still be rolled back if the payment fails, see {@link #sellInventoryGUI(SellSession, Inventory, Player, boolean)}.
      */
     public boolean sellInventoryGUI(@NotNull Inventory inventory, Player player, boolean message) {
-        Locale locale = localeManager.getLocale();
-        double money = 0.0;
+        return sellInventoryGUI(new SellSession(player.getUniqueId()), inventory, player, message);
+    }
 
-        boolean sent = false;
+    /**
+     * <p>Sells all possible items in an inventory GUI as part of a {@link SellSession}, the same way as {@link #sellInventoryGUI(Inventory, Player, boolean)}.</p>
+     * <p>The session can only be settled once. Any later call with the same session does nothing and returns false.</p>
+     * <p>The items are priced first and the player is paid before any items are removed.
+     * If the payment fails, the session is rolled back and all items are returned to the player.
+     * Otherwise, the session is committed, the sold items are removed, and the rest are returned to the player.</p>
+     * <p>An {@link ItemSoldEvent} is called for each slot while pricing, so cancelling it keeps the items out of the sale.
+     * Since the sale can still be rolled back after that, listen to {@link SellSessionCommittedEvent} for sales that completed.</p>
+     * @param sellSession The {@link SellSession} for the GUI.
+     * @param inventory An inventory containing items.
+     * @param player The player selling items.
+     * @param message Should the sell success or unsellable message from SkyShop be sent?
+     * @return true if any items were priced and the player's payment was started, otherwise false.
+     * The session may be settled after this method returns when the economy is asynchronous.
+     * Use {@link SellSession#getState()} once it is settled to check if it was committed or rolled back.
+     */
+    public boolean sellInventoryGUI(@NotNull SellSession sellSession, @NotNull Inventory inventory, @NotNull Player player, boolean message) {
+        // Only the first settlement of a session moves any items or money.
+        if(!sellSession.beginPricing()) return false;
+
+        // If the player's data hasn't loaded or the economy is unavailable, give the player their items back instead of waiting.
+        if(!isPlayerDataLoaded(player, message) || !isEconomyAvailable(player, message)) {
+            returnAll(player, inventory);
+            sellSession.rollBack();
+            return false;
+        }
+
+        // Price the items without removing them.
+        List<SoldSlot> soldSlots = new ArrayList<>();
+        double money = 0.0;
+        boolean unsellable = false;
+        boolean limitReached = false;
         for(int i = 0; i <= inventory.getSize() - 1; i++) {
             ItemStack invStack = inventory.getItem(i);
-            if(invStack == null) continue;
+            if(invStack == null || invStack.isEmpty()) continue;
 
             ItemType itemType = invStack.getType().asItemType();
             if(itemType == null) continue;
             if(itemType.equals(ItemType.AIR)) continue;
 
             @NotNull Optional<@NotNull Double> optionalPrice = priceManager.getItemTypeSellPrice(itemType);
-            if(optionalPrice.isPresent()) {
-                double price = optionalPrice.get();
-                if(price >= 0.0) {
-                    ItemSoldEvent itemSoldEvent = new ItemSoldEvent(invStack);
-                    skyShop.getServer().getPluginManager().callEvent(itemSoldEvent);
-
-                    if(!itemSoldEvent.isCancelled()) {
-                        inventory.clear(i);
+            if(optionalPrice.isEmpty()) {
+                unsellable = true;
+                continue;
+            }
 
-                        money = money + (price * invStack.getAmount());
+            double price = optionalPrice.get();
+            if(price < 0.0) continue;
 
-                        if(statsManager != null) statsManager.incrementAmountSold(itemType, invStack.getAmount());
-                    } else {
-                        // Give the player the item back
-                        PlayerUtil.giveItem(player.getInventory(), invStack, invStack.getAmount(), player.getLocation());
+            // Only sell the amount the player's sell limit allows. Earlier slots of the same item are already reserved against it.
+            int sellAmount = getSellableAmount(player, itemType, invStack.getAmount());
+            if(sellAmount < invStack.getAmount()) limitReached = true;
+            if(sellAmount <= 0) continue;
 
-                        // Remove the item from the inventory GUI
-                        inventory.clear(i);
-                    }
-                }
-            } else {
-                // Give the player the item that cannot be sold back
-                PlayerUtil.giveItem(player.getInventory(), invStack, invStack.getAmount(), player.getLocation());
+            ItemSoldEvent itemSoldEvent = new ItemSoldEvent(sellAmount == invStack.getAmount() ? invStack : invStack.asQuantity(sellAmount));
+            skyShop.getServer().getPluginManager().callEvent(itemSoldEvent);
+            if(itemSoldEvent.isCancelled()) continue;
 
-                // Remove the item from the inventory GUI
-                inventory.clear(i);
+            // Reserve the amount against the sell limit while the deposit runs. It is released if the session is rolled back.
+            playerLimitManager.recordSell(player.getUniqueId(), itemType, sellAmount);
+            soldSlots.add(new SoldSlot(i, itemType, sellAmount));
+            money = money + (price * sellAmount);
+        }
 
-                // Only send the unsellable message once as to not spam the player
-                if(!sent) {
-                    if(message) {
-                        player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.sellallUnsellable()));
-                        sent = true;
-                    }
-                }
-            }
+        // Nothing was sold, so just give the player back their items.
+        if(money <= 0.0) {
+            settleInventoryGUI(sellSession, inventory, player, message, soldSlots, unsellable, limitReached, null);
+            return false;
         }
 
-        if(money > 0.0) {
-            skyShop.getEconomy().depositPlayer(player, money);
+        // Apply the player's sell multiplier once to the total.
+        double payout = money * sellMultiplierManager.getMultiplier(player);
+        boolean finalUnsellable = unsellable;
+        boolean finalLimitReached = limitReached;
 
-            if(message) {
-                DecimalFormat df = new DecimalFormat("#.##");
-                df.setRoundingMode(RoundingMode.CEILING);
+        // Pay the player before any items are removed. The items stay inside the inventory until the deposit completes.
+        EconomyManager economyManager = skyShop.getEconomyManager();
+        economyManager.runOnMain(economyManager.deposit(player, payout), result ->
+                settleInventoryGUI(sellSession, inventory, player, message, soldSlots, finalUnsellable, finalLimitReached, result));
 
-                BigDecimal bigPrice = BigDecimal.valueOf(money);
-                String formattedPrice = df.format(bigPrice);
+        return true;
+    }
 
-                BigDecimal bigBalance = BigDecimal.valueOf(skyShop.getEconomy().getBalance(player));
-                String bal = df.format(bigBalance);
+    /**
+     * Commit or roll back a {@link SellSession} once the player has been paid.
+     * @param sellSession The {@link SellSession} being settled.
+     * @param inventory The inventory containing the items.
+     * @param player The player selling items.
+     * @param message Should the sell success, unsellable, or failure messages from SkyShop be sent?
+     * @param soldSlots The {@link SoldSlot}s that were priced to be sold.
+     * @param unsellable Did the inventory contain items that can't be sold?
+     * @param limitReached Did the player reach a sell limit?
+     * @param result The {@link EconomyResult} of the deposit, or null if nothing was sold.
+     */
+    private void settleInventoryGUI(
+            @NotNull SellSession sellSession,
+            @NotNull Inventory inventory,
+            @NotNull Player player,
+            boolean message,
+            @NotNull List<SoldSlot> soldSlots,
+            boolean unsellable,
+            boolean limitReached,
+            @Nullable EconomyResult result) {
+        Locale locale = localeManager.getLocale();
 
-                List<TagResolver.Single> placeholders = new ArrayList<>();
-                placeholders.add(Placeholder.parsed("price", formattedPrice));
-                placeholders.add(Placeholder.parsed("bal", bal));
+        if(result != null && !result.success()) {
+            skyShop.getComponentLogger().warn(AdventureUtil.serialize("Rolled back sell session " + sellSession.getTransactionId() + " for " + player.getName() + " and returned all items: " + result.errorMessage()));
 
-                player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.sellallSuccess(), placeholders));
+            // Release the amounts reserved against the player's sell limit.
+            for(SoldSlot soldSlot : soldSlots) {
+                playerLimitManager.releaseSell(player.getUniqueId(), soldSlot.itemType(), soldSlot.amount());
             }
 
-            return true;
+            returnAll(player, inventory);
+            sellSession.rollBack();
+
+            if(message) player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + (result.unavailable() ? locale.economyUnavailable() : locale.sellallFailed())));
+
+            return;
         }
 
-        return false;
+        // Remove the sold items and record them. The sell limit was already recorded while pricing.
+        List<ItemStack> soldItems = new ArrayList<>();
+        for(SoldSlot soldSlot : soldSlots) {
+            ItemStack invStack = inventory.getItem(soldSlot.slot());
+            if(invStack == null) continue;
+
+            soldItems.add(invStack.asQuantity(soldSlot.amount()));
+            removeSold(inventory, soldSlot.slot(), invStack, soldSlot.amount());
+
+            if(statsManager != null) statsManager.incrementAmountSold(soldSlot.itemType(), soldSlot.amount());
+        }
+
+        // Give the player back anything that wasn't sold.
+        returnAll(player, inventory);
+        sellSession.commit();
+
+        if(!soldItems.isEmpty()) {
+            skyShop.getServer().getPluginManager().callEvent(new SellSessionCommittedEvent(player, sellSession, List.copyOf(soldItems), result != null ? result.amount() : 0.0));
+        }
+
+        if(message) {
+            if(unsellable) player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.sellallUnsellable()));
+            if(limitReached) player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.sellallLimitReached()));
+            if(result != null) sendSellallSuccess(player, result.amount(), result.balance());
+        }
     }
 
     /**
@@ -166,8 +364,23 @@ public class SkyShopAPI {
      * @return true if at least one item was sold, else false
      */
     public boolean sellInventory(Player player, Inventory inventory, boolean message) {
+        return depositSale(player, sellInventoryContents(player, inventory, message), message);
+    }
+
+    /**
+     * <p>Sells all possible items inside the given inventory the same way as {@link #sellInventory(Player, Inventory, boolean)}, but doesn't pay the player.</p>
+     * <p>This allows the items of several inventories to be sold and paid for once using {@link #depositSale(Player, double, boolean)}.</p>
+     * <p>The sell multiplier is not applied to the returned money, as it is applied by {@link #depositSale(Player, double, boolean)}.</p>
+     * @param player The Player selling the items.
+     * @param inventory The inventory containing items.
+     * @param message Should the limit reached or data not loaded messages from SkyShop be sent?
+     * @return The money the sold items are worth.
+     */
+    public double sellInventoryContents(@NotNull Player player, @NotNull Inventory inventory, boolean message) {
         Locale locale = localeManager.getLocale();
+        if(!isPlayerDataLoaded(player, message) || !isEconomyAvailable(player, message)) return 0.0;
         double money = 0.0;
+        boolean limitReached = false;
 
         for(int i = 0; i <= inventory.getSize() - 1; i++) {
             ItemStack invStack = inventory.getItem(i);
@@ -182,39 +395,59 @@ public class SkyShopAPI {
                 double price = optionalPrice.get();
 
                 if(price >= 0.0) {
-                    ItemSoldEvent itemSoldEvent = new ItemSoldEvent(invStack);
+                    // Only sell the amount the player's sell limit allows.
+                    int sellAmount = getSellableAmount(player, itemType, invStack.getAmount());
+                    if(sellAmount < invStack.getAmount()) limitReached = true;
+                    if(sellAmount <= 0) continue;
+
+                    ItemSoldEvent itemSoldEvent = new ItemSoldEvent(sellAmount == invStack.getAmount() ? invStack : invStack.asQuantity(sellAmount));
                     skyShop.getServer().getPluginManager().callEvent(itemSoldEvent);
 
-                    if (!itemSoldEvent.isCancelled()) {
-                        inventory.clear(i);
+                    if(!itemSoldEvent.isCancelled()) {
+                        removeSold(inventory, i, invStack, sellAmount);
 
-                        money = money + (price * invStack.getAmount());
+                        money = money + (price * sellAmount);
 
-                        if(statsManager != null) statsManager.incrementAmountSold(itemType, invStack.getAmount());
+                        if(statsManager != null) statsManager.incrementAmountSold(itemType, sellAmount);
+                        playerLimitManager.recordSell(player.getUniqueId(), itemType, sellAmount);
                     }
                 }
             }
         }
 
-        if(money > 0.0) {
-            skyShop.getEconomy().depositPlayer(player, money);
-
-            if(message) {
-                DecimalFormat df = new DecimalFormat("#.##");
-                df.setRoundingMode(RoundingMode.CEILING);
-
-                BigDecimal bigPrice = BigDecimal.valueOf(money);
-                String formattedPrice = df.format(bigPrice);
+        if(limitReached && message) {
+            player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.sellallLimitReached()));
+        }
 
-                BigDecimal bigBalance = BigDecimal.valueOf(skyShop.getEconomy().getBalance(player));
-                String bal = df.format(bigBalance);
+        return money;
+    }
 
-                List<TagResolver.Single> placeholders = new ArrayList<>();
-                placeholders.add(Placeholder.parsed("price", formattedPrice));
-                placeholders.add(Placeholder.parsed("bal", bal));
+    /**
+     * Pays a player for items sold using {@link #sellInventoryContents(Player, Inventory, boolean)}.
+     * The player's sell multiplier is applied before depositing.
+     * The deposit is made through the {@link PendingCreditManager}, so the sell success message may be sent after this method returns.
+     * As the sold items were already removed, a failed deposit stays owed to the player and is retried until it is paid.
+     * @param player The Player to pay.
+     * @param money The money the sold items are worth.
+     * @param message Should the sell success message from SkyShop be sent?
+     * @return true if a deposit was made, otherwise false.
+     */
+    public boolean depositSale(@NotNull Player player, double money, boolean message) {
+        if(money > 0.0) {
+            // Apply the player's sell multiplier once to the total.
+            double payout = money * sellMultiplierManager.getMultiplier(player);
+
+            // Sales are deposited through the PendingCreditManager, so many small sales may be paid with a single deposit.
+            EconomyManager economyManager = skyShop.getEconomyManager();
+            economyManager.runOnMain(skyShop.getPendingCreditManager().depositOwed(player, payout), result -> {
+                if(!result.success()) {
+                    // The sold items were already removed, so the payout stays journaled and is retried by the PendingCreditManager.
+                    if(message) sendSalePayoutDelayed(player, payout);
+                    return;
+                }
 
-                player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.sellallSuccess(), placeholders));
-            }
+                if(message) sendSellallSuccess(player, payout, result.balance());
+            });
 
             return true;
         }
@@ -237,8 +470,44 @@ public class SkyShopAPI {
      * @return true if at least one item was sold, else false
      */
     public boolean sellPlayerInventory(Player player, Inventory inventory, boolean message) {
+        return sellPlayerInventory(player, inventory, message, false);
+    }
+
+    /**
+     * <p>Sells all possible items inside the given inventory the same way as {@link #sellPlayerInventory(Player, Inventory, boolean)}.</p>
+     * <p>If includeContents is true, the contents of container items such as shulker boxes and bundles are sold instead of the container items themselves.
+     * The contents of each container are read once from its item components, nested containers are sold up to {@link #MAX_CONTENTS_DEPTH} levels deep,
+     * and each container is rewritten once. At most {@link #MAX_CONTENTS_STACKS} nested stacks are looked at per call.</p>
+     * @param inventory The player's inventory containing items.
+     * @param player The Player to pay for the items sold.
+     * @param message Should the sell success message from SkyShop be sent?
+     * @param includeContents Should the contents of container items be sold?
+     * @return true if at least one item was sold, else false
+     */
+    public boolean sellPlayerInventory(@NotNull Player player, @NotNull Inventory inventory, boolean message, boolean includeContents) {
         Locale locale = localeManager.getLocale();
+        if(!isPlayerDataLoaded(player, message) || !isEconomyAvailable(player, message)) return false;
         double money = 0.0;
+        boolean limitReached = false;
+
+        if(includeContents) {
+            // Sell container contents first so the limits they use are recorded before the rest of the inventory is sold.
+            ContentsSale contentsSale = new ContentsSale(player);
+
+            for(int i = 0; i <= inventory.getSize() - 1; i++) {
+                // Ignore armor slots
+                if(i >= 36 && i <= 39) continue;
+
+                ItemStack invStack = inventory.getItem(i);
+                if(invStack == null || !isContainer(invStack)) continue;
+
+                ItemStack rewritten = sellContents(invStack, 0, contentsSale);
+                if(rewritten != null) inventory.setItem(i, rewritten);
+            }
+
+            money = money + contentsSale.complete();
+            limitReached = contentsSale.limitReached;
+        }
 
         for(int i = 0; i <= inventory.getSize() - 1; i++) {
             // Ignore armor slots
@@ -246,6 +515,8 @@ public class SkyShopAPI {
 
             ItemStack invStack = inventory.getItem(i);
             if(invStack == null) continue;
+            // Never sell a container item when its contents are being sold.
+            if(includeContents && isContainer(invStack)) continue;
 
             ItemType itemType = invStack.getType().asItemType();
             if(itemType == null) continue;
@@ -255,44 +526,31 @@ public class SkyShopAPI {
             if(optionalPrice.isPresent()) {
                 double price = optionalPrice.get();
                 if(price >= 0.0) {
-                    ItemSoldEvent itemSoldEvent = new ItemSoldEvent(invStack);
+                    // Only sell the amount the player's sell limit allows.
+                    int sellAmount = getSellableAmount(player, itemType, invStack.getAmount());
+                    if(sellAmount < invStack.getAmount()) limitReached = true;
+                    if(sellAmount <= 0) continue;
+
+                    ItemSoldEvent itemSoldEvent = new ItemSoldEvent(sellAmount == invStack.getAmount() ? invStack : invStack.asQuantity(sellAmount));
                     skyShop.getServer().getPluginManager().callEvent(itemSoldEvent);
 
                     if(!itemSoldEvent.isCancelled()) {
-                        inventory.clear(i);
+                        removeSold(inventory, i, invStack, sellAmount);
 
-                        money = money + (price * invStack.getAmount());
+                        money = money + (price * sellAmount);
 
-                        if(statsManager != null) statsManager.incrementAmountSold(itemType, invStack.getAmount());
+                        if(statsManager != null) statsManager.incrementAmountSold(itemType, sellAmount);
+                        playerLimitManager.recordSell(player.getUniqueId(), itemType, sellAmount);
                     }
                 }
             }
         }
 
-        if(money > 0.0) {
-            skyShop.getEconomy().depositPlayer(player, money);
-
-            if(message) {
-                DecimalFormat df = new DecimalFormat("#.##");
-                df.setRoundingMode(RoundingMode.CEILING);
-
-                BigDecimal bigPrice = BigDecimal.valueOf(money);
-                String formattedPrice = df.format(bigPrice);
-
-                BigDecimal bigBalance = BigDecimal.valueOf(skyShop.getEconomy().getBalance(player));
-                String bal = df.format(bigBalance);
-
-                List<TagResolver.Single> placeholders = new ArrayList<>();
-                placeholders.add(Placeholder.parsed("price", formattedPrice));
-                placeholders.add(Placeholder.parsed("bal", bal));
-
-                player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.sellallSuccess(), placeholders));
-            }
-
-            return true;
+        if(limitReached && message) {
+            player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.sellallLimitReached()));
         }
 
-        return false;
+        return depositSale(player, money, message);
     }
 
     /**
@@ -306,6 +564,7 @@ public class SkyShopAPI {
      */
     public boolean sellItemStack(@NotNull Player player, @NotNull ItemStack itemStack, int slot, boolean message) {
         Locale locale = localeManager.getLocale();
+        if(!isPlayerDataLoaded(player, message) || !isEconomyAvailable(player, message)) return false;
         Inventory inventory = player.getInventory();
 
         ItemType itemType = itemStack.getType().asItemType();
@@ -317,34 +576,23 @@ public class SkyShopAPI {
             double price = optionalPrice.get();
 
             if(price >= 0.0) {
-                ItemSoldEvent itemSoldEvent = new ItemSoldEvent(itemStack);
+                // Only sell the amount the player's sell limit allows.
+                int sellAmount = getSellableAmount(player, itemType, itemStack.getAmount());
+                if(sellAmount < itemStack.getAmount() && message) {
+                    player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.sellallLimitReached()));
+                }
+                if(sellAmount <= 0) return false;
+
+                ItemSoldEvent itemSoldEvent = new ItemSoldEvent(sellAmount == itemStack.getAmount() ? itemStack : itemStack.asQuantity(sellAmount));
                 skyShop.getServer().getPluginManager().callEvent(itemSoldEvent);
 
                 if(!itemSoldEvent.isCancelled()) {
-                    inventory.clear(slot);
-
-                    double money = price * itemStack.getAmount();
-
-                    skyShop.getEconomy().depositPlayer(player, money);
-
-                    if(message) {
-                        DecimalFormat df = new DecimalFormat("#.##");
-                        df.setRoundingMode(RoundingMode.CEILING);
-
-                        BigDecimal bigPrice = BigDecimal.valueOf(money);
-                        String formattedPrice = df.format(bigPrice);
+                    removeSold(inventory, slot, itemStack, sellAmount);
 
-                        BigDecimal bigBalance = BigDecimal.valueOf(skyShop.getEconomy().getBalance(player));
-                        String bal = df.format(bigBalance);
+                    depositSale(player, price * sellAmount, message);
 
-                        List<TagResolver.Single> placeholders = new ArrayList<>();
-                        placeholders.add(Placeholder.parsed("price", formattedPrice));
-                        placeholders.add(Placeholder.parsed("bal", bal));
-
-                        player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.sellallSuccess(), placeholders));
-                    }
-
-                    if(statsManager != null) statsManager.incrementAmountSold(itemType, itemStack.getAmount());
+                    if(statsManager != null) statsManager.incrementAmountSold(itemType, sellAmount);
+                    playerLimitManager.recordSell(player.getUniqueId(), itemType, sellAmount);
 
                     return true;
                 }
@@ -370,8 +618,10 @@ public class SkyShopAPI {
      */
     public boolean sellAllMatchingItemStack(Player player, ItemStack itemStack, boolean message) {
         Locale locale = localeManager.getLocale();
+        if(!isPlayerDataLoaded(player, message) || !isEconomyAvailable(player, message)) return false;
         Inventory inventory = player.getInventory();
         double money = 0.0;
+        boolean limitReached = false;
 
         ItemType itemType = itemStack.getType().asItemType();
         if(itemType == null) return false;
@@ -394,15 +644,21 @@ public class SkyShopAPI {
                     if(invItemType.equals(ItemType.AIR)) continue;
 
                     if(itemType.equals(invItemType)) {
-                        ItemSoldEvent itemSoldEvent = new ItemSoldEvent(invStack);
+                        // Only sell the amount the player's sell limit allows.
+                        int sellAmount = getSellableAmount(player, itemType, invStack.getAmount());
+                        if(sellAmount < invStack.getAmount()) limitReached = true;
+                        if(sellAmount <= 0) continue;
+
+                        ItemSoldEvent itemSoldEvent = new ItemSoldEvent(sellAmount == invStack.getAmount() ? invStack : invStack.asQuantity(sellAmount));
                         skyShop.getServer().getPluginManager().callEvent(itemSoldEvent);
 
-                        if (!itemSoldEvent.isCancelled()) {
-                            inventory.clear(i);
+                        if(!itemSoldEvent.isCancelled()) {
+                            removeSold(inventory, i, invStack, sellAmount);
 
-                            money = money + (price * invStack.getAmount());
+                            money = money + (price * sellAmount);
 
-                            if(statsManager != null) statsManager.incrementAmountSold(itemType, invStack.getAmount());
+                            if(statsManager != null) statsManager.incrementAmountSold(itemType, sellAmount);
+                            playerLimitManager.recordSell(player.getUniqueId(), itemType, sellAmount);
                         }
                     }
                 }
@@ -415,29 +671,388 @@ public class SkyShopAPI {
             }
         }
 
-        if(money > 0.0) {
-            skyShop.getEconomy().depositPlayer(player, money);
+        if(limitReached && message) {
+            player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.sellallLimitReached()));
+        }
 
-            if(message) {
-                DecimalFormat df = new DecimalFormat("#.##");
-                df.setRoundingMode(RoundingMode.CEILING);
+        return depositSale(player, money, message);
+    }
 
-                BigDecimal bigPrice = BigDecimal.valueOf(money);
-                String formattedPrice = df.format(bigPrice);
+    /**
+     * Get the price of all the items inside the given inventory without selling them.
+     * @param inventory The {@link Inventory} containing items.
+     * @return A {@link SellQuote} for the inventory's contents.
+     */
+    public @NotNull SellQuote getSellQuote(@NotNull Inventory inventory) {
+        return getSellQuote(Arrays.asList(inventory.getContents()));
+    }
 
-                BigDecimal bigBalance = BigDecimal.valueOf(skyShop.getEconomy().getBalance(player));
-                String bal = df.format(bigBalance);
+    /**
+     * <p>Get the price of a list of items without selling them or modifying the items.</p>
+     * <p>The same sell prices as {@link #sellInventory(Player, Inventory, boolean)} are used, but sell limits and sell multipliers are not applied.</p>
+     * @param itemStacks A {@link List} of {@link ItemStack}s. Null entries are treated as empty slots.
+     * @return A {@link SellQuote} for the items. Unsellable slots are the indexes of the list.
+     */
+    public @NotNull SellQuote getSellQuote(@NotNull List<@Nullable ItemStack> itemStacks) {
+        Map<ItemType, SellQuote.Entry> entries = new HashMap<>();
+        List<Integer> unsellableSlots = new ArrayList<>();
+        double total = 0.0;
+
+        for(int i = 0; i < itemStacks.size(); i++) {
+            ItemStack itemStack = itemStacks.get(i);
+            if(itemStack == null || itemStack.isEmpty()) continue;
+
+            ItemType itemType = itemStack.getType().asItemType();
+            Optional<Double> optionalPrice = itemType != null ? priceManager.getItemTypeSellPrice(itemType) : Optional.empty();
+            if(optionalPrice.isEmpty() || optionalPrice.get() < 0.0) {
+                unsellableSlots.add(i);
+                continue;
+            }
 
-                List<TagResolver.Single> placeholders = new ArrayList<>();
-                placeholders.add(Placeholder.parsed("price", formattedPrice));
-                placeholders.add(Placeholder.parsed("bal", bal));
+            double price = optionalPrice.get();
+            int amount = itemStack.getAmount();
+            total = total + (price * amount);
 
-                player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.sellallSuccess(), placeholders));
-            }
+            entries.merge(itemType, new SellQuote.Entry(amount, price, price * amount),
+                    (a, b) -> new SellQuote.Entry(a.amount() + b.amount(), a.unitPrice(), a.total() + b.total()));
+        }
 
-            return true;
+        return new SellQuote(Map.copyOf(entries), total, List.copyOf(unsellableSlots));
+    }
+
+    /**
+     * Get the price of an {@link ItemStack} without selling it. Sell limits and sell multipliers are not applied.
+     * @param itemStack The {@link ItemStack}.
+     * @return The sell price of the whole stack, or 0.0 if it can't be sold.
+     */
+    public double getSellValue(@Nullable ItemStack itemStack) {
+        if(itemStack == null || itemStack.isEmpty()) return 0.0;
+
+        ItemType itemType = itemStack.getType().asItemType();
+        if(itemType == null) return 0.0;
+
+        Optional<Double> optionalPrice = priceManager.getItemTypeSellPrice(itemType);
+        if(optionalPrice.isEmpty() || optionalPrice.get() < 0.0) return 0.0;
+
+        return optionalPrice.get() * itemStack.getAmount();
+    }
+
+    /**
+     * Check if the player's data has finished loading. Selling never waits for the data to load from the database.
+     * @param player The {@link Player} selling the items.
+     * @param message Should the player be sent a message if their data isn't loaded?
+     * @return true if the player's data is loaded, otherwise false.
+     */
+    private boolean isPlayerDataLoaded(@NotNull Player player, boolean message) {
+        if(playerDataManager.isLoaded(player.getUniqueId())) return true;
+
+        if(message) {
+            Locale locale = localeManager.getLocale();
+            player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.playerDataNotLoaded()));
         }
 
         return false;
     }
-}
\ No newline at end of file
+
+    /**
+     * Check if the economy is available. Selling is refused before any items are removed while the economy's circuit breaker is open.
+     * @param player The {@link Player} selling the items.
+     * @param message Should the player be sent a message if the economy is unavailable?
+     * @return true if the economy is available, otherwise false.
+     */
+    private boolean isEconomyAvailable(@NotNull Player player, boolean message) {
+        if(skyShop.getEconomyManager().isAvailable()) return true;
+
+        if(message) {
+            Locale locale = localeManager.getLocale();
+            player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.economyUnavailable()));
+        }
+
+        return false;
+    }
+
+    /**
+     * Get the amount of an {@link ItemStack} that can be sold under the player's sell limit.
+     * @param player The {@link Player} selling the items.
+     * @param itemType The {@link ItemType} being sold.
+     * @param amount The amount of the {@link ItemStack}.
+     * @return The amount that can be sold. Zero if the player has reached their sell limit.
+     */
+    private int getSellableAmount(@NotNull Player player, @NotNull ItemType itemType, int amount) {
+        return Math.min(amount, playerLimitManager.getRemainingSells(player.getUniqueId(), itemType));
+    }
+
+    /**
+     * Remove a sold amount of an {@link ItemStack} from a slot, leaving anything that wasn't sold inside the slot.
+     * @param inventory The {@link Inventory} the items were sold from.
+     * @param slot The slot the {@link ItemStack} is in.
+     * @param itemStack The {@link ItemStack} inside the slot.
+     * @param amount The amount sold.
+     */
+    private void removeSold(@NotNull Inventory inventory, int slot, @NotNull ItemStack itemStack, int amount) {
+        if(amount >= itemStack.getAmount()) {
+            inventory.clear(slot);
+        } else {
+            inventory.setItem(slot, itemStack.asQuantity(itemStack.getAmount() - amount));
+        }
+    }
+
+    /**
+     * Send the sellall success message to a player.
+     * @param player The {@link Player}.
+     * @param price The money the player was paid.
+     * @param balance The player's balance after being paid.
+     */
+    private void sendSellallSuccess(@NotNull Player player, double price, double balance) {
+        Locale locale = localeManager.getLocale();
+
+        DecimalFormat df = new DecimalFormat("#.##");
+        df.setRoundingMode(RoundingMode.CEILING);
+
+        BigDecimal bigPrice = BigDecimal.valueOf(price);
+        String formattedPrice = df.format(bigPrice);
+
+        BigDecimal bigBalance = BigDecimal.valueOf(balance);
+        String bal = df.format(bigBalance);
+
+        List<TagResolver.Single> placeholders = new ArrayList<>();
+        placeholders.add(Placeholder.parsed("price", formattedPrice));
+        placeholders.add(Placeholder.parsed("bal", bal));
+
+        player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.sellallSuccess(), placeholders));
+    }
+
+    /**
+     * Send the message that a sale's payout couldn't be deposited yet and will be paid later.
+     * @param player The {@link Player}.
+     * @param price The payout that is still owed.
+     */
+    private void sendSalePayoutDelayed(@NotNull Player player, double price) {
+        Locale locale = localeManager.getLocale();
+
+        DecimalFormat df = new DecimalFormat("#.##");
+        df.setRoundingMode(RoundingMode.CEILING);
+
+        List<TagResolver.Single> placeholders = List.of(Placeholder.parsed("price", df.format(BigDecimal.valueOf(price))));
+        player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.salePayoutDelayed(), placeholders));
+    }
+
+    /**
+     * Give the player back every item inside an inventory and clear it.
+     * @param player The {@link Player} to give the items to.
+     * @param inventory The {@link Inventory} containing the items.
+     */
+    private void returnAll(@NotNull Player player, @NotNull Inventory inventory) {
+        for(int i = 0; i <= inventory.getSize() - 1; i++) {
+            ItemStack invStack = inventory.getItem(i);
+            if(invStack == null || invStack.isEmpty()) continue;
+
+            returnItem(player, invStack);
+            inventory.clear(i);
+        }
+    }
+
+    /**
+     * Return an {@link ItemStack} that wasn't sold to the player.
+     * The free space in the player's inventory and then their ender chest is calculated first, so only what fits in neither is dropped at the player's feet.
+     * @param player The {@link Player} to return the {@link ItemStack} to.
+     * @param itemStack The {@link ItemStack} to return.
+     */
+    private void returnItem(@NotNull Player player, @NotNull ItemStack itemStack) {
+        int remaining = itemStack.getAmount();
+
+        int inventoryAmount = Math.min(remaining, InventoryUtil.getFreeCapacity(player.getInventory(), itemStack));
+        if(inventoryAmount > 0) {
+            PlayerUtil.giveItem(player.getInventory(), itemStack, inventoryAmount, player.getLocation());
+            remaining -= inventoryAmount;
+        }
+
+        if(remaining <= 0) return;
+
+        int enderChestAmount = Math.min(remaining, InventoryUtil.getFreeCapacity(player.getEnderChest(), itemStack));
+        if(enderChestAmount > 0) {
+            ItemStack enderChestStack = itemStack.clone();
+            enderChestStack.setAmount(enderChestAmount);
+            player.getEnderChest().addItem(enderChestStack);
+            remaining -= enderChestAmount;
+        }
+
+        // Drop whatever fits in neither inventory.
+        if(remaining > 0) PlayerUtil.giveItem(player.getInventory(), itemStack, remaining, player.getLocation());
+    }
+
+    /**
+     * Checks if an item is a container item that has contents, such as a shulker box or bundle.
+     * @param itemStack The {@link ItemStack} to check.
+     * @return true if the item has container or bundle contents, otherwise false.
+     */
+    private boolean isContainer(@NotNull ItemStack itemStack) {
+        return itemStack.hasData(DataComponentTypes.CONTAINER) || itemStack.hasData(DataComponentTypes.BUNDLE_CONTENTS);
+    }
+
+    /**
+     * Sells the contents of a container item.
+     * @param container The container {@link ItemStack}.
+     * @param depth How many containers deep this container is.
+     * @param contentsSale The {@link ContentsSale} the sold items are added to.
+     * @return A rewritten copy of the container with the sold items removed, or null if nothing inside was sold.
+     */
+    private @Nullable ItemStack sellContents(@NotNull ItemStack container, int depth, @NotNull ContentsSale contentsSale) {
+        // The contents are shared by every item in the stack, so only single containers are sold from.
+        if(container.getAmount() != 1) return null;
+
+        ItemContainerContents containerContents = container.getData(DataComponentTypes.CONTAINER);
+        BundleContents bundleContents = container.getData(DataComponentTypes.BUNDLE_CONTENTS);
+
+        List<ItemStack> contents;
+        if(containerContents != null) {
+            contents = containerContents.contents();
+        } else if(bundleContents != null) {
+            contents = bundleContents.contents();
+        } else {
+            return null;
+        }
+
+        List<ItemStack> newContents = new ArrayList<>(contents.size());
+        boolean changed = false;
+
+        for(ItemStack itemStack : contents) {
+            ItemStack result = sellContentsStack(itemStack, depth, contentsSale);
+            if(result != itemStack) changed = true;
+
+            if(result != null) {
+                newContents.add(result);
+            } else if(containerContents != null) {
+                // Container contents are positional, so sold stacks are replaced with empty slots.
+                newContents.add(ItemStack.empty());
+            }
+        }
+
+        if(!changed) return null;
+
+        ItemStack rewritten = container.clone();
+        if(containerContents != null) {
+            rewritten.setData(DataComponentTypes.CONTAINER, ItemContainerContents.containerContents(newContents));
+        } else {
+            rewritten.setData(DataComponentTypes.BUNDLE_CONTENTS, BundleContents.bundleContents(newContents));
+        }
+
+        return rewritten;
+    }
+
+    /**
+     * Sells a single stack inside a container item.
+     * @param itemStack The {@link ItemStack} inside the container.
+     * @param depth How many containers deep the stack is.
+     * @param contentsSale The {@link ContentsSale} the sold items are added to.
+     * @return The same {@link ItemStack} if nothing was sold, the remaining {@link ItemStack} if some was sold, or null if all was sold.
+     */
+    private @Nullable ItemStack sellContentsStack(@NotNull ItemStack itemStack, int depth, @NotNull ContentsSale contentsSale) {
+        if(itemStack.isEmpty()) return itemStack;
+        if(contentsSale.visited >= MAX_CONTENTS_STACKS) return itemStack;
+        contentsSale.visited++;
+
+        if(isContainer(itemStack)) {
+            if(depth + 1 >= MAX_CONTENTS_DEPTH) return itemStack;
+
+            ItemStack rewritten = sellContents(itemStack, depth + 1, contentsSale);
+            return rewritten != null ? rewritten : itemStack;
+        }
+
+        ItemType itemType = itemStack.getType().asItemType();
+        if(itemType == null || itemType.equals(ItemType.AIR)) return itemStack;
+
+        Optional<Double> optionalPrice = priceManager.getItemTypeSellPrice(itemType);
+        if(optionalPrice.isEmpty() || optionalPrice.get() < 0.0) return itemStack;
+
+        int sellAmount = contentsSale.reserve(itemType, itemStack.getAmount());
+        if(sellAmount < itemStack.getAmount()) contentsSale.limitReached = true;
+        if(sellAmount <= 0) return itemStack;
+
+        ItemSoldEvent itemSoldEvent = new ItemSoldEvent(sellAmount == itemStack.getAmount() ? itemStack : itemStack.asQuantity(sellAmount));
+        skyShop.getServer().getPluginManager().callEvent(itemSoldEvent);
+        if(itemSoldEvent.isCancelled()) {
+            contentsSale.release(itemType, sellAmount);
+            return itemStack;
+        }
+
+        contentsSale.add(itemType, sellAmount, optionalPrice.get());
+
+        return sellAmount == itemStack.getAmount() ? null : itemStack.asQuantity(itemStack.getAmount() - sellAmount);
+    }
+
+    /**
+     * The items sold from the contents of container items during a single call.
+     * Limits, stats, and money are totaled per item type and applied once by {@link #complete()}.
+     */
+    private final class ContentsSale {
+        private final @NotNull Player player;
+        private final @NotNull Map<ItemType, Integer> remaining = new HashMap<>();
+        private final @NotNull Map<ItemType, Integer> sold = new HashMap<>();
+        private double money = 0.0;
+        private int visited = 0;
+        private boolean limitReached = false;
+
+        /**
+         * Constructor
+         * @param player The {@link Player} selling.
+         */
+        private ContentsSale(@NotNull Player player) {
+            this.player = player;
+        }
+
+        /**
+         * Reserve up to an amount of an item type from the player's remaining sell limit.
+         * @param itemType The {@link ItemType}.
+         * @param amount The amount wanted.
+         * @return The amount that can be sold.
+         */
+        private int reserve(@NotNull ItemType itemType, int amount) {
+            int available = remaining.computeIfAbsent(itemType, type -> playerLimitManager.getRemainingSells(player.getUniqueId(), type));
+            int reserved = Math.min(amount, available);
+            remaining.put(itemType, available - reserved);
+            return reserved;
+        }
+
+        /**
+         * Return a reserved amount that wasn't sold.
+         * @param itemType The {@link ItemType}.
+         * @param amount The amount to return.
+         */
+        private void release(@NotNull ItemType itemType, int amount) {
+            remaining.merge(itemType, amount, Integer::sum);
+        }
+
+        /**
+         * Add sold items.
+         * @param itemType The {@link ItemType}.
+         * @param amount The amount sold.
+         * @param price The sell price of a single item.
+         */
+        private void add(@NotNull ItemType itemType, int amount, double price) {
+            sold.merge(itemType, amount, Integer::sum);
+            money = money + (price * amount);
+        }
+
+        /**
+         * Record the limits and stats of all sold items.
+         * @return The money the sold items are worth.
+         */
+        private double complete() {
+            for(Map.Entry<ItemType, Integer> entry : sold.entrySet()) {
+                if(statsManager != null) statsManager.incrementAmountSold(entry.getKey(), entry.getValue());
+                playerLimitManager.recordSell(player.getUniqueId(), entry.getKey(), entry.getValue());
+            }
+
+            return money;
+        }
+    }
+
+    /**
+     * A slot of a sellall GUI that was priced to be sold.
+     * @param slot The slot in the inventory.
+     * @param itemType The {@link ItemType} being sold.
+     * @param amount The amount being sold.
+     */
+    private record SoldSlot(int slot, @NotNull ItemType itemType, int amount) {}
+}
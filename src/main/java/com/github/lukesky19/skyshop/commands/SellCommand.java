@@ -17,7 +17,11 @@
 */
 package com.github.lukesky19.skyshop.commands;
 
+import com.github.lukesky19.skylib.api.adventure.AdventureUtil;
 import com.github.lukesky19.skyshop.SkyShopAPI;
+import com.github.lukesky19.skyshop.configuration.LocaleManager;
+import com.github.lukesky19.skyshop.data.Locale;
+import com.github.lukesky19.skyshop.manager.AutoSellManager;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.tree.LiteralCommandNode;
 import io.papermc.paper.command.brigadier.CommandSourceStack;
@@ -27,17 +31,25 @@ import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Optional;
+
 /**
  * This class is used to create the sell command used to view the sell items the player's inventory.
  */
 public class SellCommand {
+    private final @NotNull LocaleManager localeManager;
+    private final @NotNull AutoSellManager autoSellManager;
     private final @NotNull SkyShopAPI skyShopAPI;
 
     /**
      * Constructor
+     * @param localeManager A {@link LocaleManager} instance.
+     * @param autoSellManager An {@link AutoSellManager} instance.
      * @param skyShopAPI A {@link SkyShopAPI} instance.
      */
-    public SellCommand(@NotNull SkyShopAPI skyShopAPI) {
+    public SellCommand(@NotNull LocaleManager localeManager, @NotNull AutoSellManager autoSellManager, @NotNull SkyShopAPI skyShopAPI) {
+        this.localeManager = localeManager;
+        this.autoSellManager = autoSellManager;
         this.skyShopAPI = skyShopAPI;
     }
 
@@ -90,6 +102,35 @@ public class SellCommand {
 
                 skyShopAPI.sellPlayerInventory(player, player.getInventory(), true);
 
+                return 1;
+            })
+            .then(Commands.literal("contents")
+                .requires(ctx -> ctx.getSender().hasPermission("skyshop.commands.sell.all.contents"))
+                .executes(ctx -> {
+                    Player player = (Player) ctx.getSource().getSender();
+
+                    skyShopAPI.sellPlayerInventory(player, player.getInventory(), true, true);
+
+                    return 1;
+                })
+            )
+        );
+
+        builder.then(Commands.literal("auto")
+            .requires(ctx -> ctx.getSender().hasPermission("skyshop.commands.sell.auto"))
+            .executes(ctx -> {
+                Player player = (Player) ctx.getSource().getSender();
+                Locale locale = localeManager.getLocale();
+
+                Optional<Boolean> optionalEnabled = autoSellManager.toggle(player);
+                if(optionalEnabled.isEmpty()) {
+                    player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.playerDataNotLoaded()));
+                    return 0;
+                }
+
+                String message = optionalEnabled.get() ? locale.autoSellEnabled() : locale.autoSellDisabled();
+                player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + message));
+
                 return 1;
             })
         );
@@ -20,21 +20,33 @@ package com.github.lukesky19.skyshop.commands;
 import com.github.lukesky19.skylib.api.adventure.AdventureUtil;
 import com.github.lukesky19.skyshop.SkyShop;
 import com.github.lukesky19.skyshop.SkyShopAPI;
+import com.github.lukesky19.skyshop.commands.arguments.AnalyzeCommand;
+import com.github.lukesky19.skyshop.commands.arguments.BoosterCommand;
+import com.github.lukesky19.skyshop.commands.arguments.EconomyCommand;
+import com.github.lukesky19.skyshop.commands.arguments.FindCommand;
 import com.github.lukesky19.skyshop.commands.arguments.HelpCommand;
+import com.github.lukesky19.skyshop.commands.arguments.ImportCommand;
 import com.github.lukesky19.skyshop.commands.arguments.ReloadCommand;
+import com.github.lukesky19.skyshop.commands.arguments.SearchCommand;
 import com.github.lukesky19.skyshop.commands.arguments.SellAllCommand;
 import com.github.lukesky19.skyshop.commands.arguments.StatsCommand;
-import com.github.lukesky19.skyshop.configuration.*;
+import com.github.lukesky19.skyshop.commands.arguments.WandCommand;
+import com.github.lukesky19.skyshop.configuration.ImportManager;
+import com.github.lukesky19.skyshop.configuration.LocaleManager;
+import com.github.lukesky19.skyshop.configuration.SellAllManager;
+import com.github.lukesky19.skyshop.configuration.ShopManager;
 import com.github.lukesky19.skyshop.data.Locale;
-import com.github.lukesky19.skyshop.data.gui.MenuConfig;
 import com.github.lukesky19.skyshop.gui.GUIManager;
 import com.github.lukesky19.skyshop.gui.MenuGUI;
+import com.github.lukesky19.skyshop.manager.AnalysisManager;
+import com.github.lukesky19.skyshop.manager.ShopIndexManager;
 import com.github.lukesky19.skyshop.manager.StatsManager;
+import com.github.lukesky19.skyshop.manager.SellMultiplierManager;
+import com.github.lukesky19.skyshop.manager.SellWandManager;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.tree.LiteralCommandNode;
 import io.papermc.paper.command.brigadier.CommandSourceStack;
 import io.papermc.paper.command.brigadier.Commands;
-import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -47,9 +59,12 @@ import java.util.Optional;
 public class SkyShopCommand {
     private final @NotNull SkyShop skyShop;
     private final @NotNull LocaleManager localeManager;
-    private final @NotNull MenuManager menuManager;
+    private final @NotNull ImportManager importManager;
     private final @NotNull ShopManager shopManager;
-    private final @NotNull TransactionManager transactionManager;
+    private final @NotNull ShopIndexManager shopIndexManager;
+    private final @NotNull AnalysisManager analysisManager;
+    private final @NotNull SellMultiplierManager sellMultiplierManager;
+    private final @NotNull SellWandManager sellWandManager;
     private final @NotNull SellAllManager sellAllManager;
     private final @Nullable StatsManager statsManager;
     private final @NotNull GUIManager guiManager;
@@ -60,9 +75,12 @@ public class SkyShopCommand {
      * @param skyShop A {@link SkyShop} instance
      * @param guiManager A {@link GUIManager} instance.
      * @param localeManager A {@link LocaleManager} instance.
-     * @param menuManager A {@link MenuManager} instance.
+     * @param importManager An {@link ImportManager} instance.
      * @param shopManager A {@link ShopManager} instance.
-     * @param transactionManager A {@link TransactionManager} instance.
+     * @param shopIndexManager A {@link ShopIndexManager} instance.
+     * @param analysisManager An {@link AnalysisManager} instance.
+     * @param sellMultiplierManager A {@link SellMultiplierManager} instance.
+     * @param sellWandManager A {@link SellWandManager} instance.
      * @param sellAllManager A {@link SellAllManager} instance.
      * @param statsManager A {@link StatsManager} instance.
      * @param skyShopAPI A {@link SkyShopAPI} instance.
@@ -71,17 +89,23 @@ public class SkyShopCommand {
             @NotNull SkyShop skyShop,
             @NotNull GUIManager guiManager,
             @NotNull LocaleManager localeManager,
-            @NotNull MenuManager menuManager,
+            @NotNull ImportManager importManager,
             @NotNull ShopManager shopManager,
-            @NotNull TransactionManager transactionManager,
+            @NotNull ShopIndexManager shopIndexManager,
+            @NotNull AnalysisManager analysisManager,
+            @NotNull SellMultiplierManager sellMultiplierManager,
+            @NotNull SellWandManager sellWandManager,
             @NotNull SellAllManager sellAllManager,
             @Nullable StatsManager statsManager,
             @NotNull SkyShopAPI skyShopAPI) {
         this.skyShop = skyShop;
         this.localeManager = localeManager;
-        this.menuManager = menuManager;
+        this.importManager = importManager;
         this.shopManager = shopManager;
-        this.transactionManager = transactionManager;
+        this.shopIndexManager = shopIndexManager;
+        this.analysisManager = analysisManager;
+        this.sellMultiplierManager = sellMultiplierManager;
+        this.sellWandManager = sellWandManager;
         this.sellAllManager = sellAllManager;
         this.statsManager = statsManager;
         this.guiManager = guiManager;
@@ -97,41 +121,22 @@ public class SkyShopCommand {
         builder.requires(ctx -> ctx.getSender().hasPermission("skyshop.commands.skyshop"));
         builder.executes(ctx -> {
             Locale locale = localeManager.getLocale();
-            ComponentLogger logger = skyShop.getComponentLogger();
 
             if (ctx.getSource().getSender() instanceof Player player) {
-                Optional<MenuConfig> optionalMenuConfig = menuManager.getMenuConfig();
-                if(optionalMenuConfig.isPresent()) {
-                    MenuConfig menuConfig = optionalMenuConfig.get();
-                    MenuGUI menuGUI = new MenuGUI(skyShop, guiManager, player, localeManager, shopManager, transactionManager, sellAllManager, statsManager, skyShopAPI, menuConfig);
-
-                    boolean creationResult = menuGUI.create();
-                    if(!creationResult) {
-                        logger.error(AdventureUtil.serialize("Unable to create the InventoryView for the menu GUI for player " + player.getName() + " due to a configuration error."));
-                        player.sendMessage(AdventureUtil.serialize(locale.prefix() + locale.guiOpenError()));
-                        return 0;
-                    }
-
-                    boolean updateResult = menuGUI.update();
-                    if(!updateResult) {
-                        logger.error(AdventureUtil.serialize("Unable to decorate the menu GUI for player " + player.getName() + " due to a configuration error."));
-                        player.sendMessage(AdventureUtil.serialize(locale.prefix() + locale.guiOpenError()));
-                        return 0;
-                    }
-
-                    boolean openResult = menuGUI.open();
-                    if(!openResult) {
-                        logger.error(AdventureUtil.serialize("Unable to open the menu GUI for player " + player.getName() + " due to a configuration error."));
-                        player.sendMessage(AdventureUtil.serialize(locale.prefix() + locale.guiOpenError()));
-                        return 0;
-                    }
-
-                    return 1;
-                } else {
+                Optional<MenuGUI> optionalMenuGUI = guiManager.createMenuGUI(player);
+                if(optionalMenuGUI.isEmpty()) {
                     player.sendMessage(AdventureUtil.serialize(locale.prefix() + locale.guiOpenError()));
+                    return 0;
+                }
 
+                boolean openResult = optionalMenuGUI.get().open();
+                if(!openResult) {
+                    skyShop.getComponentLogger().error(AdventureUtil.serialize("Unable to open the menu GUI for player " + player.getName() + " due to a configuration error."));
+                    player.sendMessage(AdventureUtil.serialize(locale.prefix() + locale.guiOpenError()));
                     return 0;
                 }
+
+                return 1;
             } else {
                 skyShop.getComponentLogger().info(AdventureUtil.serialize(locale.inGameOnly()));
 
@@ -143,11 +148,25 @@ public class SkyShopCommand {
         ReloadCommand reloadCommand = new ReloadCommand(skyShop, localeManager);
         SellAllCommand sellAllCommand = new SellAllCommand(skyShop, localeManager, guiManager, sellAllManager, skyShopAPI);
         StatsCommand statsCommand = new StatsCommand(skyShop, localeManager, guiManager, statsManager);
+        ImportCommand importCommand = new ImportCommand(skyShop, localeManager, guiManager, importManager, shopManager);
+        AnalyzeCommand analyzeCommand = new AnalyzeCommand(skyShop, localeManager, analysisManager);
+        FindCommand findCommand = new FindCommand(guiManager, localeManager, shopIndexManager);
+        BoosterCommand boosterCommand = new BoosterCommand(skyShop, localeManager, sellMultiplierManager);
+        WandCommand wandCommand = new WandCommand(localeManager, sellWandManager);
+        EconomyCommand economyCommand = new EconomyCommand(skyShop, localeManager);
+        SearchCommand searchCommand = new SearchCommand(skyShop, guiManager, localeManager, shopManager, shopIndexManager);
 
         builder.then(helpCommand.createCommand());
         builder.then(reloadCommand.createCommand());
         builder.then(sellAllCommand.createCommand());
         builder.then(statsCommand.createCommand());
+        builder.then(importCommand.createCommand());
+        builder.then(analyzeCommand.createCommand());
+        builder.then(findCommand.createCommand());
+        builder.then(searchCommand.createCommand());
+        builder.then(boosterCommand.createCommand());
+        builder.then(wandCommand.createCommand());
+        builder.then(economyCommand.createCommand());
 
         return builder.build();
     }
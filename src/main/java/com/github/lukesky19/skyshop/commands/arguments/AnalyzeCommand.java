@@ -0,0 +1,111 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.commands.arguments;
+
+import com.github.lukesky19.skylib.api.adventure.AdventureUtil;
+import com.github.lukesky19.skyshop.SkyShop;
+import com.github.lukesky19.skyshop.configuration.LocaleManager;
+import com.github.lukesky19.skyshop.data.AnalysisReport;
+import com.github.lukesky19.skyshop.data.Locale;
+import com.github.lukesky19.skyshop.manager.AnalysisManager;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import io.papermc.paper.command.brigadier.Commands;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * This class is used to create the analyze command used to view the results of the latest shop analysis.
+ */
+public class AnalyzeCommand {
+    private static final int MAX_LISTED_ISSUES = 10;
+    private final @NotNull SkyShop skyShop;
+    private final @NotNull LocaleManager localeManager;
+    private final @NotNull AnalysisManager analysisManager;
+
+    /**
+     * Constructor
+     * @param skyShop A {@link SkyShop} instance.
+     * @param localeManager A {@link LocaleManager} instance.
+     * @param analysisManager An {@link AnalysisManager} instance.
+     */
+    public AnalyzeCommand(@NotNull SkyShop skyShop, @NotNull LocaleManager localeManager, @NotNull AnalysisManager analysisManager) {
+        this.skyShop = skyShop;
+        this.localeManager = localeManager;
+        this.analysisManager = analysisManager;
+    }
+
+    /**
+     * Creates the {@link LiteralCommandNode} of type {@link CommandSourceStack} for the analyze command argument.
+     * @return A {@link LiteralCommandNode} of type {@link CommandSourceStack}.
+     */
+    public LiteralCommandNode<CommandSourceStack> createCommand() {
+        return Commands.literal("analyze")
+            .requires(ctx -> ctx.getSender().hasPermission("skyshop.commands.skyshop.analyze"))
+            .executes(ctx -> {
+                CommandSender sender = ctx.getSource().getSender();
+                Locale locale = localeManager.getLocale();
+
+                Optional<AnalysisReport> optionalReport = analysisManager.getLatestReport();
+                if(optionalReport.isEmpty()) {
+                    sendMessage(sender, locale.prefix() + locale.analysisPending(), List.of());
+                    return 0;
+                }
+                AnalysisReport report = optionalReport.get();
+
+                List<TagResolver.Single> placeholders = List.of(
+                        Placeholder.parsed("duplicates", String.valueOf(report.duplicates().size())),
+                        Placeholder.parsed("arbitrage", String.valueOf(report.arbitrage().size())),
+                        Placeholder.parsed("missing_sell_prices", String.valueOf(report.missingSellPrices().size())),
+                        Placeholder.unparsed("file", report.file().toString()));
+                sendMessage(sender, locale.prefix() + locale.analysisSummary(), placeholders);
+
+                // List the most important issues first, the rest can be found in the report file.
+                List<String> issues = new ArrayList<>(report.arbitrage());
+                issues.addAll(report.missingSellPrices());
+                issues.addAll(report.duplicates());
+                for(String issue : issues.subList(0, Math.min(MAX_LISTED_ISSUES, issues.size()))) {
+                    sendMessage(sender, "<gray>- <issue></gray>", List.of(Placeholder.unparsed("issue", issue)));
+                }
+
+                return 1;
+            }).build();
+    }
+
+    /**
+     * Sends a message to a player or the console.
+     * @param sender The {@link CommandSender} to send the message to.
+     * @param message The message to send.
+     * @param placeholders The {@link List} of {@link TagResolver.Single} placeholders to use.
+     */
+    private void sendMessage(@NotNull CommandSender sender, @NotNull String message, @NotNull List<TagResolver.Single> placeholders) {
+        if(sender instanceof Player player) {
+            player.sendMessage(AdventureUtil.serialize(player, message, placeholders));
+        } else {
+            skyShop.getComponentLogger().info(MiniMessage.miniMessage().deserialize(message, placeholders.toArray(TagResolver[]::new)));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.commands.arguments;
+
+import com.github.lukesky19.skylib.api.adventure.AdventureUtil;
+import com.github.lukesky19.skyshop.SkyShop;
+import com.github.lukesky19.skyshop.configuration.LocaleManager;
+import com.github.lukesky19.skyshop.data.Locale;
+import com.github.lukesky19.skyshop.manager.SellMultiplierManager;
+import com.mojang.brigadier.arguments.DoubleArgumentType;
+import com.mojang.brigadier.arguments.LongArgumentType;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import io.papermc.paper.command.brigadier.Commands;
+import io.papermc.paper.command.brigadier.argument.ArgumentTypes;
+import io.papermc.paper.command.brigadier.argument.resolvers.selector.PlayerSelectorArgumentResolver;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * This class is used to create the booster command used to give timed sell boosters.
+ */
+public class BoosterCommand {
+    private final @NotNull SkyShop skyShop;
+    private final @NotNull LocaleManager localeManager;
+    private final @NotNull SellMultiplierManager sellMultiplierManager;
+
+    /**
+     * Constructor
+     * @param skyShop A {@link SkyShop} instance.
+     * @param localeManager A {@link LocaleManager} instance.
+     * @param sellMultiplierManager A {@link SellMultiplierManager} instance.
+     */
+    public BoosterCommand(@NotNull SkyShop skyShop, @NotNull LocaleManager localeManager, @NotNull SellMultiplierManager sellMultiplierManager) {
+        this.skyShop = skyShop;
+        this.localeManager = localeManager;
+        this.sellMultiplierManager = sellMultiplierManager;
+    }
+
+    /**
+     * Creates the {@link LiteralCommandNode} of type {@link CommandSourceStack} for the booster command argument.
+     * @return A {@link LiteralCommandNode} of type {@link CommandSourceStack}.
+     */
+    public LiteralCommandNode<CommandSourceStack> createCommand() {
+        return Commands.literal("booster")
+            .requires(ctx -> ctx.getSender().hasPermission("skyshop.commands.skyshop.booster"))
+            .then(Commands.literal("give")
+                .then(Commands.argument("player", ArgumentTypes.player())
+                    .then(Commands.argument("multiplier", DoubleArgumentType.doubleArg(0.0))
+                        .then(Commands.argument("duration", LongArgumentType.longArg(1))
+                            .executes(ctx -> {
+                                CommandSender sender = ctx.getSource().getSender();
+                                Locale locale = localeManager.getLocale();
+                                Player target = ctx.getArgument("player", PlayerSelectorArgumentResolver.class).resolve(ctx.getSource()).getFirst();
+                                double multiplier = DoubleArgumentType.getDouble(ctx, "multiplier");
+                                long duration = LongArgumentType.getLong(ctx, "duration");
+
+                                if(!sellMultiplierManager.addBooster(target, multiplier, duration)) {
+                                    sender.sendMessage(AdventureUtil.serialize(locale.prefix() + locale.boosterFailed()));
+                                    return 0;
+                                }
+
+                                List<TagResolver.Single> placeholders = getPlaceholders(target.getName(), multiplier, duration);
+                                sender.sendMessage(MiniMessage.miniMessage().deserialize(locale.prefix() + locale.boosterGiven(), placeholders.toArray(TagResolver[]::new)));
+                                target.sendMessage(AdventureUtil.serialize(target, locale.prefix() + locale.boosterReceived(), placeholders));
+
+                                return 1;
+                            })))))
+            .then(Commands.literal("global")
+                .then(Commands.argument("multiplier", DoubleArgumentType.doubleArg(0.0))
+                    .then(Commands.argument("duration", LongArgumentType.longArg(1))
+                        .executes(ctx -> {
+                            Locale locale = localeManager.getLocale();
+                            double multiplier = DoubleArgumentType.getDouble(ctx, "multiplier");
+                            long duration = LongArgumentType.getLong(ctx, "duration");
+
+                            sellMultiplierManager.addGlobalBooster(multiplier, duration);
+
+                            List<TagResolver.Single> placeholders = getPlaceholders(ctx.getSource().getSender().getName(), multiplier, duration);
+                            skyShop.getServer().broadcast(MiniMessage.miniMessage().deserialize(locale.prefix() + locale.globalBoosterStarted(), placeholders.toArray(TagResolver[]::new)));
+
+                            return 1;
+                        }))))
+            .build();
+    }
+
+    /**
+     * Create the placeholders used by the booster messages.
+     * @param playerName The name of the player.
+     * @param multiplier The multiplier of the booster.
+     * @param duration How long the booster lasts in seconds.
+     * @return A {@link List} of {@link TagResolver.Single}s.
+     */
+    private @NotNull List<TagResolver.Single> getPlaceholders(@NotNull String playerName, double multiplier, long duration) {
+        return List.of(
+                Placeholder.unparsed("player", playerName),
+                Placeholder.parsed("multiplier", String.valueOf(multiplier)),
+                Placeholder.parsed("duration", String.valueOf(duration)));
+    }
+}
@@ -0,0 +1,109 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.commands.arguments;
+
+import com.github.lukesky19.skylib.api.adventure.AdventureUtil;
+import com.github.lukesky19.skyshop.SkyShop;
+import com.github.lukesky19.skyshop.configuration.LocaleManager;
+import com.github.lukesky19.skyshop.data.CircuitBreaker;
+import com.github.lukesky19.skyshop.data.LatencyHistogram;
+import com.github.lukesky19.skyshop.data.Locale;
+import com.github.lukesky19.skyshop.manager.EconomyManager;
+import com.github.lukesky19.skyshop.util.EconomyOperation;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import io.papermc.paper.command.brigadier.Commands;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.text.DecimalFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * This class is used to create the economy command used to view economy call statistics and the circuit breaker state.
+ */
+public class EconomyCommand {
+    private final @NotNull SkyShop skyShop;
+    private final @NotNull LocaleManager localeManager;
+
+    /**
+     * Constructor
+     * @param skyShop A {@link SkyShop} instance.
+     * @param localeManager A {@link LocaleManager} instance.
+     */
+    public EconomyCommand(@NotNull SkyShop skyShop, @NotNull LocaleManager localeManager) {
+        this.skyShop = skyShop;
+        this.localeManager = localeManager;
+    }
+
+    /**
+     * Creates the {@link LiteralCommandNode} of type {@link CommandSourceStack} for the economy command argument.
+     * @return A {@link LiteralCommandNode} of type {@link CommandSourceStack}.
+     */
+    public LiteralCommandNode<CommandSourceStack> createCommand() {
+        return Commands.literal("economy")
+            .requires(ctx -> ctx.getSender().hasPermission("skyshop.commands.skyshop.economy"))
+            .executes(ctx -> {
+                CommandSender sender = ctx.getSource().getSender();
+                Locale locale = localeManager.getLocale();
+                EconomyManager economyManager = skyShop.getEconomyManager();
+
+                Optional<CircuitBreaker> optionalCircuitBreaker = economyManager.getCircuitBreaker();
+                String state = optionalCircuitBreaker.map(circuitBreaker -> circuitBreaker.getState().name().toLowerCase()).orElse("disabled");
+                sendMessage(sender, locale.prefix() + locale.economyStatus(), List.of(Placeholder.parsed("state", state)));
+
+                DecimalFormat df = new DecimalFormat("#.##");
+                for(EconomyOperation operation : EconomyOperation.values()) {
+                    LatencyHistogram histogram = economyManager.getHistogram(operation);
+
+                    List<TagResolver.Single> placeholders = List.of(
+                            Placeholder.parsed("operation", operation.name().toLowerCase()),
+                            Placeholder.parsed("calls", String.valueOf(histogram.getCount())),
+                            Placeholder.parsed("errors", String.valueOf(histogram.getErrors())),
+                            Placeholder.parsed("error_rate", df.format(histogram.getErrorRate())),
+                            Placeholder.parsed("avg", df.format(histogram.getAverageMillis())),
+                            Placeholder.parsed("p50", df.format(histogram.getPercentileMillis(50))),
+                            Placeholder.parsed("p95", df.format(histogram.getPercentileMillis(95))),
+                            Placeholder.parsed("p99", df.format(histogram.getPercentileMillis(99))),
+                            Placeholder.parsed("max", df.format(histogram.getMaxMillis())));
+                    sendMessage(sender, locale.economyOperationStats(), placeholders);
+                }
+
+                return 1;
+            }).build();
+    }
+
+    /**
+     * Sends a message to a player or the console.
+     * @param sender The {@link CommandSender} to send the message to.
+     * @param message The message to send.
+     * @param placeholders The {@link List} of {@link TagResolver.Single} placeholders to use.
+     */
+    private void sendMessage(@NotNull CommandSender sender, @NotNull String message, @NotNull List<TagResolver.Single> placeholders) {
+        if(sender instanceof Player player) {
+            player.sendMessage(AdventureUtil.serialize(player, message, placeholders));
+        } else {
+            skyShop.getComponentLogger().info(MiniMessage.miniMessage().deserialize(message, placeholders.toArray(TagResolver[]::new)));
+        }
+    }
+}
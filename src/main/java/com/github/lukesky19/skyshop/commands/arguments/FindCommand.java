@@ -0,0 +1,127 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.commands.arguments;
+
+import com.github.lukesky19.skylib.api.adventure.AdventureUtil;
+import com.github.lukesky19.skyshop.configuration.LocaleManager;
+import com.github.lukesky19.skyshop.data.Locale;
+import com.github.lukesky19.skyshop.data.ShopEntry;
+import com.github.lukesky19.skyshop.gui.GUIManager;
+import com.github.lukesky19.skyshop.manager.ShopIndexManager;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import io.papermc.paper.command.brigadier.Commands;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * This class is used to create the find command used to open the shop page where an item or transaction can be bought or sold.
+ */
+public class FindCommand {
+    private final @NotNull GUIManager guiManager;
+    private final @NotNull LocaleManager localeManager;
+    private final @NotNull ShopIndexManager shopIndexManager;
+
+    /**
+     * Constructor
+     * @param guiManager A {@link GUIManager} instance.
+     * @param localeManager A {@link LocaleManager} instance.
+     * @param shopIndexManager A {@link ShopIndexManager} instance.
+     */
+    public FindCommand(
+            @NotNull GUIManager guiManager,
+            @NotNull LocaleManager localeManager,
+            @NotNull ShopIndexManager shopIndexManager) {
+        this.guiManager = guiManager;
+        this.localeManager = localeManager;
+        this.shopIndexManager = shopIndexManager;
+    }
+
+    /**
+     * Creates the {@link LiteralCommandNode} of type {@link CommandSourceStack} for the find command argument.
+     * @return A {@link LiteralCommandNode} of type {@link CommandSourceStack}.
+     */
+    public LiteralCommandNode<CommandSourceStack> createCommand() {
+        return Commands.literal("find")
+            .requires(ctx -> ctx.getSender().hasPermission("skyshop.commands.skyshop.find") && ctx.getSender() instanceof Player)
+            .then(Commands.argument("item", StringArgumentType.greedyString())
+                .suggests((ctx, builder) -> {
+                    String remaining = builder.getRemainingLowerCase();
+
+                    shopIndexManager.getShopIndex().byItemType().keySet().stream()
+                            .map(itemType -> itemType.getKey().getKey())
+                            .filter(key -> key.startsWith(remaining))
+                            .forEach(builder::suggest);
+                    shopIndexManager.getShopIndex().byTransactionName().keySet().stream()
+                            .filter(name -> name.startsWith(remaining))
+                            .forEach(builder::suggest);
+
+                    return builder.buildFuture();
+                })
+                .executes(ctx -> {
+                    Player player = (Player) ctx.getSource().getSender();
+                    Locale locale = localeManager.getLocale();
+                    String input = StringArgumentType.getString(ctx, "item");
+
+                    List<ShopEntry> entries = findEntries(input);
+                    if(entries.isEmpty()) {
+                        player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.findNoResults(), List.of(Placeholder.unparsed("item", input))));
+                        return 0;
+                    }
+
+                    ShopEntry entry = entries.getFirst();
+                    if(!guiManager.openShopAt(player, entry)) {
+                        player.sendMessage(AdventureUtil.serialize(locale.prefix() + locale.guiOpenError()));
+                        return 0;
+                    }
+
+                    player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.findSuccess(), List.of(
+                            Placeholder.parsed("count", String.valueOf(entries.size())),
+                            Placeholder.unparsed("shop_id", entry.shopId()),
+                            Placeholder.parsed("page", String.valueOf(entry.pageNum() + 1)))));
+
+                    return 1;
+                })
+            ).build();
+    }
+
+    /**
+     * Looks up the input as an item type first, then as a transaction name.
+     * @param input The item type key or transaction name.
+     * @return A {@link List} of {@link ShopEntry}s in precedence order.
+     */
+    private @NotNull List<ShopEntry> findEntries(@NotNull String input) {
+        NamespacedKey key = NamespacedKey.fromString(input.trim().toLowerCase(java.util.Locale.ROOT).replace(' ', '_'));
+        if(key != null) {
+            ItemType itemType = Registry.ITEM.get(key);
+            if(itemType != null) {
+                List<ShopEntry> entries = shopIndexManager.getEntries(itemType);
+                if(!entries.isEmpty()) return entries;
+            }
+        }
+
+        return shopIndexManager.getEntries(input);
+    }
+}
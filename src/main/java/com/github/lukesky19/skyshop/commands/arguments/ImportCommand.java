@@ -0,0 +1,131 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.commands.arguments;
+
+import com.github.lukesky19.skylib.api.adventure.AdventureUtil;
+import com.github.lukesky19.skyshop.SkyShop;
+import com.github.lukesky19.skyshop.configuration.ImportManager;
+import com.github.lukesky19.skyshop.configuration.LocaleManager;
+import com.github.lukesky19.skyshop.configuration.ShopManager;
+import com.github.lukesky19.skyshop.data.Locale;
+import com.github.lukesky19.skyshop.data.gui.ShopConfig;
+import com.github.lukesky19.skyshop.gui.GUIManager;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import io.papermc.paper.command.brigadier.Commands;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * This class is used to create the import command used to import a shop from a price list in SkyShop/imports.
+ */
+public class ImportCommand {
+    private final @NotNull SkyShop skyShop;
+    private final @NotNull LocaleManager localeManager;
+    private final @NotNull GUIManager guiManager;
+    private final @NotNull ImportManager importManager;
+    private final @NotNull ShopManager shopManager;
+
+    /**
+     * Constructor
+     * @param skyShop A {@link SkyShop} instance.
+     * @param localeManager A {@link LocaleManager} instance.
+     * @param guiManager A {@link GUIManager} instance.
+     * @param importManager An {@link ImportManager} instance.
+     * @param shopManager A {@link ShopManager} instance.
+     */
+    public ImportCommand(@NotNull SkyShop skyShop, @NotNull LocaleManager localeManager, @NotNull GUIManager guiManager, @NotNull ImportManager importManager, @NotNull ShopManager shopManager) {
+        this.skyShop = skyShop;
+        this.localeManager = localeManager;
+        this.guiManager = guiManager;
+        this.importManager = importManager;
+        this.shopManager = shopManager;
+    }
+
+    /**
+     * Creates the {@link LiteralCommandNode} of type {@link CommandSourceStack} for the import command argument.
+     * The price list is read off the main thread and the generated shop is registered back on the main thread.
+     * @return A {@link LiteralCommandNode} of type {@link CommandSourceStack}.
+     */
+    public LiteralCommandNode<CommandSourceStack> createCommand() {
+        return Commands.literal("import")
+            .requires(ctx -> ctx.getSender().hasPermission("skyshop.commands.skyshop.import"))
+            .then(Commands.argument("file", StringArgumentType.word())
+                .suggests((ctx, builder) -> {
+                    importManager.getImportFileNames().forEach(builder::suggest);
+                    return builder.buildFuture();
+                })
+                .executes(ctx -> {
+                    CommandSender sender = ctx.getSource().getSender();
+                    String fileName = StringArgumentType.getString(ctx, "file");
+                    String shopId = importManager.getShopId(fileName);
+
+                    skyShop.getServer().getScheduler().runTaskAsynchronously(skyShop, () -> {
+                        Optional<ShopConfig> optionalShopConfig = importManager.importShop(fileName);
+
+                        skyShop.getServer().getScheduler().runTask(skyShop, () -> {
+                            Locale locale = localeManager.getLocale();
+                            List<TagResolver.Single> placeholders = List.of(Placeholder.parsed("file", fileName), Placeholder.parsed("shop_id", shopId));
+
+                            if(optionalShopConfig.isEmpty()) {
+                                sendMessage(sender, locale.prefix() + locale.importFailed(), placeholders);
+                                return;
+                            }
+
+                            if(!shopManager.registerImportedShop(shopId, optionalShopConfig.get())) {
+                                skyShop.getComponentLogger().warn(AdventureUtil.serialize("The imported shop <yellow>" + shopId + "</yellow> was not registered as a shop configuration with the same name already exists."));
+                                sendMessage(sender, locale.prefix() + locale.importFailed(), placeholders);
+                                return;
+                            }
+
+                            // Re-render any open GUIs so the imported prices are shown immediately.
+                            guiManager.refreshOpenGUIs();
+
+                            sendMessage(sender, locale.prefix() + locale.importSuccess(), placeholders);
+                        });
+                    });
+
+                    return 1;
+                })
+            ).build();
+    }
+
+    /**
+     * Sends a message to a player or the console.
+     * @param sender The {@link CommandSender} to send the message to.
+     * @param message The message to send.
+     * @param placeholders The {@link List} of {@link TagResolver.Single} placeholders to use.
+     */
+    private void sendMessage(@NotNull CommandSender sender, @NotNull String message, @NotNull List<TagResolver.Single> placeholders) {
+        if(sender instanceof Player player) {
+            if(!player.isOnline()) return;
+
+            player.sendMessage(AdventureUtil.serialize(player, message, placeholders));
+        } else {
+            skyShop.getComponentLogger().info(MiniMessage.miniMessage().deserialize(message, placeholders.toArray(TagResolver[]::new)));
+        }
+    }
+}
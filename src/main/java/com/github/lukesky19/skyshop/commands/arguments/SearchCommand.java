@@ -0,0 +1,118 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.commands.arguments;
+
+import com.github.lukesky19.skylib.api.adventure.AdventureUtil;
+import com.github.lukesky19.skyshop.SkyShop;
+import com.github.lukesky19.skyshop.configuration.LocaleManager;
+import com.github.lukesky19.skyshop.configuration.ShopManager;
+import com.github.lukesky19.skyshop.data.Locale;
+import com.github.lukesky19.skyshop.data.ShopEntry;
+import com.github.lukesky19.skyshop.gui.GUIManager;
+import com.github.lukesky19.skyshop.gui.SearchGUI;
+import com.github.lukesky19.skyshop.manager.ShopIndexManager;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import io.papermc.paper.command.brigadier.Commands;
+import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * This class is used to create the search command used to search every shop for a transaction.
+ */
+public class SearchCommand {
+    private final @NotNull SkyShop skyShop;
+    private final @NotNull GUIManager guiManager;
+    private final @NotNull LocaleManager localeManager;
+    private final @NotNull ShopManager shopManager;
+    private final @NotNull ShopIndexManager shopIndexManager;
+
+    /**
+     * Constructor
+     * @param skyShop A {@link SkyShop} instance.
+     * @param guiManager A {@link GUIManager} instance.
+     * @param localeManager A {@link LocaleManager} instance.
+     * @param shopManager A {@link ShopManager} instance.
+     * @param shopIndexManager A {@link ShopIndexManager} instance.
+     */
+    public SearchCommand(
+            @NotNull SkyShop skyShop,
+            @NotNull GUIManager guiManager,
+            @NotNull LocaleManager localeManager,
+            @NotNull ShopManager shopManager,
+            @NotNull ShopIndexManager shopIndexManager) {
+        this.skyShop = skyShop;
+        this.guiManager = guiManager;
+        this.localeManager = localeManager;
+        this.shopManager = shopManager;
+        this.shopIndexManager = shopIndexManager;
+    }
+
+    /**
+     * Creates the {@link LiteralCommandNode} of type {@link CommandSourceStack} for the search command argument.
+     * @return A {@link LiteralCommandNode} of type {@link CommandSourceStack}.
+     */
+    public LiteralCommandNode<CommandSourceStack> createCommand() {
+        return Commands.literal("search")
+            .requires(ctx -> ctx.getSender().hasPermission("skyshop.commands.skyshop.search") && ctx.getSender() instanceof Player)
+            .then(Commands.argument("query", StringArgumentType.greedyString())
+                .executes(ctx -> {
+                    Player player = (Player) ctx.getSource().getSender();
+                    Locale locale = localeManager.getLocale();
+                    ComponentLogger logger = skyShop.getComponentLogger();
+                    String query = StringArgumentType.getString(ctx, "query");
+
+                    List<ShopEntry> results = shopIndexManager.search(query);
+                    if(results.isEmpty()) {
+                        player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.searchNoResults(), List.of(Placeholder.unparsed("query", query))));
+                        return 0;
+                    }
+
+                    SearchGUI searchGUI = new SearchGUI(skyShop, guiManager, player, localeManager, shopManager, shopIndexManager, query, results);
+
+                    boolean creationResult = searchGUI.create();
+                    if(!creationResult) {
+                        logger.error(AdventureUtil.serialize("Unable to create the InventoryView for the search GUI for player " + player.getName() + " due to a configuration error."));
+                        player.sendMessage(AdventureUtil.serialize(locale.prefix() + locale.guiOpenError()));
+                        return 0;
+                    }
+
+                    boolean updateResult = searchGUI.update();
+                    if(!updateResult) {
+                        logger.error(AdventureUtil.serialize("Unable to decorate the search GUI for player " + player.getName() + " due to a configuration error."));
+                        player.sendMessage(AdventureUtil.serialize(locale.prefix() + locale.guiOpenError()));
+                        return 0;
+                    }
+
+                    boolean openResult = searchGUI.open();
+                    if(!openResult) {
+                        logger.error(AdventureUtil.serialize("Unable to open the search GUI for player " + player.getName() + " due to a configuration error."));
+                        player.sendMessage(AdventureUtil.serialize(locale.prefix() + locale.guiOpenError()));
+                        return 0;
+                    }
+
+                    return 1;
+                })
+            ).build();
+    }
+}
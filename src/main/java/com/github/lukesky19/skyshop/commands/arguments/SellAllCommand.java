@@ -81,7 +81,7 @@ public class SellAllCommand {
                     }
 
                     SellAllConfig sellAllConfig  = optionalSellAllConfig.get();
-                    SellAllGUI gui = new SellAllGUI(skyShop, guiManager, sellAllConfig, skyShopAPI, player);
+                    SellAllGUI gui = new SellAllGUI(skyShop, guiManager, sellAllManager, sellAllConfig, skyShopAPI, player);
 
                     boolean creationResult = gui.create();
                     if(!creationResult) {
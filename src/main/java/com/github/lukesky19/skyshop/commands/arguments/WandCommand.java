@@ -0,0 +1,91 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.commands.arguments;
+
+import com.github.lukesky19.skyshop.configuration.LocaleManager;
+import com.github.lukesky19.skyshop.data.Locale;
+import com.github.lukesky19.skyshop.manager.SellWandManager;
+import com.github.lukesky19.skyshop.util.WandMode;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.tree.LiteralCommandNode;
+import io.papermc.paper.command.brigadier.CommandSourceStack;
+import io.papermc.paper.command.brigadier.Commands;
+import io.papermc.paper.command.brigadier.argument.ArgumentTypes;
+import io.papermc.paper.command.brigadier.argument.resolvers.selector.PlayerSelectorArgumentResolver;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This class is used to create the wand command used to give sell wands.
+ */
+public class WandCommand {
+    private final @NotNull LocaleManager localeManager;
+    private final @NotNull SellWandManager sellWandManager;
+
+    /**
+     * Constructor
+     * @param localeManager A {@link LocaleManager} instance.
+     * @param sellWandManager A {@link SellWandManager} instance.
+     */
+    public WandCommand(@NotNull LocaleManager localeManager, @NotNull SellWandManager sellWandManager) {
+        this.localeManager = localeManager;
+        this.sellWandManager = sellWandManager;
+    }
+
+    /**
+     * Creates the {@link LiteralCommandNode} of type {@link CommandSourceStack} for the wand command argument.
+     * @return A {@link LiteralCommandNode} of type {@link CommandSourceStack}.
+     */
+    public LiteralCommandNode<CommandSourceStack> createCommand() {
+        return Commands.literal("wand")
+            .requires(ctx -> ctx.getSender().hasPermission("skyshop.commands.skyshop.wand"))
+            .then(Commands.argument("player", ArgumentTypes.player())
+                .then(Commands.argument("mode", StringArgumentType.word())
+                    .suggests((ctx, builder) -> {
+                        for(WandMode wandMode : WandMode.values()) {
+                            builder.suggest(wandMode.name().toLowerCase(java.util.Locale.ROOT));
+                        }
+
+                        return builder.buildFuture();
+                    })
+                    .executes(ctx -> {
+                        Locale locale = localeManager.getLocale();
+                        Player target = ctx.getArgument("player", PlayerSelectorArgumentResolver.class).resolve(ctx.getSource()).getFirst();
+                        String input = StringArgumentType.getString(ctx, "mode");
+
+                        WandMode wandMode;
+                        try {
+                            wandMode = WandMode.valueOf(input.toUpperCase(java.util.Locale.ROOT));
+                        } catch (IllegalArgumentException e) {
+                            return 0;
+                        }
+
+                        target.getInventory().addItem(sellWandManager.createWand(wandMode))
+                                .values().forEach(leftover -> target.getWorld().dropItem(target.getLocation(), leftover));
+
+                        ctx.getSource().getSender().sendMessage(MiniMessage.miniMessage().deserialize(locale.prefix() + locale.sellWandGiven(),
+                                Placeholder.unparsed("player", target.getName()),
+                                Placeholder.parsed("mode", wandMode.name().toLowerCase(java.util.Locale.ROOT))));
+
+                        return 1;
+                    })))
+            .build();
+    }
+}
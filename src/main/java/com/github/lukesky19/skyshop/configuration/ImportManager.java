@@ -0,0 +1,565 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.configuration;
+
+import com.github.lukesky19.skylib.api.adventure.AdventureUtil;
+import com.github.lukesky19.skylib.api.configurate.ConfigurationUtility;
+import com.github.lukesky19.skylib.api.format.FormatUtil;
+import com.github.lukesky19.skylib.api.itemstack.ItemStackConfig;
+import com.github.lukesky19.skylib.api.registry.RegistryUtil;
+import com.github.lukesky19.skylib.libs.configurate.CommentedConfigurationNode;
+import com.github.lukesky19.skylib.libs.configurate.ConfigurateException;
+import com.github.lukesky19.skylib.libs.configurate.yaml.YamlConfigurationLoader;
+import com.github.lukesky19.skyshop.SkyShop;
+import com.github.lukesky19.skyshop.data.ImportConfig;
+import com.github.lukesky19.skyshop.data.gui.ShopConfig;
+import com.github.lukesky19.skyshop.util.ButtonType;
+import com.github.lukesky19.skyshop.util.TransactionType;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
+import org.bukkit.inventory.ItemType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * This class manages everything related to importing shops from CSV and JSON price lists in SkyShop/imports.
+ * Price lists are streamed one entry at a time and turned directly into a {@link ShopConfig} using the layout in import.yml.
+ */
+public class ImportManager {
+    private final @NotNull SkyShop skyShop;
+    private @Nullable ImportConfig importConfig;
+    private @Nullable YamlConfigurationLoader loader;
+
+    /**
+     * Constructor
+     * @param skyShop A {@link SkyShop} instance.
+     */
+    public ImportManager(@NotNull SkyShop skyShop) {
+        this.skyShop = skyShop;
+    }
+
+    /**
+     * Get the {@link ImportConfig}.
+     * @return An {@link Optional} containing the {@link ImportConfig}. Will be empty if the config failed to load or is otherwise invalid.
+     */
+    public @NotNull Optional<ImportConfig> getImportConfig() {
+        return Optional.ofNullable(importConfig);
+    }
+
+    /**
+     * A method to reload the plugin's import config.
+     */
+    public void reload() {
+        ComponentLogger logger = skyShop.getComponentLogger();
+
+        // Create the imports directory if it doesn't exist.
+        File importsFolder = getImportsPath().toFile();
+        if(!importsFolder.exists() && !importsFolder.mkdirs()) {
+            logger.warn(AdventureUtil.serialize("Failed to create the <yellow>imports</yellow> directory."));
+        }
+
+        // Create the path to the file.
+        Path path = Path.of(skyShop.getDataFolder() + File.separator + "import.yml");
+
+        // Save the default config if the file doesn't exist.
+        if(!path.toFile().exists()) skyShop.saveResource("import.yml", false);
+
+        // Attempt to load the config.
+        YamlConfigurationLoader newLoader = ConfigurationUtility.getYamlConfigurationLoader(path);
+        try {
+            ImportConfig newConfig = newLoader.load().get(ImportConfig.class);
+            importConfig = newConfig;
+            loader = newLoader;
+        } catch (ConfigurateException e) {
+            importConfig = null;
+            loader = null;
+            logger.error(AdventureUtil.serialize("Failed to load <yellow>import.yml</yellow> configuration. " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Get the {@link Path} to the SkyShop/imports directory.
+     * @return The {@link Path} to the imports directory.
+     */
+    public @NotNull Path getImportsPath() {
+        return Path.of(skyShop.getDataFolder() + File.separator + "imports");
+    }
+
+    /**
+     * Get the names of all importable files in the imports directory, sorted by name.
+     * @return A {@link List} of {@link String} containing the file names, including the extension.
+     */
+    public @NotNull List<@NotNull String> getImportFileNames() {
+        Path importsPath = getImportsPath();
+        if(!Files.isDirectory(importsPath)) return List.of();
+
+        try(Stream<Path> stream = Files.list(importsPath)) {
+            return stream.filter(Files::isRegularFile)
+                    .map(path -> path.getFileName().toString())
+                    .filter(this::isImportFile)
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            skyShop.getComponentLogger().error(AdventureUtil.serialize("Failed to list the import files. " + e.getMessage()));
+            return List.of();
+        }
+    }
+
+    /**
+     * Imports every file in the imports directory.
+     * @return A {@link Map} mapping the shop id, which is the file name without the extension, to the imported {@link ShopConfig}.
+     */
+    public @NotNull Map<@NotNull String, @NotNull ShopConfig> importAll() {
+        Map<String, ShopConfig> importedShops = new LinkedHashMap<>();
+
+        for(String fileName : getImportFileNames()) {
+            importShop(fileName).ifPresent(shopConfig -> importedShops.put(getShopId(fileName), shopConfig));
+        }
+
+        return importedShops;
+    }
+
+    /**
+     * Imports a single file in the imports directory.
+     * This does not touch the server, so it is safe to call asynchronously.
+     * @param fileName The name of the file, including the extension.
+     * @return An {@link Optional} containing the imported {@link ShopConfig}. Will be empty if the import failed.
+     */
+    public @NotNull Optional<ShopConfig> importShop(@NotNull String fileName) {
+        ComponentLogger logger = skyShop.getComponentLogger();
+
+        ImportConfig config = importConfig;
+        YamlConfigurationLoader nodeLoader = loader;
+        if(config == null || nodeLoader == null) {
+            logger.warn(AdventureUtil.serialize("Unable to import <yellow>" + fileName + "</yellow> due to an invalid <yellow>import.yml</yellow> configuration."));
+            return Optional.empty();
+        }
+        if(config.guiType() == null || config.itemSlots().isEmpty()) {
+            logger.warn(AdventureUtil.serialize("Unable to import <yellow>" + fileName + "</yellow>. The gui-type and item-slots must be configured in <yellow>import.yml</yellow>."));
+            return Optional.empty();
+        }
+
+        Path path = getImportsPath().resolve(fileName).normalize();
+        if(!path.startsWith(getImportsPath()) || !Files.isRegularFile(path) || !isImportFile(fileName)) {
+            logger.warn(AdventureUtil.serialize("Unable to import <yellow>" + fileName + "</yellow>. The file must be a .csv or .json file in the imports directory."));
+            return Optional.empty();
+        }
+
+        String shopName = getShopId(fileName);
+        ShopBuilder shopBuilder = new ShopBuilder(fileName, shopName, config, nodeLoader);
+
+        try(BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            if(fileName.toLowerCase(java.util.Locale.ROOT).endsWith(".csv")) {
+                readCsv(reader, shopBuilder);
+            } else {
+                readJson(reader, shopBuilder);
+            }
+
+            return Optional.of(shopBuilder.build());
+        } catch (IOException | IllegalStateException e) {
+            logger.warn(AdventureUtil.serialize("Failed to import <yellow>" + fileName + "</yellow>. " + e.getMessage()));
+            return Optional.empty();
+        } catch (ConfigurateException e) {
+            logger.warn(AdventureUtil.serialize("Failed to import <yellow>" + fileName + "</yellow> due to an invalid <yellow>import.yml</yellow> configuration. " + e.getMessage()));
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Get the shop id for an import file, which is the file name without the extension.
+     * @param fileName The name of the file, including the extension.
+     * @return A {@link String} containing the shop id.
+     */
+    public @NotNull String getShopId(@NotNull String fileName) {
+        int lastDotIndex = fileName.lastIndexOf('.');
+
+        if(lastDotIndex == -1) return fileName;
+
+        return fileName.substring(0, lastDotIndex);
+    }
+
+    /**
+     * Checks if a file name has an extension that can be imported.
+     * @param fileName The name of the file, including the extension.
+     * @return true if the file is a .csv or .json file, otherwise false.
+     */
+    private boolean isImportFile(@NotNull String fileName) {
+        String lowerCaseName = fileName.toLowerCase(java.util.Locale.ROOT);
+
+        return lowerCaseName.endsWith(".csv") || lowerCaseName.endsWith(".json");
+    }
+
+    /**
+     * Streams a CSV price list line by line into the {@link ShopBuilder}.
+     * The columns are item_type, buy, sell, name, and category. A header row is skipped if it is the first line that isn't blank or a comment.
+     * Rows with an invalid price are skipped.
+     * @param reader The {@link BufferedReader} to read from.
+     * @param shopBuilder The {@link ShopBuilder} to add entries to.
+     * @throws IOException if the file could not be read.
+     * @throws ConfigurateException if an entry could not be converted into a button.
+     */
+    private void readCsv(@NotNull BufferedReader reader, @NotNull ShopBuilder shopBuilder) throws IOException, ConfigurateException {
+        String line;
+        int lineNumber = 0;
+        boolean firstRow = true;
+        while((line = reader.readLine()) != null) {
+            lineNumber++;
+            // Spreadsheet exports often start with a UTF-8 byte order mark.
+            if(lineNumber == 1 && line.startsWith("\uFEFF")) line = line.substring(1);
+            if(line.isBlank() || line.startsWith("#")) continue;
+
+            List<String> columns = parseCsvLine(line);
+            if(firstRow) {
+                firstRow = false;
+                if(columns.getFirst().equalsIgnoreCase("item_type")) continue;
+            }
+
+            Double buyPrice;
+            Double sellPrice;
+            try {
+                buyPrice = parsePrice(getColumn(columns, 1));
+                sellPrice = parsePrice(getColumn(columns, 2));
+            } catch (NumberFormatException e) {
+                skipInvalidPrice(shopBuilder, lineNumber);
+                continue;
+            }
+
+            shopBuilder.addEntry(lineNumber,
+                    getColumn(columns, 0),
+                    buyPrice,
+                    sellPrice,
+                    getColumn(columns, 3),
+                    getColumn(columns, 4));
+        }
+    }
+
+    /**
+     * Streams a JSON price list into the {@link ShopBuilder}.
+     * The file must contain an array of objects with the keys item_type, buy, sell, name, and category.
+     * Entries with an invalid price are skipped.
+     * @param reader The {@link BufferedReader} to read from.
+     * @param shopBuilder The {@link ShopBuilder} to add entries to.
+     * @throws IOException if the file could not be read or is not valid JSON.
+     * @throws ConfigurateException if an entry could not be converted into a button.
+     */
+    private void readJson(@NotNull BufferedReader reader, @NotNull ShopBuilder shopBuilder) throws IOException, ConfigurateException {
+        try(JsonReader jsonReader = new JsonReader(reader)) {
+            int entryNumber = 0;
+
+            jsonReader.beginArray();
+            while(jsonReader.hasNext()) {
+                entryNumber++;
+
+                String itemType = null;
+                String buy = null;
+                String sell = null;
+                String name = null;
+                String category = null;
+
+                jsonReader.beginObject();
+                while(jsonReader.hasNext()) {
+                    String key = jsonReader.nextName();
+                    if(jsonReader.peek() == JsonToken.NULL) {
+                        jsonReader.nextNull();
+                        continue;
+                    }
+
+                    switch(key) {
+                        case "item_type" -> itemType = jsonReader.nextString();
+                        case "buy" -> buy = jsonReader.nextString();
+                        case "sell" -> sell = jsonReader.nextString();
+                        case "name" -> name = jsonReader.nextString();
+                        case "category" -> category = jsonReader.nextString();
+                        default -> jsonReader.skipValue();
+                    }
+                }
+                jsonReader.endObject();
+
+                // The prices are parsed once the whole entry is read, so an invalid price only skips this entry.
+                Double buyPrice;
+                Double sellPrice;
+                try {
+                    buyPrice = parsePrice(buy);
+                    sellPrice = parsePrice(sell);
+                } catch (NumberFormatException e) {
+                    skipInvalidPrice(shopBuilder, entryNumber);
+                    continue;
+                }
+
+                shopBuilder.addEntry(entryNumber, itemType, buyPrice, sellPrice, name, category);
+            }
+            jsonReader.endArray();
+        }
+    }
+
+    /**
+     * Splits a single CSV line into its columns. Supports quoted columns containing commas and escaped quotes.
+     * @param line The line to split.
+     * @return A {@link List} of {@link String} containing the trimmed columns.
+     */
+    private @NotNull List<@NotNull String> parseCsvLine(@NotNull String line) {
+        List<String> columns = new ArrayList<>();
+        StringBuilder column = new StringBuilder();
+        boolean quoted = false;
+
+        for(int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if(quoted) {
+                if(c == '"') {
+                    if(i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        column.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    column.append(c);
+                }
+            } else if(c == '"') {
+                quoted = true;
+            } else if(c == ',') {
+                columns.add(column.toString().trim());
+                column.setLength(0);
+            } else {
+                column.append(c);
+            }
+        }
+        columns.add(column.toString().trim());
+
+        return columns;
+    }
+
+    /**
+     * Get a column from a parsed CSV line.
+     * @param columns The parsed columns.
+     * @param index The index of the column.
+     * @return The column's value or null if it is missing or empty.
+     */
+    private @Nullable String getColumn(@NotNull List<String> columns, int index) {
+        if(index >= columns.size()) return null;
+
+        String value = columns.get(index);
+
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Log that an entry is skipped due to an invalid price.
+     * @param shopBuilder The {@link ShopBuilder} of the file being imported.
+     * @param entryNumber The line or entry number.
+     */
+    private void skipInvalidPrice(@NotNull ShopBuilder shopBuilder, int entryNumber) {
+        skyShop.getComponentLogger().warn(AdventureUtil.serialize("Skipping entry <yellow>" + entryNumber + "</yellow> in <yellow>" + shopBuilder.fileName + "</yellow> due to an invalid price."));
+    }
+
+    /**
+     * Parses a price.
+     * @param value The value to parse.
+     * @return The price or null if the value is missing or empty.
+     * @throws NumberFormatException if the value is not a number.
+     */
+    private @Nullable Double parsePrice(@Nullable String value) {
+        if(value == null || value.isBlank()) return null;
+
+        return Double.parseDouble(value.trim());
+    }
+
+    /**
+     * Builds the pages of a {@link ShopConfig} one entry at a time so that only the generated shop is kept in memory.
+     */
+    private class ShopBuilder {
+        private final @NotNull String fileName;
+        private final @NotNull ImportConfig config;
+        private final @NotNull YamlConfigurationLoader nodeLoader;
+        private final @NotNull String guiName;
+        private final @NotNull List<ShopConfig.Button> navigationButtons;
+        private final @NotNull List<Integer> itemSlots;
+        private final @NotNull List<ShopConfig.PageConfig> pages = new ArrayList<>();
+        private @NotNull List<ShopConfig.Button> currentPage = new ArrayList<>();
+        private int slotIndex = 0;
+        private int imported = 0;
+
+        /**
+         * Constructor
+         * @param fileName The name of the file being imported.
+         * @param shopName The formatted name of the shop.
+         * @param config The {@link ImportConfig} containing the layout.
+         * @param nodeLoader The {@link YamlConfigurationLoader} used to create configuration nodes.
+         */
+        private ShopBuilder(@NotNull String fileName, @NotNull String shopName, @NotNull ImportConfig config, @NotNull YamlConfigurationLoader nodeLoader) {
+            this.fileName = fileName;
+            this.config = config;
+            this.nodeLoader = nodeLoader;
+            this.guiName = config.name() != null ? config.name().replace("<shop_name>", shopName) : shopName;
+
+            // Skip any item slots used by the navigation buttons.
+            Set<Integer> navigationSlots = new HashSet<>();
+            if(config.previousPage().slot() != null) navigationSlots.add(config.previousPage().slot());
+            if(config.nextPage().slot() != null) navigationSlots.add(config.nextPage().slot());
+            if(config.returnButton().slot() != null) navigationSlots.add(config.returnButton().slot());
+            this.itemSlots = config.itemSlots().stream().filter(slot -> slot != null && !navigationSlots.contains(slot)).distinct().toList();
+
+            this.navigationButtons = new ArrayList<>();
+        }
+
+        /**
+         * Converts an entry into a transaction button and adds it to the current page, starting a new page if the current one is full.
+         * @param entryNumber The line or entry number, used for logging.
+         * @param itemType The item type of the entry.
+         * @param buyPrice The buy price of the entry.
+         * @param sellPrice The sell price of the entry.
+         * @param name The name of the entry. Defaults to the formatted item type name.
+         * @param category The category of the entry.
+         * @throws ConfigurateException if the entry could not be converted into a button.
+         */
+        private void addEntry(int entryNumber, @Nullable String itemType, @Nullable Double buyPrice, @Nullable Double sellPrice, @Nullable String name, @Nullable String category) throws ConfigurateException {
+            ComponentLogger logger = skyShop.getComponentLogger();
+
+            if(itemType == null) {
+                logger.warn(AdventureUtil.serialize("Skipping entry <yellow>" + entryNumber + "</yellow> in <yellow>" + fileName + "</yellow> as it has no item type."));
+                return;
+            }
+            Optional<ItemType> optionalItemType = RegistryUtil.getItemType(logger, itemType);
+            if(optionalItemType.isEmpty()) {
+                logger.warn(AdventureUtil.serialize("Skipping entry <yellow>" + entryNumber + "</yellow> in <yellow>" + fileName + "</yellow> due to an invalid item type."));
+                return;
+            }
+            if(itemSlots.isEmpty()) throw new IllegalStateException("No item slots are available after removing the navigation button slots.");
+
+            if(slotIndex == itemSlots.size()) {
+                finishPage();
+            }
+
+            String itemName = name != null ? name : FormatUtil.formatItemTypeName(optionalItemType.get());
+            String categoryName = category != null ? category : "";
+            String displayName = config.itemName() != null ? replacePlaceholders(config.itemName(), itemName, categoryName) : itemName;
+            List<String> displayLore = config.itemLore().stream().map(line -> replacePlaceholders(line, itemName, categoryName)).toList();
+
+            ItemStackConfig displayItem = createItemStackConfig(itemType, displayName, displayLore);
+            ItemStackConfig transactionItem = createItemStackConfig(itemType, null, List.of());
+
+            ShopConfig.TransactionData transactionData = new ShopConfig.TransactionData(
+                    TransactionType.ITEM,
+                    config.transactionStyle(),
+                    buyPrice != null ? buyPrice : -1.0,
+                    sellPrice != null ? sellPrice : -1.0,
+                    itemName,
+                    displayItem,
+                    transactionItem,
+                    List.of(),
+                    List.of(),
+                    category,
+                    null,
+                    null,
+                    null);
+
+            currentPage.add(new ShopConfig.Button(ButtonType.TRANSACTION, itemSlots.get(slotIndex), displayItem, transactionData));
+            slotIndex++;
+            imported++;
+        }
+
+        /**
+         * Finishes the current page and builds the {@link ShopConfig}.
+         * @return The generated {@link ShopConfig}.
+         * @throws ConfigurateException if the navigation buttons could not be created.
+         */
+        private @NotNull ShopConfig build() throws ConfigurateException {
+            if(!currentPage.isEmpty() || pages.isEmpty()) finishPage();
+
+            skyShop.getComponentLogger().info(AdventureUtil.serialize("Imported <yellow>" + imported + "</yellow> items from <yellow>" + fileName + "</yellow> across <yellow>" + pages.size() + "</yellow> pages."));
+
+            return new ShopConfig(config.configVersion(), new ShopConfig.GuiData(config.guiType(), guiName, List.copyOf(pages)));
+        }
+
+        /**
+         * Adds the navigation buttons to the current page, stores it, and starts a new page.
+         * @throws ConfigurateException if the navigation buttons could not be created.
+         */
+        private void finishPage() throws ConfigurateException {
+            if(navigationButtons.isEmpty()) createNavigationButtons();
+
+            List<ShopConfig.Button> buttons = new ArrayList<>(navigationButtons);
+            buttons.addAll(currentPage);
+            pages.add(new ShopConfig.PageConfig(buttons));
+
+            currentPage = new ArrayList<>();
+            slotIndex = 0;
+        }
+
+        /**
+         * Creates the filler and navigation buttons that are placed on every page.
+         * The GUI only shows the previous and next page buttons when there is a page to go to.
+         * @throws ConfigurateException if the empty transaction data could not be created.
+         */
+        private void createNavigationButtons() throws ConfigurateException {
+            // Deserialize the empty transaction data the same way a button without transaction-data in a shop file would be.
+            CommentedConfigurationNode emptyNode = nodeLoader.createNode();
+            emptyNode.node("buy-commands").setList(String.class, List.of());
+            emptyNode.node("sell-commands").setList(String.class, List.of());
+            ShopConfig.TransactionData emptyData = emptyNode.get(ShopConfig.TransactionData.class);
+            if(emptyData == null) throw new IllegalStateException("Unable to create the navigation buttons.");
+
+            if(config.filler() != null) navigationButtons.add(new ShopConfig.Button(ButtonType.FILLER, null, config.filler(), emptyData));
+            navigationButtons.add(new ShopConfig.Button(ButtonType.PREVIOUS_PAGE, config.previousPage().slot(), config.previousPage().displayItem(), emptyData));
+            navigationButtons.add(new ShopConfig.Button(ButtonType.NEXT_PAGE, config.nextPage().slot(), config.nextPage().displayItem(), emptyData));
+            navigationButtons.add(new ShopConfig.Button(ButtonType.RETURN, config.returnButton().slot(), config.returnButton().displayItem(), emptyData));
+        }
+
+        /**
+         * Creates an {@link ItemStackConfig} the same way it would be loaded from a shop file.
+         * @param itemType The item type.
+         * @param name The name of the item, or null for no name.
+         * @param lore The lore of the item.
+         * @return The created {@link ItemStackConfig}.
+         * @throws ConfigurateException if the {@link ItemStackConfig} could not be created.
+         */
+        private @NotNull ItemStackConfig createItemStackConfig(@NotNull String itemType, @Nullable String name, @NotNull List<String> lore) throws ConfigurateException {
+            CommentedConfigurationNode node = nodeLoader.createNode();
+            node.node("item-type").set(itemType);
+            if(name != null) node.node("name").set(name);
+            node.node("lore").setList(String.class, lore);
+
+            ItemStackConfig itemStackConfig = node.get(ItemStackConfig.class);
+            if(itemStackConfig == null) throw new IllegalStateException("Unable to create the item configuration for " + itemType + ".");
+
+            return itemStackConfig;
+        }
+
+        /**
+         * Replaces the import placeholders in a line.
+         * @param line The line containing the placeholders.
+         * @param itemName The name of the item.
+         * @param category The category of the item.
+         * @return The line with the placeholders replaced.
+         */
+        private @NotNull String replacePlaceholders(@NotNull String line, @NotNull String itemName, @NotNull String category) {
+            return line.replace("<item_name>", itemName).replace("<category>", category);
+        }
+    }
+}
@@ -19,6 +19,7 @@ package com.github.lukesky19.skyshop.configuration;
 
 import com.github.lukesky19.skylib.api.adventure.AdventureUtil;
 import com.github.lukesky19.skylib.api.configurate.ConfigurationUtility;
+import com.github.lukesky19.skylib.libs.configurate.CommentedConfigurationNode;
 import com.github.lukesky19.skylib.libs.configurate.ConfigurateException;
 import com.github.lukesky19.skylib.libs.configurate.yaml.YamlConfigurationLoader;
 import com.github.lukesky19.skyshop.SkyShop;
@@ -53,9 +54,19 @@ public class LocaleManager {
                     "<white>/<aqua>skyshop <yellow>help</yellow></white>",
                     "<white>/<aqua>skyshop <yellow>reload</yellow></white>",
                     "<white>/<aqua>skyshop <yellow>sellall</yellow></white>",
+                    "<white>/<aqua>skyshop <yellow>import <file></yellow></white>",
+                    "<white>/<aqua>skyshop <yellow>analyze</yellow></white>",
+                    "<white>/<aqua>skyshop <yellow>find <item></yellow></white>",
+                    "<white>/<aqua>skyshop <yellow>search <query></yellow></white>",
+                    "<white>/<aqua>skyshop <yellow>booster give <player> <multiplier> <seconds></yellow></white>",
+                    "<white>/<aqua>skyshop <yellow>booster global <multiplier> <seconds></yellow></white>",
+                    "<white>/<aqua>skyshop <yellow>wand <player> <single|radius|chunk></yellow></white>",
+                    "<white>/<aqua>skyshop <yellow>economy</yellow></white>",
                     "<white>/<aqua>sell <yellow>all</yellow></white>",
+                    "<white>/<aqua>sell <yellow>all contents</yellow></white>",
                     "<white>/<aqua>sell <yellow>hand</yellow></white>",
-                    "<white>/<aqua>sell <yellow>hand all</yellow></white>"),
+                    "<white>/<aqua>sell <yellow>hand all</yellow></white>",
+                    "<white>/<aqua>sell <yellow>auto</yellow></white>"),
             "<aqua>Configuration files have been reloaded.</aqua>",
             "<red>You do not have enough items to sell.</red>",
             "<red>Insufficient funds.</red>",
@@ -64,12 +75,47 @@ public class LocaleManager {
             "<white>Purchased <yellow><transaction_name></yellow> for <yellow><price></yellow>. Balance: <yellow><bal></yellow>",
             "<white>Sold <yellow><transaction_name></yellow> for <yellow><price></yellow>. Balance: <yellow><bal></yellow>",
             "<white>Successfully sold all items for <yellow><price></yellow>. Updated Balance: <yellow><bal></yellow></white>",
-            "<white>Unable to sell one or more items. It was added back to your inventory or dropped at your feet if full.</white>",
+            "<white>Unable to sell one or more items. It was added back to your inventory, or your ender chest if full.</white>",
             "<red>This is not able to be purchased.</red>",
             "<red>This is not able to be sold.</red>",
             "<red>This command can only be ran in-game.</red>",
             "<red>Unable to open this GUI because of a configuration error.</red>",
-            "<red>Unable to open the stats GUI as stats tracking is disabled.</red>");
+            "<red>Unable to open the stats GUI as stats tracking is disabled.</red>",
+            "<red>The shop you were viewing is no longer available.</red>",
+            "<aqua>Imported <yellow><file></yellow> as the shop <yellow><shop_id></yellow>.</aqua>",
+            "<red>Failed to import <yellow><file></yellow>. Check the console for more details.</red>",
+            "<aqua>Shop analysis: <yellow><duplicates></yellow> duplicate definitions, <yellow><arbitrage></yellow> sell prices at or above buy prices, and <yellow><missing_sell_prices></yellow> missing sell prices. Full report: <yellow><file></yellow></aqua>",
+            "<red>The shop analysis has not finished yet. Try again in a moment.</red>",
+            "<aqua>Found <yellow><count></yellow> result(s). Showing shop <yellow><shop_id></yellow> on page <yellow><page></yellow>.</aqua>",
+            "<red>No shop buys or sells <yellow><item></yellow>.</red>",
+            "<red>No results found for <yellow><query></yellow>.</red>",
+            "<red>You do not have enough inventory space.</red>",
+            "<red>There isn't enough stock remaining for this purchase.</red>",
+            "<gray>Stock: <yellow><stock></yellow>/<yellow><max_stock></yellow></gray>",
+            "<red><bold>SOLD OUT</bold></red>",
+            "<red>You have reached your limit for this transaction. You can only do <yellow><remaining></yellow> more right now.</red>",
+            "<red>Some items were not sold because you reached your sell limit for them.</red>",
+            "<red>Your shop data is still loading. Please try again in a moment.</red>",
+            "<aqua>Gave <yellow><player></yellow> a <yellow><multiplier>x</yellow> sell booster for <yellow><duration></yellow> seconds.</aqua>",
+            "<aqua>You received a <yellow><multiplier>x</yellow> sell booster for <yellow><duration></yellow> seconds.</aqua>",
+            "<red>That player's shop data is still loading. Please try again in a moment.</red>",
+            "<aqua><yellow><player></yellow> started a <yellow><multiplier>x</yellow> sell booster for everyone for <yellow><duration></yellow> seconds!</aqua>",
+            "<aqua>Auto-sell <green>enabled</green>. Sellable items you pick up will be sold automatically.</aqua>",
+            "<aqua>Auto-sell <red>disabled</red>.</aqua>",
+            "<white>Auto-sold <yellow><amount></yellow> items for <yellow><price></yellow>. Balance: <yellow><bal></yellow></white>",
+            "<gold><bold>Sell Wand</bold></gold> <gray>(<mode>)</gray>",
+            "<aqua>Gave <yellow><player></yellow> a <yellow><mode></yellow> sell wand.</aqua>",
+            "<aqua>Selling the contents of <yellow><count></yellow> containers...</aqua>",
+            "<red>Your sell wand is still selling. Please wait for it to finish.</red>",
+            "<red>There was nothing to sell.</red>",
+            "<red>You do not have permission to use area sell wands.</red>",
+            "<red>The sale couldn't be completed, so your items were returned to you.</red>",
+            "<red>The transaction couldn't be completed by the economy. Please contact an administrator if money or items are missing.</red>",
+            "<red>The economy is temporarily unavailable. Please try again in a moment.</red>",
+            "<yellow>The economy couldn't pay you right now. The <price> you're owed for the sold items will be paid automatically.</yellow>",
+            "<yellow>The economy couldn't refund you right now. The <price> you're owed for the items that didn't fit in your inventory will be paid automatically.</yellow>",
+            "<aqua>Economy circuit breaker: <yellow><state></yellow></aqua>",
+            "<white><yellow><operation></yellow>: <calls> calls, <errors> errors (<error_rate>%), avg <avg>ms, p50 <p50>ms, p95 <p95>ms, p99 <p99>ms, max <max>ms</white>");
 
     /**
      * Constructor
@@ -93,10 +139,10 @@ public class LocaleManager {
 
     /**
      * (Re-)loads the plugin's locale.
+     * The new locale is only swapped in once it has been fully loaded and validated.
      */
     public void reload() {
         ComponentLogger logger = skyShop.getComponentLogger();
-        locale = null;
 
         // Save the default locales
         saveDefaultLocales();
@@ -105,22 +151,39 @@ public class LocaleManager {
         Settings settings = settingsManager.getSettingsConfig();
         if(settings == null) {
             logger.warn("Failed to load locale configuration due to invalid plugin settings.");
+            locale = null;
             return;
         }
         if(settings.locale() == null) {
             logger.warn("Failed to load locale configuration due to invalid locale configured.");
+            locale = null;
             return;
         }
 
-        // Attempt to load and validate the config. Return the locale if valid and no errors occur.
+        // Attempt to load and validate the config. Swap in the locale if valid and no errors occur.
         Path path = Path.of(skyShop.getDataFolder() + File.separator + "locale" + File.separator + (settings.locale() + ".yml"));
         YamlConfigurationLoader loader = ConfigurationUtility.getYamlConfigurationLoader(path);
         try {
-            locale = loader.load().get(Locale.class);
+            CommentedConfigurationNode localeNode = loader.load();
+
+            // Locale files saved by older versions don't contain the newer messages, so fill in only the missing ones from the default locale.
+            CommentedConfigurationNode defaultNode = loader.createNode();
+            defaultNode.set(Locale.class, DEFAULT_LOCALE);
+            List<String> missingKeys = defaultNode.childrenMap().keySet().stream()
+                    .map(String::valueOf)
+                    .filter(key -> localeNode.node(key).virtual())
+                    .toList();
+            if(!missingKeys.isEmpty()) {
+                logger.warn(AdventureUtil.serialize("Your locale configuration is missing the messages <yellow>" + String.join(", ", missingKeys) + "</yellow>. The default messages will be used for them."));
+                localeNode.mergeFrom(defaultNode);
+            }
+
+            Locale newLocale = localeNode.get(Locale.class);
 
-            validateLocale();
+            locale = validateLocale(newLocale) ? newLocale : null;
         } catch (ConfigurateException e) {
             logger.error(AdventureUtil.serialize("Failed to load locale configuration. " + e.getMessage()));
+            locale = null;
         }
     }
 
@@ -136,10 +199,13 @@ public class LocaleManager {
 
     /**
      * Checks if any locale strings are missing.
-     * Sets locale to null if so, resulting in the default locale being used.
+     * Messages missing from the file are already filled in from the {@link #DEFAULT_LOCALE}, so this only fails if a message is present but invalid.
+     * If so, the default locale will be used instead.
+     * @param locale The {@link Locale} to validate.
+     * @return true if the locale is valid, otherwise false.
      */
-    public void validateLocale() {
-        if(locale == null) return;
+    public boolean validateLocale(@Nullable Locale locale) {
+        if(locale == null) return false;
 
         if (locale.prefix() == null
                 || locale.help() == null
@@ -156,10 +222,46 @@ public class LocaleManager {
                 || locale.unsellable() == null
                 || locale.inGameOnly() == null
                 || locale.guiOpenError() == null
-                || locale.statsDisabledGuiError() == null) {
-            locale = null;
-
+                || locale.statsDisabledGuiError() == null
+                || locale.shopUnavailable() == null
+                || locale.importSuccess() == null
+                || locale.importFailed() == null
+                || locale.analysisSummary() == null
+                || locale.analysisPending() == null
+                || locale.findSuccess() == null
+                || locale.findNoResults() == null
+                || locale.searchNoResults() == null
+                || locale.inventoryFull() == null
+                || locale.outOfStock() == null
+                || locale.stockRemaining() == null
+                || locale.stockSoldOut() == null
+                || locale.limitReached() == null
+                || locale.sellallLimitReached() == null
+                || locale.playerDataNotLoaded() == null
+                || locale.boosterGiven() == null
+                || locale.boosterReceived() == null
+                || locale.boosterFailed() == null
+                || locale.globalBoosterStarted() == null
+                || locale.autoSellEnabled() == null
+                || locale.autoSellDisabled() == null
+                || locale.autoSellSummary() == null
+                || locale.sellWandName() == null
+                || locale.sellWandGiven() == null
+                || locale.sellWandStarted() == null
+                || locale.sellWandBusy() == null
+                || locale.sellWandNothingSold() == null
+                || locale.sellWandAreaNoPermission() == null
+                || locale.sellallFailed() == null
+                || locale.transactionFailed() == null
+                || locale.economyUnavailable() == null
+                || locale.salePayoutDelayed() == null
+                || locale.refundDelayed() == null
+                || locale.economyStatus() == null
+                || locale.economyOperationStats() == null) {
             skyShop.getComponentLogger().warn(AdventureUtil.serialize("Your locale configuration contains an invalid message. The default locale will be used."));
+            return false;
         }
+
+        return true;
     }
 }
@@ -60,9 +60,6 @@ public class MenuManager {
     public void reload() {
         ComponentLogger logger = skyShop.getComponentLogger();
 
-        // Set the current config to null
-        menuConfig = null;
-
         // Create the path to the file.
         Path path = Path.of(skyShop.getDataFolder() + File.separator + "menu.yml");
 
@@ -72,8 +69,11 @@ public class MenuManager {
         // Attempt to load the config.
         YamlConfigurationLoader loader = ConfigurationUtility.getYamlConfigurationLoader(path);
         try {
-            menuConfig = loader.load().get(MenuConfig.class);
+            // Only swap in the new config once it has been fully loaded.
+            MenuConfig newConfig = loader.load().get(MenuConfig.class);
+            menuConfig = newConfig;
         } catch (ConfigurateException e) {
+            menuConfig = null;
             logger.error(AdventureUtil.serialize("Failed to load <yellow>menu.yml</yellow> configuration. " + e.getMessage()));
         }
     }
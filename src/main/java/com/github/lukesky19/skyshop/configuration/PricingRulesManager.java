@@ -0,0 +1,79 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.configuration;
+
+import com.github.lukesky19.skylib.api.adventure.AdventureUtil;
+import com.github.lukesky19.skylib.api.configurate.ConfigurationUtility;
+import com.github.lukesky19.skylib.libs.configurate.ConfigurateException;
+import com.github.lukesky19.skylib.libs.configurate.yaml.YamlConfigurationLoader;
+import com.github.lukesky19.skyshop.SkyShop;
+import com.github.lukesky19.skyshop.data.PricingRules;
+import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * This class manages everything related to handling the plugin's pricing_rules.yml file.
+ */
+public class PricingRulesManager {
+    private final @NotNull SkyShop skyShop;
+    private @Nullable PricingRules pricingRules;
+
+    /**
+     * Constructor
+     * @param skyShop A {@link SkyShop} instance.
+     */
+    public PricingRulesManager(@NotNull SkyShop skyShop) {
+        this.skyShop = skyShop;
+    }
+
+    /**
+     * Get the {@link PricingRules}.
+     * @return An {@link Optional} containing the {@link PricingRules}. Will be empty if the config failed to load or is otherwise invalid.
+     */
+    public @NotNull Optional<PricingRules> getPricingRules() {
+        return Optional.ofNullable(pricingRules);
+    }
+
+    /**
+     * A method to reload the plugin's pricing rules config.
+     */
+    public void reload() {
+        ComponentLogger logger = skyShop.getComponentLogger();
+
+        // Create the path to the file.
+        Path path = Path.of(skyShop.getDataFolder() + File.separator + "pricing_rules.yml");
+
+        // Save the default config if the file doesn't exist.
+        if(!path.toFile().exists()) skyShop.saveResource("pricing_rules.yml", false);
+
+        // Attempt to load the config.
+        YamlConfigurationLoader loader = ConfigurationUtility.getYamlConfigurationLoader(path);
+        try {
+            PricingRules newRules = loader.load().get(PricingRules.class);
+            pricingRules = newRules;
+        } catch (ConfigurateException e) {
+            pricingRules = null;
+            logger.error(AdventureUtil.serialize("Failed to load <yellow>pricing_rules.yml</yellow> configuration. " + e.getMessage()));
+        }
+    }
+}
@@ -61,9 +61,6 @@ public class SellAllManager {
     public void reload() {
         ComponentLogger logger = skyShop.getComponentLogger();
 
-        // Set the current config to null
-        sellAllGuiConfig = null;
-
         // Create the path to the file.
         Path path = Path.of(skyShop.getDataFolder() + File.separator + "sellall.yml");
 
@@ -73,8 +70,11 @@ public class SellAllManager {
         // Attempt to load the config.
         YamlConfigurationLoader loader = ConfigurationUtility.getYamlConfigurationLoader(path);
         try {
-            sellAllGuiConfig = loader.load().get(SellAllConfig.class);
+            // Only swap in the new config once it has been fully loaded.
+            SellAllConfig newConfig = loader.load().get(SellAllConfig.class);
+            sellAllGuiConfig = newConfig;
         } catch (ConfigurateException e) {
+            sellAllGuiConfig = null;
             logger.error(AdventureUtil.serialize("Failed to load <yellow>sellall.yml</yellow> configuration. " + e.getMessage()));
         }
     }
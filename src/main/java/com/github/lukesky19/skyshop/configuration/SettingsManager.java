@@ -54,9 +54,9 @@ public class SettingsManager {
 
     /**
      * A method to reload the plugin's settings config.
+     * The new settings are only swapped in once they have been fully loaded.
     */
     public void reload() {
-        settingsConfig = null;
         Path path = Path.of(skyShop.getDataFolder() + File.separator + "settings.yml");
         if(!path.toFile().exists()) {
             skyShop.saveResource("settings.yml", false);
@@ -64,7 +64,8 @@ public class SettingsManager {
 
         YamlConfigurationLoader loader = ConfigurationUtility.getYamlConfigurationLoader(path);
         try {
-            settingsConfig = loader.load().get(Settings.class);
+            Settings newSettings = loader.load().get(Settings.class);
+            settingsConfig = newSettings;
         } catch (ConfigurateException e) {
             throw new RuntimeException(e);
         }
@@ -76,7 +77,7 @@ public class SettingsManager {
     public void setFirstRunFalse() {
         if(settingsConfig == null) return;
 
-        Settings newSettings = new Settings(settingsConfig.configVersion(), settingsConfig.locale(), false, settingsConfig.statistics());
+        Settings newSettings = new Settings(settingsConfig.configVersion(), settingsConfig.locale(), false, settingsConfig.statistics(), settingsConfig.asyncEconomy(), settingsConfig.economyCircuitBreaker(), settingsConfig.depositCoalescing());
         settingsConfig = newSettings;
 
         Path path = Path.of(skyShop.getDataFolder() + File.separator + "settings.yml");
@@ -24,7 +24,13 @@ import com.github.lukesky19.skylib.libs.configurate.yaml.YamlConfigurationLoader
 import com.github.lukesky19.skyshop.SkyShop;
 import com.github.lukesky19.skyshop.data.Settings;
 import com.github.lukesky19.skyshop.data.gui.ShopConfig;
+import com.github.lukesky19.skyshop.manager.AnalysisManager;
 import com.github.lukesky19.skyshop.manager.PriceManager;
+import com.github.lukesky19.skyshop.manager.PriceTierManager;
+import com.github.lukesky19.skyshop.manager.ShopIndexManager;
+import com.github.lukesky19.skyshop.manager.StockManager;
+import com.github.lukesky19.skyshop.manager.TransactionItemManager;
+import com.github.lukesky19.skyshop.util.ButtonType;
 import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
 import org.jetbrains.annotations.NotNull;
 
@@ -32,10 +38,12 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 /**
@@ -45,18 +53,46 @@ public class ShopManager {
     private final @NotNull SkyShop skyShop;
     private final @NotNull SettingsManager settingsManager;
     private final @NotNull PriceManager priceManager;
-    private final @NotNull Map<@NotNull String, @NotNull ShopConfig> shopConfigurations = new HashMap<>();
+    private final @NotNull ImportManager importManager;
+    private final @NotNull ShopIndexManager shopIndexManager;
+    private final @NotNull AnalysisManager analysisManager;
+    private final @NotNull StockManager stockManager;
+    private final @NotNull PriceTierManager priceTierManager;
+    private final @NotNull TransactionItemManager transactionItemManager;
+    private @NotNull Map<@NotNull String, @NotNull ShopConfig> shopConfigurations = new LinkedHashMap<>();
+    private @NotNull Set<@NotNull String> importedShopIds = new HashSet<>();
 
     /**
      * Constructor
      * @param skyShop A {@link SkyShop} instance.
      * @param settingsManager A {@link SettingsManager} instance.
      * @param priceManager A {@link PriceManager} instance.
+     * @param importManager An {@link ImportManager} instance.
+     * @param shopIndexManager A {@link ShopIndexManager} instance.
+     * @param analysisManager An {@link AnalysisManager} instance.
+     * @param stockManager A {@link StockManager} instance.
+     * @param priceTierManager A {@link PriceTierManager} instance.
+     * @param transactionItemManager A {@link TransactionItemManager} instance.
     */
-    public ShopManager(@NotNull SkyShop skyShop, @NotNull SettingsManager settingsManager, @NotNull PriceManager priceManager) {
+    public ShopManager(
+            @NotNull SkyShop skyShop,
+            @NotNull SettingsManager settingsManager,
+            @NotNull PriceManager priceManager,
+            @NotNull ImportManager importManager,
+            @NotNull ShopIndexManager shopIndexManager,
+            @NotNull AnalysisManager analysisManager,
+            @NotNull StockManager stockManager,
+            @NotNull PriceTierManager priceTierManager,
+            @NotNull TransactionItemManager transactionItemManager) {
         this.skyShop = skyShop;
         this.settingsManager = settingsManager;
         this.priceManager = priceManager;
+        this.importManager = importManager;
+        this.shopIndexManager = shopIndexManager;
+        this.analysisManager = analysisManager;
+        this.stockManager = stockManager;
+        this.priceTierManager = priceTierManager;
+        this.transactionItemManager = transactionItemManager;
     }
 
     /**
@@ -68,8 +104,28 @@ public class ShopManager {
         return Optional.ofNullable(shopConfigurations.get(shopId));
     }
 
+    /**
+     * Get the TRANSACTION button placed at a page and slot of a shop.
+     * @param shopId The shop id.
+     * @param pageNum The page number, starting at 0.
+     * @param slot The slot of the button.
+     * @return An {@link Optional} containing the {@link ShopConfig.Button}. Will be empty if the shop, page, or button does not exist.
+     */
+    public @NotNull Optional<ShopConfig.Button> getTransactionButton(@NotNull String shopId, int pageNum, int slot) {
+        ShopConfig shopConfig = shopConfigurations.get(shopId);
+        if(shopConfig == null) return Optional.empty();
+
+        List<ShopConfig.PageConfig> pages = shopConfig.gui().pages();
+        if(pageNum < 0 || pageNum >= pages.size()) return Optional.empty();
+
+        return pages.get(pageNum).buttons().stream()
+                .filter(button -> button.buttonType() == ButtonType.TRANSACTION && button.slot() != null && button.slot() == slot)
+                .findFirst();
+    }
+
     /**
      * Get a {@link List} of {@link String} containing the names of shops which has configuration loaded.
+     * The names are in precedence order, see {@link #reload()}.
      * @return A {@link List} of {@link String} containing the names of shops which has configuration loaded.
      */
     public @NotNull List<@NotNull String> getShopNames() {
@@ -78,15 +134,17 @@ public class ShopManager {
 
     /**
      * A method to reload the plugin's shop config files.
+     * The new shop configurations and sell prices are built first and then swapped in together,
+     * so the previous configuration stays usable until the reload has finished.
+     * Shop files are loaded sorted by path, followed by imported shops sorted by file name. This is the precedence order:
+     * when several shops configure a sell price for the same item, the last one loaded is used.
     */
     public void reload() {
         ComponentLogger logger = skyShop.getComponentLogger();
 
-        // Clear cached sell prices.
-        priceManager.clearPrices();
-
-        // Clear the current loaded configurations
-        shopConfigurations.clear();
+        // The configurations being loaded
+        Map<@NotNull String, @NotNull ShopConfig> newShopConfigurations = new LinkedHashMap<>();
+        Set<@NotNull String> newImportedShopIds = new HashSet<>();
 
         // Save example config
         saveDefaultConfig();
@@ -96,8 +154,8 @@ public class ShopManager {
 
         // Walk through all files
         try(Stream<Path> stream = Files.walk(shopsPath)) {
-            // Filter to only include files and then attempt to load the configuration
-            stream.filter(Files::isRegularFile).forEach(path -> {
+            // Filter to only include files, sort them so the load order is deterministic, and then attempt to load the configuration
+            stream.filter(Files::isRegularFile).sorted().forEach(path -> {
                 // Get the file name with the extension
                 String fileNameWithExtension = path.getFileName().toString();
 
@@ -106,15 +164,12 @@ public class ShopManager {
                 try {
                     // Load the config
                     ShopConfig shopConfig = loader.load().get(ShopConfig.class);
-                    // If non-null, store the config and attempt to cache the sell prices.
+                    // If non-null, store the config.
                     if(shopConfig != null) {
                         // Get the shop name, which is the file name without the extension
                         String fileNameWithoutExtension = getFileNameWithoutExtension(path);
                         // Store the shop configuration
-                        shopConfigurations.put(fileNameWithoutExtension, shopConfig);
-
-                        // Cache sell prices for the shop configuration
-                        priceManager.cacheSellPrices(shopConfig);
+                        newShopConfigurations.put(fileNameWithoutExtension, shopConfig);
                     } else {
                         logger.warn(AdventureUtil.serialize("Failed to load " + fileNameWithExtension + " configuration."));
                     }
@@ -125,6 +180,58 @@ public class ShopManager {
         } catch (IOException e) {
             logger.error(AdventureUtil.serialize("Failed to load shop configuration files. " + e.getMessage()));
         }
+
+        // Add the shops imported from price lists. Shops configured in SkyShop/shops take priority.
+        importManager.importAll().forEach((shopId, shopConfig) -> {
+            if(newShopConfigurations.containsKey(shopId)) {
+                logger.warn(AdventureUtil.serialize("The imported shop <yellow>" + shopId + "</yellow> was skipped as a shop configuration with the same name already exists."));
+                return;
+            }
+
+            newShopConfigurations.put(shopId, shopConfig);
+            newImportedShopIds.add(shopId);
+        });
+
+        swapIn(newShopConfigurations, newImportedShopIds);
+    }
+
+    /**
+     * Adds or replaces a single imported shop configuration without reloading the other shops.
+     * The sell prices are re-cached from the new set of shop configurations before it is swapped in.
+     * @param shopId The shop id to store the configuration under.
+     * @param shopConfig The imported {@link ShopConfig} to store.
+     * @return true if the shop was stored, false if a shop configured in SkyShop/shops already uses the shop id.
+     */
+    public boolean registerImportedShop(@NotNull String shopId, @NotNull ShopConfig shopConfig) {
+        if(shopConfigurations.containsKey(shopId) && !importedShopIds.contains(shopId)) return false;
+
+        Map<@NotNull String, @NotNull ShopConfig> newShopConfigurations = new LinkedHashMap<>(shopConfigurations);
+        newShopConfigurations.put(shopId, shopConfig);
+        Set<@NotNull String> newImportedShopIds = new HashSet<>(importedShopIds);
+        newImportedShopIds.add(shopId);
+
+        swapIn(newShopConfigurations, newImportedShopIds);
+
+        return true;
+    }
+
+    /**
+     * Swap in a new set of shop configurations and rebuild everything derived from them.
+     * @param newShopConfigurations The new shop configurations, in load order.
+     * @param newImportedShopIds The ids of the shops that were imported from price lists.
+     */
+    private void swapIn(@NotNull Map<@NotNull String, @NotNull ShopConfig> newShopConfigurations, @NotNull Set<@NotNull String> newImportedShopIds) {
+        // Swap in the new configurations and the sell prices cached from them.
+        priceManager.cacheSellPrices(newShopConfigurations.values());
+        shopConfigurations = newShopConfigurations;
+        importedShopIds = newImportedShopIds;
+
+        // Rebuild the reverse index, stock counters, price tiers, and transaction items, then check the new configurations for conflicts off the main thread.
+        shopIndexManager.rebuild(newShopConfigurations);
+        stockManager.rebuild(newShopConfigurations);
+        priceTierManager.rebuild(newShopConfigurations);
+        transactionItemManager.rebuild(newShopConfigurations);
+        analysisManager.analyze(List.copyOf(newShopConfigurations.keySet()), shopIndexManager.getShopIndex());
     }
 
     /**
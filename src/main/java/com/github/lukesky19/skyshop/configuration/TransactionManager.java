@@ -41,7 +41,7 @@ import java.util.stream.Stream;
  */
 public class TransactionManager {
     private final @NotNull SkyShop skyShop;
-    private final @NotNull Map<String, TransactionConfig> transactionConfigurations = new HashMap<>();
+    private @NotNull Map<String, TransactionConfig> transactionConfigurations = new HashMap<>();
 
     /**
      * Constructor
@@ -62,12 +62,13 @@ public class TransactionManager {
 
     /**
      * A method to reload the plugin's transaction config.
+     * The new configurations are only swapped in once all files have been loaded.
      */
     public void reload() {
         ComponentLogger logger = skyShop.getComponentLogger();
 
-        // Clear the current loaded configurations
-        transactionConfigurations.clear();
+        // The configurations being loaded
+        Map<String, TransactionConfig> newTransactionConfigurations = new HashMap<>();
 
         // Save default configuration that doesn't exist
         saveDefaultConfig();
@@ -92,7 +93,7 @@ public class TransactionManager {
                         // Get the transaction style name, which is the file name without the extension
                         String fileNameWithoutExtension = getFileNameWithoutExtension(path);
                         // Store the transaction configuration
-                        transactionConfigurations.put(fileNameWithoutExtension, transactionConfig);
+                        newTransactionConfigurations.put(fileNameWithoutExtension, transactionConfig);
                     } else {
                         logger.warn(AdventureUtil.serialize("Failed to load " + fileNameWithExtension + " configuration."));
                     }
@@ -103,6 +104,9 @@ public class TransactionManager {
         } catch (IOException e) {
             logger.error(AdventureUtil.serialize("Failed to load transaction configuration files. " + e.getMessage()));
         }
+
+        // Swap in the new configurations
+        transactionConfigurations = newTransactionConfigurations;
     }
 
     /**
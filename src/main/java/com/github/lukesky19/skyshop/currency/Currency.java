@@ -0,0 +1,112 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.currency;
+
+import com.github.lukesky19.skyshop.data.EconomyResult;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A currency that transactions can be bought and sold with.
+ * <p>SkyShop provides Vault money, experience levels, and item currencies configured in currencies.yml.
+ * Other plugins can provide their own currencies, such as points, by implementing this interface and registering it with
+ * {@link com.github.lukesky19.skyshop.SkyShopAPI#registerCurrency(Currency)}. A transaction uses a currency by setting its currency to the currency's id.</p>
+ * <p>The returned futures must never complete exceptionally. Callbacks that update GUIs or send messages should be run with
+ * {@link com.github.lukesky19.skyshop.manager.EconomyManager#runOnMain(CompletableFuture, java.util.function.Consumer)}.</p>
+ */
+public interface Currency {
+    /**
+     * Get the id of the currency, used by the currency setting of a transaction. Ids are not case-sensitive.
+     * @return The id of the currency.
+     */
+    @NotNull String getId();
+
+    /**
+     * Get the name of the currency shown to players using the {@code <currency>} placeholder.
+     * @return The name of the currency.
+     */
+    @NotNull String getName();
+
+    /**
+     * Checks if the currency can only be spent in whole amounts, such as levels or items.
+     * If so, buy prices are rounded up and sell prices are rounded down to whole amounts.
+     * @return true if the currency only uses whole amounts, otherwise false.
+     */
+    default boolean isWhole() {
+        return false;
+    }
+
+    /**
+     * Round a price the player pays to an amount the currency can withdraw.
+     * @param amount The price.
+     * @return The rounded price.
+     */
+    default double roundCost(double amount) {
+        return isWhole() ? Math.ceil(amount - 1.0E-9) : amount;
+    }
+
+    /**
+     * Round a price paid to the player to an amount the currency can deposit.
+     * @param amount The price.
+     * @return The rounded price.
+     */
+    default double roundPayout(double amount) {
+        return isWhole() ? Math.floor(amount + 1.0E-9) : amount;
+    }
+
+    /**
+     * Checks if the currency can currently be used. Transactions should be refused before any items are moved if this returns false.
+     * @return true if the currency is available, otherwise false.
+     */
+    default boolean isAvailable() {
+        return true;
+    }
+
+    /**
+     * Get a player's balance without waiting on the currency's backend. This is used when rendering GUIs, so it must be cheap.
+     * @param player The {@link Player}.
+     * @return An {@link Optional} containing the balance. Will be empty if the balance isn't known yet.
+     */
+    @NotNull Optional<Double> getCachedBalance(@NotNull Player player);
+
+    /**
+     * Get a player's balance.
+     * @param player The {@link Player}.
+     * @return A {@link CompletableFuture} containing the balance.
+     */
+    @NotNull CompletableFuture<Double> getBalance(@NotNull Player player);
+
+    /**
+     * Withdraw an amount from a player's balance. The withdrawal fails if the player can't afford it.
+     * @param player The {@link Player} to charge.
+     * @param amount The amount to withdraw.
+     * @return A {@link CompletableFuture} containing the {@link EconomyResult}.
+     */
+    @NotNull CompletableFuture<EconomyResult> withdraw(@NotNull Player player, double amount);
+
+    /**
+     * Deposit an amount into a player's balance.
+     * @param player The {@link Player} to pay.
+     * @param amount The amount to deposit.
+     * @return A {@link CompletableFuture} containing the {@link EconomyResult}.
+     */
+    @NotNull CompletableFuture<EconomyResult> deposit(@NotNull Player player, double amount);
+}
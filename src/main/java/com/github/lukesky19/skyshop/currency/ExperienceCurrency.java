@@ -0,0 +1,84 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.currency;
+
+import com.github.lukesky19.skyshop.data.EconomyResult;
+import com.github.lukesky19.skyshop.manager.CurrencyManager;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The experience level {@link Currency}. Prices are whole levels taken from or given to the player.
+ * This class is expected to only be used from the main thread.
+ */
+public class ExperienceCurrency implements Currency {
+    private final @NotNull String name;
+
+    /**
+     * Constructor
+     * @param name The name of the currency shown to players.
+     */
+    public ExperienceCurrency(@NotNull String name) {
+        this.name = name;
+    }
+
+    @Override
+    public @NotNull String getId() {
+        return CurrencyManager.EXPERIENCE_ID;
+    }
+
+    @Override
+    public @NotNull String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean isWhole() {
+        return true;
+    }
+
+    @Override
+    public @NotNull Optional<Double> getCachedBalance(@NotNull Player player) {
+        return Optional.of((double) player.getLevel());
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Double> getBalance(@NotNull Player player) {
+        return CompletableFuture.completedFuture((double) player.getLevel());
+    }
+
+    @Override
+    public @NotNull CompletableFuture<EconomyResult> withdraw(@NotNull Player player, double amount) {
+        int levels = (int) roundCost(amount);
+        int balance = player.getLevel();
+        if(balance < levels) return CompletableFuture.completedFuture(new EconomyResult(false, levels, balance, "Insufficient levels", false));
+
+        player.setLevel(balance - levels);
+        return CompletableFuture.completedFuture(new EconomyResult(true, levels, balance - levels, null, false));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<EconomyResult> deposit(@NotNull Player player, double amount) {
+        int levels = (int) roundPayout(amount);
+        player.giveExpLevels(levels);
+        return CompletableFuture.completedFuture(new EconomyResult(true, levels, player.getLevel(), null, false));
+    }
+}
@@ -0,0 +1,98 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.currency;
+
+import com.github.lukesky19.skylib.api.player.PlayerUtil;
+import com.github.lukesky19.skyshop.data.EconomyResult;
+import com.github.lukesky19.skyshop.util.InventoryUtil;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An item {@link Currency}, such as diamonds or custom tokens. Prices are whole items taken from or given to the player's inventory.
+ * Items are matched using {@link ItemStack#isSimilar(ItemStack)}, so custom items only match items with the same data.
+ * This class is expected to only be used from the main thread.
+ */
+public class ItemCurrency implements Currency {
+    private final @NotNull String id;
+    private final @NotNull String name;
+    private final @NotNull ItemStack prototype;
+
+    /**
+     * Constructor
+     * @param id The id of the currency.
+     * @param name The name of the currency shown to players.
+     * @param prototype The {@link ItemStack} used as the currency. Its amount is ignored.
+     */
+    public ItemCurrency(@NotNull String id, @NotNull String name, @NotNull ItemStack prototype) {
+        this.id = id;
+        this.name = name;
+        this.prototype = prototype.asOne();
+    }
+
+    @Override
+    public @NotNull String getId() {
+        return id;
+    }
+
+    @Override
+    public @NotNull String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean isWhole() {
+        return true;
+    }
+
+    @Override
+    public @NotNull Optional<Double> getCachedBalance(@NotNull Player player) {
+        return Optional.of((double) InventoryUtil.countSimilar(player.getInventory(), prototype));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Double> getBalance(@NotNull Player player) {
+        return CompletableFuture.completedFuture((double) InventoryUtil.countSimilar(player.getInventory(), prototype));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<EconomyResult> withdraw(@NotNull Player player, double amount) {
+        int items = (int) roundCost(amount);
+
+        int remaining = InventoryUtil.removeSimilar(player.getInventory(), prototype, items);
+        if(remaining < 0) {
+            double balance = InventoryUtil.countSimilar(player.getInventory(), prototype);
+            return CompletableFuture.completedFuture(new EconomyResult(false, items, balance, "Insufficient items", false));
+        }
+
+        return CompletableFuture.completedFuture(new EconomyResult(true, items, remaining, null, false));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<EconomyResult> deposit(@NotNull Player player, double amount) {
+        int items = (int) roundPayout(amount);
+        if(items > 0) PlayerUtil.giveItem(player.getInventory(), prototype.clone(), items, player.getLocation());
+
+        double balance = InventoryUtil.countSimilar(player.getInventory(), prototype);
+        return CompletableFuture.completedFuture(new EconomyResult(true, items, balance, null, false));
+    }
+}
@@ -0,0 +1,94 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.currency;
+
+import com.github.lukesky19.skyshop.SkyShop;
+import com.github.lukesky19.skyshop.data.EconomyResult;
+import com.github.lukesky19.skyshop.manager.CurrencyManager;
+import com.github.lukesky19.skyshop.manager.EconomyManager;
+import com.github.lukesky19.skyshop.manager.PendingCreditManager;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The Vault money {@link Currency}.
+ * Calls are made through the {@link EconomyManager} and deposits through the {@link PendingCreditManager}, so they are instrumented, guarded by the circuit breaker, and may be coalesced.
+ */
+public class VaultCurrency implements Currency {
+    private final @NotNull SkyShop skyShop;
+    private final @NotNull String name;
+
+    /**
+     * Constructor
+     * @param skyShop A {@link SkyShop} instance.
+     * @param name The name of the currency shown to players.
+     */
+    public VaultCurrency(@NotNull SkyShop skyShop, @NotNull String name) {
+        this.skyShop = skyShop;
+        this.name = name;
+    }
+
+    @Override
+    public @NotNull String getId() {
+        return CurrencyManager.VAULT_ID;
+    }
+
+    @Override
+    public @NotNull String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return skyShop.getEconomyManager().isAvailable();
+    }
+
+    /**
+     * Get a player's cached balance. If no balance is cached yet, it is requested so it is cached for the next render.
+     * With async economy disabled, the request completes immediately and its balance is returned.
+     * @param player The {@link Player}.
+     * @return An {@link Optional} containing the balance. Will be empty if the balance isn't known yet.
+     */
+    @Override
+    public @NotNull Optional<Double> getCachedBalance(@NotNull Player player) {
+        EconomyManager economyManager = skyShop.getEconomyManager();
+
+        Optional<Double> cachedBalance = economyManager.getCachedBalance(player.getUniqueId());
+        if(cachedBalance.isPresent() || !economyManager.isAvailable()) return cachedBalance;
+
+        return Optional.ofNullable(economyManager.getBalance(player).getNow(null));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Double> getBalance(@NotNull Player player) {
+        return skyShop.getEconomyManager().getBalance(player);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<EconomyResult> withdraw(@NotNull Player player, double amount) {
+        return skyShop.getEconomyManager().withdraw(player, amount);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<EconomyResult> deposit(@NotNull Player player, double amount) {
+        return skyShop.getPendingCreditManager().deposit(player, amount);
+    }
+}
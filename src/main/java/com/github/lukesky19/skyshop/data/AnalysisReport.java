@@ -0,0 +1,38 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * This record contains the results of analyzing the loaded shop configurations.
+ * @param precedence The shop ids in the order they were loaded. When shops price the same item, the last shop in this list decides the cached sell price.
+ * @param duplicates Items that are configured in more than one place.
+ * @param arbitrage Items that can be sold for as much or more than they can be bought for.
+ * @param missingSellPrices Items that can be bought but not sold anywhere.
+ * @param file The {@link Path} to the file the report was written to.
+ */
+public record AnalysisReport(
+        @NotNull List<String> precedence,
+        @NotNull List<String> duplicates,
+        @NotNull List<String> arbitrage,
+        @NotNull List<String> missingSellPrices,
+        @NotNull Path file) {}
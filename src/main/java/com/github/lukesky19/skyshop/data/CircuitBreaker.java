@@ -0,0 +1,150 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.data;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A circuit breaker that stops calls to a slow or failing dependency.
+ * The circuit opens once enough calls in a row were slower than the latency threshold or threw an error.
+ * While open, calls are refused. Once the open duration ends, a single trial call is let through:
+ * the circuit closes if it was healthy, otherwise it opens again.
+ * Allowed calls are handed a permit by {@link #tryAcquire(long)}, so only the holder of the trial permit can close the circuit.
+ * This class is thread-safe.
+ */
+public final class CircuitBreaker {
+    /**
+     * The permit returned by {@link #tryAcquire(long)} when the call is refused.
+     */
+    public static final long REFUSED = -1L;
+    /**
+     * The permit returned by {@link #tryAcquire(long)} for a call allowed while the circuit is closed.
+     */
+    public static final long CLOSED_PERMIT = 0L;
+
+    /**
+     * The states of the circuit.
+     */
+    public enum State {
+        /**
+         * Calls are allowed.
+         */
+        CLOSED,
+        /**
+         * Calls are refused until the open duration ends.
+         */
+        OPEN,
+        /**
+         * A single trial call is running. Any other calls are refused.
+         */
+        HALF_OPEN
+    }
+
+    private final long latencyThresholdNanos;
+    private final int tripCount;
+    private final long openMillis;
+    private final @NotNull AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final @NotNull AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final @NotNull AtomicLong trialPermit = new AtomicLong(CLOSED_PERMIT);
+    private volatile long openUntil = 0L;
+
+    /**
+     * Constructor
+     * @param latencyThresholdMillis Calls slower than this many milliseconds count as failures.
+     * @param tripCount How many failures in a row open the circuit.
+     * @param openMillis How long the circuit stays open in milliseconds.
+     */
+    public CircuitBreaker(long latencyThresholdMillis, int tripCount, long openMillis) {
+        this.latencyThresholdNanos = Math.max(1L, latencyThresholdMillis) * 1_000_000L;
+        this.tripCount = Math.max(1, tripCount);
+        this.openMillis = Math.max(0L, openMillis);
+    }
+
+    /**
+     * Get the current {@link State} of the circuit.
+     * @return The {@link State}.
+     */
+    public @NotNull State getState() {
+        return state.get();
+    }
+
+    /**
+     * Get when the circuit closes or lets a trial call through.
+     * @return The epoch time in milliseconds. Only meaningful while the circuit is open.
+     */
+    public long getOpenUntil() {
+        return openUntil;
+    }
+
+    /**
+     * Check if a call would be allowed without reserving the trial call.
+     * @param now The current epoch time in milliseconds.
+     * @return true if a call would be allowed, otherwise false.
+     */
+    public boolean isAllowed(long now) {
+        State current = state.get();
+        return current == State.CLOSED || (current == State.OPEN && now >= openUntil);
+    }
+
+    /**
+     * Check if a call is allowed. If the open duration has ended, this call becomes the trial call.
+     * @param now The current epoch time in milliseconds.
+     * @return The permit to pass to {@link #record(long, long, boolean, long)}, or {@link #REFUSED} if the call is not allowed.
+     */
+    public long tryAcquire(long now) {
+        State current = state.get();
+        if(current == State.CLOSED) return CLOSED_PERMIT;
+        if(current == State.HALF_OPEN || now < openUntil) return REFUSED;
+        if(!state.compareAndSet(State.OPEN, State.HALF_OPEN)) return REFUSED;
+
+        // Every trial gets a new permit, so a permit from an earlier trial can't close the circuit.
+        return trialPermit.incrementAndGet();
+    }
+
+    /**
+     * Record the outcome of an allowed call.
+     * @param now The current epoch time in milliseconds.
+     * @param nanos How long the call took in nanoseconds.
+     * @param error Did the call throw an error?
+     * @param permit The permit returned by {@link #tryAcquire(long)} when the call was allowed.
+     * @return The new {@link State} if this call changed it, otherwise null.
+     */
+    public @Nullable State record(long now, long nanos, boolean error, long permit) {
+        boolean failed = error || nanos > latencyThresholdNanos;
+        boolean trial = permit > CLOSED_PERMIT && permit == trialPermit.get() && state.get() == State.HALF_OPEN;
+
+        if(!failed) {
+            consecutiveFailures.set(0);
+            // Only the trial call closes the circuit. Calls that started before it opened don't.
+            return trial && state.compareAndSet(State.HALF_OPEN, State.CLOSED) ? State.CLOSED : null;
+        }
+
+        if(trial || consecutiveFailures.incrementAndGet() >= tripCount) {
+            openUntil = now + openMillis;
+            consecutiveFailures.set(0);
+            return state.getAndSet(State.OPEN) != State.OPEN ? State.OPEN : null;
+        }
+
+        return null;
+    }
+}
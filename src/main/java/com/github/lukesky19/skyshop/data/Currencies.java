@@ -0,0 +1,47 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.data;
+
+import com.github.lukesky19.skylib.api.itemstack.ItemStackConfig;
+import com.github.lukesky19.skylib.libs.configurate.objectmapping.ConfigSerializable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+/**
+ * This record contains the configuration for the currencies transactions can use.
+ * @param configVersion The file's config version.
+ * @param vaultName The name shown to players for the Vault money currency.
+ * @param experienceName The name shown to players for the experience level currency.
+ * @param items A {@link Map} mapping currency ids to the {@link ItemCurrencyConfig} of an item currency.
+ */
+@ConfigSerializable
+public record Currencies(
+        @Nullable String configVersion,
+        @Nullable String vaultName,
+        @Nullable String experienceName,
+        @NotNull Map<String, ItemCurrencyConfig> items) {
+    /**
+     * This record contains the configuration for an item currency.
+     * @param name The name shown to players for the currency.
+     * @param item The {@link ItemStackConfig} used to create the item used as the currency.
+     */
+    @ConfigSerializable
+    public record ItemCurrencyConfig(@Nullable String name, @NotNull ItemStackConfig item) {}
+}
@@ -0,0 +1,30 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.data;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This record contains the result of an economy call made through the EconomyManager.
+ * @param success Whether the call succeeded.
+ * @param amount The amount that was deposited or withdrawn.
+ * @param balance The player's balance after the call. If the call failed, this is the last known balance.
+ * @param errorMessage The reason the call failed, or null if it succeeded.
+ * @param unavailable Whether the call was refused without calling the economy because its circuit breaker is open.
+ */
+public record EconomyResult(boolean success, double amount, double balance, @Nullable String errorMessage, boolean unavailable) {}
@@ -0,0 +1,64 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.data;
+
+import com.github.lukesky19.skylib.api.gui.GUIType;
+import com.github.lukesky19.skylib.api.itemstack.ItemStackConfig;
+import com.github.lukesky19.skylib.libs.configurate.objectmapping.ConfigSerializable;
+import com.github.lukesky19.skyshop.data.gui.ShopConfig;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * This record contains the layout used to generate a {@link ShopConfig} from an imported price list.
+ * @param configVersion The file's config version.
+ * @param guiType The {@link GUIType} of the generated shop.
+ * @param name The name to display inside the GUI. Supports the &lt;shop_name&gt; placeholder.
+ * @param transactionStyle The transaction style to use for imported items. This is a file name in SkyShop/transaction_styles
+ * @param itemSlots The slots, in order, that imported items are placed in on each page.
+ * @param itemName The name of each item's display item. Supports the &lt;item_name&gt; and &lt;category&gt; placeholders.
+ * @param itemLore The lore of each item's display item. Supports the &lt;item_name&gt; and &lt;category&gt; placeholders.
+ * @param filler The {@link ItemStackConfig} used to fill empty slots. Leave empty to disable.
+ * @param previousPage The {@link NavigationButton} configuration for the previous page button.
+ * @param nextPage The {@link NavigationButton} configuration for the next page button.
+ * @param returnButton The {@link NavigationButton} configuration for the return button.
+ */
+@ConfigSerializable
+public record ImportConfig(
+        @Nullable String configVersion,
+        @Nullable GUIType guiType,
+        @Nullable String name,
+        @Nullable String transactionStyle,
+        @NotNull List<Integer> itemSlots,
+        @Nullable String itemName,
+        @NotNull List<String> itemLore,
+        @Nullable ItemStackConfig filler,
+        @NotNull NavigationButton previousPage,
+        @NotNull NavigationButton nextPage,
+        @NotNull NavigationButton returnButton) {
+    /**
+     * This record contains the configuration for a navigation button placed on every generated page.
+     * @param slot The slot to place the button at.
+     * @param displayItem The {@link ItemStackConfig} used to create the {@link ItemStack} for the button.
+     */
+    @ConfigSerializable
+    public record NavigationButton(@Nullable Integer slot, @NotNull ItemStackConfig displayItem) {}
+}
@@ -0,0 +1,119 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-bucket latency histogram with an error counter.
+ * Each bucket counts the calls that took up to its upper bound, so percentiles are reported as the upper bound of the bucket they fall into.
+ * This class is thread-safe, so calls can be recorded on one thread and read on another.
+ */
+public final class LatencyHistogram {
+    /**
+     * The upper bounds of the buckets in milliseconds. The last bucket counts every call slower than the second to last bound.
+     */
+    private static final long @NotNull [] BUCKET_BOUNDS_MILLIS = {1L, 2L, 5L, 10L, 25L, 50L, 100L, 250L, 500L, 1000L, 2500L, 5000L, Long.MAX_VALUE};
+
+    private final @NotNull AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_MILLIS.length);
+    private final @NotNull AtomicLong count = new AtomicLong();
+    private final @NotNull AtomicLong errors = new AtomicLong();
+    private final @NotNull AtomicLong totalNanos = new AtomicLong();
+    private final @NotNull AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Record a call.
+     * @param nanos How long the call took in nanoseconds.
+     * @param error Did the call fail?
+     */
+    public void record(long nanos, boolean error) {
+        long millis = nanos / 1_000_000L;
+        int index = 0;
+        while(millis >= BUCKET_BOUNDS_MILLIS[index]) index++;
+
+        buckets.incrementAndGet(index);
+        count.incrementAndGet();
+        if(error) errors.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Get the number of calls recorded.
+     * @return The number of calls.
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Get the number of failed calls recorded.
+     * @return The number of failed calls.
+     */
+    public long getErrors() {
+        return errors.get();
+    }
+
+    /**
+     * Get the percentage of calls that failed.
+     * @return The error rate from 0 to 100.
+     */
+    public double getErrorRate() {
+        long calls = count.get();
+        return calls == 0 ? 0.0 : errors.get() * 100.0 / calls;
+    }
+
+    /**
+     * Get the average time a call took.
+     * @return The average in milliseconds.
+     */
+    public double getAverageMillis() {
+        long calls = count.get();
+        return calls == 0 ? 0.0 : totalNanos.get() / 1_000_000.0 / calls;
+    }
+
+    /**
+     * Get the slowest time a call took.
+     * @return The max in milliseconds.
+     */
+    public double getMaxMillis() {
+        return maxNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Get the upper bound of the bucket a percentile falls into.
+     * @param percentile The percentile from 0 to 100, i.e., 99 for p99.
+     * @return The percentile in milliseconds. Calls slower than the largest bound report the max instead.
+     */
+    public double getPercentileMillis(double percentile) {
+        long calls = count.get();
+        if(calls == 0) return 0.0;
+
+        long rank = (long) Math.ceil(calls * Math.min(100.0, Math.max(0.0, percentile)) / 100.0);
+        long seen = 0;
+        for(int i = 0; i < BUCKET_BOUNDS_MILLIS.length - 1; i++) {
+            seen += buckets.get(i);
+            if(seen >= rank) return Math.min(BUCKET_BOUNDS_MILLIS[i], getMaxMillis());
+        }
+
+        return getMaxMillis();
+    }
+}
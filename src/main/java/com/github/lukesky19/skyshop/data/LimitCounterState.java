@@ -0,0 +1,28 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.data;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This record contains a snapshot of a player's {@link SlidingWindowCounter} as stored in the database.
+ * @param bucketMillis The length of each bucket in milliseconds.
+ * @param headBucket The index of the newest bucket, counted in buckets since the epoch.
+ * @param buckets The amount in each bucket, separated by commas.
+ */
+public record LimitCounterState(long bucketMillis, long headBucket, @NotNull String buckets) {}
@@ -0,0 +1,51 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.data;
+
+import com.github.lukesky19.skylib.libs.configurate.objectmapping.ConfigSerializable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+/**
+ * This record contains the per-player purchase and sell limits.
+ * @param configVersion The file's config version.
+ * @param limits A {@link Map} mapping limit ids to {@link Limit}s.
+ */
+@ConfigSerializable
+public record Limits(@Nullable String configVersion, @NotNull Map<String, Limit> limits) {
+    /**
+     * This record contains the configuration for a single limit.
+     * A limit applies to either an item type or a transaction name. If both are set, the item type is used.
+     * @param itemType The item type the limit applies to, i.e., minecraft:diamond
+     * @param transactionName The name of the command transaction the limit applies to.
+     * @param maxBuy The max amount a player can buy inside the window. Null or negative for no buy limit.
+     * @param maxSell The max amount a player can sell inside the window. Null or negative for no sell limit.
+     * @param window The length of the sliding window in seconds.
+     * @param buckets The number of buckets the window is divided into. More buckets make the window slide more smoothly.
+     */
+    @ConfigSerializable
+    public record Limit(
+            @Nullable String itemType,
+            @Nullable String transactionName,
+            @Nullable Integer maxBuy,
+            @Nullable Integer maxSell,
+            @Nullable Long window,
+            @Nullable Integer buckets) {}
+}
@@ -40,6 +40,41 @@ import java.util.List;
  * @param inGameOnly The message sent in console when a command is in-game only.
  * @param guiOpenError The message sent to the player when a GUI fails to open.
  * @param statsDisabledGuiError The message sent to the player when stats tracking is disabled, and they try to open the stats GUI.
+ * @param shopUnavailable The message sent to the player when the shop they were viewing was removed by a reload.
+ * @param importSuccess The message sent when a price list is imported successfully.
+ * @param importFailed The message sent when a price list fails to import.
+ * @param analysisSummary The message sent with a summary of the latest shop analysis.
+ * @param analysisPending The message sent when no shop analysis has finished yet.
+ * @param findSuccess The message sent when the find command opens the shop page of an item.
+ * @param findNoResults The message sent when the find command finds no shop for an item.
+ * @param searchNoResults The message sent when a shop search has no results.
+ * @param inventoryFull The message sent to the player when they lack the inventory space for a purchase.
+ * @param outOfStock The message sent to the player when there isn't enough stock remaining for a purchase.
+ * @param stockRemaining The lore line added to limited stock transactions showing the remaining stock.
+ * @param stockSoldOut The lore line added to limited stock transactions that are sold out.
+ * @param limitReached The message sent when a transaction would go over a player's buy or sell limit.
+ * @param sellallLimitReached The message sent when items weren't sold because the player reached a sell limit.
+ * @param playerDataNotLoaded The message sent when a player tries to buy or sell before their player data has finished loading.
+ * @param boosterGiven The message sent when a player is given a sell booster.
+ * @param boosterReceived The message sent to a player when they receive a sell booster.
+ * @param boosterFailed The message sent when a sell booster can't be given because the player's data hasn't loaded.
+ * @param globalBoosterStarted The message broadcast when a global sell booster starts.
+ * @param autoSellEnabled The message sent when a player enables auto-sell.
+ * @param autoSellDisabled The message sent when a player disables auto-sell.
+ * @param autoSellSummary The message sent when the items sold by auto-sell are paid out.
+ * @param sellWandName The display name of the sell wand item.
+ * @param sellWandGiven The message sent when a sell wand is given to a player.
+ * @param sellWandStarted The message sent when an area sell wand job starts.
+ * @param sellWandBusy The message sent when a player uses an area sell wand while a previous job is still running.
+ * @param sellWandNothingSold The message sent when a sell wand didn't sell anything.
+ * @param sellWandAreaNoPermission The message sent when a player without permission uses an area sell wand.
+ * @param sellallFailed The message sent when a sellall GUI sale couldn't be paid for and the items were returned.
+ * @param transactionFailed The message sent when a deposit or withdrawal fails in the economy plugin.
+ * @param economyUnavailable The message sent when a transaction is refused because the economy is slow or failing.
+ * @param salePayoutDelayed The message sent when items were sold but the payout couldn't be deposited yet, so it will be paid later.
+ * @param refundDelayed The message sent when the price of purchased items that didn't fit couldn't be refunded yet, so it will be refunded later.
+ * @param economyStatus The message sent with the economy circuit breaker's state.
+ * @param economyOperationStats The message sent with the latency and error statistics of one economy operation.
  */
 @ConfigSerializable
 public record Locale(
@@ -59,5 +94,40 @@ public record Locale(
         String unsellable,
         String inGameOnly,
         String guiOpenError,
-        String statsDisabledGuiError) {
+        String statsDisabledGuiError,
+        String shopUnavailable,
+        String importSuccess,
+        String importFailed,
+        String analysisSummary,
+        String analysisPending,
+        String findSuccess,
+        String findNoResults,
+        String searchNoResults,
+        String inventoryFull,
+        String outOfStock,
+        String stockRemaining,
+        String stockSoldOut,
+        String limitReached,
+        String sellallLimitReached,
+        String playerDataNotLoaded,
+        String boosterGiven,
+        String boosterReceived,
+        String boosterFailed,
+        String globalBoosterStarted,
+        String autoSellEnabled,
+        String autoSellDisabled,
+        String autoSellSummary,
+        String sellWandName,
+        String sellWandGiven,
+        String sellWandStarted,
+        String sellWandBusy,
+        String sellWandNothingSold,
+        String sellWandAreaNoPermission,
+        String sellallFailed,
+        String transactionFailed,
+        String economyUnavailable,
+        String salePayoutDelayed,
+        String refundDelayed,
+        String economyStatus,
+        String economyOperationStats) {
 }
@@ -0,0 +1,203 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.data;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class contains the cached data of a single player.
+ * It is created off the main thread when the player's data is loaded, but is otherwise only modified on the main thread.
+ */
+public class PlayerData {
+    private final @NotNull UUID uuid;
+    private final @NotNull Map<String, SlidingWindowCounter> limitCounters = new HashMap<>();
+    // Limit counters loaded from the database that haven't been used yet.
+    private final @NotNull Map<String, LimitCounterState> storedLimitStates;
+    private final @NotNull Set<String> dirtyLimitKeys = ConcurrentHashMap.newKeySet();
+    private final @NotNull List<Booster> boosters;
+    private volatile boolean boostersDirty = false;
+    // The cached effective sell multiplier and the epoch time in milliseconds it must be recalculated at.
+    private double sellMultiplier = 1.0;
+    private long sellMultiplierValidUntil = 0L;
+    private volatile long evictAt = -1L;
+    // Auto-sell is only enabled for the current session.
+    private boolean autoSell = false;
+
+    /**
+     * Constructor
+     * @param uuid The {@link UUID} of the player.
+     * @param storedLimitStates A {@link Map} mapping counter keys to the {@link LimitCounterState}s loaded from the database.
+     * @param boosters A {@link List} of the player's {@link Booster}s loaded from the database.
+     */
+    public PlayerData(@NotNull UUID uuid, @NotNull Map<String, LimitCounterState> storedLimitStates, @NotNull List<Booster> boosters) {
+        this.uuid = uuid;
+        this.storedLimitStates = new HashMap<>(storedLimitStates);
+        this.boosters = new ArrayList<>(boosters);
+    }
+
+    /**
+     * Get the {@link UUID} of the player.
+     * @return The {@link UUID} of the player.
+     */
+    public @NotNull UUID getUuid() {
+        return uuid;
+    }
+
+    /**
+     * Get the player's limit counters that are in use.
+     * @return A {@link Map} mapping counter keys to {@link SlidingWindowCounter}s.
+     */
+    public @NotNull Map<String, SlidingWindowCounter> getLimitCounters() {
+        return limitCounters;
+    }
+
+    /**
+     * Get the player's limit counters loaded from the database that haven't been used yet.
+     * @return A {@link Map} mapping counter keys to {@link LimitCounterState}s.
+     */
+    public @NotNull Map<String, LimitCounterState> getStoredLimitStates() {
+        return storedLimitStates;
+    }
+
+    /**
+     * Mark a limit counter as changed so it is written to the database by the next save.
+     * @param counterKey The counter key.
+     */
+    public void markLimitDirty(@NotNull String counterKey) {
+        dirtyLimitKeys.add(counterKey);
+    }
+
+    /**
+     * Get the player's timed sell boosters. Call {@link #markBoostersDirty()} after modifying them.
+     * @return A {@link List} of {@link Booster}s.
+     */
+    public @NotNull List<Booster> getBoosters() {
+        return boosters;
+    }
+
+    /**
+     * Mark the player's boosters as changed so they are written to the database by the next save.
+     * This also invalidates the cached sell multiplier.
+     */
+    public void markBoostersDirty() {
+        boostersDirty = true;
+        invalidateSellMultiplier();
+    }
+
+    /**
+     * Get the cached effective sell multiplier.
+     * @param now The current epoch time in milliseconds.
+     * @return The cached sell multiplier, or null if it must be recalculated.
+     */
+    public @Nullable Double getSellMultiplier(long now) {
+        return now < sellMultiplierValidUntil ? sellMultiplier : null;
+    }
+
+    /**
+     * Cache the effective sell multiplier.
+     * @param sellMultiplier The effective sell multiplier.
+     * @param validUntil The epoch time in milliseconds the multiplier must be recalculated at.
+     */
+    public void setSellMultiplier(double sellMultiplier, long validUntil) {
+        this.sellMultiplier = sellMultiplier;
+        this.sellMultiplierValidUntil = validUntil;
+    }
+
+    /**
+     * Invalidate the cached sell multiplier so it is recalculated the next time it is used.
+     */
+    public void invalidateSellMultiplier() {
+        sellMultiplierValidUntil = 0L;
+    }
+
+    /**
+     * Check if any of the player's data changed since the last save.
+     * @return true if the data changed, otherwise false.
+     */
+    public boolean isDirty() {
+        return !dirtyLimitKeys.isEmpty() || boostersDirty;
+    }
+
+    /**
+     * Create a copy of the player's boosters if they changed since the last snapshot.
+     * @return A {@link List} of {@link Booster}s, or null if the boosters didn't change.
+     */
+    public @Nullable List<Booster> snapshotChangedBoosters() {
+        if(!boostersDirty) return null;
+
+        boostersDirty = false;
+        return List.copyOf(boosters);
+    }
+
+    /**
+     * Create {@link LimitCounterState} snapshots of the limit counters that changed since the last snapshot.
+     * @return A {@link Map} mapping counter keys to {@link LimitCounterState}s.
+     */
+    public @NotNull Map<String, LimitCounterState> snapshotChangedLimits() {
+        Map<String, LimitCounterState> states = new HashMap<>();
+        for(String counterKey : List.copyOf(dirtyLimitKeys)) {
+            dirtyLimitKeys.remove(counterKey);
+
+            SlidingWindowCounter counter = limitCounters.get(counterKey);
+            if(counter != null) states.put(counterKey, counter.snapshot());
+        }
+
+        return states;
+    }
+
+    /**
+     * Check if the player has auto-sell enabled.
+     * @return true if auto-sell is enabled, otherwise false.
+     */
+    public boolean isAutoSell() {
+        return autoSell;
+    }
+
+    /**
+     * Set if the player has auto-sell enabled.
+     * @param autoSell true to enable auto-sell, otherwise false.
+     */
+    public void setAutoSell(boolean autoSell) {
+        this.autoSell = autoSell;
+    }
+
+    /**
+     * Get the epoch time in milliseconds after which the data can be evicted from the cache.
+     * @return The epoch time in milliseconds, or -1 while the player is online.
+     */
+    public long getEvictAt() {
+        return evictAt;
+    }
+
+    /**
+     * Set the epoch time in milliseconds after which the data can be evicted from the cache.
+     * @param evictAt The epoch time in milliseconds, or -1 while the player is online.
+     */
+    public void setEvictAt(long evictAt) {
+        this.evictAt = evictAt;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.data;
+
+import com.github.lukesky19.skylib.libs.configurate.objectmapping.ConfigSerializable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * This record contains the rules used to price many item types at once.
+ * @param configVersion The file's config version.
+ * @param rules The {@link List} of {@link Rule}s.
+ */
+@ConfigSerializable
+public record PricingRules(@Nullable String configVersion, @NotNull List<@NotNull Rule> rules) {
+    /**
+     * This record contains the configuration for a single pricing rule.
+     * An item type matches the rule if it matches any of the tags, patterns, or categories.
+     * When several rules match an item type, only the rule with the highest priority that applies to it is used.
+     * A rule that can't change the item's price is skipped, so lower priority rules can still apply.
+     * @param priority The priority of the rule. Higher priorities win.
+     * @param tags A {@link List} of item tags to match, i.e., minecraft:logs
+     * @param patterns A {@link List} of regular expressions matched against the item type key, i.e., minecraft:.*_wool
+     * @param categories A {@link List} of categories, as configured in a shop's transaction data, to match.
+     * @param price The absolute sell price to use.
+     * @param multiplier The multiplier applied to the sell price configured in the shops. Ignored if price is set.
+     * @param overrideShopPrice Should the absolute price replace a sell price configured in the shops?
+     */
+    @ConfigSerializable
+    public record Rule(
+            int priority,
+            @NotNull List<String> tags,
+            @NotNull List<String> patterns,
+            @NotNull List<String> categories,
+            @Nullable Double price,
+            @Nullable Double multiplier,
+            boolean overrideShopPrice) {}
+}
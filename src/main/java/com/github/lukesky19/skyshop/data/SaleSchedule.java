@@ -0,0 +1,158 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.data;
+
+import org.bukkit.NamespacedKey;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * An interval index of scheduled sale {@link Window}s.
+ * The start and end times of every window split the timeline into segments, and the windows active during each segment are resolved when the schedule is built.
+ * Finding the active windows or the next time they change is a binary search over the segment boundaries.
+ * Instances are immutable and are built once when the sales are reloaded.
+ */
+public final class SaleSchedule {
+    private final long @NotNull [] boundaries;
+    // The windows active from each boundary until the next one.
+    private final @NotNull List<@NotNull List<@NotNull Window>> segments;
+
+    /**
+     * Constructor
+     * @param windows The {@link Window}s to index. Windows that end before they start are ignored.
+     */
+    public SaleSchedule(@NotNull List<@NotNull Window> windows) {
+        TreeSet<Long> times = new TreeSet<>();
+        for(Window window : windows) {
+            if(window.start() >= window.end()) continue;
+
+            times.add(window.start());
+            times.add(window.end());
+        }
+
+        this.boundaries = times.stream().mapToLong(Long::longValue).toArray();
+        this.segments = new ArrayList<>(boundaries.length);
+        for(long segmentStart : boundaries) {
+            List<Window> active = new ArrayList<>();
+            for(Window window : windows) {
+                if(window.start() <= segmentStart && segmentStart < window.end()) active.add(window);
+            }
+
+            segments.add(List.copyOf(active));
+        }
+    }
+
+    /**
+     * Create a schedule without any sales.
+     * @return The {@link SaleSchedule}.
+     */
+    public static @NotNull SaleSchedule empty() {
+        return new SaleSchedule(List.of());
+    }
+
+    /**
+     * Get the {@link Window}s active at a time.
+     * @param now The epoch time in milliseconds.
+     * @return A {@link List} of the active {@link Window}s in the order they were configured.
+     */
+    public @NotNull List<@NotNull Window> getActive(long now) {
+        int segment = getSegment(now);
+        return segment >= 0 ? segments.get(segment) : List.of();
+    }
+
+    /**
+     * Get the next time the active {@link Window}s change after the provided time.
+     * @param now The epoch time in milliseconds.
+     * @return An {@link OptionalLong} containing the epoch time in milliseconds. Will be empty if no window starts or ends later.
+     */
+    public @NotNull OptionalLong getNextBoundary(long now) {
+        int next = getSegment(now) + 1;
+        return next < boundaries.length ? OptionalLong.of(boundaries[next]) : OptionalLong.empty();
+    }
+
+    /**
+     * Normalize an item type, as configured in a sale or a transaction, to the key used to match sales.
+     * @param itemType The item type, i.e., DIAMOND or minecraft:diamond
+     * @return The item type key, i.e., minecraft:diamond, or null if the item type is not a valid key.
+     */
+    public static @Nullable String getItemKey(@Nullable String itemType) {
+        if(itemType == null) return null;
+
+        NamespacedKey key = NamespacedKey.fromString(itemType.toLowerCase(Locale.ROOT));
+        return key != null ? key.asString() : null;
+    }
+
+    /**
+     * Find the segment containing a time.
+     * @param now The epoch time in milliseconds.
+     * @return The index of the last boundary at or before the time, or -1 if the time is before the first boundary.
+     */
+    private int getSegment(long now) {
+        int index = Arrays.binarySearch(boundaries, now);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * This record contains a single scheduled sale.
+     * @param name The name of the sale.
+     * @param start The epoch time in milliseconds the sale starts at.
+     * @param end The epoch time in milliseconds the sale ends at.
+     * @param buyMultiplier The multiplier applied to buy prices.
+     * @param sellMultiplier The multiplier applied to sell prices.
+     * @param shops The shop ids to match.
+     * @param categories The categories to match.
+     * @param items The item type keys to match, i.e., minecraft:diamond
+     */
+    public record Window(
+            @NotNull String name,
+            long start,
+            long end,
+            double buyMultiplier,
+            double sellMultiplier,
+            @NotNull Set<String> shops,
+            @NotNull Set<String> categories,
+            @NotNull Set<String> items) {
+        /**
+         * Checks if this window matches a transaction or item.
+         * A window without any shops, categories, or items matches everything.
+         * @param shopId The id of the shop the transaction is in or null if the price isn't from a single shop, i.e., the /sell price.
+         * @param itemCategories The categories of the transaction or item.
+         * @param itemKey The item type key of the transaction or item or null if it isn't an item.
+         * @return true if the window matches any of the shop, categories, or item, otherwise false.
+         */
+        public boolean matches(@Nullable String shopId, @NotNull Set<String> itemCategories, @Nullable String itemKey) {
+            if(shops.isEmpty() && categories.isEmpty() && items.isEmpty()) return true;
+            if(shopId != null && shops.contains(shopId)) return true;
+            if(itemKey != null && items.contains(itemKey)) return true;
+
+            for(String category : itemCategories) {
+                if(categories.contains(category)) return true;
+            }
+
+            return false;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.data;
+
+import com.github.lukesky19.skylib.libs.configurate.objectmapping.ConfigSerializable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * This record contains the scheduled sales that change prices during a time window.
+ * @param configVersion The file's config version.
+ * @param sales The {@link List} of {@link Sale}s.
+ */
+@ConfigSerializable
+public record Sales(@Nullable String configVersion, @NotNull List<@NotNull Sale> sales) {
+    /**
+     * This record contains the configuration for a single scheduled sale.
+     * A transaction matches the sale if it matches any of the shops, categories, or items. A sale without any shops, categories, or items matches every transaction.
+     * When several active sales match a transaction, their multipliers are multiplied together.
+     * @param name The name of the sale, used when logging.
+     * @param start The date and time the sale starts in the server's time zone, i.e., 2026-12-24T00:00
+     * @param end The date and time the sale ends in the server's time zone, i.e., 2026-12-27T00:00
+     * @param buyMultiplier The multiplier applied to buy prices. Defaults to 1.0.
+     * @param sellMultiplier The multiplier applied to sell prices. Defaults to 1.0.
+     * @param shops A {@link List} of shop ids to match.
+     * @param categories A {@link List} of categories, as configured in a shop's transaction data, to match.
+     * @param items A {@link List} of item types to match, i.e., minecraft:diamond
+     */
+    @ConfigSerializable
+    public record Sale(
+            @Nullable String name,
+            @Nullable String start,
+            @Nullable String end,
+            @Nullable Double buyMultiplier,
+            @Nullable Double sellMultiplier,
+            @NotNull List<String> shops,
+            @NotNull List<String> categories,
+            @NotNull List<String> items) {}
+}
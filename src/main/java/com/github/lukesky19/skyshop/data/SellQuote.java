@@ -0,0 +1,41 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.data;
+
+import org.bukkit.inventory.ItemType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This record contains the price of a group of items without selling them.
+ * Sell limits and sell multipliers are not applied.
+ * @param entries The amount and price of each sellable {@link ItemType}.
+ * @param total The total sell price of all sellable items.
+ * @param unsellableSlots The slots containing items that can't be sold.
+ */
+public record SellQuote(@NotNull Map<ItemType, Entry> entries, double total, @NotNull List<Integer> unsellableSlots) {
+    /**
+     * This record contains the amount and price of a single sellable {@link ItemType}.
+     * @param amount The amount of the item.
+     * @param unitPrice The sell price of a single item.
+     * @param total The sell price of all the items.
+     */
+    public record Entry(int amount, double unitPrice, double total) {}
+}
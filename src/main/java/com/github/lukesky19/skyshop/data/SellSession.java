@@ -0,0 +1,115 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.data;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class tracks the settlement of the items inside a single sellall GUI.
+ * A session can only be settled once, so calling settlement again after the GUI is closed, unloaded, or the server shuts down does nothing.
+ */
+public class SellSession {
+    private final @NotNull UUID transactionId = UUID.randomUUID();
+    private final @NotNull UUID playerId;
+    private final @NotNull AtomicReference<State> state = new AtomicReference<>(State.OPEN);
+
+    /**
+     * The states of a sell session.
+     */
+    public enum State {
+        /**
+         * The session is open and items can still be added.
+         */
+        OPEN,
+        /**
+         * The items are being priced and paid for.
+         */
+        PRICING,
+        /**
+         * The sold items were removed and the player was paid.
+         */
+        COMMITTED,
+        /**
+         * Payment failed and all items were returned to the player.
+         */
+        ROLLED_BACK
+    }
+
+    /**
+     * Constructor
+     * @param playerId The {@link UUID} of the player selling.
+     */
+    public SellSession(@NotNull UUID playerId) {
+        this.playerId = playerId;
+    }
+
+    /**
+     * Get the unique id of this session's transaction.
+     * @return A {@link UUID}.
+     */
+    public @NotNull UUID getTransactionId() {
+        return transactionId;
+    }
+
+    /**
+     * Get the {@link UUID} of the player selling.
+     * @return A {@link UUID}.
+     */
+    public @NotNull UUID getPlayerId() {
+        return playerId;
+    }
+
+    /**
+     * Get the current {@link State} of the session.
+     * @return The {@link State}.
+     */
+    public @NotNull State getState() {
+        return state.get();
+    }
+
+    /**
+     * Move the session from {@link State#OPEN} to {@link State#PRICING}.
+     * @return true if the session was open and settlement may proceed, otherwise false if it was already settled or is being settled.
+     */
+    public boolean beginPricing() {
+        return state.compareAndSet(State.OPEN, State.PRICING);
+    }
+
+    /**
+     * Move the session from {@link State#PRICING} to {@link State#COMMITTED}.
+     * @throws IllegalStateException if the session isn't being priced.
+     */
+    public void commit() {
+        if(!state.compareAndSet(State.PRICING, State.COMMITTED)) {
+            throw new IllegalStateException("Sell session " + transactionId + " can't be committed from state " + state.get());
+        }
+    }
+
+    /**
+     * Move the session from {@link State#PRICING} to {@link State#ROLLED_BACK}.
+     * @throws IllegalStateException if the session isn't being priced.
+     */
+    public void rollBack() {
+        if(!state.compareAndSet(State.PRICING, State.ROLLED_BACK)) {
+            throw new IllegalStateException("Sell session " + transactionId + " can't be rolled back from state " + state.get());
+        }
+    }
+}
@@ -26,11 +26,40 @@ import org.jetbrains.annotations.Nullable;
  * @param locale The plugin's locale. Refers to a file in SkyShop/locale
  * @param firstRun Is this the first time the plugin has run?
  * @param statistics Should statistics be saved for how many items have been purchased and sold?
+ * @param asyncEconomy Should economy calls be made on a dedicated thread instead of the main thread?
+ * @param economyCircuitBreaker The settings for the circuit breaker that refuses transactions while the economy is slow or failing.
+ * @param depositCoalescing The settings for paying many small sales by the same player with a single deposit.
  */
 @ConfigSerializable
 public record Settings(
         @Nullable String configVersion,
         @Nullable String locale,
         boolean firstRun,
-        boolean statistics) {
+        boolean statistics,
+        boolean asyncEconomy,
+        @Nullable CircuitBreakerSettings economyCircuitBreaker,
+        @Nullable DepositCoalescingSettings depositCoalescing) {
+    /**
+     * This record contains the settings for the economy circuit breaker.
+     * @param enabled Should the circuit breaker be used?
+     * @param latencyThresholdMillis Economy calls slower than this many milliseconds count as failures.
+     * @param tripCount How many failed economy calls in a row open the circuit.
+     * @param openSeconds How long transactions are refused for once the circuit opens.
+     */
+    @ConfigSerializable
+    public record CircuitBreakerSettings(
+            @Nullable Boolean enabled,
+            @Nullable Long latencyThresholdMillis,
+            @Nullable Integer tripCount,
+            @Nullable Long openSeconds) {}
+
+    /**
+     * This record contains the settings for deposit coalescing.
+     * @param enabled Should the sales of a player be paid with a single deposit per window?
+     * @param windowMillis How long sales are collected for before they are paid, in milliseconds.
+     */
+    @ConfigSerializable
+    public record DepositCoalescingSettings(
+            @Nullable Boolean enabled,
+            @Nullable Long windowMillis) {}
 }
@@ -0,0 +1,71 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.data;
+
+import com.github.lukesky19.skyshop.data.gui.ShopConfig;
+import com.github.lukesky19.skyshop.util.TransactionType;
+import org.bukkit.inventory.ItemType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This record contains the location and prices of a single TRANSACTION button in a {@link ShopConfig}.
+ * @param shopId The id of the shop containing the button.
+ * @param pageNum The page number the button is on, starting at 0.
+ * @param slot The slot the button is placed at.
+ * @param itemType The {@link ItemType} being bought or sold. Will be null for command transactions or invalid item types.
+ * @param transactionType The {@link TransactionType}.
+ * @param transactionName The name used in the success messages.
+ * @param buyPrice The buy price of the transaction.
+ * @param sellPrice The sell price of the transaction.
+ * @param currency The id of the currency the transaction uses. Will be null for Vault money.
+ */
+public record ShopEntry(
+        @NotNull String shopId,
+        int pageNum,
+        int slot,
+        @Nullable ItemType itemType,
+        @Nullable TransactionType transactionType,
+        @Nullable String transactionName,
+        @Nullable Double buyPrice,
+        @Nullable Double sellPrice,
+        @Nullable String currency) {
+    /**
+     * Checks if this entry can be bought.
+     * @return true if a buy price greater than 0 is configured, otherwise false.
+     */
+    public boolean isBuyable() {
+        return buyPrice != null && buyPrice > 0.0;
+    }
+
+    /**
+     * Checks if this entry can be sold.
+     * @return true if a sell price greater than 0 is configured, otherwise false.
+     */
+    public boolean isSellable() {
+        return sellPrice != null && sellPrice > 0.0;
+    }
+
+    /**
+     * Get the location of this entry, formatted as shop:page:slot with the page starting at 1.
+     * @return A {@link String} containing the location.
+     */
+    public @NotNull String location() {
+        return shopId + ":" + (pageNum + 1) + ":" + slot;
+    }
+}
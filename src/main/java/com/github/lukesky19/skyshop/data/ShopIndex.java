@@ -0,0 +1,41 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.data;
+
+import org.bukkit.inventory.ItemType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * This record contains a reverse index of every TRANSACTION button in the loaded shops.
+ * The {@link List}s of {@link ShopEntry}s are in the shops' precedence order.
+ * @param byItemType A {@link Map} mapping {@link ItemType} to the item transactions buying or selling it.
+ * @param byTransactionName A {@link Map} mapping the lower-case transaction name, without formatting, to the transactions using it.
+ * @param entries Every indexed {@link ShopEntry}. The position of an entry is its id in the search postings.
+ * @param searchTokens A sorted {@link NavigableMap} mapping each search token to the sorted ids of the entries containing it.
+ * @param searchTokensByLength A {@link Map} mapping a token length to the search tokens of that length. Used for fuzzy matching.
+ */
+public record ShopIndex(
+        @NotNull Map<@NotNull ItemType, @NotNull List<@NotNull ShopEntry>> byItemType,
+        @NotNull Map<@NotNull String, @NotNull List<@NotNull ShopEntry>> byTransactionName,
+        @NotNull List<@NotNull ShopEntry> entries,
+        @NotNull NavigableMap<@NotNull String, int @NotNull []> searchTokens,
+        @NotNull Map<@NotNull Integer, @NotNull List<@NotNull String>> searchTokensByLength) {}
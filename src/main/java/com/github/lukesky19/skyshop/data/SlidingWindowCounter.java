@@ -0,0 +1,162 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.data;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * A compact sliding window counter that stores the amounts inside a window in a fixed ring of buckets.
+ * Each bucket covers an equal slice of the window, and whole buckets expire as the window moves forward.
+ * This class is not thread-safe and is expected to only be used from the main thread.
+ */
+public final class SlidingWindowCounter {
+    private final int @NotNull [] buckets;
+    private final long bucketMillis;
+    private long headBucket;
+    private long total;
+
+    /**
+     * Constructor
+     * @param bucketCount The number of buckets the window is divided into.
+     * @param windowMillis The length of the window in milliseconds.
+     */
+    public SlidingWindowCounter(int bucketCount, long windowMillis) {
+        this.buckets = new int[Math.max(1, bucketCount)];
+        this.bucketMillis = Math.max(1L, windowMillis / buckets.length);
+    }
+
+    /**
+     * Create a counter from a {@link LimitCounterState} loaded from the database.
+     * @param bucketCount The number of buckets the window is divided into.
+     * @param windowMillis The length of the window in milliseconds.
+     * @param state The {@link LimitCounterState}.
+     * @return The {@link SlidingWindowCounter} or null if the state doesn't match the window or is invalid.
+     */
+    public static @Nullable SlidingWindowCounter fromState(int bucketCount, long windowMillis, @NotNull LimitCounterState state) {
+        SlidingWindowCounter counter = new SlidingWindowCounter(bucketCount, windowMillis);
+        if(counter.bucketMillis != state.bucketMillis()) return null;
+
+        String[] amounts = state.buckets().split(",");
+        if(amounts.length != counter.buckets.length) return null;
+
+        try {
+            for(int i = 0; i < amounts.length; i++) {
+                counter.buckets[i] = Math.max(0, Integer.parseInt(amounts[i]));
+                counter.total += counter.buckets[i];
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+
+        counter.headBucket = state.headBucket();
+        return counter;
+    }
+
+    /**
+     * Get the total amount inside the window.
+     * @param now The current epoch time in milliseconds.
+     * @return The total amount.
+     */
+    public int getTotal(long now) {
+        advance(now);
+        return (int) Math.min(Integer.MAX_VALUE, total);
+    }
+
+    /**
+     * Add an amount to the newest bucket.
+     * @param now The current epoch time in milliseconds.
+     * @param amount The amount to add.
+     */
+    public void add(long now, int amount) {
+        if(amount <= 0) return;
+
+        advance(now);
+        int index = (int) Math.floorMod(headBucket, (long) buckets.length);
+        buckets[index] = (int) Math.min(Integer.MAX_VALUE, (long) buckets[index] + amount);
+        total += amount;
+    }
+
+    /**
+     * Remove an amount that was added but didn't go through, starting from the newest bucket.
+     * @param now The current epoch time in milliseconds.
+     * @param amount The amount to remove.
+     */
+    public void remove(long now, int amount) {
+        if(amount <= 0) return;
+
+        advance(now);
+        long remaining = amount;
+        for(int step = 0; step < buckets.length && remaining > 0; step++) {
+            int index = (int) Math.floorMod(headBucket - step, (long) buckets.length);
+            int removed = (int) Math.min(buckets[index], remaining);
+            buckets[index] -= removed;
+            total -= removed;
+            remaining -= removed;
+        }
+    }
+
+    /**
+     * Check if this counter was created for the given window.
+     * @param bucketCount The number of buckets the window is divided into.
+     * @param windowMillis The length of the window in milliseconds.
+     * @return true if the counter matches the window, otherwise false.
+     */
+    public boolean matches(int bucketCount, long windowMillis) {
+        return buckets.length == Math.max(1, bucketCount) && bucketMillis == Math.max(1L, windowMillis / buckets.length);
+    }
+
+    /**
+     * Create a {@link LimitCounterState} snapshot of this counter.
+     * @return A {@link LimitCounterState}.
+     */
+    public @NotNull LimitCounterState snapshot() {
+        StringBuilder amounts = new StringBuilder();
+        for(int i = 0; i < buckets.length; i++) {
+            if(i > 0) amounts.append(',');
+            amounts.append(buckets[i]);
+        }
+
+        return new LimitCounterState(bucketMillis, headBucket, amounts.toString());
+    }
+
+    /**
+     * Move the window forward to the current time, clearing every bucket that has expired.
+     * @param now The current epoch time in milliseconds.
+     */
+    private void advance(long now) {
+        long currentBucket = now / bucketMillis;
+        if(currentBucket <= headBucket) return;
+
+        long steps = currentBucket - headBucket;
+        if(steps >= buckets.length) {
+            Arrays.fill(buckets, 0);
+            total = 0;
+        } else {
+            for(long step = 1; step <= steps; step++) {
+                int index = (int) Math.floorMod(headBucket + step, (long) buckets.length);
+                total -= buckets[index];
+                buckets[index] = 0;
+            }
+        }
+
+        headBucket = currentBucket;
+    }
+}
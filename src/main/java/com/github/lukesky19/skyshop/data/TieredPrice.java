@@ -0,0 +1,196 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.data;
+
+import com.github.lukesky19.skyshop.data.gui.ShopConfig;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * A price table compiled from a transaction's {@link ShopConfig.PriceTier}s.
+ * The total of any amount is calculated in closed form from the tier boundaries, so it costs the same for 1 item or 2304 items.
+ * Instances are immutable and are built once when the shops are reloaded.
+ */
+public final class TieredPrice {
+    private final double basePrice;
+    // The amount of items priced by earlier tiers when each tier starts. The first tier always starts at 0.
+    private final long @NotNull [] starts;
+    private final double @NotNull [] multipliers;
+    // The total of all earlier tiers when each tier starts, in units of the base price.
+    private final double @NotNull [] startTotals;
+    private final @NotNull String summary;
+
+    /**
+     * Constructor
+     * @param basePrice The price of a single item before tiers are applied.
+     * @param starts The amount of items priced by earlier tiers when each tier starts.
+     * @param multipliers The multiplier of each tier.
+     */
+    private TieredPrice(double basePrice, long @NotNull [] starts, double @NotNull [] multipliers) {
+        this.basePrice = basePrice;
+        this.starts = starts;
+        this.multipliers = multipliers;
+        this.startTotals = new double[starts.length];
+        for(int i = 1; i < starts.length; i++) {
+            startTotals[i] = startTotals[i - 1] + (starts[i] - starts[i - 1]) * multipliers[i - 1];
+        }
+        this.summary = createSummary();
+    }
+
+    /**
+     * Create a price table without any tiers, where every item costs the base price.
+     * @param basePrice The price of a single item.
+     * @return The {@link TieredPrice}.
+     */
+    public static @NotNull TieredPrice flat(double basePrice) {
+        return new TieredPrice(basePrice, new long[] {0L}, new double[] {1.0});
+    }
+
+    /**
+     * Compile the {@link ShopConfig.PriceTier}s of a transaction into a price table.
+     * Every tier needs a multiplier greater than 0 and every tier but the last needs an amount greater than 0.
+     * @param basePrice The price of a single item before tiers are applied.
+     * @param tiers The {@link ShopConfig.PriceTier}s in order.
+     * @return The {@link TieredPrice} or null if a tier is invalid.
+     */
+    public static @Nullable TieredPrice compile(double basePrice, @NotNull List<ShopConfig.PriceTier> tiers) {
+        if(tiers.isEmpty()) return flat(basePrice);
+
+        long[] starts = new long[tiers.size()];
+        double[] multipliers = new double[tiers.size()];
+        long start = 0L;
+
+        for(int i = 0; i < tiers.size(); i++) {
+            ShopConfig.PriceTier tier = tiers.get(i);
+            if(tier.multiplier() == null || tier.multiplier() <= 0.0) return null;
+            boolean last = i == tiers.size() - 1;
+            if(!last && (tier.amount() == null || tier.amount() <= 0)) return null;
+
+            starts[i] = start;
+            multipliers[i] = tier.multiplier();
+            if(!last) start += tier.amount();
+        }
+
+        return new TieredPrice(basePrice, starts, multipliers);
+    }
+
+    /**
+     * Create a copy of this table with the base price multiplied, i.e., by a scheduled sale.
+     * @param multiplier The multiplier applied to the base price.
+     * @return The scaled {@link TieredPrice}.
+     */
+    public @NotNull TieredPrice scaled(double multiplier) {
+        return new TieredPrice(basePrice * multiplier, starts, multipliers);
+    }
+
+    /**
+     * Get the price of a single item before tiers are applied.
+     * @return The base price.
+     */
+    public double getBasePrice() {
+        return basePrice;
+    }
+
+    /**
+     * Checks if this table prices larger amounts differently than the base price.
+     * @return true if more than one tier or a multiplier other than 1.0 is configured, otherwise false.
+     */
+    public boolean isTiered() {
+        return starts.length > 1 || multipliers[0] != 1.0;
+    }
+
+    /**
+     * Get the total price of an amount bought or sold in a single transaction.
+     * @param amount The amount of items.
+     * @return The total price. 0.0 if the amount is 0 or less.
+     */
+    public double getTotal(int amount) {
+        if(amount <= 0) return 0.0;
+
+        int tier = getTier(starts, amount);
+        return basePrice * (startTotals[tier] + (amount - starts[tier]) * multipliers[tier]);
+    }
+
+    /**
+     * Get the largest amount whose total is at most the provided balance.
+     * Floating point rounding may make the total of the returned amount slightly larger than the balance, so callers should check it.
+     * @param balance The balance available to spend.
+     * @return The amount, capped to {@link Integer#MAX_VALUE}. 0 if the base price is 0 or less.
+     */
+    public int getMaxAffordable(double balance) {
+        if(basePrice <= 0.0 || balance <= 0.0) return 0;
+
+        double units = balance / basePrice;
+        int tier = getTier(startTotals, units);
+        double amount = starts[tier] + Math.floor((units - startTotals[tier]) / multipliers[tier]);
+
+        return (int) Math.min(Integer.MAX_VALUE, amount);
+    }
+
+    /**
+     * Get the unit price of every tier, formatted as amount ranges, i.e., {@code 1-64: 100.0, 65-576: 90.0, 577+: 80.0}.
+     * The summary is built once when the table is compiled.
+     * @return A {@link String} containing the summary.
+     */
+    public @NotNull String getSummary() {
+        return summary;
+    }
+
+    /**
+     * Builds the summary returned by {@link #getSummary()}.
+     * @return A {@link String} containing the summary.
+     */
+    private @NotNull String createSummary() {
+        if(!isTiered()) return String.valueOf(basePrice);
+
+        StringJoiner joiner = new StringJoiner(", ");
+        for(int i = 0; i < starts.length; i++) {
+            String range = i == starts.length - 1 ? (starts[i] + 1) + "+" : (starts[i] + 1) + "-" + starts[i + 1];
+            joiner.add(range + ": " + basePrice * multipliers[i]);
+        }
+
+        return joiner.toString();
+    }
+
+    /**
+     * Find the tier containing the provided amount of items.
+     * @param starts The amount of items priced by earlier tiers when each tier starts.
+     * @param amount The amount of items, at least 1.
+     * @return The index of the tier.
+     */
+    private static int getTier(long @NotNull [] starts, int amount) {
+        // The last tier starting before the amount, since an amount equal to a start still belongs to the previous tier.
+        int index = Arrays.binarySearch(starts, amount);
+        return index >= 0 ? index - 1 : -index - 2;
+    }
+
+    /**
+     * Find the last tier whose start total is at most the provided total.
+     * @param startTotals The total of all earlier tiers when each tier starts, in units of the base price.
+     * @param units The total in units of the base price.
+     * @return The index of the tier.
+     */
+    private static int getTier(double @NotNull [] startTotals, double units) {
+        int index = Arrays.binarySearch(startTotals, units);
+        return index >= 0 ? index : -index - 2;
+    }
+}
@@ -75,8 +75,12 @@ public record ShopConfig(@Nullable String configVersion, @NotNull GuiData gui) {
      * @param transactionName This is the text to use in the success messages when a transaction is successful.
      * @param displayItem This is the {@link ItemStackConfig} used to create the {@link ItemStack} to display what is being purchased or sold.
      * @param transactionItem The is the {@link ItemStackConfig} used to create the {@link ItemStack} that will be purchased or sold.
-     * @param buyCommands A {@link List} of {@link String}s to execute in console when purchased.
-     * @param sellCommands A {@link List} of {@link String}s to execute in console when sold.
+     * @param buyCommands A {@link List} of {@link String}s to execute in console when purchased. {@code <amount>} is replaced with the amount purchased.
+     * @param sellCommands A {@link List} of {@link String}s to execute in console when sold. {@code <amount>} is replaced with the amount sold.
+     * @param category The category this transaction belongs to. Used to group imported items.
+     * @param stock The optional {@link Stock} configuration that limits how many times this transaction can be bought.
+     * @param currency The id of the currency this transaction is bought and sold with. Uses Vault money if not set.
+     * @param priceTiers The optional {@link PriceTier}s that discount the buy and sell prices when larger amounts are bought or sold at once.
      */
     @ConfigSerializable
     public record TransactionData(
@@ -88,5 +92,33 @@ public record ShopConfig(@Nullable String configVersion, @NotNull GuiData gui) {
             @NotNull ItemStackConfig displayItem,
             @NotNull ItemStackConfig transactionItem,
             @NotNull List<String> buyCommands,
-            @NotNull List<String> sellCommands) {}
+            @NotNull List<String> sellCommands,
+            @Nullable String category,
+            @Nullable Stock stock,
+            @Nullable String currency,
+            @Nullable List<PriceTier> priceTiers) {}
+
+    /**
+     * This record contains the configuration for a transaction with limited stock.
+     * Stock is shared by all players and only limits buying.
+     * @param maxStock The maximum amount that can be in stock.
+     * @param restockAmount The amount added back to the stock every restock interval. If null, the stock is refilled to the max stock.
+     * @param restockInterval The time in seconds between restocks. If null, the transaction is never restocked.
+     */
+    @ConfigSerializable
+    public record Stock(
+            @Nullable Integer maxStock,
+            @Nullable Integer restockAmount,
+            @Nullable Long restockInterval) {}
+
+    /**
+     * This record contains the configuration for a single price tier of a transaction.
+     * Tiers are applied in order to the amount bought or sold in a single transaction, i.e., the first 64 at full price and the next 512 at 90%.
+     * @param amount The amount of items priced by this tier. Only the last tier may leave this unset, every amount past the last tier uses the last tier's multiplier.
+     * @param multiplier The multiplier applied to the buy or sell price for the amounts inside this tier.
+     */
+    @ConfigSerializable
+    public record PriceTier(
+            @Nullable Integer amount,
+            @Nullable Double multiplier) {}
 }
@@ -55,7 +55,7 @@ public record TransactionConfig(@NotNull String configVersion, @NotNull GuiData
      * This record contains the configuration to create buttons to be displayed.
      * @param buttonType The {@link ButtonType}.
      * @param slot The slot to place the button at.
-     * @param transactionAmount This is the amount either purchased or sold when clicking buttons of type BUY and SELL.
+     * @param transactionAmount This is the amount either purchased or sold when clicking buttons of type BUY and SELL. For buttons of type QUANTITY, this is the amount added to the selected quantity and may be negative.
      * @param displayItem The {@link ItemStackConfig} used to create the {@link ItemStack} for the button.
      */
     @ConfigSerializable
@@ -0,0 +1,151 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.database;
+
+import com.github.lukesky19.skylib.api.database.parameter.Parameter;
+import com.github.lukesky19.skylib.api.database.parameter.impl.StringParameter;
+import com.github.lukesky19.skyshop.data.Booster;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * This table manages the creation, saving, and loading of timed sell boosters.
+ * The boosters of a player, or the global boosters, are stored together in a single row.
+ */
+public class BoosterTable {
+    /**
+     * The owner id used to store the global boosters.
+     */
+    public static final @NotNull String GLOBAL_OWNER_ID = "global";
+    /**
+     * The maximum number of rows written by a single insert statement.
+     */
+    private static final int ROWS_PER_STATEMENT = 250;
+
+    private final @NotNull QueueManager queueManager;
+    private final @NotNull String tableName = "boosters";
+
+    /**
+     * Constructor
+     * @param queueManager A {@link QueueManager} instance.
+     */
+    public BoosterTable(@NotNull QueueManager queueManager) {
+        this.queueManager = queueManager;
+    }
+
+    /**
+     * Create the table if it doesn't exist to store timed sell boosters.
+     */
+    public void createTable() {
+        String tableCreationSql = "CREATE TABLE IF NOT EXISTS " + tableName + " (" +
+                "owner_id TEXT PRIMARY KEY UNIQUE, " +
+                "boosters TEXT NOT NULL)";
+
+        queueManager.queueBulkWriteTransaction(List.of(tableCreationSql));
+    }
+
+    /**
+     * Saves the boosters of one or more owners to the database, replacing the boosters stored for them.
+     * @param boosters A {@link Map} mapping owner ids, either a player's {@link UUID} or {@link #GLOBAL_OWNER_ID}, to a {@link List} of {@link Booster}s.
+     * @return A {@link CompletableFuture} containing true if every row was saved, otherwise false.
+     */
+    public @NotNull CompletableFuture<@NotNull Boolean> saveBoosters(@NotNull Map<String, List<Booster>> boosters) {
+        if(boosters.isEmpty()) return CompletableFuture.completedFuture(true);
+
+        Map<String, List<Parameter<?>>> sqlStatementsAndParameters = new LinkedHashMap<>();
+        List<Map.Entry<String, List<Booster>>> entries = new ArrayList<>(boosters.entrySet());
+
+        for(int start = 0, batch = 0; start < entries.size(); start += ROWS_PER_STATEMENT, batch++) {
+            List<Map.Entry<String, List<Booster>>> rows = entries.subList(start, Math.min(entries.size(), start + ROWS_PER_STATEMENT));
+
+            // The batch number keeps statements with the same row count unique inside the map.
+            StringBuilder sql = new StringBuilder("INSERT INTO " + tableName + " (owner_id, boosters) VALUES ");
+            List<Parameter<?>> parameters = new ArrayList<>(rows.size() * 2);
+            for(int i = 0; i < rows.size(); i++) {
+                if(i > 0) sql.append(", ");
+                sql.append("(?, ?)");
+
+                parameters.add(new StringParameter(rows.get(i).getKey()));
+                parameters.add(new StringParameter(serialize(rows.get(i).getValue())));
+            }
+            sql.append(" ON CONFLICT (owner_id) DO UPDATE SET boosters = excluded.boosters /* batch ").append(batch).append(" */");
+
+            sqlStatementsAndParameters.put(sql.toString(), parameters);
+        }
+
+        return queueManager.queueBulkWriteTransaction(sqlStatementsAndParameters).thenApply(list -> list.stream().allMatch(rowsUpdated -> rowsUpdated > 0));
+    }
+
+    /**
+     * Loads the boosters of an owner. Boosters that already expired are skipped.
+     * @param ownerId The owner id, either a player's {@link UUID} or {@link #GLOBAL_OWNER_ID}.
+     * @return A {@link CompletableFuture} containing a {@link List} of {@link Booster}s.
+     */
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Booster>> loadBoosters(@NotNull String ownerId) {
+        String selectSql = "SELECT boosters FROM " + tableName + " WHERE owner_id = ?";
+
+        return queueManager.queueReadTransaction(selectSql, List.of(new StringParameter(ownerId)), resultSet -> {
+            try {
+                if(!resultSet.next()) return new ArrayList<>();
+
+                return deserialize(resultSet.getString("boosters"), System.currentTimeMillis());
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    /**
+     * Serialize a {@link List} of {@link Booster}s as multiplier@expiresAt pairs separated by semicolons.
+     * @param boosters The {@link List} of {@link Booster}s.
+     * @return The serialized boosters.
+     */
+    private @NotNull String serialize(@NotNull List<Booster> boosters) {
+        StringJoiner joiner = new StringJoiner(";");
+        boosters.forEach(booster -> joiner.add(booster.multiplier() + "@" + booster.expiresAt()));
+        return joiner.toString();
+    }
+
+    /**
+     * Deserialize boosters created by {@link #serialize(List)}, skipping any that are invalid or expired.
+     * @param data The serialized boosters.
+     * @param now The current epoch time in milliseconds.
+     * @return A {@link List} of {@link Booster}s.
+     */
+    private @NotNull List<@NotNull Booster> deserialize(@NotNull String data, long now) {
+        List<Booster> boosters = new ArrayList<>();
+        if(data.isEmpty()) return boosters;
+
+        for(String entry : data.split(";")) {
+            String[] parts = entry.split("@");
+            if(parts.length != 2) continue;
+
+            try {
+                Booster booster = new Booster(Double.parseDouble(parts[0]), Long.parseLong(parts[1]));
+                if(booster.expiresAt() > now) boosters.add(booster);
+            } catch (NumberFormatException ignored) {
+                // Skip boosters that can't be read.
+            }
+        }
+
+        return boosters;
+    }
+}
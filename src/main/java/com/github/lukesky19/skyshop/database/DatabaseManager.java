@@ -22,10 +22,14 @@ import com.github.lukesky19.skyshop.SkyShop;
 import org.jetbrains.annotations.NotNull;
 
 /**
- * This class manages access to database tables, in this case just {@link StatsTable}.
+ * This class manages access to database tables, in this case {@link StatsTable}, {@link StockTable}, {@link LimitTable}, {@link BoosterTable}, and {@link PendingCreditTable}.
  */
 public class DatabaseManager extends AbstractDatabaseManager {
     private final @NotNull StatsTable statsTable;
+    private final @NotNull StockTable stockTable;
+    private final @NotNull LimitTable limitTable;
+    private final @NotNull BoosterTable boosterTable;
+    private final @NotNull PendingCreditTable pendingCreditTable;
 
     /**
      * Get the {@link StatsTable} table.
@@ -35,6 +39,38 @@ public class DatabaseManager extends AbstractDatabaseManager {
         return statsTable;
     }
 
+    /**
+     * Get the {@link StockTable} table.
+     * @return A {@link StockTable}
+     */
+    public @NotNull StockTable getStockTable() {
+        return stockTable;
+    }
+
+    /**
+     * Get the {@link LimitTable} table.
+     * @return A {@link LimitTable}
+     */
+    public @NotNull LimitTable getLimitTable() {
+        return limitTable;
+    }
+
+    /**
+     * Get the {@link BoosterTable} table.
+     * @return A {@link BoosterTable}
+     */
+    public @NotNull BoosterTable getBoosterTable() {
+        return boosterTable;
+    }
+
+    /**
+     * Get the {@link PendingCreditTable} table.
+     * @return A {@link PendingCreditTable}
+     */
+    public @NotNull PendingCreditTable getPendingCreditTable() {
+        return pendingCreditTable;
+    }
+
     /**
      * Constructor
      * Initializes the {@link ConnectionManager}, {@link QueueManager}, and any tables.
@@ -47,5 +83,17 @@ public class DatabaseManager extends AbstractDatabaseManager {
 
         statsTable = new StatsTable(skyShop, queueManager);
         statsTable.createTable();
+
+        stockTable = new StockTable(queueManager);
+        stockTable.createTable();
+
+        limitTable = new LimitTable(queueManager);
+        limitTable.createTable();
+
+        boosterTable = new BoosterTable(queueManager);
+        boosterTable.createTable();
+
+        pendingCreditTable = new PendingCreditTable(queueManager);
+        pendingCreditTable.createTable();
     }
 }
\ No newline at end of file
@@ -0,0 +1,131 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.database;
+
+import com.github.lukesky19.skylib.api.database.parameter.Parameter;
+import com.github.lukesky19.skylib.api.database.parameter.impl.LongParameter;
+import com.github.lukesky19.skylib.api.database.parameter.impl.StringParameter;
+import com.github.lukesky19.skyshop.data.LimitCounterState;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * This table manages the creation, saving, and loading of the counters used by per-player limits.
+ */
+public class LimitTable {
+    /**
+     * The maximum number of rows written by a single insert statement.
+     * Five parameters are bound per row, which keeps each statement under SQLite's default limit of 999 parameters.
+     */
+    private static final int ROWS_PER_STATEMENT = 150;
+
+    private final @NotNull QueueManager queueManager;
+    private final @NotNull String tableName = "player_limits";
+
+    /**
+     * Constructor
+     * @param queueManager A {@link QueueManager} instance.
+     */
+    public LimitTable(@NotNull QueueManager queueManager) {
+        this.queueManager = queueManager;
+    }
+
+    /**
+     * Create the table if it doesn't exist to store the counters used by per-player limits.
+     */
+    public void createTable() {
+        String tableCreationSql = "CREATE TABLE IF NOT EXISTS " + tableName + " (" +
+                "player_id TEXT NOT NULL, " +
+                "counter_key TEXT NOT NULL, " +
+                "bucket_millis LONG NOT NULL DEFAULT 0, " +
+                "head_bucket LONG NOT NULL DEFAULT 0, " +
+                "buckets TEXT NOT NULL, " +
+                "PRIMARY KEY (player_id, counter_key))";
+
+        queueManager.queueBulkWriteTransaction(List.of(tableCreationSql));
+    }
+
+    /**
+     * Saves the limit counters of one or more players to the database.
+     * The rows are written in batches using multi-row insert statements inside a single transaction.
+     * @param states A {@link Map} mapping player {@link UUID}s to a {@link Map} mapping counter keys to {@link LimitCounterState}s.
+     * @return A {@link CompletableFuture} containing true if every row was saved, otherwise false.
+     */
+    public @NotNull CompletableFuture<@NotNull Boolean> saveCounters(@NotNull Map<UUID, Map<String, LimitCounterState>> states) {
+        List<Parameter<?>[]> rows = new ArrayList<>();
+        states.forEach((uuid, counterStates) -> counterStates.forEach((counterKey, state) -> rows.add(new Parameter<?>[] {
+                new StringParameter(uuid.toString()),
+                new StringParameter(counterKey),
+                new LongParameter(state.bucketMillis()),
+                new LongParameter(state.headBucket()),
+                new StringParameter(state.buckets())})));
+
+        if(rows.isEmpty()) return CompletableFuture.completedFuture(true);
+
+        Map<String, List<Parameter<?>>> sqlStatementsAndParameters = new LinkedHashMap<>();
+        for(int start = 0, batch = 0; start < rows.size(); start += ROWS_PER_STATEMENT, batch++) {
+            List<Parameter<?>[]> batchRows = rows.subList(start, Math.min(rows.size(), start + ROWS_PER_STATEMENT));
+
+            // The batch number keeps statements with the same row count unique inside the map.
+            StringBuilder sql = new StringBuilder("INSERT INTO " + tableName + " (player_id, counter_key, bucket_millis, head_bucket, buckets) VALUES ");
+            List<Parameter<?>> parameters = new ArrayList<>(batchRows.size() * 5);
+            for(int i = 0; i < batchRows.size(); i++) {
+                if(i > 0) sql.append(", ");
+                sql.append("(?, ?, ?, ?, ?)");
+
+                parameters.addAll(Arrays.asList(batchRows.get(i)));
+            }
+            sql.append(" ON CONFLICT (player_id, counter_key) DO UPDATE SET bucket_millis = excluded.bucket_millis, head_bucket = excluded.head_bucket, buckets = excluded.buckets /* batch ").append(batch).append(" */");
+
+            sqlStatementsAndParameters.put(sql.toString(), parameters);
+        }
+
+        return queueManager.queueBulkWriteTransaction(sqlStatementsAndParameters).thenApply(list -> list.stream().allMatch(rowsUpdated -> rowsUpdated > 0));
+    }
+
+    /**
+     * Loads the limit counters of a player.
+     * @param uuid The {@link UUID} of the player.
+     * @return A {@link CompletableFuture} containing a {@link Map} mapping counter keys to {@link LimitCounterState}s.
+     */
+    public @NotNull CompletableFuture<@NotNull Map<@NotNull String, @NotNull LimitCounterState>> loadCounters(@NotNull UUID uuid) {
+        String selectSql = "SELECT counter_key, bucket_millis, head_bucket, buckets FROM " + tableName + " WHERE player_id = ?";
+
+        return queueManager.queueReadTransaction(selectSql, List.of(new StringParameter(uuid.toString())), resultSet -> {
+            Map<@NotNull String, @NotNull LimitCounterState> states = new HashMap<>();
+
+            try {
+                while(resultSet.next()) {
+                    String counterKey = resultSet.getString("counter_key");
+                    long bucketMillis = resultSet.getLong("bucket_millis");
+                    long headBucket = resultSet.getLong("head_bucket");
+                    String buckets = resultSet.getString("buckets");
+
+                    states.put(counterKey, new LimitCounterState(bucketMillis, headBucket, buckets));
+                }
+
+                return states;
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+}
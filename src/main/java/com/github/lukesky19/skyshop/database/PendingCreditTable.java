@@ -0,0 +1,115 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.database;
+
+import com.github.lukesky19.skylib.api.database.parameter.Parameter;
+import com.github.lukesky19.skylib.api.database.parameter.impl.LongParameter;
+import com.github.lukesky19.skylib.api.database.parameter.impl.StringParameter;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * This table journals the money owed to players for sales whose coalesced deposit hasn't settled yet.
+ * Each player has a single row containing the total they are owed. Rows with an amount of zero are settled.
+ */
+public class PendingCreditTable {
+    private final @NotNull QueueManager queueManager;
+    private final @NotNull String tableName = "pending_credits";
+
+    /**
+     * Constructor
+     * @param queueManager A {@link QueueManager} instance.
+     */
+    public PendingCreditTable(@NotNull QueueManager queueManager) {
+        this.queueManager = queueManager;
+    }
+
+    /**
+     * Create the table if it doesn't exist to journal the money owed to players.
+     */
+    public void createTable() {
+        String tableCreationSql = "CREATE TABLE IF NOT EXISTS " + tableName + " (" +
+                "player_uuid TEXT PRIMARY KEY UNIQUE, " +
+                "amount REAL NOT NULL, " +
+                "version LONG NOT NULL DEFAULT 0)";
+
+        queueManager.queueBulkWriteTransaction(List.of(tableCreationSql));
+    }
+
+    /**
+     * Saves the total a player is owed.
+     * Writes may be run out of order, so a row is only replaced by a write with a newer version.
+     * @param uuid The {@link UUID} of the player.
+     * @param amount The total the player is owed.
+     * @param version The version of the write. Must increase with every write for the same player.
+     * @return A {@link CompletableFuture} containing true if saved successfully, otherwise false.
+     */
+    public @NotNull CompletableFuture<@NotNull Boolean> saveCredit(@NotNull UUID uuid, double amount, long version) {
+        String sql = "INSERT INTO " + tableName + " (player_uuid, amount, version) VALUES (?, ?, ?)" +
+                " ON CONFLICT (player_uuid) DO UPDATE SET amount = excluded.amount, version = excluded.version" +
+                " WHERE excluded.version > " + tableName + ".version";
+
+        Map<String, List<Parameter<?>>> sqlStatementsAndParameters = new LinkedHashMap<>();
+        // The amount is bound as text and stored as a REAL by the column's type affinity.
+        sqlStatementsAndParameters.put(sql, List.of(new StringParameter(uuid.toString()), new StringParameter(Double.toString(amount)), new LongParameter(version)));
+
+        // A write skipped for being older than the stored row updates 0 rows, which is still a success.
+        return queueManager.queueBulkWriteTransaction(sqlStatementsAndParameters).thenApply(list -> true).exceptionally(throwable -> false);
+    }
+
+    /**
+     * Loads the total owed to every player that has an unsettled credit.
+     * @return A {@link CompletableFuture} containing a {@link Map} mapping player {@link UUID}s to the amount they are owed.
+     */
+    public @NotNull CompletableFuture<@NotNull Map<@NotNull UUID, @NotNull Double>> loadCredits() {
+        String selectSql = "SELECT player_uuid, amount FROM " + tableName;
+
+        return queueManager.queueReadTransaction(selectSql, List.of(), resultSet -> {
+            Map<@NotNull UUID, @NotNull Double> credits = new HashMap<>();
+
+            try {
+                while(resultSet.next()) {
+                    try {
+                        UUID uuid = UUID.fromString(resultSet.getString("player_uuid"));
+                        double amount = resultSet.getDouble("amount");
+                        if(amount > 0.0) credits.put(uuid, amount);
+                    } catch (IllegalArgumentException ignored) {
+                        // Skip rows that can't be read.
+                    }
+                }
+
+                return credits;
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    /**
+     * Deletes the rows of every settled credit.
+     * @return A {@link CompletableFuture} containing true if deleted successfully, otherwise false.
+     */
+    public @NotNull CompletableFuture<@NotNull Boolean> deleteSettled() {
+        String deleteSql = "DELETE FROM " + tableName + " WHERE amount <= 0";
+
+        return queueManager.queueBulkWriteTransaction(List.of(deleteSql)).thenApply(list -> true).exceptionally(throwable -> false);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.database;
+
+import com.github.lukesky19.skylib.api.database.parameter.Parameter;
+import com.github.lukesky19.skylib.api.database.parameter.impl.LongParameter;
+import com.github.lukesky19.skylib.api.database.parameter.impl.StringParameter;
+import com.github.lukesky19.skyshop.data.StockState;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * This table manages the creation, saving, and loading of the remaining stock for limited stock transactions.
+ */
+public class StockTable {
+    /**
+     * The maximum number of rows written by a single insert statement.
+     * Three parameters are bound per row, which keeps each statement under SQLite's default limit of 999 parameters.
+     */
+    private static final int ROWS_PER_STATEMENT = 250;
+
+    private final @NotNull QueueManager queueManager;
+    private final @NotNull String tableName = "stock";
+
+    /**
+     * Constructor
+     * @param queueManager A {@link QueueManager} instance.
+     */
+    public StockTable(@NotNull QueueManager queueManager) {
+        this.queueManager = queueManager;
+    }
+
+    /**
+     * Create the table if it doesn't exist to store the remaining stock for transactions.
+     */
+    public void createTable() {
+        String tableCreationSql = "CREATE TABLE IF NOT EXISTS " + tableName + " (" +
+                "stock_key TEXT PRIMARY KEY UNIQUE, " +
+                "remaining LONG NOT NULL DEFAULT 0, " +
+                "last_restock LONG NOT NULL DEFAULT 0)";
+
+        queueManager.queueBulkWriteTransaction(List.of(tableCreationSql));
+    }
+
+    /**
+     * Saves a {@link Map} mapping stock keys to {@link StockState}s to the database.
+     * The rows are written in batches using multi-row insert statements inside a single transaction.
+     * @param states A {@link Map} mapping stock keys to {@link StockState}s.
+     * @return A {@link CompletableFuture} containing true if every row was saved, otherwise false.
+     */
+    public @NotNull CompletableFuture<@NotNull Boolean> saveStock(@NotNull Map<String, StockState> states) {
+        if(states.isEmpty()) return CompletableFuture.completedFuture(true);
+
+        Map<String, List<Parameter<?>>> sqlStatementsAndParameters = new LinkedHashMap<>();
+        List<Map.Entry<String, StockState>> entries = new ArrayList<>(states.entrySet());
+
+        for(int start = 0, batch = 0; start < entries.size(); start += ROWS_PER_STATEMENT, batch++) {
+            List<Map.Entry<String, StockState>> rows = entries.subList(start, Math.min(entries.size(), start + ROWS_PER_STATEMENT));
+
+            // The batch number keeps statements with the same row count unique inside the map.
+            StringBuilder sql = new StringBuilder("INSERT INTO " + tableName + " (stock_key, remaining, last_restock) VALUES ");
+            List<Parameter<?>> parameters = new ArrayList<>(rows.size() * 3);
+            for(int i = 0; i < rows.size(); i++) {
+                if(i > 0) sql.append(", ");
+                sql.append("(?, ?, ?)");
+
+                StockState state = rows.get(i).getValue();
+                parameters.add(new StringParameter(rows.get(i).getKey()));
+                parameters.add(new LongParameter(state.remaining()));
+                parameters.add(new LongParameter(state.lastRestock()));
+            }
+            sql.append(" ON CONFLICT (stock_key) DO UPDATE SET remaining = excluded.remaining, last_restock = excluded.last_restock /* batch ").append(batch).append(" */");
+
+            sqlStatementsAndParameters.put(sql.toString(), parameters);
+        }
+
+        return queueManager.queueBulkWriteTransaction(sqlStatementsAndParameters).thenApply(list -> list.stream().allMatch(rowsUpdated -> rowsUpdated > 0));
+    }
+
+    /**
+     * Loads the remaining stock of all transactions stored in the database.
+     * @return A {@link CompletableFuture} containing a {@link Map} mapping stock keys to {@link StockState}s.
+     */
+    public @NotNull CompletableFuture<@NotNull Map<@NotNull String, @NotNull StockState>> loadStock() {
+        String selectSql = "SELECT stock_key, remaining, last_restock FROM " + tableName;
+
+        return queueManager.queueReadTransaction(selectSql, List.of(), resultSet -> {
+            Map<@NotNull String, @NotNull StockState> states = new HashMap<>();
+
+            try {
+                while(resultSet.next()) {
+                    String stockKey = resultSet.getString("stock_key");
+                    int remaining = (int) resultSet.getLong("remaining");
+                    long lastRestock = resultSet.getLong("last_restock");
+
+                    states.put(stockKey, new StockState(remaining, lastRestock));
+                }
+
+                return states;
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+}
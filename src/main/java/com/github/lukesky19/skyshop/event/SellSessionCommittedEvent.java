@@ -0,0 +1,85 @@
+package com.github.lukesky19.skyshop.event;
+
+import com.github.lukesky19.skyshop.data.SellSession;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * This event is called after a {@link SellSession} is committed, i.e., the player was paid and the sold items were removed.
+ * Unlike {@link ItemSoldEvent}, it is never called for a session that is rolled back.
+ */
+public class SellSessionCommittedEvent extends Event {
+    private static final @NotNull HandlerList HANDLERS = new HandlerList();
+    private final @NotNull Player player;
+    private final @NotNull SellSession sellSession;
+    private final @NotNull List<ItemStack> itemStacks;
+    private final double payout;
+
+    /**
+     * Constructor
+     * @param player The {@link Player} who sold the items.
+     * @param sellSession The {@link SellSession} that was committed.
+     * @param itemStacks The {@link ItemStack}s that were sold.
+     * @param payout The money paid to the player, with the sell multiplier applied.
+     */
+    public SellSessionCommittedEvent(@NotNull Player player, @NotNull SellSession sellSession, @NotNull List<ItemStack> itemStacks, double payout) {
+        this.player = player;
+        this.sellSession = sellSession;
+        this.itemStacks = itemStacks;
+        this.payout = payout;
+    }
+
+    /**
+     * Get the {@link Player} who sold the items.
+     * @return The {@link Player}.
+     */
+    public @NotNull Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Get the {@link SellSession} that was committed.
+     * @return The {@link SellSession}.
+     */
+    public @NotNull SellSession getSellSession() {
+        return sellSession;
+    }
+
+    /**
+     * Get the {@link ItemStack}s that were sold.
+     * @return An unmodifiable {@link List} of {@link ItemStack}s.
+     */
+    public @NotNull List<ItemStack> getItemStacks() {
+        return itemStacks;
+    }
+
+    /**
+     * Get the money paid to the player.
+     * @return The money paid, with the sell multiplier applied.
+     */
+    public double getPayout() {
+        return payout;
+    }
+
+    /**
+     * Get the {@link HandlerList} for this event.
+     * @return A {@link HandlerList}.
+     */
+    public static @NotNull HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+
+    /**
+     * Get the {@link HandlerList} for this event.
+     * @return A {@link HandlerList}.
+     */
+    @Override
+    public @NotNull HandlerList getHandlers() {
+        return HANDLERS;
+    }
+}
@@ -1,20 +1,169 @@
 package com.github.lukesky19.skyshop.gui;
 
+import com.github.lukesky19.skylib.api.adventure.AdventureUtil;
 import com.github.lukesky19.skylib.api.gui.AbstractGUIManager;
 import com.github.lukesky19.skyshop.SkyShop;
+import com.github.lukesky19.skyshop.data.ShopEntry;
+import com.github.lukesky19.skyshop.data.gui.MenuConfig;
+import com.github.lukesky19.skyshop.data.gui.ShopConfig;
+import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * This class manages the mapping of open GUIs to {@link UUID}s.
  */
 public class GUIManager extends AbstractGUIManager {
+    /**
+     * The maximum time in nanoseconds to spend re-rendering open GUIs each tick.
+     */
+    private static final long REFRESH_BUDGET_NANOS = 2_000_000L;
+
+    private final @NotNull SkyShop skyShop;
+    private @Nullable BukkitTask refreshTask;
+
     /**
      * Constructor
      * @param skyShop A {@link SkyShop} instance.
      */
     public GUIManager(@NotNull SkyShop skyShop) {
         super(skyShop);
+
+        this.skyShop = skyShop;
+    }
+
+    /**
+     * Creates and decorates the {@link MenuGUI} for a player without opening it.
+     * @param player The {@link Player} to create the GUI for.
+     * @return An {@link Optional} containing the {@link MenuGUI} or empty if it couldn't be created.
+     */
+    public @NotNull Optional<MenuGUI> createMenuGUI(@NotNull Player player) {
+        ComponentLogger logger = skyShop.getComponentLogger();
+
+        Optional<MenuConfig> optionalMenuConfig = skyShop.getMenuManager().getMenuConfig();
+        if(optionalMenuConfig.isEmpty()) return Optional.empty();
+
+        MenuGUI menuGUI = new MenuGUI(skyShop, this, player, skyShop.getLocaleManager(), skyShop.getMenuManager(), skyShop.getShopManager(), skyShop.getTransactionManager(), skyShop.getCommandQueueManager(), skyShop.getStockManager(), skyShop.getPlayerDataManager(), skyShop.getPlayerLimitManager(), skyShop.getSellAllManager(), skyShop.getStatsManager(), skyShop.getSkyShopAPI(), optionalMenuConfig.get());
+        if(!menuGUI.create()) {
+            logger.error(AdventureUtil.serialize("Unable to create the InventoryView for the menu GUI for player " + player.getName() + " due to a configuration error."));
+            return Optional.empty();
+        }
+
+        if(!menuGUI.update()) {
+            logger.error(AdventureUtil.serialize("Unable to decorate the menu GUI for player " + player.getName() + " due to a configuration error."));
+            return Optional.empty();
+        }
+
+        return Optional.of(menuGUI);
+    }
+
+    /**
+     * Creates and decorates the {@link ShopGUI} of a {@link ShopEntry} at the entry's page without opening it.
+     * The {@link MenuGUI} is created but not opened so that closing the shop returns the player to the menu.
+     * @param player The {@link Player} to create the GUI for.
+     * @param entry The {@link ShopEntry} to show.
+     * @return An {@link Optional} containing the {@link ShopGUI} or empty if it couldn't be created.
+     */
+    public @NotNull Optional<ShopGUI> createShopGUIAt(@NotNull Player player, @NotNull ShopEntry entry) {
+        ComponentLogger logger = skyShop.getComponentLogger();
+
+        Optional<ShopConfig> optionalShopConfig = skyShop.getShopManager().getShopConfig(entry.shopId());
+        if(optionalShopConfig.isEmpty()) return Optional.empty();
+
+        Optional<MenuGUI> optionalMenuGUI = createMenuGUI(player);
+        if(optionalMenuGUI.isEmpty()) return Optional.empty();
+
+        ShopGUI shopGUI = new ShopGUI(skyShop, this, player, skyShop.getLocaleManager(), skyShop.getShopManager(), skyShop.getTransactionManager(), skyShop.getCommandQueueManager(), skyShop.getStockManager(), skyShop.getPlayerDataManager(), skyShop.getPlayerLimitManager(), skyShop.getSellAllManager(), skyShop.getStatsManager(), skyShop.getSkyShopAPI(), optionalMenuGUI.get(), optionalShopConfig.get(), entry.shopId());
+        if(!shopGUI.create()) {
+            logger.error(AdventureUtil.serialize("Unable to create the InventoryView for the shop GUI " + entry.shopId() + " for player " + player.getName() + " due to a configuration error."));
+            return Optional.empty();
+        }
+
+        // Only the page containing the entry is rendered.
+        shopGUI.setPageNum(entry.pageNum());
+        if(!shopGUI.update()) {
+            logger.error(AdventureUtil.serialize("Unable to decorate the shop GUI " + entry.shopId() + " for player " + player.getName() + " due to a configuration error."));
+            return Optional.empty();
+        }
+
+        return Optional.of(shopGUI);
+    }
+
+    /**
+     * Opens the {@link ShopGUI} of a {@link ShopEntry} directly at the entry's page.
+     * @param player The {@link Player} to open the GUI for.
+     * @param entry The {@link ShopEntry} to show.
+     * @return true if the GUI was opened, otherwise false.
+     */
+    public boolean openShopAt(@NotNull Player player, @NotNull ShopEntry entry) {
+        Optional<ShopGUI> optionalShopGUI = createShopGUIAt(player, entry);
+        if(optionalShopGUI.isEmpty()) return false;
+
+        if(!optionalShopGUI.get().open()) {
+            skyShop.getComponentLogger().error(AdventureUtil.serialize("Unable to open the shop GUI " + entry.shopId() + " for player " + player.getName() + " due to a configuration error."));
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Re-render all open GUIs that implement {@link RefreshableGUI} against the current configuration.
+     * The re-renders are spread across ticks so that a reload with many viewers doesn't spike a single tick.
+     */
+    public void refreshOpenGUIs() {
+        // Cancel any refresh still in progress, the new one covers every player again.
+        if(refreshTask != null && !refreshTask.isCancelled()) refreshTask.cancel();
+
+        refreshTask = refreshAcrossTicks(RefreshableGUI::refresh);
+    }
+
+    /**
+     * Re-render only the buttons showing the prices of the provided transactions in all open GUIs that implement {@link RefreshableGUI}.
+     * Used when scheduled sales start or end. The re-renders are spread across ticks like {@link #refreshOpenGUIs()}.
+     * @param stockKeys The keys of the transactions whose prices changed, see {@link com.github.lukesky19.skyshop.manager.StockManager#getStockKey(String, int, int)}.
+     */
+    public void refreshPrices(@NotNull Set<String> stockKeys) {
+        // Earlier price refreshes still in progress are left running, since they cover different transactions.
+        refreshAcrossTicks(refreshableGUI -> refreshableGUI.refreshPrices(stockKeys));
+    }
+
+    /**
+     * Run an action on the open GUI of every online player that implements {@link RefreshableGUI}, spending at most {@link #REFRESH_BUDGET_NANOS} each tick.
+     * @param action The action to run.
+     * @return The {@link BukkitTask} running the action or null if no players are online.
+     */
+    private @Nullable BukkitTask refreshAcrossTicks(@NotNull Consumer<RefreshableGUI> action) {
+        Deque<UUID> pending = new ArrayDeque<>();
+        for(Player player : skyShop.getServer().getOnlinePlayers()) {
+            pending.add(player.getUniqueId());
+        }
+
+        if(pending.isEmpty()) return null;
+
+        return skyShop.getServer().getScheduler().runTaskTimer(skyShop, task -> {
+            long deadline = System.nanoTime() + REFRESH_BUDGET_NANOS;
+
+            // Always refresh at least one GUI per tick so the queue drains.
+            do {
+                UUID uuid = pending.poll();
+                if(uuid == null) break;
+
+                getOpenGUI(uuid).ifPresent(baseGUI -> {
+                    if(baseGUI instanceof RefreshableGUI refreshableGUI) action.accept(refreshableGUI);
+                });
+            } while(System.nanoTime() < deadline);
+
+            if(pending.isEmpty()) task.cancel();
+        }, 1L, 1L);
     }
 }
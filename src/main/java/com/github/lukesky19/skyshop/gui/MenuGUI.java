@@ -26,6 +26,7 @@ import com.github.lukesky19.skylib.api.itemstack.ItemStackConfig;
 import com.github.lukesky19.skyshop.SkyShop;
 import com.github.lukesky19.skyshop.SkyShopAPI;
 import com.github.lukesky19.skyshop.configuration.LocaleManager;
+import com.github.lukesky19.skyshop.configuration.MenuManager;
 import com.github.lukesky19.skyshop.configuration.SellAllManager;
 import com.github.lukesky19.skyshop.configuration.ShopManager;
 import com.github.lukesky19.skyshop.configuration.TransactionManager;
@@ -33,7 +34,11 @@ import com.github.lukesky19.skyshop.data.Locale;
 import com.github.lukesky19.skyshop.data.gui.MenuConfig;
 import com.github.lukesky19.skyshop.data.gui.SellAllConfig;
 import com.github.lukesky19.skyshop.data.gui.ShopConfig;
+import com.github.lukesky19.skyshop.manager.CommandQueueManager;
 import com.github.lukesky19.skyshop.manager.StatsManager;
+import com.github.lukesky19.skyshop.manager.PlayerDataManager;
+import com.github.lukesky19.skyshop.manager.PlayerLimitManager;
+import com.github.lukesky19.skyshop.manager.StockManager;
 import com.github.lukesky19.skyshop.util.ButtonType;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryClickEvent;
@@ -51,16 +56,21 @@ import java.util.Optional;
 /**
  * This class creates the GUI to access different shop categories.
 */
-public class MenuGUI extends ChestGUI {
+public class MenuGUI extends ChestGUI implements RefreshableGUI {
     private final @NotNull SkyShop skyShop;
     private final @NotNull LocaleManager localeManager;
+    private final @NotNull MenuManager menuManager;
     private final @NotNull ShopManager shopManager;
     private final @NotNull TransactionManager transactionManager;
+    private final @NotNull CommandQueueManager commandQueueManager;
+    private final @NotNull StockManager stockManager;
+    private final @NotNull PlayerDataManager playerDataManager;
+    private final @NotNull PlayerLimitManager playerLimitManager;
     private final @NotNull SellAllManager sellAllManager;
     private final @Nullable StatsManager statsManager;
     private final @NotNull SkyShopAPI skyShopAPI;
 
-    private final @NotNull MenuConfig menuConfig;
+    private @NotNull MenuConfig menuConfig;
     private int pageNum = 0;
     private boolean isOpen = false;
 
@@ -70,8 +80,13 @@ public class MenuGUI extends ChestGUI {
      * @param guiManager A {@link GUIManager} instance.
      * @param player The {@link Player} viewing the GUI/Inventory.
      * @param localeManager A {@link LocaleManager} instance.
+     * @param menuManager A {@link MenuManager} instance.
      * @param shopManager A {@link ShopManager} instance.
      * @param transactionManager A {@link TransactionManager} instance.
+     * @param commandQueueManager A {@link CommandQueueManager} instance.
+     * @param stockManager A {@link StockManager} instance.
+     * @param playerDataManager A {@link PlayerDataManager} instance.
+     * @param playerLimitManager A {@link PlayerLimitManager} instance.
      * @param sellAllManager A {@link SellAllManager} instance.
      * @param statsManager A {@link StatsManager} instance.
      * @param skyShopAPI A {@link SkyShopAPI} instance.
@@ -82,8 +97,13 @@ public class MenuGUI extends ChestGUI {
             @NotNull GUIManager guiManager,
             @NotNull Player player,
             @NotNull LocaleManager localeManager,
+            @NotNull MenuManager menuManager,
             @NotNull ShopManager shopManager,
             @NotNull TransactionManager transactionManager,
+            @NotNull CommandQueueManager commandQueueManager,
+            @NotNull StockManager stockManager,
+            @NotNull PlayerDataManager playerDataManager,
+            @NotNull PlayerLimitManager playerLimitManager,
             @NotNull SellAllManager sellAllManager,
             @Nullable StatsManager statsManager,
             @NotNull SkyShopAPI skyShopAPI,
@@ -92,8 +112,13 @@ public class MenuGUI extends ChestGUI {
 
         this.skyShop = skyShop;
         this.localeManager = localeManager;
+        this.menuManager = menuManager;
         this.shopManager = shopManager;
         this.transactionManager = transactionManager;
+        this.commandQueueManager = commandQueueManager;
+        this.stockManager = stockManager;
+        this.playerDataManager = playerDataManager;
+        this.playerLimitManager = playerLimitManager;
         this.sellAllManager = sellAllManager;
         this.statsManager = statsManager;
         this.skyShopAPI = skyShopAPI;
@@ -148,6 +173,47 @@ public class MenuGUI extends ChestGUI {
         super.unload(onDisable);
     }
 
+    /**
+     * Re-fetch the {@link MenuConfig} from the {@link MenuManager} and re-render the GUI in place.
+     * The GUI is closed if the menu configuration failed to reload.
+     */
+    @Override
+    public void refresh() {
+        if(!reloadConfig()) {
+            Locale locale = localeManager.getLocale();
+            player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.guiOpenError()));
+            if(isOpen) close();
+        }
+    }
+
+    /**
+     * Swap in the reloaded {@link MenuConfig} and re-render the GUI.
+     * The current page is clamped to the pages that still exist.
+     * If the GUIType or name changed, the {@link InventoryView} is re-created and re-opened if the player is viewing it.
+     * @return true if a valid configuration is available and the GUI was re-rendered, otherwise false.
+     */
+    public boolean reloadConfig() {
+        Optional<MenuConfig> optionalMenuConfig = menuManager.getMenuConfig();
+        if(optionalMenuConfig.isEmpty()) return false;
+
+        MenuConfig newMenuConfig = optionalMenuConfig.get();
+        boolean recreate = !Objects.equals(menuConfig.gui().guiType(), newMenuConfig.gui().guiType())
+                || !Objects.equals(menuConfig.gui().name(), newMenuConfig.gui().name());
+        menuConfig = newMenuConfig;
+
+        int pageCount = menuConfig.gui().pages().size();
+        if(pageNum >= pageCount) pageNum = Math.max(0, pageCount - 1);
+
+        if(recreate && !create()) return false;
+        if(!update()) return false;
+
+        // Only re-open the GUI if the player is currently viewing it and not a child GUI.
+        boolean viewing = guiManager.getOpenGUI(uuid).filter(baseGUI -> baseGUI == this).isPresent();
+        if(recreate && viewing) return open();
+
+        return true;
+    }
+
     /**
      * A method to create all the buttons in the inventory GUI.
      * @return true if successful, otherwise false.
@@ -342,7 +408,7 @@ public class MenuGUI extends ChestGUI {
                             }
 
                             ShopConfig shopConfig = optionalShopConfig.get();
-                            ShopGUI shopGUI = new ShopGUI(skyShop, guiManager, player, localeManager, transactionManager, sellAllManager, statsManager, skyShopAPI,  this, shopConfig, shopName);
+                            ShopGUI shopGUI = new ShopGUI(skyShop, guiManager, player, localeManager, shopManager, transactionManager, commandQueueManager, stockManager, playerDataManager, playerLimitManager, sellAllManager, statsManager, skyShopAPI, this, shopConfig, shopName);
 
                             boolean creationResult = shopGUI.create();
                             if(!creationResult) {
@@ -401,7 +467,7 @@ public class MenuGUI extends ChestGUI {
                             }
 
                             SellAllConfig sellAllConfig = optionalSellAllConfig.get();
-                            SellAllGUI sellAllGUI = new SellAllGUI(skyShop, guiManager, sellAllConfig, skyShopAPI, player);
+                            SellAllGUI sellAllGUI = new SellAllGUI(skyShop, guiManager, sellAllManager, sellAllConfig, skyShopAPI, player);
 
                             boolean creationResult = sellAllGUI.create();
                             if(!creationResult) {
@@ -0,0 +1,40 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.gui;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+
+/**
+ * This interface is implemented by GUIs that can re-render themselves in place after the plugin is reloaded.
+ */
+public interface RefreshableGUI {
+    /**
+     * Re-fetch this GUI's configuration from the reloaded managers and re-render the GUI without closing it.
+     * If the configuration backing this GUI no longer exists, the GUI should be closed gracefully.
+     */
+    void refresh();
+
+    /**
+     * Re-render only the buttons showing the prices of the provided transactions, i.e., after a scheduled sale started or ended.
+     * Does nothing by default.
+     * @param stockKeys The keys of the transactions whose prices changed, see {@link com.github.lukesky19.skyshop.manager.StockManager#getStockKey(String, int, int)}.
+     */
+    default void refreshPrices(@NotNull Set<String> stockKeys) {}
+}
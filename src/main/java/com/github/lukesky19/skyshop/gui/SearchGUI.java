@@ -0,0 +1,320 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.gui;
+
+import com.github.lukesky19.skylib.api.adventure.AdventureUtil;
+import com.github.lukesky19.skylib.api.gui.GUIButton;
+import com.github.lukesky19.skylib.api.gui.GUIType;
+import com.github.lukesky19.skylib.api.gui.abstracts.ChestGUI;
+import com.github.lukesky19.skylib.api.itemstack.ItemStackBuilder;
+import com.github.lukesky19.skyshop.SkyShop;
+import com.github.lukesky19.skyshop.configuration.LocaleManager;
+import com.github.lukesky19.skyshop.configuration.ShopManager;
+import com.github.lukesky19.skyshop.data.Locale;
+import com.github.lukesky19.skyshop.data.ShopEntry;
+import com.github.lukesky19.skyshop.data.gui.ShopConfig;
+import com.github.lukesky19.skyshop.manager.ShopIndexManager;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.ItemType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * This class is used to display the results of a shop search. Clicking a result opens its {@link TransactionGUI}.
+ */
+public class SearchGUI extends ChestGUI implements RefreshableGUI {
+    private static final @NotNull List<Integer> RESULT_SLOTS = List.of(
+            10, 11, 12, 13, 14, 15, 16,
+            19, 20, 21, 22, 23, 24, 25,
+            28, 29, 30, 31, 32, 33, 34,
+            37, 38, 39, 40, 41, 42, 43);
+    private final @NotNull SkyShop skyShop;
+    private final @NotNull GUIManager guiManager;
+    private final @NotNull LocaleManager localeManager;
+    private final @NotNull ShopManager shopManager;
+    private final @NotNull ShopIndexManager shopIndexManager;
+    private final @NotNull String query;
+    private @NotNull List<ShopEntry> results;
+    private int pageNum = 0;
+
+    /**
+     * Constructor
+     * @param skyShop A {@link SkyShop} instance.
+     * @param guiManager A {@link GUIManager} instance.
+     * @param player The {@link Player} viewing the GUI.
+     * @param localeManager A {@link LocaleManager} instance.
+     * @param shopManager A {@link ShopManager} instance.
+     * @param shopIndexManager A {@link ShopIndexManager} instance.
+     * @param query The search query.
+     * @param results The {@link ShopEntry}s matching the query.
+     */
+    public SearchGUI(
+            @NotNull SkyShop skyShop,
+            @NotNull GUIManager guiManager,
+            @NotNull Player player,
+            @NotNull LocaleManager localeManager,
+            @NotNull ShopManager shopManager,
+            @NotNull ShopIndexManager shopIndexManager,
+            @NotNull String query,
+            @NotNull List<ShopEntry> results) {
+        super(skyShop, guiManager, player);
+
+        this.skyShop = skyShop;
+        this.guiManager = guiManager;
+        this.localeManager = localeManager;
+        this.shopManager = shopManager;
+        this.shopIndexManager = shopIndexManager;
+        this.query = query;
+        this.results = results;
+    }
+
+    /**
+     * Create the {@link org.bukkit.inventory.InventoryView} for this GUI.
+     * @return true if created successfully, otherwise false.
+     */
+    public boolean create() {
+        return create(GUIType.CHEST_54, "<aqua><bold>Search Results</bold></aqua>", List.of());
+    }
+
+    /**
+     * Add the buttons to the GUI.
+     * @return true if successful, otherwise false.
+     */
+    @Override
+    public boolean update() {
+        clearButtons();
+
+        createFillerButtons();
+        createReturnButton();
+        createNextPageButton();
+        createPrevPageButton();
+        createResultButtons();
+
+        return super.update();
+    }
+
+    /**
+     * Re-run the search against the rebuilt index and re-render the GUI in place.
+     */
+    @Override
+    public void refresh() {
+        results = shopIndexManager.search(query);
+
+        int pageCount = Math.max(1, (results.size() + RESULT_SLOTS.size() - 1) / RESULT_SLOTS.size());
+        if(pageNum >= pageCount) pageNum = pageCount - 1;
+
+        update();
+    }
+
+    /**
+     * Handles when the GUI is closed.
+     * @param inventoryCloseEvent An {@link InventoryCloseEvent}
+     */
+    @Override
+    public void handleClose(@NotNull InventoryCloseEvent inventoryCloseEvent) {
+        if(inventoryCloseEvent.getReason().equals(InventoryCloseEvent.Reason.UNLOADED) || inventoryCloseEvent.getReason().equals(InventoryCloseEvent.Reason.OPEN_NEW)) return;
+
+        guiManager.removeOpenGUI(uuid);
+    }
+
+    /**
+     * Handles when the player's inventory is dragged.
+     * @param inventoryDragEvent An {@link InventoryDragEvent}
+     */
+    @Override
+    public void handleBottomDrag(@NotNull InventoryDragEvent inventoryDragEvent) {
+        inventoryDragEvent.setCancelled(true);
+    }
+
+    /**
+     * Handles when the top or bottom inventory is dragged.
+     * @param inventoryDragEvent An {@link InventoryDragEvent}
+     */
+    @Override
+    public void handleGlobalDrag(@NotNull InventoryDragEvent inventoryDragEvent) {}
+
+    /**
+     * Handles when the player's inventory is clicked.
+     * @param inventoryClickEvent An {@link InventoryClickEvent}
+     */
+    @Override
+    public void handleBottomClick(@NotNull InventoryClickEvent inventoryClickEvent) {
+        inventoryClickEvent.setCancelled(true);
+    }
+
+    /**
+     * Handles when the top or bottom inventory is clicked.
+     * @param inventoryClickEvent An {@link InventoryClickEvent}
+     */
+    @Override
+    public void handleGlobalClick(@NotNull InventoryClickEvent inventoryClickEvent) {}
+
+    /**
+     * Create the {@link GUIButton}s for filler buttons.
+     */
+    private void createFillerButtons() {
+        ItemStackBuilder fillerBuilder = new ItemStackBuilder(skyShop.getComponentLogger());
+        fillerBuilder.setItemType(ItemType.GRAY_STAINED_GLASS_PANE);
+        fillerBuilder.setAmount(1);
+        fillerBuilder.setName(AdventureUtil.serialize(" "));
+        Optional<@NotNull ItemStack> optionalFillerStack = fillerBuilder.buildItemStack();
+        optionalFillerStack.ifPresent(itemStack -> {
+            if(inventoryView == null) return;
+            int guiSize = inventoryView.getTopInventory().getSize();
+
+            GUIButton.Builder fillerGuiButtonBuilder = new GUIButton.Builder();
+            fillerGuiButtonBuilder.setItemStack(itemStack);
+            GUIButton fillerGuiButton = fillerGuiButtonBuilder.build();
+
+            for(int i = 0; i < guiSize; i++) {
+                setButton(i, fillerGuiButton);
+            }
+        });
+    }
+
+    /**
+     * Create the exit button.
+     */
+    private void createReturnButton() {
+        ItemStackBuilder itemStackBuilder = new ItemStackBuilder(skyShop.getComponentLogger());
+        itemStackBuilder.setItemType(ItemType.BARRIER);
+        itemStackBuilder.setAmount(1);
+        itemStackBuilder.setName(AdventureUtil.serialize("<red>Click to exit the menu.</red>"));
+        Optional<@NotNull ItemStack> optionalItemStack = itemStackBuilder.buildItemStack();
+        optionalItemStack.ifPresent(itemStack -> {
+            GUIButton.Builder guiButtonBuilder = new GUIButton.Builder();
+            guiButtonBuilder.setItemStack(itemStack);
+            guiButtonBuilder.setAction(inventoryClickEvent -> close());
+
+            setButton(49, guiButtonBuilder.build());
+        });
+    }
+
+    /**
+     * Create the next page button if there is a next page.
+     */
+    private void createNextPageButton() {
+        if((pageNum + 1) * RESULT_SLOTS.size() >= results.size()) return;
+
+        ItemStackBuilder itemStackBuilder = new ItemStackBuilder(skyShop.getComponentLogger());
+        itemStackBuilder.setItemType(ItemType.ARROW);
+        itemStackBuilder.setAmount(1);
+        itemStackBuilder.setName(AdventureUtil.serialize("<yellow>Next Page.</yellow>"));
+        Optional<@NotNull ItemStack> optionalItemStack = itemStackBuilder.buildItemStack();
+        optionalItemStack.ifPresent(itemStack -> {
+            GUIButton.Builder guiButtonBuilder = new GUIButton.Builder();
+            guiButtonBuilder.setItemStack(itemStack);
+            guiButtonBuilder.setAction(inventoryClickEvent -> {
+                pageNum++;
+                update();
+            });
+
+            setButton(51, guiButtonBuilder.build());
+        });
+    }
+
+    /**
+     * Create the previous page button if there is a previous page.
+     */
+    private void createPrevPageButton() {
+        if(pageNum <= 0) return;
+
+        ItemStackBuilder itemStackBuilder = new ItemStackBuilder(skyShop.getComponentLogger());
+        itemStackBuilder.setItemType(ItemType.ARROW);
+        itemStackBuilder.setAmount(1);
+        itemStackBuilder.setName(AdventureUtil.serialize("<yellow>Previous Page.</yellow>"));
+        Optional<@NotNull ItemStack> optionalItemStack = itemStackBuilder.buildItemStack();
+        optionalItemStack.ifPresent(itemStack -> {
+            GUIButton.Builder guiButtonBuilder = new GUIButton.Builder();
+            guiButtonBuilder.setItemStack(itemStack);
+            guiButtonBuilder.setAction(inventoryClickEvent -> {
+                pageNum--;
+                update();
+            });
+
+            setButton(47, guiButtonBuilder.build());
+        });
+    }
+
+    /**
+     * Create the buttons for the results on the current page, using each transaction's display item from its shop.
+     */
+    private void createResultButtons() {
+        int start = pageNum * RESULT_SLOTS.size();
+        int end = Math.min(start + RESULT_SLOTS.size(), results.size());
+
+        for(int index = start; index < end; index++) {
+            ShopEntry entry = results.get(index);
+            int slot = RESULT_SLOTS.get(index - start);
+
+            Optional<ShopConfig.Button> optionalButton = shopManager.getTransactionButton(entry.shopId(), entry.pageNum(), entry.slot());
+            if(optionalButton.isEmpty()) continue;
+            ShopConfig.Button buttonConfig = optionalButton.get();
+
+            // Create price placeholders
+            List<TagResolver.Single> pricePlaceholders = new ArrayList<>();
+            if(entry.buyPrice() != null) pricePlaceholders.add(Placeholder.parsed("buy_price", String.valueOf(entry.buyPrice())));
+            if(entry.sellPrice() != null) pricePlaceholders.add(Placeholder.parsed("sell_price", String.valueOf(entry.sellPrice())));
+            skyShop.getCurrencyManager().getCurrency(entry.currency()).ifPresent(currency -> pricePlaceholders.add(Placeholder.parsed("currency", currency.getName())));
+
+            ItemStackBuilder itemStackBuilder = new ItemStackBuilder(logger);
+            itemStackBuilder.fromItemStackConfig(buttonConfig.displayItem(), player, null, pricePlaceholders);
+
+            Optional<ItemStack> optionalItemStack = itemStackBuilder.buildItemStack();
+            optionalItemStack.ifPresent(itemStack -> {
+                GUIButton.Builder guiButtonBuilder = new GUIButton.Builder();
+                guiButtonBuilder.setItemStack(itemStack);
+                guiButtonBuilder.setAction(inventoryClickEvent -> openResult(entry));
+
+                setButton(slot, guiButtonBuilder.build());
+            });
+        }
+    }
+
+    /**
+     * Opens the {@link TransactionGUI} for a result.
+     * The {@link MenuGUI} and {@link ShopGUI} are created but not opened so that closing the transaction returns the player to the result's shop page.
+     * @param entry The {@link ShopEntry} to open.
+     */
+    private void openResult(@NotNull ShopEntry entry) {
+        Locale locale = localeManager.getLocale();
+
+        Optional<ShopConfig.Button> optionalButton = shopManager.getTransactionButton(entry.shopId(), entry.pageNum(), entry.slot());
+        if(optionalButton.isEmpty()) {
+            player.sendMessage(AdventureUtil.serialize(locale.prefix() + locale.guiOpenError()));
+            return;
+        }
+
+        Optional<ShopGUI> optionalShopGUI = guiManager.createShopGUIAt(player, entry);
+        if(optionalShopGUI.isEmpty()) {
+            player.sendMessage(AdventureUtil.serialize(locale.prefix() + locale.guiOpenError()));
+            return;
+        }
+
+        optionalShopGUI.get().openTransactionGUI(optionalButton.get().transactionData(), entry.pageNum(), entry.slot());
+    }
+}
@@ -26,33 +26,53 @@ import com.github.lukesky19.skylib.api.itemstack.ItemStackBuilder;
 import com.github.lukesky19.skylib.api.itemstack.ItemStackConfig;
 import com.github.lukesky19.skyshop.SkyShop;
 import com.github.lukesky19.skyshop.SkyShopAPI;
+import com.github.lukesky19.skyshop.configuration.SellAllManager;
+import com.github.lukesky19.skyshop.data.SellSession;
 import com.github.lukesky19.skyshop.data.gui.SellAllConfig;
 import com.github.lukesky19.skyshop.util.ButtonType;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
 import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryAction;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.inventory.InventoryDragEvent;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryView;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 
 /**
  * This class is called to create a sellall gui for a player to sell items.
+ * The sell total shown by the {@link ButtonType#SELL_TOTAL} button is kept up to date by re-pricing only the slots each click or drag changed.
 */
-public class SellAllGUI extends ChestGUI {
+public class SellAllGUI extends ChestGUI implements RefreshableGUI {
+    private final @NotNull SkyShop skyShop;
     private final @NotNull AbstractGUIManager guiManager;
+    private final @NotNull SellAllManager sellAllManager;
     private final @NotNull SkyShopAPI skyShopAPI;
-    private final @NotNull SellAllConfig sellAllConfig;
+    private @NotNull SellAllConfig sellAllConfig;
+    private final @NotNull SellSession sellSession;
+    private @Nullable SellAllConfig.Button totalButtonConfig;
+    private double @NotNull [] slotValues = new double[0];
+    private final @NotNull BitSet dirtySlots = new BitSet();
+    private double total = 0.0;
+    private @Nullable BukkitTask quoteTask;
 
     /**
      * Constructor
      * @param skyShop A {@link SkyShop} instance.
      * @param guiManager A {@link AbstractGUIManager} instance.
+     * @param sellAllManager A {@link SellAllManager} instance.
      * @param sellAllConfig The {@link SellAllConfig} to create the GUI with.
      * @param skyShopAPI A {@link SkyShopAPI} instance.
      * @param player The {@link Player} who opened the GUI.
@@ -60,14 +80,18 @@ public class SellAllGUI extends ChestGUI {
     public SellAllGUI(
             @NotNull SkyShop skyShop,
             @NotNull AbstractGUIManager guiManager,
+            @NotNull SellAllManager sellAllManager,
             @NotNull SellAllConfig sellAllConfig,
             @NotNull SkyShopAPI skyShopAPI,
             @NotNull Player player) {
         super(skyShop, guiManager, player);
 
+        this.skyShop = skyShop;
         this.guiManager = guiManager;
+        this.sellAllManager = sellAllManager;
         this.skyShopAPI = skyShopAPI;
         this.sellAllConfig = sellAllConfig;
+        this.sellSession = new SellSession(player.getUniqueId());
     }
 
     /**
@@ -86,6 +110,37 @@ public class SellAllGUI extends ChestGUI {
         return create(guiType, guiName, List.of());
     }
 
+    /**
+     * Re-fetch the {@link SellAllConfig} from the {@link SellAllManager} and re-render the buttons in place.
+     * The GUI is never closed by a refresh as that would sell the items inside it.
+     * The new layout is skipped if the GUIType changed or a new button would overwrite an item placed by the player.
+     */
+    @Override
+    public void refresh() {
+        if(inventoryView == null) return;
+
+        Optional<SellAllConfig> optionalSellAllConfig = sellAllManager.getSellAllGuiConfig();
+        if(optionalSellAllConfig.isEmpty()) return;
+        SellAllConfig newSellAllConfig = optionalSellAllConfig.get();
+
+        // The inventory size can't change while the GUI is open.
+        if(!Objects.equals(sellAllConfig.gui().guiType(), newSellAllConfig.gui().guiType())) return;
+
+        // Don't place a button on top of an item the player placed in the GUI.
+        Inventory inventory = inventoryView.getTopInventory();
+        for(SellAllConfig.Button button : newSellAllConfig.gui().buttons()) {
+            Integer slot = button.slot();
+            if(slot == null || slot < 0 || slot >= inventory.getSize()) continue;
+            if(slotButtons.containsKey(slot)) continue;
+
+            ItemStack itemStack = inventory.getItem(slot);
+            if(itemStack != null && !itemStack.isEmpty()) return;
+        }
+
+        sellAllConfig = newSellAllConfig;
+        update();
+    }
+
     /**
      * A method to create all the buttons in the inventory GUI.
      */
@@ -99,6 +154,10 @@ public class SellAllGUI extends ChestGUI {
 
         // Clear the GUI of buttons
         clearButtons();
+        totalButtonConfig = null;
+
+        int size = inventoryView.getTopInventory().getSize();
+        if(slotValues.length != size) slotValues = new double[size];
 
         List<SellAllConfig.Button> buttonList = sellAllConfig.gui().buttons();
         for(int buttonNum = 0; buttonNum < buttonList.size(); buttonNum++) {
@@ -155,6 +214,16 @@ public class SellAllGUI extends ChestGUI {
                     });
                 }
 
+                case SELL_TOTAL -> {
+                    totalButtonConfig = buttonConfig;
+                    createTotalItemStack(buttonConfig).ifPresent(itemStack -> {
+                        GUIButton.Builder guiButtonBuilder = new GUIButton.Builder();
+                        guiButtonBuilder.setItemStack(itemStack);
+
+                        setButton(buttonConfig.slot(), guiButtonBuilder.build());
+                    });
+                }
+
                 default -> logger.warn(AdventureUtil.serialize("Unsupported ButtonType in the sellall GUI for " + buttonNum + " and button type " + buttonType + "."));
             }
         }
@@ -212,7 +281,17 @@ public class SellAllGUI extends ChestGUI {
     public void handleBottomDrag(@NotNull InventoryDragEvent inventoryDragEvent) {}
 
     @Override
-    public void handleGlobalDrag(@NotNull InventoryDragEvent inventoryDragEvent) {}
+    public void handleGlobalDrag(@NotNull InventoryDragEvent inventoryDragEvent) {
+        if(inventoryView == null) return;
+        int topSize = inventoryView.getTopInventory().getSize();
+
+        // A drag only changes the slots it covers.
+        for(int rawSlot : inventoryDragEvent.getRawSlots()) {
+            if(rawSlot < topSize) dirtySlots.set(rawSlot);
+        }
+
+        scheduleQuoteUpdate();
+    }
 
     @Override
     public void handleTopClick(@NotNull InventoryClickEvent event) {
@@ -222,21 +301,118 @@ public class SellAllGUI extends ChestGUI {
             event.setCancelled(true);
 
             button.action().accept(event);
+            return;
         }
+
+        dirtySlots.set(slot);
+        if(event.getAction() == InventoryAction.COLLECT_TO_CURSOR) markMatchingSlots(event.getCursor(), false);
+
+        scheduleQuoteUpdate();
     }
 
     @Override
-    public void handleBottomClick(@NotNull InventoryClickEvent inventoryClickEvent) {}
+    public void handleBottomClick(@NotNull InventoryClickEvent inventoryClickEvent) {
+        InventoryAction action = inventoryClickEvent.getAction();
+
+        if(action == InventoryAction.MOVE_TO_OTHER_INVENTORY) {
+            // A shift-click can only fill stacks of the same item or empty slots.
+            markMatchingSlots(inventoryClickEvent.getCurrentItem(), true);
+            scheduleQuoteUpdate();
+        } else if(action == InventoryAction.COLLECT_TO_CURSOR) {
+            markMatchingSlots(inventoryClickEvent.getCursor(), false);
+            scheduleQuoteUpdate();
+        }
+    }
 
     @Override
     public void handleGlobalClick(@NotNull InventoryClickEvent inventoryClickEvent) {}
 
+    /**
+     * Mark the slots of the GUI that contain an item similar to the given item as changed.
+     * @param itemStack The {@link ItemStack} to match.
+     * @param includeEmpty Should empty slots also be marked?
+     */
+    private void markMatchingSlots(@Nullable ItemStack itemStack, boolean includeEmpty) {
+        if(inventoryView == null || itemStack == null || itemStack.isEmpty()) return;
+        Inventory inventory = inventoryView.getTopInventory();
+
+        for(int slot = 0; slot < inventory.getSize(); slot++) {
+            if(slotButtons.containsKey(slot)) continue;
+
+            ItemStack slotStack = inventory.getItem(slot);
+            if(slotStack == null || slotStack.isEmpty() ? includeEmpty : slotStack.isSimilar(itemStack)) {
+                dirtySlots.set(slot);
+            }
+        }
+    }
+
+    /**
+     * Re-price the changed slots on the next tick, once the click or drag has been applied to the inventory.
+     * Several clicks in the same tick are handled by a single update.
+     */
+    private void scheduleQuoteUpdate() {
+        if(quoteTask != null) return;
+
+        quoteTask = skyShop.getServer().getScheduler().runTask(skyShop, () -> {
+            quoteTask = null;
+            updateQuote();
+        });
+    }
+
+    /**
+     * Re-price the changed slots and update the sell total button.
+     */
+    private void updateQuote() {
+        if(inventoryView == null || dirtySlots.isEmpty()) return;
+        Inventory inventory = inventoryView.getTopInventory();
+
+        for(int slot = dirtySlots.nextSetBit(0); slot >= 0 && slot < slotValues.length; slot = dirtySlots.nextSetBit(slot + 1)) {
+            double value = slotButtons.containsKey(slot) ? 0.0 : skyShopAPI.getSellValue(inventory.getItem(slot));
+            total = total + value - slotValues[slot];
+            slotValues[slot] = value;
+        }
+        dirtySlots.clear();
+
+        SellAllConfig.Button buttonConfig = totalButtonConfig;
+        if(buttonConfig == null || buttonConfig.slot() == null) return;
+
+        createTotalItemStack(buttonConfig).ifPresent(itemStack -> {
+            GUIButton.Builder guiButtonBuilder = new GUIButton.Builder();
+            guiButtonBuilder.setItemStack(itemStack);
+
+            setButton(buttonConfig.slot(), guiButtonBuilder.build());
+            inventory.setItem(buttonConfig.slot(), itemStack);
+        });
+    }
+
+    /**
+     * Create the {@link ItemStack} that displays the sell total of the items inside the GUI.
+     * @param buttonConfig The {@link SellAllConfig.Button} for the button.
+     * @return An {@link Optional} containing the {@link ItemStack}. Will be empty if the display item couldn't be created.
+     */
+    private @NotNull Optional<ItemStack> createTotalItemStack(@NotNull SellAllConfig.Button buttonConfig) {
+        DecimalFormat df = new DecimalFormat("#.##");
+        df.setRoundingMode(RoundingMode.CEILING);
+        String formattedTotal = df.format(BigDecimal.valueOf(Math.max(0.0, total)));
+
+        ItemStackBuilder itemStackBuilder = new ItemStackBuilder(logger);
+        itemStackBuilder.fromItemStackConfig(buttonConfig.displayItem(), player, null, List.of(Placeholder.parsed("price", formattedTotal)));
+
+        return itemStackBuilder.buildItemStack();
+    }
+
     private void sellItemsInGUI(@NotNull Inventory inventory) {
+        // Stop any pending sell total update.
+        if(quoteTask != null) {
+            quoteTask.cancel();
+            quoteTask = null;
+        }
+
         // Remove any buttons so that they aren't sold or given to the player.
         clearButtons();
 
-        // Proceed to sell any items in the inventory
-        skyShopAPI.sellInventoryGUI(inventory, player, true);
+        // Proceed to sell any items in the inventory. The session makes sure this only happens once no matter how the GUI was closed.
+        skyShopAPI.sellInventoryGUI(sellSession, inventory, player, true);
     }
 }
 
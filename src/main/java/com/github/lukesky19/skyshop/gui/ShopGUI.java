@@ -28,11 +28,18 @@ import com.github.lukesky19.skyshop.SkyShop;
 import com.github.lukesky19.skyshop.SkyShopAPI;
 import com.github.lukesky19.skyshop.configuration.LocaleManager;
 import com.github.lukesky19.skyshop.configuration.SellAllManager;
+import com.github.lukesky19.skyshop.configuration.ShopManager;
 import com.github.lukesky19.skyshop.configuration.TransactionManager;
+import com.github.lukesky19.skyshop.currency.Currency;
 import com.github.lukesky19.skyshop.data.Locale;
+import com.github.lukesky19.skyshop.data.TieredPrice;
 import com.github.lukesky19.skyshop.data.gui.ShopConfig;
 import com.github.lukesky19.skyshop.data.gui.TransactionConfig;
+import com.github.lukesky19.skyshop.manager.CommandQueueManager;
 import com.github.lukesky19.skyshop.manager.StatsManager;
+import com.github.lukesky19.skyshop.manager.PlayerDataManager;
+import com.github.lukesky19.skyshop.manager.PlayerLimitManager;
+import com.github.lukesky19.skyshop.manager.StockManager;
 import com.github.lukesky19.skyshop.util.ButtonType;
 import com.github.lukesky19.skyshop.util.TransactionType;
 import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
@@ -41,23 +48,34 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryView;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * This class is called to create a shop gui for a player to access an individual shop category.
 */
-public class ShopGUI extends ChestGUI {
+public class ShopGUI extends ChestGUI implements RefreshableGUI {
     private final @NotNull SkyShop skyShop;
     private final @NotNull LocaleManager localeManager;
+    private final @NotNull ShopManager shopManager;
     private final @NotNull TransactionManager transactionManager;
+    private final @NotNull CommandQueueManager commandQueueManager;
+    private final @NotNull StockManager stockManager;
+    private final @NotNull PlayerDataManager playerDataManager;
+    private final @NotNull PlayerLimitManager playerLimitManager;
     private final @NotNull SellAllManager sellAllManager;
     private final @Nullable StatsManager statsManager;
     private final @NotNull SkyShopAPI skyShopAPI;
@@ -66,7 +84,7 @@ public class ShopGUI extends ChestGUI {
     private boolean isOpen = false;
     private final @NotNull MenuGUI menuGUI;
     private final @NotNull String shopName;
-    private final @NotNull ShopConfig shopConfig;
+    private @NotNull ShopConfig shopConfig;
 
     /**
      * Constructor
@@ -74,7 +92,12 @@ public class ShopGUI extends ChestGUI {
      * @param guiManager An {@link AbstractGUIManager} instance.
      * @param player The {@link Player} viewing the GUI/Inventory.
      * @param localeManager A {@link LocaleManager} instance.
+     * @param shopManager A {@link ShopManager} instance.
      * @param transactionManager A {@link TransactionManager} instance.
+     * @param commandQueueManager A {@link CommandQueueManager} instance.
+     * @param stockManager A {@link StockManager} instance.
+     * @param playerDataManager A {@link PlayerDataManager} instance.
+     * @param playerLimitManager A {@link PlayerLimitManager} instance.
      * @param sellAllManager A {@link SellAllManager} instance.
      * @param statsManager A {@link StatsManager} instance.
      * @param skyShopAPI A {@link SkyShopAPI} instance.
@@ -87,7 +110,12 @@ public class ShopGUI extends ChestGUI {
             @NotNull AbstractGUIManager guiManager,
             @NotNull Player player,
             @NotNull LocaleManager localeManager,
+            @NotNull ShopManager shopManager,
             @NotNull TransactionManager transactionManager,
+            @NotNull CommandQueueManager commandQueueManager,
+            @NotNull StockManager stockManager,
+            @NotNull PlayerDataManager playerDataManager,
+            @NotNull PlayerLimitManager playerLimitManager,
             @NotNull SellAllManager sellAllManager,
             @Nullable StatsManager statsManager,
             @NotNull SkyShopAPI skyShopAPI,
@@ -98,7 +126,12 @@ public class ShopGUI extends ChestGUI {
 
         this.skyShop = skyShop;
         this.localeManager = localeManager;
+        this.shopManager = shopManager;
         this.transactionManager = transactionManager;
+        this.commandQueueManager = commandQueueManager;
+        this.stockManager = stockManager;
+        this.playerDataManager = playerDataManager;
+        this.playerLimitManager = playerLimitManager;
         this.sellAllManager = sellAllManager;
         this.statsManager = statsManager;
         this.skyShopAPI = skyShopAPI;
@@ -173,6 +206,85 @@ public class ShopGUI extends ChestGUI {
         }
     }
 
+    /**
+     * Re-fetch the {@link ShopConfig} from the {@link ShopManager} and re-render the GUI in place.
+     * If the shop no longer exists, the player is returned to the {@link MenuGUI}.
+     */
+    @Override
+    public void refresh() {
+        if(!reloadConfig()) {
+            Locale locale = localeManager.getLocale();
+            player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.shopUnavailable()));
+            returnToMenu();
+        }
+    }
+
+    /**
+     * Set the page to display. Call {@link #update()} afterward to render it.
+     * @param pageNum The page number, starting at 0. Will be limited to the configured pages.
+     */
+    public void setPageNum(int pageNum) {
+        int pageCount = shopConfig.gui().pages().size();
+
+        this.pageNum = Math.max(0, Math.min(pageNum, pageCount - 1));
+    }
+
+    /**
+     * Get the name of the shop this GUI is for.
+     * @return The shop name, which is also the shop's id.
+     */
+    public @NotNull String getShopName() {
+        return shopName;
+    }
+
+    /**
+     * Get the {@link ShopConfig} currently used by this GUI.
+     * @return The {@link ShopConfig}.
+     */
+    public @NotNull ShopConfig getShopConfig() {
+        return shopConfig;
+    }
+
+    /**
+     * Swap in the reloaded {@link ShopConfig} and re-render the GUI.
+     * The current page is clamped to the pages that still exist.
+     * If the GUIType or name changed, the {@link InventoryView} is re-created and re-opened if the player is viewing it.
+     * @return true if the shop still exists and the GUI was re-rendered, otherwise false.
+     */
+    public boolean reloadConfig() {
+        Optional<ShopConfig> optionalShopConfig = shopManager.getShopConfig(shopName);
+        if(optionalShopConfig.isEmpty()) return false;
+
+        ShopConfig newShopConfig = optionalShopConfig.get();
+        boolean recreate = !Objects.equals(shopConfig.gui().guiType(), newShopConfig.gui().guiType())
+                || !Objects.equals(shopConfig.gui().name(), newShopConfig.gui().name());
+        shopConfig = newShopConfig;
+
+        int pageCount = shopConfig.gui().pages().size();
+        if(pageNum >= pageCount) pageNum = Math.max(0, pageCount - 1);
+
+        if(recreate && !create()) return false;
+        if(!update()) return false;
+
+        // Only re-open the GUI if the player is currently viewing it and not a child GUI.
+        boolean viewing = guiManager.getOpenGUI(uuid).filter(baseGUI -> baseGUI == this).isPresent();
+        if(recreate && viewing) return open();
+
+        return true;
+    }
+
+    /**
+     * Close whatever GUI the player is viewing and return them to the {@link MenuGUI}.
+     * Used when this shop was removed by a reload. If the menu is no longer valid either, the GUI is unloaded.
+     */
+    public void returnToMenu() {
+        if(menuGUI.reloadConfig()) {
+            close();
+        } else {
+            unload(false);
+        }
+    }
+
     /**
      * Take the mapping of slots to {@link GUIButton}s in {@link #slotButtons} and add the {@link ItemStack}s to the GUI.
      * @return true if successful, otherwise false.
@@ -210,6 +322,11 @@ public class ShopGUI extends ChestGUI {
             return false;
         }
 
+        // Each currency's balance is only looked up once per render, no matter how many buttons use it.
+        Map<Currency, Optional<Double>> balances = new HashMap<>();
+        DecimalFormat df = new DecimalFormat("#.##");
+        df.setRoundingMode(RoundingMode.FLOOR);
+
         for(int buttonNum = 0; buttonNum < page.buttons().size(); buttonNum++) {
             ShopConfig.Button buttonConfig = page.buttons().get(buttonNum);
             ButtonType buttonType = buttonConfig.buttonType();
@@ -342,96 +459,16 @@ public class ShopGUI extends ChestGUI {
                     TransactionType transactionType = transactionData.transactionType();
                     if(transactionType == null) continue;
 
-                    // Get the ItemStackConfig
-                    ItemStackConfig itemConfig = buttonConfig.displayItem();
-
-                    // Create price placeholders
-                    Double buyPrice = transactionData.buyPrice();
-                    Double sellPrice = transactionData.sellPrice();
-                    List<TagResolver.Single> pricePlaceholders = new ArrayList<>();
-                    if(buyPrice != null) pricePlaceholders.add(Placeholder.parsed("buy_price", String.valueOf(buyPrice)));
-                    if(sellPrice != null) pricePlaceholders.add(Placeholder.parsed("sell_price", String.valueOf(sellPrice)));
-
-                    // Create the ItemStackBuilder and pass the ItemStackConfig.
-                    ItemStackBuilder itemStackBuilder = new ItemStackBuilder(logger);
-                    itemStackBuilder.fromItemStackConfig(itemConfig, player, null, pricePlaceholders);
+                    // The page and slot are used to find this transaction again after a reload.
+                    int sourcePageNum = pageNum;
+                    int sourceSlot = buttonConfig.slot();
+                    String stockKey = StockManager.getStockKey(shopName, sourcePageNum, sourceSlot);
 
                     // If an ItemStack was created, create the GUIButton and add it to the GUI.
-                    Optional<ItemStack> optionalItemStack = itemStackBuilder.buildItemStack();
-                    optionalItemStack.ifPresent(itemStack -> {
+                    createTransactionItemStack(buttonConfig.displayItem(), transactionData, stockKey, balances, df).ifPresent(itemStack -> {
                         GUIButton.Builder guiButtonBuilder = new GUIButton.Builder();
                         guiButtonBuilder.setItemStack(itemStack);
-                        guiButtonBuilder.setAction(event -> {
-                            // Get the transaction style name and check if it is null
-                            String transactionStyle = transactionData.transactionStyle();
-                            if(transactionStyle == null) {
-                                logger.error(AdventureUtil.serialize("Unable to open transaction GUI for player " + player.getName() + " due to an invalid transaction style."));
-                                player.sendMessage(AdventureUtil.serialize(locale.prefix() + locale.guiOpenError()));
-                                if(isOpen) close();
-                                return;
-                            }
-
-                            String transactionName = transactionData.transactionName();
-                            if(transactionName == null) {
-                                logger.error(AdventureUtil.serialize("Unable to open transaction GUI for player " + player.getName() + " due to an invalid transaction name."));
-                                player.sendMessage(AdventureUtil.serialize(locale.prefix() + locale.guiOpenError()));
-                                if(isOpen) close();
-                                return;
-                            }
-
-                            // Get the TransactionConfig for the transaction style and check if it is valid
-                            @NotNull Optional<TransactionConfig> optionalTransactionConfig = transactionManager.getTransactionConfig(transactionStyle);
-                            if(optionalTransactionConfig.isEmpty()) {
-                                logger.error(AdventureUtil.serialize("Unable to open transaction GUI for player " + player.getName() + " due to no transaction style config found for " + transactionStyle + "."));
-                                player.sendMessage(AdventureUtil.serialize(locale.prefix() + locale.guiOpenError()));
-                                if(isOpen) close();
-                                return;
-                            }
-                            TransactionConfig transactionConfig = optionalTransactionConfig.get();
-
-                            TransactionGUI transactionGUI = new TransactionGUI(
-                                    skyShop,
-                                    guiManager,
-                                    player,
-                                    localeManager,
-                                    sellAllManager,
-                                    statsManager,
-                                    skyShopAPI,
-                                    this,
-                                    transactionType,
-                                    transactionStyle,
-                                    transactionConfig,
-                                    transactionData.displayItem(),
-                                    transactionData.transactionItem(),
-                                    buyPrice,
-                                    sellPrice,
-                                    transactionName,
-                                    transactionData.buyCommands(),
-                                    transactionData.sellCommands());
-
-                            boolean creationResult = transactionGUI.create();
-                            if(!creationResult) {
-                                logger.error(AdventureUtil.serialize("Unable to create the InventoryView for the transaction GUI for player " + player.getName() + " due to a configuration error."));
-                                player.sendMessage(AdventureUtil.serialize(locale.prefix() + locale.guiOpenError()));
-                                if(isOpen) close();
-                                return;
-                            }
-
-                            boolean updateFuture = transactionGUI.update();
-                            if(!updateFuture) {
-                                logger.error(AdventureUtil.serialize("Unable to decorate the transaction GUI for player " + player.getName() + " due to a configuration error."));
-                                player.sendMessage(AdventureUtil.serialize(locale.prefix() + locale.guiOpenError()));
-                                if(isOpen) close();
-                                return;
-                            }
-
-                            boolean openResult = transactionGUI.open();
-                            if(!openResult) {
-                                logger.error(AdventureUtil.serialize("Unable to open the transaction GUI for player " + player.getName() + " due to a configuration error."));
-                                player.sendMessage(AdventureUtil.serialize(locale.prefix() + locale.guiOpenError()));
-                                if(isOpen) close();
-                            }
-                        });
+                        guiButtonBuilder.setAction(event -> openTransactionGUI(transactionData, sourcePageNum, sourceSlot));
 
                         setButton(buttonConfig.slot(), guiButtonBuilder.build());
                     });
@@ -468,6 +505,200 @@ public class ShopGUI extends ChestGUI {
         return super.update();
     }
 
+    /**
+     * Open the {@link TransactionGUI} for a transaction in this shop.
+     * @param transactionData The {@link ShopConfig.TransactionData} of the transaction.
+     * @param sourcePageNum The page the transaction's button is on. Used to find the transaction again after a reload.
+     * @param sourceSlot The slot the transaction's button is at. Used to find the transaction again after a reload.
+     * @return true if the {@link TransactionGUI} was opened, otherwise false.
+     */
+    public boolean openTransactionGUI(@NotNull ShopConfig.TransactionData transactionData, int sourcePageNum, int sourceSlot) {
+        Locale locale = localeManager.getLocale();
+
+        TransactionType transactionType = transactionData.transactionType();
+        if(transactionType == null) return false;
+
+        Double buyPrice = transactionData.buyPrice();
+        Double sellPrice = transactionData.sellPrice();
+
+        // Get the transaction style name and check if it is null
+        String transactionStyle = transactionData.transactionStyle();
+        if(transactionStyle == null) {
+            logger.error(AdventureUtil.serialize("Unable to open transaction GUI for player " + player.getName() + " due to an invalid transaction style."));
+            player.sendMessage(AdventureUtil.serialize(locale.prefix() + locale.guiOpenError()));
+            if(isOpen) close();
+            return false;
+        }
+
+        String transactionName = transactionData.transactionName();
+        if(transactionName == null) {
+            logger.error(AdventureUtil.serialize("Unable to open transaction GUI for player " + player.getName() + " due to an invalid transaction name."));
+            player.sendMessage(AdventureUtil.serialize(locale.prefix() + locale.guiOpenError()));
+            if(isOpen) close();
+            return false;
+        }
+
+        // Get the Currency the transaction uses and check if it exists
+        Optional<Currency> optionalCurrency = skyShop.getCurrencyManager().getCurrency(transactionData.currency());
+        if(optionalCurrency.isEmpty()) {
+            logger.error(AdventureUtil.serialize("Unable to open transaction GUI for player " + player.getName() + " due to no currency found for " + transactionData.currency() + "."));
+            player.sendMessage(AdventureUtil.serialize(locale.prefix() + locale.guiOpenError()));
+            if(isOpen) close();
+            return false;
+        }
+
+        // Get the TransactionConfig for the transaction style and check if it is valid
+        @NotNull Optional<TransactionConfig> optionalTransactionConfig = transactionManager.getTransactionConfig(transactionStyle);
+        if(optionalTransactionConfig.isEmpty()) {
+            logger.error(AdventureUtil.serialize("Unable to open transaction GUI for player " + player.getName() + " due to no transaction style config found for " + transactionStyle + "."));
+            player.sendMessage(AdventureUtil.serialize(locale.prefix() + locale.guiOpenError()));
+            if(isOpen) close();
+            return false;
+        }
+        TransactionConfig transactionConfig = optionalTransactionConfig.get();
+
+        TransactionGUI transactionGUI = new TransactionGUI(
+                skyShop,
+                guiManager,
+                player,
+                localeManager,
+                transactionManager,
+                commandQueueManager,
+                stockManager,
+                playerDataManager,
+                playerLimitManager,
+                sellAllManager,
+                statsManager,
+                skyShopAPI,
+                this,
+                sourcePageNum,
+                sourceSlot,
+                transactionType,
+                transactionStyle,
+                transactionConfig,
+                transactionData.displayItem(),
+                transactionData.transactionItem(),
+                buyPrice,
+                sellPrice,
+                optionalCurrency.get(),
+                transactionName,
+                transactionData.buyCommands(),
+                transactionData.sellCommands());
+
+        boolean creationResult = transactionGUI.create();
+        if(!creationResult) {
+            logger.error(AdventureUtil.serialize("Unable to create the InventoryView for the transaction GUI for player " + player.getName() + " due to a configuration error."));
+            player.sendMessage(AdventureUtil.serialize(locale.prefix() + locale.guiOpenError()));
+            if(isOpen) close();
+            return false;
+        }
+
+        boolean updateFuture = transactionGUI.update();
+        if(!updateFuture) {
+            logger.error(AdventureUtil.serialize("Unable to decorate the transaction GUI for player " + player.getName() + " due to a configuration error."));
+            player.sendMessage(AdventureUtil.serialize(locale.prefix() + locale.guiOpenError()));
+            if(isOpen) close();
+            return false;
+        }
+
+        boolean openResult = transactionGUI.open();
+        if(!openResult) {
+            logger.error(AdventureUtil.serialize("Unable to open the transaction GUI for player " + player.getName() + " due to a configuration error."));
+            player.sendMessage(AdventureUtil.serialize(locale.prefix() + locale.guiOpenError()));
+            if(isOpen) close();
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Re-render only the transaction buttons on the current page whose prices changed.
+     * @param stockKeys The keys of the transactions whose prices changed.
+     */
+    @Override
+    public void refreshPrices(@NotNull Set<String> stockKeys) {
+        // The buttons are re-rendered even while a child GUI is open, so they are current when the player returns.
+        if(inventoryView == null) return;
+
+        List<ShopConfig.PageConfig> pages = shopConfig.gui().pages();
+        if(pageNum >= pages.size()) return;
+
+        Inventory inventory = inventoryView.getTopInventory();
+        Map<Currency, Optional<Double>> balances = new HashMap<>();
+        DecimalFormat df = new DecimalFormat("#.##");
+        df.setRoundingMode(RoundingMode.FLOOR);
+        int sourcePageNum = pageNum;
+
+        for(ShopConfig.Button buttonConfig : pages.get(pageNum).buttons()) {
+            if(buttonConfig.buttonType() != ButtonType.TRANSACTION || buttonConfig.slot() == null) continue;
+
+            ShopConfig.TransactionData transactionData = buttonConfig.transactionData();
+            if(transactionData.transactionType() == null) continue;
+
+            int sourceSlot = buttonConfig.slot();
+            String stockKey = StockManager.getStockKey(shopName, sourcePageNum, sourceSlot);
+            if(!stockKeys.contains(stockKey)) continue;
+
+            createTransactionItemStack(buttonConfig.displayItem(), transactionData, stockKey, balances, df).ifPresent(itemStack -> {
+                GUIButton.Builder guiButtonBuilder = new GUIButton.Builder();
+                guiButtonBuilder.setItemStack(itemStack);
+                guiButtonBuilder.setAction(event -> openTransactionGUI(transactionData, sourcePageNum, sourceSlot));
+
+                setButton(sourceSlot, guiButtonBuilder.build());
+                inventory.setItem(sourceSlot, itemStack);
+            });
+        }
+    }
+
+    /**
+     * Create the {@link ItemStack} that displays a transaction, including its current prices and remaining stock.
+     * @param itemConfig The {@link ItemStackConfig} of the button's display item.
+     * @param transactionData The {@link ShopConfig.TransactionData} of the transaction.
+     * @param stockKey The key of the transaction, see {@link StockManager#getStockKey(String, int, int)}.
+     * @param balances The balances already looked up during this render, by currency.
+     * @param df The {@link DecimalFormat} used to format balances.
+     * @return An {@link Optional} containing the {@link ItemStack}. Will be empty if the display item couldn't be created.
+     */
+    private @NotNull Optional<ItemStack> createTransactionItemStack(
+            @NotNull ItemStackConfig itemConfig,
+            @NotNull ShopConfig.TransactionData transactionData,
+            @NotNull String stockKey,
+            @NotNull Map<Currency, Optional<Double>> balances,
+            @NotNull DecimalFormat df) {
+        // Create price placeholders. Active sales are already applied to the tiered prices.
+        Optional<TieredPrice> buyTiers = skyShop.getPriceTierManager().getBuyPrice(stockKey);
+        Optional<TieredPrice> sellTiers = skyShop.getPriceTierManager().getSellPrice(stockKey);
+        Double buyPrice = buyTiers.map(TieredPrice::getBasePrice).orElse(transactionData.buyPrice());
+        Double sellPrice = sellTiers.map(TieredPrice::getBasePrice).orElse(transactionData.sellPrice());
+        List<TagResolver.Single> pricePlaceholders = new ArrayList<>();
+        if(buyPrice != null) pricePlaceholders.add(Placeholder.parsed("buy_price", String.valueOf(buyPrice)));
+        if(sellPrice != null) pricePlaceholders.add(Placeholder.parsed("sell_price", String.valueOf(sellPrice)));
+        // The tier summaries were built when the shops were reloaded.
+        buyTiers.ifPresent(tiers -> pricePlaceholders.add(Placeholder.parsed("buy_tiers", tiers.getSummary())));
+        sellTiers.ifPresent(tiers -> pricePlaceholders.add(Placeholder.parsed("sell_tiers", tiers.getSummary())));
+
+        // Create the currency and balance placeholders
+        Optional<Currency> optionalCurrency = skyShop.getCurrencyManager().getCurrency(transactionData.currency());
+        if(optionalCurrency.isPresent()) {
+            Currency currency = optionalCurrency.get();
+            pricePlaceholders.add(Placeholder.parsed("currency", currency.getName()));
+
+            Optional<Double> balance = balances.computeIfAbsent(currency, key -> key.getCachedBalance(player));
+            balance.ifPresent(value -> pricePlaceholders.add(Placeholder.parsed("balance", df.format(value))));
+        }
+
+        // Create the ItemStackBuilder and pass the ItemStackConfig.
+        ItemStackBuilder itemStackBuilder = new ItemStackBuilder(logger);
+        itemStackBuilder.fromItemStackConfig(itemConfig, player, null, pricePlaceholders);
+
+        Optional<ItemStack> optionalItemStack = itemStackBuilder.buildItemStack();
+        // Show the remaining stock if the transaction has limited stock.
+        optionalItemStack.ifPresent(itemStack -> stockManager.addStockLore(player, localeManager.getLocale(), itemStack, stockKey));
+
+        return optionalItemStack;
+    }
+
     @Override
     public void handleClose(@NotNull InventoryCloseEvent inventoryCloseEvent) {
         if(inventoryCloseEvent.getReason().equals(InventoryCloseEvent.Reason.UNLOADED) || inventoryCloseEvent.getReason().equals(InventoryCloseEvent.Reason.OPEN_NEW)) return;
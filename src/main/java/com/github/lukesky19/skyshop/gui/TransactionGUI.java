@@ -24,26 +24,35 @@ import com.github.lukesky19.skylib.api.gui.GUIType;
 import com.github.lukesky19.skylib.api.gui.abstracts.ChestGUI;
 import com.github.lukesky19.skylib.api.itemstack.ItemStackBuilder;
 import com.github.lukesky19.skylib.api.itemstack.ItemStackConfig;
-import com.github.lukesky19.skylib.api.placeholderapi.PlaceholderAPIUtil;
 import com.github.lukesky19.skylib.api.player.PlayerUtil;
 import com.github.lukesky19.skyshop.SkyShop;
 import com.github.lukesky19.skyshop.SkyShopAPI;
 import com.github.lukesky19.skyshop.configuration.LocaleManager;
 import com.github.lukesky19.skyshop.configuration.SellAllManager;
+import com.github.lukesky19.skyshop.configuration.TransactionManager;
+import com.github.lukesky19.skyshop.currency.Currency;
+import com.github.lukesky19.skyshop.data.EconomyResult;
 import com.github.lukesky19.skyshop.data.Locale;
+import com.github.lukesky19.skyshop.data.TieredPrice;
 import com.github.lukesky19.skyshop.data.gui.SellAllConfig;
+import com.github.lukesky19.skyshop.data.gui.ShopConfig;
 import com.github.lukesky19.skyshop.data.gui.TransactionConfig;
 import com.github.lukesky19.skyshop.event.CommandPurchasedEvent;
 import com.github.lukesky19.skyshop.event.CommandSoldEvent;
 import com.github.lukesky19.skyshop.event.ItemPurchasedEvent;
 import com.github.lukesky19.skyshop.event.ItemSoldEvent;
+import com.github.lukesky19.skyshop.manager.CommandQueueManager;
+import com.github.lukesky19.skyshop.manager.CurrencyManager;
+import com.github.lukesky19.skyshop.manager.EconomyManager;
 import com.github.lukesky19.skyshop.manager.StatsManager;
+import com.github.lukesky19.skyshop.manager.PlayerDataManager;
+import com.github.lukesky19.skyshop.manager.PlayerLimitManager;
+import com.github.lukesky19.skyshop.manager.StockManager;
 import com.github.lukesky19.skyshop.util.ButtonType;
+import com.github.lukesky19.skyshop.util.InventoryUtil;
 import com.github.lukesky19.skyshop.util.TransactionType;
 import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
-import org.bukkit.Server;
-import org.bukkit.command.ConsoleCommandSender;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
@@ -61,32 +70,55 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This class is called to create a transaction inventory for a player to buy and sell items.
  */
-public class TransactionGUI extends ChestGUI {
+public class TransactionGUI extends ChestGUI implements RefreshableGUI {
+    /**
+     * The largest quantity that can be selected or bought at once. This is a full player inventory, 36 stacks of 64.
+     */
+    private static final int MAX_QUANTITY = 36 * 64;
+
     private final @NotNull SkyShop skyShop;
     private final @NotNull LocaleManager localeManager;
+    private final @NotNull TransactionManager transactionManager;
+    private final @NotNull CommandQueueManager commandQueueManager;
+    private final @NotNull StockManager stockManager;
+    private final @NotNull PlayerDataManager playerDataManager;
+    private final @NotNull PlayerLimitManager playerLimitManager;
     private final @NotNull SellAllManager sellAllManager;
     private final @Nullable StatsManager statsManager;
     private final @NotNull SkyShopAPI skyShopAPI;
     private final @NotNull ShopGUI shopGUI;
+    private final int sourcePageNum;
+    private final int sourceSlot;
+    private final @NotNull String stockKey;
 
     // Config related to the Transaction
-    private final @NotNull TransactionType transactionType;
-    private final @NotNull String transactionStyle;
-    private final @NotNull TransactionConfig transactionConfig;
-    private final @NotNull ItemStackConfig displayItemConfig;
-    private final @NotNull ItemStackConfig transactionItemConfig;
-    private final @Nullable Double buyPrice;
-    private final @Nullable Double sellPrice;
-    private final @NotNull String transactionName;
-    private final @NotNull List<String> buyCommands;
-    private final @NotNull List<String> sellCommands;
+    private @NotNull TransactionType transactionType;
+    private @NotNull String transactionStyle;
+    private @NotNull TransactionConfig transactionConfig;
+    private @NotNull ItemStackConfig displayItemConfig;
+    private @NotNull ItemStackConfig transactionItemConfig;
+    private @Nullable Double buyPrice;
+    private @Nullable Double sellPrice;
+    private @NotNull Currency currency;
+    private @NotNull TieredPrice buyTiers;
+    private @NotNull TieredPrice sellTiers;
+    private @NotNull String transactionName;
+    private @NotNull List<String> buyCommands;
+    private @NotNull List<String> sellCommands;
+    // Built once per transaction when the shops are reloaded and only ever cloned so clicks don't rebuild the ItemStack
+    private @Nullable ItemStack transactionItemPrototype;
 
     private int pageNum = 0;
+    private int selectedAmount = 1;
     private boolean isOpen = false;
+    // Whether an economy call for a purchase is still running. Further transactions are ignored until it completes.
+    private boolean transactionPending = false;
 
     /**
      * Constructor
@@ -94,10 +126,17 @@ public class TransactionGUI extends ChestGUI {
      * @param guiManager An {@link AbstractGUIManager} instance.
      * @param player The {@link Player} to create the GUI for.
      * @param localeManager A {@link SkyShop} instance.
+     * @param transactionManager A {@link TransactionManager} instance.
+     * @param commandQueueManager A {@link CommandQueueManager} instance.
+     * @param stockManager A {@link StockManager} instance.
+     * @param playerDataManager A {@link PlayerDataManager} instance.
+     * @param playerLimitManager A {@link PlayerLimitManager} instance.
      * @param sellAllManager A {@link LocaleManager} instance.
      * @param statsManager A {@link SellAllManager} instance.
      * @param skyShopAPI A {@link SkyShopAPI} instance.
      * @param shopGUI The {@link ShopGUI} the player came from.
+     * @param sourcePageNum The page number of the {@link ShopGUI} the transaction button is on.
+     * @param sourceSlot The slot of the transaction button inside the {@link ShopGUI}.
      * @param transactionType The {@link TransactionType}.
      * @param transactionStyle The transaction style name. This is the {@link String} that was used to get the {@link TransactionConfig}.
      * @param transactionConfig The {@link TransactionConfig} to create the GUI with.
@@ -105,6 +144,7 @@ public class TransactionGUI extends ChestGUI {
      * @param transactionItemConfig The {@link ItemStackConfig} used to create the {@link ItemStack} that will be purchased or sold.
      * @param buyPrice The price take from the {@link Player} to buy the {@link ItemStack} or execute the buy commands.
      * @param sellPrice The price to give the {@link Player} to sell the {@link ItemStack} or execute the sell commands.
+     * @param currency The {@link Currency} the prices are paid in.
      * @param transactionName The name to use when displaying a successful transaction message.
      * @param buyCommands A {@link List} of {@link String} containing the commands to execute in console when a successful buy transaction is made.
      * @param sellCommands A {@link List} of {@link String} containing the commands to execute in console when a successful sell transaction is made.
@@ -114,10 +154,17 @@ public class TransactionGUI extends ChestGUI {
             @NotNull AbstractGUIManager guiManager,
             @NotNull Player player,
             @NotNull LocaleManager localeManager,
+            @NotNull TransactionManager transactionManager,
+            @NotNull CommandQueueManager commandQueueManager,
+            @NotNull StockManager stockManager,
+            @NotNull PlayerDataManager playerDataManager,
+            @NotNull PlayerLimitManager playerLimitManager,
             @NotNull SellAllManager sellAllManager,
             @Nullable StatsManager statsManager,
             @NotNull SkyShopAPI skyShopAPI,
             @NotNull ShopGUI shopGUI,
+            int sourcePageNum,
+            int sourceSlot,
             @NotNull TransactionType transactionType,
             @NotNull String transactionStyle,
             @NotNull TransactionConfig transactionConfig,
@@ -125,6 +172,7 @@ public class TransactionGUI extends ChestGUI {
             @NotNull ItemStackConfig transactionItemConfig,
             @Nullable Double buyPrice,
             @Nullable Double sellPrice,
+            @NotNull Currency currency,
             @Nullable String transactionName,
             @NotNull List<String> buyCommands,
             @NotNull List<String> sellCommands) {
@@ -132,10 +180,18 @@ public class TransactionGUI extends ChestGUI {
 
         this.skyShop = skyShop;
         this.localeManager = localeManager;
+        this.transactionManager = transactionManager;
+        this.commandQueueManager = commandQueueManager;
+        this.stockManager = stockManager;
+        this.playerDataManager = playerDataManager;
+        this.playerLimitManager = playerLimitManager;
         this.sellAllManager = sellAllManager;
         this.statsManager = statsManager;
         this.skyShopAPI = skyShopAPI;
         this.shopGUI = shopGUI;
+        this.sourcePageNum = sourcePageNum;
+        this.sourceSlot = sourceSlot;
+        this.stockKey = StockManager.getStockKey(shopGUI.getShopName(), sourcePageNum, sourceSlot);
         this.transactionType = transactionType;
         this.transactionStyle = transactionStyle;
         this.transactionConfig = transactionConfig;
@@ -143,9 +199,13 @@ public class TransactionGUI extends ChestGUI {
         this.transactionItemConfig = transactionItemConfig;
         this.buyPrice = buyPrice;
         this.sellPrice = sellPrice;
+        this.currency = currency;
+        this.buyTiers = findBuyTiers();
+        this.sellTiers = findSellTiers();
         this.buyCommands = buyCommands;
         this.sellCommands = sellCommands;
         this.transactionName = Objects.requireNonNullElse(transactionName, "");
+        this.transactionItemPrototype = findTransactionItemPrototype();
     }
 
     /**
@@ -214,6 +274,145 @@ public class TransactionGUI extends ChestGUI {
         }
     }
 
+    /**
+     * Re-fetch the transaction from the reloaded {@link ShopGUI} configuration and the {@link TransactionConfig} and re-render the GUI in place.
+     * If the shop, transaction, or transaction style no longer exists, the player is returned to the previous GUI.
+     */
+    @Override
+    public void refresh() {
+        Locale locale = localeManager.getLocale();
+
+        // Re-render the parent shop first, returning to the menu if the shop was removed.
+        if(!shopGUI.reloadConfig()) {
+            player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.shopUnavailable()));
+            shopGUI.returnToMenu();
+            return;
+        }
+
+        // Find the transaction button again using the page and slot it was opened from.
+        Optional<ShopConfig.TransactionData> optionalTransactionData = findTransactionData(shopGUI.getShopConfig());
+        if(optionalTransactionData.isEmpty()) {
+            player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.shopUnavailable()));
+            close();
+            return;
+        }
+        ShopConfig.TransactionData transactionData = optionalTransactionData.get();
+
+        String newTransactionStyle = transactionData.transactionStyle();
+        TransactionType newTransactionType = transactionData.transactionType();
+        if(newTransactionStyle == null || newTransactionType == null) {
+            player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.guiOpenError()));
+            close();
+            return;
+        }
+
+        Optional<TransactionConfig> optionalTransactionConfig = transactionManager.getTransactionConfig(newTransactionStyle);
+        if(optionalTransactionConfig.isEmpty()) {
+            player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.guiOpenError()));
+            close();
+            return;
+        }
+        TransactionConfig newTransactionConfig = optionalTransactionConfig.get();
+
+        Optional<Currency> optionalCurrency = skyShop.getCurrencyManager().getCurrency(transactionData.currency());
+        if(optionalCurrency.isEmpty()) {
+            player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.guiOpenError()));
+            close();
+            return;
+        }
+
+        boolean recreate = !Objects.equals(transactionConfig.gui().guiType(), newTransactionConfig.gui().guiType())
+                || !Objects.equals(transactionConfig.gui().name(), newTransactionConfig.gui().name());
+
+        // Swap in the new transaction
+        transactionType = newTransactionType;
+        transactionStyle = newTransactionStyle;
+        transactionConfig = newTransactionConfig;
+        displayItemConfig = transactionData.displayItem();
+        transactionItemConfig = transactionData.transactionItem();
+        buyPrice = transactionData.buyPrice();
+        sellPrice = transactionData.sellPrice();
+        currency = optionalCurrency.get();
+        buyTiers = findBuyTiers();
+        sellTiers = findSellTiers();
+        transactionName = Objects.requireNonNullElse(transactionData.transactionName(), "");
+        buyCommands = transactionData.buyCommands();
+        sellCommands = transactionData.sellCommands();
+        transactionItemPrototype = findTransactionItemPrototype();
+
+        int pageCount = transactionConfig.gui().pages().size();
+        if(pageNum >= pageCount) pageNum = Math.max(0, pageCount - 1);
+
+        if(recreate) {
+            if(!create() || !update() || !open()) close();
+            return;
+        }
+
+        update();
+    }
+
+    /**
+     * Re-price this transaction if its prices changed, i.e., after a scheduled sale started or ended.
+     * The parent {@link ShopGUI} is re-rendered as well so it is current when the player returns to it.
+     * @param stockKeys The keys of the transactions whose prices changed.
+     */
+    @Override
+    public void refreshPrices(@NotNull Set<String> stockKeys) {
+        shopGUI.refreshPrices(stockKeys);
+        if(!stockKeys.contains(stockKey)) return;
+
+        buyTiers = findBuyTiers();
+        sellTiers = findSellTiers();
+
+        if(isOpen) update();
+    }
+
+    /**
+     * Get the buy {@link TieredPrice} compiled for this transaction when the shops were reloaded.
+     * Any active sales are already applied to it.
+     * @return The {@link TieredPrice}. Uses the buy price without tiers if no table was compiled.
+     */
+    private @NotNull TieredPrice findBuyTiers() {
+        return skyShop.getPriceTierManager().getBuyPrice(stockKey).orElseGet(() -> TieredPrice.flat(Objects.requireNonNullElse(buyPrice, 0.0)));
+    }
+
+    /**
+     * Get the sell {@link TieredPrice} compiled for this transaction when the shops were reloaded.
+     * Any active sales are already applied to it.
+     * @return The {@link TieredPrice}. Uses the sell price without tiers if no table was compiled.
+     */
+    private @NotNull TieredPrice findSellTiers() {
+        return skyShop.getPriceTierManager().getSellPrice(stockKey).orElseGet(() -> TieredPrice.flat(Objects.requireNonNullElse(sellPrice, 0.0)));
+    }
+
+    /**
+     * Get the {@link ItemStack} built for this transaction when the shops were reloaded. It is cloned for every purchase or sale of an ITEM transaction.
+     * @return The prototype {@link ItemStack} or null if this is not an ITEM transaction or the {@link ItemStack} failed to be built.
+     */
+    private @Nullable ItemStack findTransactionItemPrototype() {
+        if(transactionType != TransactionType.ITEM) return null;
+
+        return skyShop.getTransactionItemManager().getTransactionItem(stockKey).orElse(null);
+    }
+
+    /**
+     * Find the {@link ShopConfig.TransactionData} this GUI was opened for inside the provided {@link ShopConfig}.
+     * @param shopConfig The {@link ShopConfig} to search.
+     * @return An {@link Optional} containing the {@link ShopConfig.TransactionData}. Will be empty if the page or button no longer exists.
+     */
+    private @NotNull Optional<ShopConfig.TransactionData> findTransactionData(@NotNull ShopConfig shopConfig) {
+        List<ShopConfig.PageConfig> pages = shopConfig.gui().pages();
+        if(sourcePageNum >= pages.size()) return Optional.empty();
+
+        for(ShopConfig.Button button : pages.get(sourcePageNum).buttons()) {
+            if(button.buttonType() == ButtonType.TRANSACTION && button.slot() != null && button.slot() == sourceSlot) {
+                return Optional.of(button.transactionData());
+            }
+        }
+
+        return Optional.empty();
+    }
+
     /**
      * A method to create all the buttons in the inventory GUI.
      */
@@ -383,11 +582,18 @@ public class TransactionGUI extends ChestGUI {
 
                     // Create the ItemStackBuilder and pass the ItemStackConfig.
                     ItemStackBuilder itemStackBuilder = new ItemStackBuilder(logger);
-                    itemStackBuilder.fromItemStackConfig(displayItemConfig, player, null, List.of());
+                    List<TagResolver.Single> displayPlaceholders = List.of(
+                            Placeholder.parsed("buy_tiers", buyTiers.getSummary()),
+                            Placeholder.parsed("sell_tiers", sellTiers.getSummary()),
+                            Placeholder.parsed("currency", currency.getName()));
+                    itemStackBuilder.fromItemStackConfig(displayItemConfig, player, null, displayPlaceholders);
 
                     // If an ItemStack was created, create the GUIButton and add it to the GUI.
                     Optional<ItemStack> optionalItemStack = itemStackBuilder.buildItemStack();
                     optionalItemStack.ifPresent(itemStack -> {
+                        // Show the remaining stock if the transaction has limited stock.
+                        stockManager.addStockLore(player, localeManager.getLocale(), itemStack, stockKey);
+
                         GUIButton.Builder guiButtonBuilder = new GUIButton.Builder();
                         guiButtonBuilder.setItemStack(itemStack);
                         guiButtonBuilder.setAction(event -> close());
@@ -403,6 +609,9 @@ public class TransactionGUI extends ChestGUI {
                         continue;
                     }
 
+                    // Selling all matching items pays Vault money at the /sell price, so the button is hidden for transactions in other currencies.
+                    if(!CurrencyManager.isVault(currency.getId())) continue;
+
                     // Get the ItemStackConfig
                     ItemStackConfig itemConfig = buttonConfig.displayItem();
 
@@ -416,14 +625,9 @@ public class TransactionGUI extends ChestGUI {
                         GUIButton.Builder guiButtonBuilder = new GUIButton.Builder();
                         guiButtonBuilder.setItemStack(itemStack);
                         guiButtonBuilder.setAction(event -> {
-                            ItemStackBuilder transactionItemBuilder = new ItemStackBuilder(logger);
-                            transactionItemBuilder.fromItemStackConfig(transactionItemConfig, player, null, List.of());
-                            Optional<ItemStack> optionalTransactionItemStack = transactionItemBuilder.buildItemStack();
-                            if(optionalTransactionItemStack.isEmpty()) return;
-
-                            ItemStack transactionItemStack = optionalTransactionItemStack.get();
+                            if(transactionItemPrototype == null) return;
 
-                            skyShopAPI.sellAllMatchingItemStack(player, transactionItemStack, true);
+                            skyShopAPI.sellAllMatchingItemStack(player, transactionItemPrototype.clone(), true);
                         });
 
                         setButton(buttonConfig.slot(), guiButtonBuilder.build());
@@ -459,7 +663,7 @@ public class TransactionGUI extends ChestGUI {
                             }
 
                             SellAllConfig sellAllGuiConfig = optionalGUIConfig.get();
-                            SellAllGUI sellAllGUI = new SellAllGUI(skyShop, guiManager, sellAllGuiConfig, skyShopAPI, player);
+                            SellAllGUI sellAllGUI = new SellAllGUI(skyShop, guiManager, sellAllManager, sellAllGuiConfig, skyShopAPI, player);
 
                             boolean creationResult = sellAllGUI.create();
                             if(!creationResult) {
@@ -506,12 +710,16 @@ public class TransactionGUI extends ChestGUI {
 
                         // Get the amount to purchase
                         int purchaseAmount = buttonConfig.transactionAmount();
+                        // Hide the button if there isn't enough stock remaining for this amount.
+                        if(!hasStock(purchaseAmount)) continue;
                         // Calculate the buy price
-                        double price = buyPrice * purchaseAmount;
+                        double price = currency.roundCost(buyTiers.getTotal(purchaseAmount));
 
                         // Create the ItemStack placeholders
                         List<TagResolver.Single> itemStackPlaceholders = new ArrayList<>();
                         itemStackPlaceholders.add(Placeholder.parsed("buy_price", String.valueOf(price)));
+                        itemStackPlaceholders.add(Placeholder.parsed("buy_tiers", buyTiers.getSummary()));
+                        itemStackPlaceholders.add(Placeholder.parsed("currency", currency.getName()));
                         itemStackPlaceholders.add(Placeholder.parsed("amount", String.valueOf(purchaseAmount)));
 
                         // Create the ItemStackBuilder and pass the ItemStackConfig.
@@ -552,11 +760,13 @@ public class TransactionGUI extends ChestGUI {
                         // Get the amount to sell
                         int sellAmount = buttonConfig.transactionAmount();
                         // Calculate the sell price
-                        double price = sellPrice * sellAmount;
+                        double price = currency.roundPayout(sellTiers.getTotal(sellAmount));
 
                         // Create the ItemStack placeholders
                         List<TagResolver.Single> itemStackPlaceholders = new ArrayList<>();
                         itemStackPlaceholders.add(Placeholder.parsed("sell_price", String.valueOf(price)));
+                        itemStackPlaceholders.add(Placeholder.parsed("sell_tiers", sellTiers.getSummary()));
+                        itemStackPlaceholders.add(Placeholder.parsed("currency", currency.getName()));
                         itemStackPlaceholders.add(Placeholder.parsed("amount", String.valueOf(sellAmount)));
 
                         // Create the ItemStackBuilder and pass the ItemStackConfig.
@@ -580,6 +790,159 @@ public class TransactionGUI extends ChestGUI {
                     }
                 }
 
+                case QUANTITY -> {
+                    // Check if the slot is not configured and send a warning.
+                    if(buttonConfig.slot() == null) {
+                        logger.warn(AdventureUtil.serialize("Unable to add a button due to a null slot. Button Num: " + buttonNum + " and type: " + buttonType));
+                        continue;
+                    }
+
+                    if(buttonConfig.transactionAmount() == null || buttonConfig.transactionAmount() == 0) {
+                        logger.warn(AdventureUtil.serialize("Unable to add a quantity button due to an invalid transaction amount."));
+                        continue;
+                    }
+
+                    // Get the amount to change the selected quantity by
+                    int step = buttonConfig.transactionAmount();
+
+                    // Create the ItemStack placeholders
+                    List<TagResolver.Single> itemStackPlaceholders = new ArrayList<>();
+                    itemStackPlaceholders.add(Placeholder.parsed("amount", String.valueOf(Math.abs(step))));
+                    itemStackPlaceholders.add(Placeholder.parsed("selected_amount", String.valueOf(selectedAmount)));
+
+                    // Create the ItemStackBuilder and pass the ItemStackConfig.
+                    ItemStackBuilder itemStackBuilder = new ItemStackBuilder(logger);
+                    itemStackBuilder.fromItemStackConfig(buttonConfig.displayItem(), player, null, itemStackPlaceholders);
+
+                    // If an ItemStack was created, create the GUIButton and add it to the GUI.
+                    Optional<ItemStack> optionalItemStack = itemStackBuilder.buildItemStack();
+                    optionalItemStack.ifPresent(itemStack -> {
+                        GUIButton.Builder guiButtonBuilder = new GUIButton.Builder();
+                        guiButtonBuilder.setItemStack(itemStack);
+                        guiButtonBuilder.setAction(event -> {
+                            selectedAmount = Math.clamp((long) selectedAmount + step, 1, MAX_QUANTITY);
+                            update();
+                        });
+
+                        setButton(buttonConfig.slot(), guiButtonBuilder.build());
+                    });
+                }
+
+                case BUY_SELECTED -> {
+                    // Check if the slot is not configured and send a warning.
+                    if(buttonConfig.slot() == null) {
+                        logger.warn(AdventureUtil.serialize("Unable to add a button due to a null slot. Button Num: " + buttonNum + " and type: " + buttonType));
+                        continue;
+                    }
+
+                    if(buyPrice != null && buyPrice > 0.0) {
+                        // Calculate the buy price of the selected quantity
+                        int purchaseAmount = selectedAmount;
+                        // Hide the button if there isn't enough stock remaining for the selected quantity.
+                        if(!hasStock(purchaseAmount)) continue;
+                        double price = currency.roundCost(buyTiers.getTotal(purchaseAmount));
+
+                        // Create the ItemStack placeholders
+                        List<TagResolver.Single> itemStackPlaceholders = new ArrayList<>();
+                        itemStackPlaceholders.add(Placeholder.parsed("buy_price", String.valueOf(price)));
+                        itemStackPlaceholders.add(Placeholder.parsed("buy_tiers", buyTiers.getSummary()));
+                        itemStackPlaceholders.add(Placeholder.parsed("currency", currency.getName()));
+                        itemStackPlaceholders.add(Placeholder.parsed("amount", String.valueOf(purchaseAmount)));
+
+                        // Create the ItemStackBuilder and pass the ItemStackConfig.
+                        ItemStackBuilder itemStackBuilder = new ItemStackBuilder(logger);
+                        itemStackBuilder.fromItemStackConfig(buttonConfig.displayItem(), player, null, itemStackPlaceholders);
+
+                        // If an ItemStack was created, create the GUIButton and add it to the GUI.
+                        Optional<ItemStack> optionalItemStack = itemStackBuilder.buildItemStack();
+                        optionalItemStack.ifPresent(itemStack -> {
+                            GUIButton.Builder guiButtonBuilder = new GUIButton.Builder();
+                            guiButtonBuilder.setItemStack(itemStack);
+
+                            if(transactionType.equals(TransactionType.ITEM)) {
+                                guiButtonBuilder.setAction(inventoryClickEvent -> buyItem(purchaseAmount, price));
+                            } else if(transactionType.equals(TransactionType.COMMAND)) {
+                                guiButtonBuilder.setAction(inventoryClickEvent -> buyCommand(purchaseAmount, price));
+                            }
+
+                            setButton(buttonConfig.slot(), guiButtonBuilder.build());
+                        });
+                    }
+                }
+
+                case SELL_SELECTED -> {
+                    // Check if the slot is not configured and send a warning.
+                    if(buttonConfig.slot() == null) {
+                        logger.warn(AdventureUtil.serialize("Unable to add a button due to a null slot. Button Num: " + buttonNum + " and type: " + buttonType));
+                        continue;
+                    }
+
+                    if(sellPrice != null && sellPrice > 0.0) {
+                        // Calculate the sell price of the selected quantity
+                        int sellAmount = selectedAmount;
+                        double price = currency.roundPayout(sellTiers.getTotal(sellAmount));
+
+                        // Create the ItemStack placeholders
+                        List<TagResolver.Single> itemStackPlaceholders = new ArrayList<>();
+                        itemStackPlaceholders.add(Placeholder.parsed("sell_price", String.valueOf(price)));
+                        itemStackPlaceholders.add(Placeholder.parsed("sell_tiers", sellTiers.getSummary()));
+                        itemStackPlaceholders.add(Placeholder.parsed("currency", currency.getName()));
+                        itemStackPlaceholders.add(Placeholder.parsed("amount", String.valueOf(sellAmount)));
+
+                        // Create the ItemStackBuilder and pass the ItemStackConfig.
+                        ItemStackBuilder itemStackBuilder = new ItemStackBuilder(logger);
+                        itemStackBuilder.fromItemStackConfig(buttonConfig.displayItem(), player, null, itemStackPlaceholders);
+
+                        // If an ItemStack was created, create the GUIButton and add it to the GUI.
+                        Optional<ItemStack> optionalItemStack = itemStackBuilder.buildItemStack();
+                        optionalItemStack.ifPresent(itemStack -> {
+                            GUIButton.Builder guiButtonBuilder = new GUIButton.Builder();
+                            guiButtonBuilder.setItemStack(itemStack);
+
+                            if(transactionType.equals(TransactionType.ITEM)) {
+                                guiButtonBuilder.setAction(inventoryClickEvent -> sellItem(sellAmount, price));
+                            } else if(transactionType.equals(TransactionType.COMMAND)) {
+                                guiButtonBuilder.setAction(inventoryClickEvent -> sellCommand(sellAmount, price));
+                            }
+
+                            setButton(buttonConfig.slot(), guiButtonBuilder.build());
+                        });
+                    }
+                }
+
+                case BUY_MAX -> {
+                    // Check if the slot is not configured and send a warning.
+                    if(buttonConfig.slot() == null) {
+                        logger.warn(AdventureUtil.serialize("Unable to add a button due to a null slot. Button Num: " + buttonNum + " and type: " + buttonType));
+                        continue;
+                    }
+
+                    if(buyPrice != null && buyPrice > 0.0) {
+                        // Hide the button if the transaction is sold out.
+                        if(!hasStock(1)) continue;
+
+                        // Create the ItemStack placeholders
+                        List<TagResolver.Single> itemStackPlaceholders = new ArrayList<>();
+                        itemStackPlaceholders.add(Placeholder.parsed("buy_price", String.valueOf(buyTiers.getBasePrice())));
+                        itemStackPlaceholders.add(Placeholder.parsed("buy_tiers", buyTiers.getSummary()));
+                        itemStackPlaceholders.add(Placeholder.parsed("currency", currency.getName()));
+
+                        // Create the ItemStackBuilder and pass the ItemStackConfig.
+                        ItemStackBuilder itemStackBuilder = new ItemStackBuilder(logger);
+                        itemStackBuilder.fromItemStackConfig(buttonConfig.displayItem(), player, null, itemStackPlaceholders);
+
+                        // If an ItemStack was created, create the GUIButton and add it to the GUI.
+                        Optional<ItemStack> optionalItemStack = itemStackBuilder.buildItemStack();
+                        optionalItemStack.ifPresent(itemStack -> {
+                            GUIButton.Builder guiButtonBuilder = new GUIButton.Builder();
+                            guiButtonBuilder.setItemStack(itemStack);
+                            guiButtonBuilder.setAction(inventoryClickEvent -> buyMax());
+
+                            setButton(buttonConfig.slot(), guiButtonBuilder.build());
+                        });
+                    }
+                }
+
                 case DUMMY -> {
                     // Check if the slot is not configured and send a warning.
                     if(buttonConfig.slot() == null) {
@@ -611,6 +974,15 @@ public class TransactionGUI extends ChestGUI {
         return super.update();
     }
 
+    /**
+     * Check if there is enough stock remaining for a purchase. Transactions without limited stock always have enough.
+     * @param amount The amount being purchased.
+     * @return true if there is enough stock remaining, otherwise false.
+     */
+    private boolean hasStock(int amount) {
+        return stockManager.getRemaining(stockKey).map(remaining -> remaining >= amount).orElse(true);
+    }
+
     /**
      * Re-open the ShopGUI if the reason the inventory closed was not OPEN_NEW or UNLOADED.
      * @param inventoryCloseEvent InventoryCloseEvent
@@ -637,131 +1009,308 @@ public class TransactionGUI extends ChestGUI {
     public void handleGlobalClick(@NotNull InventoryClickEvent inventoryClickEvent) {}
 
     /**
-     * This method contains the logic to purchase an item.
-     * @param amount The amount being purchased.
-     * @param price The price of the item being purchased.
+     * Check if the player's data has finished loading. If it hasn't, the player is sent a message and the transaction should fail.
+     * Transactions never wait for the data to load from the database.
+     * @return true if the player's data is loaded, otherwise false.
      */
-    private void buyItem(int amount, double price) {
+    private boolean isPlayerDataLoaded() {
+        if(playerDataManager.isLoaded(uuid)) return true;
+
+        Locale locale = localeManager.getLocale();
+        player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.playerDataNotLoaded()));
+        return false;
+    }
+
+    /**
+     * Check if the transaction's {@link Currency} is available. If it isn't, i.e., the economy's circuit breaker is open, the player is sent a message and the transaction should fail.
+     * Transactions never wait on an economy that is slow or failing.
+     * @return true if the currency is available, otherwise false.
+     */
+    private boolean isEconomyAvailable() {
+        if(currency.isAvailable()) return true;
+
         Locale locale = localeManager.getLocale();
+        player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.economyUnavailable()));
+        return false;
+    }
 
-        // If the player doesn't have enough money, cancel the purchase.
-        if(skyShop.getEconomy().getBalance(player) < price) {
+    /**
+     * Get the amount the player can still buy under their buy limit.
+     * ITEM transactions are limited by item type and COMMAND transactions by transaction name.
+     * @return The remaining amount, or {@link Integer#MAX_VALUE} if there is no buy limit.
+     */
+    private int getRemainingBuys() {
+        if(transactionType.equals(TransactionType.ITEM)) {
+            ItemType itemType = transactionItemPrototype != null ? transactionItemPrototype.getType().asItemType() : null;
+            return itemType != null ? playerLimitManager.getRemainingBuys(uuid, itemType) : Integer.MAX_VALUE;
+        }
+
+        return playerLimitManager.getRemainingBuys(uuid, transactionName);
+    }
+
+    /**
+     * Check if an amount fits inside the remaining amount of one of the player's limits.
+     * If it doesn't, the player is sent the limit reached message.
+     * @param remaining The remaining amount of the limit.
+     * @param amount The amount being bought or sold.
+     * @return true if the amount fits inside the limit, otherwise false.
+     */
+    private boolean isWithinLimit(int remaining, int amount) {
+        if(amount <= remaining) return true;
+
+        Locale locale = localeManager.getLocale();
+        List<TagResolver.Single> placeholders = List.of(Placeholder.parsed("remaining", String.valueOf(remaining)));
+        player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.limitReached(), placeholders));
+        return false;
+    }
+
+    /**
+     * This method buys the maximum amount the player can afford in a single transaction.
+     * For ITEM transactions, the amount is also capped to the free space inside the player's inventory.
+     */
+    private void buyMax() {
+        if(buyPrice == null || buyPrice <= 0.0) return;
+        if(transactionPending || !isPlayerDataLoaded() || !isEconomyAvailable()) return;
+
+        // Get the player's balance of the transaction's currency, then continue on the main thread.
+        EconomyManager economyManager = skyShop.getEconomyManager();
+        transactionPending = true;
+        economyManager.runOnMain(currency.getBalance(player), balance -> {
+            transactionPending = false;
+            buyMax(balance);
+        });
+    }
+
+    /**
+     * This method buys the maximum amount the player can afford with the given balance.
+     * @param balance The player's balance.
+     */
+    private void buyMax(double balance) {
+        if(buyPrice == null || buyPrice <= 0.0) return;
+        Locale locale = localeManager.getLocale();
+
+        // Calculate the amount the player can afford from their balance.
+        int amount = Math.min(MAX_QUANTITY, buyTiers.getMaxAffordable(balance));
+        // Floating point division and rounding to whole amounts can round up, so make sure the total is still affordable.
+        while(amount > 0 && currency.roundCost(buyTiers.getTotal(amount)) > balance) amount--;
+
+        if(amount <= 0) {
             player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.insufficientFunds()));
-            close();
+            if(isOpen) close();
+            return;
+        }
+
+        // Cap the amount to the player's buy limit.
+        int remainingBuys = getRemainingBuys();
+        if(!isWithinLimit(remainingBuys, 1)) return;
+        amount = Math.min(amount, remainingBuys);
+
+        // Cap the amount to the remaining stock.
+        amount = Math.min(amount, stockManager.getRemaining(stockKey).orElse(Integer.MAX_VALUE));
+        if(amount <= 0) {
+            player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.outOfStock()));
+            if(isOpen) update();
             return;
         }
 
-        // Create the ItemStack that will be given to the player on successful purchase.
-        ItemStackBuilder itemStackBuilder = new ItemStackBuilder(logger);
-        itemStackBuilder.fromItemStackConfig(transactionItemConfig, player, null, List.of());
-        Optional<ItemStack> optionalItemStack = itemStackBuilder.buildItemStack();
-        if(optionalItemStack.isPresent()) {
-            ItemStack buyItem = optionalItemStack.get();
+        if(transactionType.equals(TransactionType.ITEM)) {
+            if(transactionItemPrototype == null) return;
+
+            // Cap the amount to what fits inside the player's inventory.
+            amount = Math.min(amount, InventoryUtil.getFreeCapacity(player.getInventory(), transactionItemPrototype));
+            if(amount <= 0) {
+                player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.inventoryFull()));
+                if(isOpen) close();
+                return;
+            }
+
+            buyItem(amount, currency.roundCost(buyTiers.getTotal(amount)));
+        } else if(transactionType.equals(TransactionType.COMMAND)) {
+            buyCommand(amount, currency.roundCost(buyTiers.getTotal(amount)));
+        }
+    }
+
+    /**
+     * This method contains the logic to purchase an item.
+     * The purchase is checked and the stock reserved first, then the price is withdrawn from the transaction's {@link Currency}.
+     * The item is only given to the player once the withdrawal succeeds.
+     * @param amount The amount being purchased.
+     * @param price The price of the item being purchased.
+     */
+    private void buyItem(int amount, double price) {
+        if(transactionPending || !isPlayerDataLoaded() || !isEconomyAvailable()) return;
+        Locale locale = localeManager.getLocale();
+
+        // Clone the ItemStack that will be given to the player on successful purchase.
+        if(transactionItemPrototype != null) {
+            ItemStack buyItem = transactionItemPrototype.clone();
             buyItem.setAmount(amount);
             ItemType itemType = buyItem.getType().asItemType();
             if(itemType == null) return; // This should never be null, but just in-case return if such a case occurs.
 
+            // If the purchase doesn't fit inside the player's inventory, cancel the purchase instead of dropping the rest.
+            if(InventoryUtil.getFreeCapacity(player.getInventory(), buyItem) < amount) {
+                player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.inventoryFull()));
+                close();
+                return;
+            }
+
+            // If the purchase would go over the player's buy limit, cancel the purchase.
+            if(!isWithinLimit(playerLimitManager.getRemainingBuys(uuid, itemType), amount)) return;
+
+            // Reserve the stock for this purchase. This fails if other players bought the remaining stock first.
+            if(!stockManager.tryReserve(stockKey, amount)) {
+                player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.outOfStock()));
+                update();
+                return;
+            }
+
             // Create and call the ItemPurchasedEvent
             ItemPurchasedEvent itemPurchasedEvent = new ItemPurchasedEvent(buyItem);
             skyShop.getServer().getPluginManager().callEvent(itemPurchasedEvent);
 
-            // If the event was cancelled, cancel the purchase.
-            if(itemPurchasedEvent.isCancelled()) return;
+            // If the event was cancelled, release the reserved stock and cancel the purchase.
+            if(itemPurchasedEvent.isCancelled()) {
+                stockManager.release(stockKey, amount);
+                return;
+            }
 
-            // Remove the price from the player's balance.
-            skyShop.getEconomy().withdrawPlayer(player, price);
+            // Remove the price from the player's balance, then finish the purchase on the main thread.
+            EconomyManager economyManager = skyShop.getEconomyManager();
+            TieredPrice purchaseTiers = buyTiers;
+            transactionPending = true;
+            economyManager.runOnMain(currency.withdraw(player, price), result -> {
+                transactionPending = false;
+
+                // If the player didn't have enough money, release the reserved stock and cancel the purchase.
+                if(!result.success()) {
+                    stockManager.release(stockKey, amount);
+                    sendWithdrawFailed(result, price);
+                    return;
+                }
 
-            // Give the player the ItemStack they purchased.
-            PlayerUtil.giveItem(player.getInventory(), buyItem, amount, player.getLocation());
+                // The inventory may have filled up while the withdrawal ran. Only give what still fits, and release the stock and refund the price of the rest.
+                int givenAmount = Math.min(amount, InventoryUtil.getFreeCapacity(player.getInventory(), buyItem));
+                double chargedPrice = givenAmount > 0 ? Math.min(price, currency.roundCost(purchaseTiers.getTotal(givenAmount))) : 0.0;
+                if(givenAmount < amount) {
+                    stockManager.release(stockKey, amount - givenAmount);
+                    refundWithdrawal(price - chargedPrice);
+                    player.sendMessage(AdventureUtil.serialize(player, localeManager.getLocale().prefix() + localeManager.getLocale().inventoryFull()));
+                }
 
-            // Create the DecimalFormat that will be used to format the price and player's balance
-            DecimalFormat df = new DecimalFormat("#.##");
-            df.setRoundingMode(RoundingMode.CEILING);
+                if(givenAmount <= 0) {
+                    if(isOpen) close();
+                    return;
+                }
 
-            // Format the price
-            BigDecimal bigPrice = BigDecimal.valueOf(price);
-            String formattedPrice = df.format(bigPrice);
+                // Give the player the ItemStack they purchased.
+                PlayerUtil.giveItem(player.getInventory(), buyItem, givenAmount, player.getLocation());
 
-            // Format the player's balance
-            BigDecimal bigBalance = BigDecimal.valueOf(skyShop.getEconomy().getBalance(player));
-            String bal = df.format(bigBalance);
+                // Count the purchase towards the player's buy limit.
+                playerLimitManager.recordBuy(uuid, itemType, givenAmount);
 
-            // Create the necessary placeholders
-            List<TagResolver.Single> successPlaceholders = new ArrayList<>();
-            successPlaceholders.add(Placeholder.parsed("amount", String.valueOf(amount)));
-            successPlaceholders.add(Placeholder.parsed("transaction_name", transactionName));
-            successPlaceholders.add(Placeholder.parsed("price", formattedPrice));
-            successPlaceholders.add(Placeholder.parsed("bal", bal));
+                // Send the message that the transaction was a success
+                sendSuccess(localeManager.getLocale().buyItemSuccess(), givenAmount, chargedPrice, result.balance() + (price - chargedPrice));
 
-            // Send the message that the transaction was a success
-            player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.buyItemSuccess(), successPlaceholders));
+                // Increment stats if statsManager is not null
+                if(statsManager != null) statsManager.incrementAmountPurchased(itemType, givenAmount);
 
-            // Increment stats if statsManager is not null
-            if(statsManager != null) statsManager.incrementAmountPurchased(itemType, amount);
+                // Re-render the GUI so the remaining stock is up to date.
+                if(isOpen && stockManager.isLimited(stockKey)) update();
+            });
         } else {
             logger.warn(AdventureUtil.serialize("An item failed to be purchased as the ItemStack failed to be created."));
         }
     }
 
+    /**
+     * Give back part of a withdrawn price, i.e., for the items of a purchase that no longer fit inside the player's inventory.
+     * Vault refunds are retried until they are paid, like sale payouts.
+     * @param refund The amount to give back.
+     */
+    private void refundWithdrawal(double refund) {
+        if(refund <= 0.0) return;
+
+        boolean vault = CurrencyManager.isVault(currency.getId());
+        CompletableFuture<EconomyResult> refundFuture = vault ? skyShop.getPendingCreditManager().depositOwed(player, refund) : currency.deposit(player, refund);
+        skyShop.getEconomyManager().runOnMain(refundFuture, result -> {
+            if(result.success()) return;
+
+            logger.warn(AdventureUtil.serialize("Failed to refund <yellow>" + refund + "</yellow> to " + player.getName() + " for a purchase that didn't fit inside their inventory: " + result.errorMessage()));
+            if(vault) {
+                DecimalFormat df = new DecimalFormat("#.##");
+                df.setRoundingMode(RoundingMode.CEILING);
+
+                player.sendMessage(AdventureUtil.serialize(player, localeManager.getLocale().prefix() + localeManager.getLocale().refundDelayed(), List.of(Placeholder.parsed("price", df.format(BigDecimal.valueOf(refund))))));
+            } else {
+                player.sendMessage(AdventureUtil.serialize(player, localeManager.getLocale().prefix() + getFailedMessage(result)));
+            }
+        });
+    }
+
     /**
      * This method contains the logic to sell an item.
+     * The items are removed and the sale is recorded first, then the price is deposited into the transaction's {@link Currency}.
+     * If the deposit fails, the items are given back to the player.
+     * Sales don't wait for the previous deposit to settle, so quick sales can be paid with a single coalesced deposit.
      * @param amount The amount being sold.
      * @param price The price of the item being sold.
      */
     private void sellItem(int amount, double price) {
+        if(!isPlayerDataLoaded() || !isEconomyAvailable()) return;
         Locale locale = localeManager.getLocale();
 
-        // Create the ItemStack that will be taken from the player if they have enough of said ItemStack.
-        ItemStackBuilder itemStackBuilder = new ItemStackBuilder(logger);
-        itemStackBuilder.fromItemStackConfig(transactionItemConfig, player, null, List.of());
-        Optional<ItemStack> optionalItemStack = itemStackBuilder.buildItemStack();
-        if(optionalItemStack.isPresent()) {
-            ItemStack sellItem = optionalItemStack.get();
+        // Clone the ItemStack that will be taken from the player if they have enough of said ItemStack.
+        if(transactionItemPrototype != null) {
+            ItemStack sellItem = transactionItemPrototype.clone();
             sellItem.setAmount(amount);
             ItemType itemType = sellItem.getType().asItemType();
             if(itemType == null) return; // This should never be null, but just in-case return if such a case occurs.
 
-            if(!player.getInventory().containsAtLeast(sellItem, amount)) {
-                player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.notEnoughItems()));
-                close();
-                return;
-            }
+            // If the sale would go over the player's sell limit, cancel the sale.
+            if(!isWithinLimit(playerLimitManager.getRemainingSells(uuid, itemType), amount)) return;
 
-            // Create and call the ItemSoldEvent
+            // Create and call the ItemSoldEvent before the inventory is searched, so listeners can't change it between finding and removing the items.
             ItemSoldEvent itemSoldEvent = new ItemSoldEvent(sellItem);
             skyShop.getServer().getPluginManager().callEvent(itemSoldEvent);
 
             // If the event was cancelled, cancel the purchase.
             if(itemSoldEvent.isCancelled()) return;
 
-            // Remove the sold item from the player's inventory.
-            player.getInventory().removeItem(sellItem);
-            // Deposit the value of the item to the player's balance.
-            skyShop.getEconomy().depositPlayer(player, price);
-
-            // Create the DecimalFormat that will be used to format the price and player's balance
-            DecimalFormat df = new DecimalFormat("#.##");
-            df.setRoundingMode(RoundingMode.CEILING);
-
-            // Format the price
-            BigDecimal bigPrice = BigDecimal.valueOf(price);
-            String formattedPrice = df.format(bigPrice);
+            // Find the matching stacks in one sweep. These slots are the only ones touched when removing the items.
+            int[] matchingSlots = InventoryUtil.findSimilar(player.getInventory(), sellItem, amount);
+            if(matchingSlots == null) {
+                player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.notEnoughItems()));
+                close();
+                return;
+            }
 
-            // Format the player's balance
-            BigDecimal bigBalance = BigDecimal.valueOf(skyShop.getEconomy().getBalance(player));
-            String bal = df.format(bigBalance);
+            // Remove the sold item from the player's inventory. Nothing is removed if the slots no longer hold the full amount.
+            if(!InventoryUtil.removeFromSlots(player.getInventory(), matchingSlots, sellItem, amount)) {
+                player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.notEnoughItems()));
+                close();
+                return;
+            }
 
-            // Create the necessary placeholders
-            List<TagResolver.Single> successPlaceholders = new ArrayList<>();
-            successPlaceholders.add(Placeholder.parsed("amount", String.valueOf(amount)));
-            successPlaceholders.add(Placeholder.parsed("transaction_name", transactionName));
-            successPlaceholders.add(Placeholder.parsed("price", formattedPrice));
-            successPlaceholders.add(Placeholder.parsed("bal", bal));
+            // Count the sale towards the player's sell limit before the deposit settles, so quick sales can't go over it.
+            playerLimitManager.recordSell(uuid, itemType, amount);
+
+            // Deposit the value of the item to the player's balance, then finish the sale on the main thread.
+            EconomyManager economyManager = skyShop.getEconomyManager();
+            economyManager.runOnMain(currency.deposit(player, price), result -> {
+                // If the deposit failed, give the player their items back and release their sell limit.
+                if(!result.success()) {
+                    PlayerUtil.giveItem(player.getInventory(), sellItem, amount, player.getLocation());
+                    playerLimitManager.releaseSell(uuid, itemType, amount);
+                    player.sendMessage(AdventureUtil.serialize(player, localeManager.getLocale().prefix() + getFailedMessage(result)));
+                    return;
+                }
 
-            player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.sellItemSuccess(), successPlaceholders));
+                sendSuccess(localeManager.getLocale().sellItemSuccess(), amount, price, result.balance());
 
-            // Increment stats if statsManager is not null
-            if(statsManager != null) statsManager.incrementAmountSold(itemType, amount);
+                // Increment stats if statsManager is not null
+                if(statsManager != null) statsManager.incrementAmountSold(itemType, amount);
+            });
         } else {
             logger.warn(AdventureUtil.serialize("An item failed to be sold as the ItemStack failed to be created."));
         }
@@ -769,16 +1318,21 @@ public class TransactionGUI extends ChestGUI {
 
     /**
      * This method contains the logic to purchase a command.
+     * The commands are only queued once the price was withdrawn from the transaction's {@link Currency}.
      * @param amount The amount being purchased.
      * @param price The price of the item being purchased.
      */
     private void buyCommand(int amount, double price) {
+        if(transactionPending || !isPlayerDataLoaded() || !isEconomyAvailable()) return;
         Locale locale = localeManager.getLocale();
 
-        // If the player doesn't have enough money, cancel the purchase.
-        if(skyShop.getEconomy().getBalance(player) < price) {
-            player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.insufficientFunds()));
-            close();
+        // If the purchase would go over the player's buy limit, cancel the purchase.
+        if(!isWithinLimit(playerLimitManager.getRemainingBuys(uuid, transactionName), amount)) return;
+
+        // Reserve the stock for this purchase. This fails if other players bought the remaining stock first.
+        if(!stockManager.tryReserve(stockKey, amount)) {
+            player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.outOfStock()));
+            update();
             return;
         }
 
@@ -786,51 +1340,50 @@ public class TransactionGUI extends ChestGUI {
         CommandPurchasedEvent commandPurchasedEvent = new CommandPurchasedEvent(buyCommands);
         skyShop.getServer().getPluginManager().callEvent(commandPurchasedEvent);
 
-        // If the event was cancelled, cancel the purchase.
-        if(commandPurchasedEvent.isCancelled()) return;
+        // If the event was cancelled, release the reserved stock and cancel the purchase.
+        if(commandPurchasedEvent.isCancelled()) {
+            stockManager.release(stockKey, amount);
+            return;
+        }
 
-        // Remove the price from the player's balance.
-        skyShop.getEconomy().withdrawPlayer(player, price);
+        // Remove the price from the player's balance, then finish the purchase on the main thread.
+        EconomyManager economyManager = skyShop.getEconomyManager();
+        transactionPending = true;
+        economyManager.runOnMain(currency.withdraw(player, price), result -> {
+            transactionPending = false;
 
-        // Execute the commands for this transaction
-        Server server = skyShop.getServer();
-        ConsoleCommandSender commandSender = server.getConsoleSender();
-        for(String command : buyCommands) {
-            for(int i = 1; i <= amount; i++) {
-                server.dispatchCommand(commandSender, PlaceholderAPIUtil.parsePlaceholders(player, command));
+            // If the player didn't have enough money, release the reserved stock and cancel the purchase.
+            if(!result.success()) {
+                stockManager.release(stockKey, amount);
+                sendWithdrawFailed(result, price);
+                return;
             }
-        }
-
-        // Create the DecimalFormat that will be used to format the price and player's balance
-        DecimalFormat df = new DecimalFormat("#.##");
-        df.setRoundingMode(RoundingMode.CEILING);
 
-        // Format the price
-        BigDecimal bigPrice = BigDecimal.valueOf(price);
-        String formattedPrice = df.format(bigPrice);
+            // Execute the commands for this transaction
+            commandQueueManager.queueCommands(player, buyCommands, amount);
 
-        // Format the player's balance
-        BigDecimal bigBalance = BigDecimal.valueOf(skyShop.getEconomy().getBalance(player));
-        String bal = df.format(bigBalance);
+            // Count the purchase towards the player's buy limit.
+            playerLimitManager.recordBuy(uuid, transactionName, amount);
 
-        // Create the necessary placeholders
-        List<TagResolver.Single> successPlaceholders = new ArrayList<>();
-        successPlaceholders.add(Placeholder.parsed("amount", String.valueOf(amount)));
-        successPlaceholders.add(Placeholder.parsed("transaction_name", transactionName));
-        successPlaceholders.add(Placeholder.parsed("price", formattedPrice));
-        successPlaceholders.add(Placeholder.parsed("bal", bal));
+            // Send the message that the transaction was a success
+            sendSuccess(localeManager.getLocale().buyCommandSuccess(), amount, price, result.balance());
 
-        // Send the message that the transaction was a success
-        player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.buyCommandSuccess(), successPlaceholders));
+            // Re-render the GUI so the remaining stock is up to date.
+            if(isOpen && stockManager.isLimited(stockKey)) update();
+        });
     }
 
     /**
-     * This method contains the logic to purchase a command.
+     * This method contains the logic to sell a command.
+     * The sale is recorded first, and the commands are only queued once the price was deposited into the transaction's {@link Currency}.
      * @param amount The amount being purchased.
      * @param price The price of the item being purchased.
      */
     private void sellCommand(int amount, double price) {
-        Locale locale = localeManager.getLocale();
+        if(!isPlayerDataLoaded() || !isEconomyAvailable()) return;
+
+        // If the sale would go over the player's sell limit, cancel the sale.
+        if(!isWithinLimit(playerLimitManager.getRemainingSells(uuid, transactionName), amount)) return;
 
         // Create and call the CommandSoldEvent
         CommandSoldEvent commandSoldEvent = new CommandSoldEvent(sellCommands);
@@ -839,17 +1392,36 @@ public class TransactionGUI extends ChestGUI {
         // If the event was cancelled, cancel the transaction.
         if(commandSoldEvent.isCancelled()) return;
 
-        // Deposit the price into the player's balance.
-        skyShop.getEconomy().depositPlayer(player, price);
+        // Count the sale towards the player's sell limit before the deposit settles, so quick sales can't go over it.
+        playerLimitManager.recordSell(uuid, transactionName, amount);
 
-        // Execute the commands for this transaction
-        Server server = skyShop.getServer();
-        ConsoleCommandSender commandSender = skyShop.getServer().getConsoleSender();
-        for(String command : sellCommands) {
-            for(int i = 1; i <= amount; i++) {
-                server.dispatchCommand(commandSender, PlaceholderAPIUtil.parsePlaceholders(player, command));
+        // Deposit the price into the player's balance, then finish the sale on the main thread.
+        EconomyManager economyManager = skyShop.getEconomyManager();
+        economyManager.runOnMain(currency.deposit(player, price), result -> {
+            // If the deposit failed, release the player's sell limit.
+            if(!result.success()) {
+                playerLimitManager.releaseSell(uuid, transactionName, amount);
+                player.sendMessage(AdventureUtil.serialize(player, localeManager.getLocale().prefix() + getFailedMessage(result)));
+                return;
             }
-        }
+
+            // Execute the commands for this transaction
+            commandQueueManager.queueCommands(player, sellCommands, amount);
+
+            // Send the message that the transaction was a success
+            sendSuccess(localeManager.getLocale().sellCommandSuccess(), amount, price, result.balance());
+        });
+    }
+
+    /**
+     * Send a transaction success message to the player.
+     * @param message The locale message to send. Supports the amount, transaction_name, price, currency, and bal placeholders.
+     * @param amount The amount bought or sold.
+     * @param price The price of the transaction.
+     * @param balance The player's balance after the transaction.
+     */
+    private void sendSuccess(@NotNull String message, int amount, double price, double balance) {
+        Locale locale = localeManager.getLocale();
 
         // Create the DecimalFormat that will be used to format the price and player's balance
         DecimalFormat df = new DecimalFormat("#.##");
@@ -860,7 +1432,7 @@ public class TransactionGUI extends ChestGUI {
         String formattedPrice = df.format(bigPrice);
 
         // Format the player's balance
-        BigDecimal bigBalance = BigDecimal.valueOf(skyShop.getEconomy().getBalance(player));
+        BigDecimal bigBalance = BigDecimal.valueOf(balance);
         String bal = df.format(bigBalance);
 
         // Create the necessary placeholders
@@ -868,9 +1440,34 @@ public class TransactionGUI extends ChestGUI {
         successPlaceholders.add(Placeholder.parsed("amount", String.valueOf(amount)));
         successPlaceholders.add(Placeholder.parsed("transaction_name", transactionName));
         successPlaceholders.add(Placeholder.parsed("price", formattedPrice));
+        successPlaceholders.add(Placeholder.parsed("currency", currency.getName()));
         successPlaceholders.add(Placeholder.parsed("bal", bal));
 
-        // Send the message that the transaction was a success
-        player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.sellCommandSuccess(), successPlaceholders));
+        player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + message, successPlaceholders));
+    }
+
+    /**
+     * Get the message for a failed economy call.
+     * @param result The failed {@link EconomyResult}.
+     * @return The economy unavailable message if the call was refused by the circuit breaker, otherwise the transaction failed message.
+     */
+    private @NotNull String getFailedMessage(@NotNull EconomyResult result) {
+        Locale locale = localeManager.getLocale();
+        return result.unavailable() ? locale.economyUnavailable() : locale.transactionFailed();
+    }
+
+    /**
+     * Send the message for a failed withdrawal and close the GUI.
+     * The insufficient funds message is sent if the player couldn't afford the price, otherwise the message from {@link #getFailedMessage(EconomyResult)} is sent.
+     * @param result The {@link EconomyResult} of the withdrawal.
+     * @param price The price of the transaction.
+     */
+    private void sendWithdrawFailed(@NotNull EconomyResult result, double price) {
+        Locale locale = localeManager.getLocale();
+
+        String message = !result.unavailable() && result.balance() < price ? locale.insufficientFunds() : getFailedMessage(result);
+        player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + message));
+
+        if(isOpen) close();
     }
 }
@@ -0,0 +1,64 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.listener;
+
+import com.github.lukesky19.skyshop.manager.AutoSellManager;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This class listens for when a player picks up an item to auto-sell it.
+ */
+public class AutoSellListener implements Listener {
+    private final @NotNull AutoSellManager autoSellManager;
+
+    /**
+     * Constructor
+     * @param autoSellManager An {@link AutoSellManager} instance.
+     */
+    public AutoSellListener(@NotNull AutoSellManager autoSellManager) {
+        this.autoSellManager = autoSellManager;
+    }
+
+    /**
+     * When a player picks up an item, sell it if they have auto-sell enabled.
+     * @param entityPickupItemEvent EntityPickupItemEvent
+     */
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onPickup(EntityPickupItemEvent entityPickupItemEvent) {
+        if(!(entityPickupItemEvent.getEntity() instanceof Player player)) return;
+
+        if(autoSellManager.handlePickup(player, entityPickupItemEvent.getItem())) {
+            entityPickupItemEvent.setCancelled(true);
+        }
+    }
+
+    /**
+     * When a player quits, pay out anything still buffered by auto-sell.
+     * @param playerQuitEvent PlayerQuitEvent
+     */
+    @EventHandler
+    public void onQuit(PlayerQuitEvent playerQuitEvent) {
+        autoSellManager.flush(playerQuitEvent.getPlayer());
+    }
+}
@@ -0,0 +1,77 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.listener;
+
+import com.github.lukesky19.skyshop.manager.EconomyManager;
+import com.github.lukesky19.skyshop.manager.PlayerDataManager;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * This class listens for when a player logs in, joins, or quits to load and save their player data.
+ */
+public class PlayerListener implements Listener {
+    private final @NotNull PlayerDataManager playerDataManager;
+    private final @NotNull EconomyManager economyManager;
+
+    /**
+     * Constructor
+     * @param playerDataManager A {@link PlayerDataManager} instance.
+     * @param economyManager An {@link EconomyManager} instance.
+     */
+    public PlayerListener(@NotNull PlayerDataManager playerDataManager, @NotNull EconomyManager economyManager) {
+        this.playerDataManager = playerDataManager;
+        this.economyManager = economyManager;
+    }
+
+    /**
+     * When a player is logging in, load their player data from the database.
+     * This event is called off the main thread, so waiting for the data to load doesn't block the server.
+     * @param asyncPlayerPreLoginEvent AsyncPlayerPreLoginEvent
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(AsyncPlayerPreLoginEvent asyncPlayerPreLoginEvent) {
+        if(asyncPlayerPreLoginEvent.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+
+        playerDataManager.loadPlayerDataBlocking(asyncPlayerPreLoginEvent.getUniqueId());
+    }
+
+    /**
+     * When a player joins, make sure their player data is loaded or loading in case it was evicted or failed to load during login.
+     * @param playerJoinEvent PlayerJoinEvent
+     */
+    @EventHandler
+    public void onJoin(PlayerJoinEvent playerJoinEvent) {
+        playerDataManager.loadPlayerData(playerJoinEvent.getPlayer().getUniqueId());
+    }
+
+    /**
+     * When a player quits, save their changed player data to the database and forget their cached balance.
+     * @param playerQuitEvent PlayerQuitEvent
+     */
+    @EventHandler
+    public void onQuit(PlayerQuitEvent playerQuitEvent) {
+        playerDataManager.handleQuit(playerQuitEvent.getPlayer().getUniqueId());
+        economyManager.invalidate(playerQuitEvent.getPlayer().getUniqueId());
+    }
+}
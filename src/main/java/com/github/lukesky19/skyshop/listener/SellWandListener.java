@@ -0,0 +1,81 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.listener;
+
+import com.github.lukesky19.skyshop.manager.SellWandManager;
+import com.github.lukesky19.skyshop.util.WandMode;
+import org.bukkit.block.Block;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Optional;
+
+/**
+ * This class listens for when a player clicks a container with a sell wand.
+ */
+public class SellWandListener implements Listener {
+    private final @NotNull SellWandManager sellWandManager;
+
+    /**
+     * Constructor
+     * @param sellWandManager A {@link SellWandManager} instance.
+     */
+    public SellWandListener(@NotNull SellWandManager sellWandManager) {
+        this.sellWandManager = sellWandManager;
+    }
+
+    /**
+     * When a player right-clicks a container with a sell wand, sell its contents instead of opening it.
+     * Clicks where another plugin denied using the block (i.e., a protection plugin) are ignored.
+     * @param playerInteractEvent PlayerInteractEvent
+     */
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onInteract(PlayerInteractEvent playerInteractEvent) {
+        if(playerInteractEvent.getAction() != Action.RIGHT_CLICK_BLOCK) return;
+        if(playerInteractEvent.getHand() != EquipmentSlot.HAND) return;
+        if(playerInteractEvent.useInteractedBlock() == Event.Result.DENY) return;
+
+        Block block = playerInteractEvent.getClickedBlock();
+        ItemStack itemStack = playerInteractEvent.getItem();
+        if(block == null || itemStack == null) return;
+
+        Optional<WandMode> optionalWandMode = sellWandManager.getWandMode(itemStack);
+        if(optionalWandMode.isEmpty()) return;
+
+        if(sellWandManager.useWand(playerInteractEvent.getPlayer(), block, optionalWandMode.get())) {
+            playerInteractEvent.setCancelled(true);
+        }
+    }
+
+    /**
+     * When a player quits, finish their area sell job and pay them for anything already sold.
+     * @param playerQuitEvent PlayerQuitEvent
+     */
+    @EventHandler
+    public void onQuit(PlayerQuitEvent playerQuitEvent) {
+        sellWandManager.finish(playerQuitEvent.getPlayer());
+    }
+}
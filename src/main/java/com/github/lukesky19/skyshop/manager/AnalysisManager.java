@@ -0,0 +1,208 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.manager;
+
+import com.github.lukesky19.skylib.api.adventure.AdventureUtil;
+import com.github.lukesky19.skyshop.SkyShop;
+import com.github.lukesky19.skyshop.data.AnalysisReport;
+import com.github.lukesky19.skyshop.data.ShopEntry;
+import com.github.lukesky19.skyshop.data.ShopIndex;
+import com.github.lukesky19.skyshop.data.gui.ShopConfig;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class analyzes the loaded {@link ShopConfig}s for duplicate definitions, arbitrage, and missing sell prices.
+ * The analysis runs on a worker thread and the latest report is written to SkyShop/reports/shop_analysis.txt.
+ */
+public class AnalysisManager {
+    private final @NotNull SkyShop skyShop;
+    private final @NotNull PriceManager priceManager;
+    private final @NotNull AtomicInteger generation = new AtomicInteger();
+    private volatile @Nullable AnalysisReport latestReport;
+
+    /**
+     * Constructor
+     * @param skyShop A {@link SkyShop} instance.
+     * @param priceManager A {@link PriceManager} instance.
+     */
+    public AnalysisManager(@NotNull SkyShop skyShop, @NotNull PriceManager priceManager) {
+        this.skyShop = skyShop;
+        this.priceManager = priceManager;
+    }
+
+    /**
+     * Get the latest {@link AnalysisReport}.
+     * @return An {@link Optional} containing the latest {@link AnalysisReport}. Will be empty if no analysis has finished yet.
+     */
+    public @NotNull Optional<AnalysisReport> getLatestReport() {
+        return Optional.ofNullable(latestReport);
+    }
+
+    /**
+     * Starts analyzing the provided {@link ShopIndex} on a worker thread.
+     * If another analysis is started before this one finishes, the result of this one is discarded.
+     * @param precedence The shop ids in the order they were loaded.
+     * @param shopIndex The {@link ShopIndex} built from the loaded shops.
+     */
+    public void analyze(@NotNull List<@NotNull String> precedence, @NotNull ShopIndex shopIndex) {
+        int analysisGeneration = generation.incrementAndGet();
+        List<String> precedenceSnapshot = List.copyOf(precedence);
+        // The sell prices are taken on the main thread, before any scheduled sales, so the report doesn't depend on whether a sale is running.
+        double[] sellPrices = priceManager.getBaseSellPrices();
+
+        skyShop.getServer().getScheduler().runTaskAsynchronously(skyShop, () -> {
+            AnalysisReport report = createReport(precedenceSnapshot, shopIndex, sellPrices);
+
+            if(generation.get() != analysisGeneration) return;
+
+            writeReport(report);
+            latestReport = report;
+
+            int issues = report.duplicates().size() + report.arbitrage().size() + report.missingSellPrices().size();
+            if(issues > 0) {
+                skyShop.getComponentLogger().warn(AdventureUtil.serialize("The shop analysis found <yellow>" + issues + "</yellow> potential issues. See <yellow>" + report.file() + "</yellow> for details."));
+            }
+        });
+    }
+
+    /**
+     * Checks each indexed {@link ItemType} for issues.
+     * @param precedence The shop ids in the order they were loaded.
+     * @param shopIndex The {@link ShopIndex} built from the loaded shops.
+     * @param sellPrices The sell prices before scheduled sales, indexed by {@link Material#ordinal()}.
+     * @return The {@link AnalysisReport}.
+     */
+    private @NotNull AnalysisReport createReport(@NotNull List<String> precedence, @NotNull ShopIndex shopIndex, double @NotNull [] sellPrices) {
+        List<String> duplicates = new ArrayList<>();
+        List<String> arbitrage = new ArrayList<>();
+        List<String> missingSellPrices = new ArrayList<>();
+
+        shopIndex.byItemType().forEach((itemType, entries) -> {
+            String itemKey = itemType.getKey().asString();
+
+            // Duplicate definitions
+            if(entries.size() > 1) {
+                String winner = entries.stream().filter(entry -> entry.isSellable() && CurrencyManager.isVault(entry.currency())).reduce((first, second) -> second).map(ShopEntry::location).orElse("none");
+                duplicates.add(itemKey + " is configured in " + entries.size() + " places: " + formatEntries(entries) + ". Cached sell price is taken from: " + winner);
+            }
+
+            // The price paid by /sell and the sellall GUI, which includes the pricing rules.
+            Material material = itemType.asMaterial();
+            double sellPrice = material != null ? sellPrices[material.ordinal()] : Double.NaN;
+            Optional<Double> cachedSellPrice = Double.isNaN(sellPrice) ? Optional.empty() : Optional.of(sellPrice);
+
+            // Prices are only comparable between transactions using the same currency.
+            Map<String, List<ShopEntry>> entriesByCurrency = new LinkedHashMap<>();
+            entries.forEach(entry -> entriesByCurrency.computeIfAbsent(CurrencyManager.isVault(entry.currency()) ? CurrencyManager.VAULT_ID : entry.currency().toLowerCase(Locale.ROOT), key -> new ArrayList<>()).add(entry));
+
+            entriesByCurrency.forEach((currency, currencyEntries) -> {
+                boolean vault = currency.equals(CurrencyManager.VAULT_ID);
+                String currencySuffix = vault ? "" : " " + currency;
+
+                // The cheapest place to buy the item.
+                Optional<ShopEntry> cheapestBuy = currencyEntries.stream().filter(ShopEntry::isBuyable).min(Comparator.comparingDouble(ShopEntry::buyPrice));
+                // The most profitable place to sell the item in a shop.
+                Optional<ShopEntry> bestSell = currencyEntries.stream().filter(ShopEntry::isSellable).max(Comparator.comparingDouble(ShopEntry::sellPrice));
+
+                if(cheapestBuy.isEmpty()) return;
+                ShopEntry buyEntry = cheapestBuy.get();
+                double buyPrice = Objects.requireNonNull(buyEntry.buyPrice());
+
+                if(bestSell.isPresent() && Objects.requireNonNull(bestSell.get().sellPrice()) >= buyPrice) {
+                    arbitrage.add(itemKey + " can be bought for " + buyPrice + currencySuffix + " at " + buyEntry.location() + " and sold for " + bestSell.get().sellPrice() + currencySuffix + " at " + bestSell.get().location());
+                } else if(vault && cachedSellPrice.isPresent() && cachedSellPrice.get() >= buyPrice) {
+                    arbitrage.add(itemKey + " can be bought for " + buyPrice + " at " + buyEntry.location() + " and sold for " + cachedSellPrice.get() + " using /sell or the sellall GUI");
+                }
+            });
+
+            if(entries.stream().anyMatch(ShopEntry::isBuyable) && entries.stream().noneMatch(ShopEntry::isSellable) && cachedSellPrice.isEmpty()) {
+                missingSellPrices.add(itemKey + " can be bought at " + formatEntries(entries.stream().filter(ShopEntry::isBuyable).toList()) + " but can not be sold anywhere");
+            }
+        });
+
+        Path file = Path.of(skyShop.getDataFolder() + File.separator + "reports" + File.separator + "shop_analysis.txt");
+
+        return new AnalysisReport(precedence, duplicates, arbitrage, missingSellPrices, file);
+    }
+
+    /**
+     * Writes the {@link AnalysisReport} to its file.
+     * @param report The {@link AnalysisReport} to write.
+     */
+    private void writeReport(@NotNull AnalysisReport report) {
+        List<String> lines = new ArrayList<>();
+        lines.add("SkyShop shop analysis - " + LocalDateTime.now());
+        lines.add("");
+        lines.add("Precedence order (shops in SkyShop/shops sorted by path, then imported shops sorted by file name).");
+        lines.add("When several shops configure a sell price for the same item, the last shop in this list is used by /sell and the sellall GUI:");
+        for(int i = 0; i < report.precedence().size(); i++) {
+            lines.add("  " + (i + 1) + ". " + report.precedence().get(i));
+        }
+        addSection(lines, "Duplicate definitions", report.duplicates());
+        addSection(lines, "Sell price greater than or equal to buy price", report.arbitrage());
+        addSection(lines, "Missing sell prices", report.missingSellPrices());
+
+        try {
+            Files.createDirectories(report.file().getParent());
+            Files.write(report.file(), lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            skyShop.getComponentLogger().error(AdventureUtil.serialize("Failed to write the shop analysis report. " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Adds a titled section to the report.
+     * @param lines The report's lines.
+     * @param title The section's title.
+     * @param issues The issues to list in the section.
+     */
+    private void addSection(@NotNull List<String> lines, @NotNull String title, @NotNull List<String> issues) {
+        lines.add("");
+        lines.add(title + " (" + issues.size() + "):");
+        if(issues.isEmpty()) {
+            lines.add("  None");
+            return;
+        }
+
+        issues.forEach(issue -> lines.add("  - " + issue));
+    }
+
+    /**
+     * Formats the locations of a {@link List} of {@link ShopEntry}s.
+     * @param entries The {@link ShopEntry}s to format.
+     * @return A {@link String} containing the comma separated locations.
+     */
+    private @NotNull String formatEntries(@NotNull List<ShopEntry> entries) {
+        StringJoiner joiner = new StringJoiner(", ");
+        entries.forEach(entry -> joiner.add(entry.location()));
+
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,260 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.manager;
+
+import com.github.lukesky19.skylib.api.adventure.AdventureUtil;
+import com.github.lukesky19.skyshop.SkyShop;
+import com.github.lukesky19.skyshop.configuration.LocaleManager;
+import com.github.lukesky19.skyshop.data.Locale;
+import com.github.lukesky19.skyshop.data.PlayerData;
+import com.github.lukesky19.skyshop.event.ItemSoldEvent;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.bukkit.Material;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.ItemType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.util.*;
+
+/**
+ * This class manages auto-sell, which sells sellable items as players pick them up.
+ * Sales are accumulated in a per-player buffer of primitive counts indexed by {@link Material#ordinal()}, the same index used by the {@link PriceManager}.
+ * The buffers are flushed by {@link #flush()} with one deposit, one stats increment per item type, and one summary message per player.
+ * Deposits are made through the {@link PendingCreditManager} as money that stays owed, so a failed deposit is retried instead of lost.
+ * The summary message is sent once the deposit completes.
+ * All methods are expected to be called on the main thread.
+ */
+public class AutoSellManager {
+    private final @NotNull SkyShop skyShop;
+    private final @NotNull LocaleManager localeManager;
+    private final @NotNull PriceManager priceManager;
+    private final @NotNull PlayerDataManager playerDataManager;
+    private final @NotNull PlayerLimitManager playerLimitManager;
+    private final @NotNull SellMultiplierManager sellMultiplierManager;
+    private final @Nullable StatsManager statsManager;
+    private final @NotNull Map<UUID, SaleBuffer> buffers = new HashMap<>();
+    private final Material @NotNull [] materials = Material.values();
+
+    /**
+     * Constructor
+     * @param skyShop A {@link SkyShop} instance.
+     * @param localeManager A {@link LocaleManager} instance.
+     * @param priceManager A {@link PriceManager} instance.
+     * @param playerDataManager A {@link PlayerDataManager} instance.
+     * @param playerLimitManager A {@link PlayerLimitManager} instance.
+     * @param sellMultiplierManager A {@link SellMultiplierManager} instance.
+     * @param statsManager A {@link StatsManager} instance. Null if stats tracking is disabled.
+     */
+    public AutoSellManager(
+            @NotNull SkyShop skyShop,
+            @NotNull LocaleManager localeManager,
+            @NotNull PriceManager priceManager,
+            @NotNull PlayerDataManager playerDataManager,
+            @NotNull PlayerLimitManager playerLimitManager,
+            @NotNull SellMultiplierManager sellMultiplierManager,
+            @Nullable StatsManager statsManager) {
+        this.skyShop = skyShop;
+        this.localeManager = localeManager;
+        this.priceManager = priceManager;
+        this.playerDataManager = playerDataManager;
+        this.playerLimitManager = playerLimitManager;
+        this.sellMultiplierManager = sellMultiplierManager;
+        this.statsManager = statsManager;
+    }
+
+    /**
+     * Toggle auto-sell for a player.
+     * @param player The {@link Player}.
+     * @return An {@link Optional} containing true if auto-sell is now enabled or false if now disabled. Will be empty if the player's data isn't loaded.
+     */
+    public @NotNull Optional<Boolean> toggle(@NotNull Player player) {
+        Optional<PlayerData> optionalPlayerData = playerDataManager.getPlayerData(player.getUniqueId());
+        if(optionalPlayerData.isEmpty()) return Optional.empty();
+        PlayerData playerData = optionalPlayerData.get();
+
+        boolean enabled = !playerData.isAutoSell();
+        playerData.setAutoSell(enabled);
+
+        // Pay out anything still buffered when auto-sell is turned off.
+        if(!enabled) flush(player);
+
+        return Optional.of(enabled);
+    }
+
+    /**
+     * Attempt to auto-sell an {@link Item} a player is picking up.
+     * Only the amount the player's sell limit allows is sold. Anything else is left on the ground to be picked up normally.
+     * @param player The {@link Player} picking up the item.
+     * @param item The {@link Item} being picked up.
+     * @return true if the pickup should be cancelled because some or all of the item was sold, otherwise false.
+     */
+    public boolean handlePickup(@NotNull Player player, @NotNull Item item) {
+        Optional<PlayerData> optionalPlayerData = playerDataManager.getPlayerData(player.getUniqueId());
+        if(optionalPlayerData.isEmpty() || !optionalPlayerData.get().isAutoSell()) return false;
+        // While the economy is unavailable, items are picked up normally instead of being sold.
+        if(!skyShop.getEconomyManager().isAvailable()) return false;
+
+        ItemStack itemStack = item.getItemStack();
+        ItemType itemType = itemStack.getType().asItemType();
+        if(itemType == null || itemType.equals(ItemType.AIR)) return false;
+
+        Optional<Double> optionalPrice = priceManager.getItemTypeSellPrice(itemType);
+        if(optionalPrice.isEmpty() || optionalPrice.get() <= 0.0) return false;
+        double price = optionalPrice.get();
+
+        int amount = Math.min(itemStack.getAmount(), playerLimitManager.getRemainingSells(player.getUniqueId(), itemType));
+        if(amount <= 0) return false;
+
+        ItemSoldEvent itemSoldEvent = new ItemSoldEvent(amount == itemStack.getAmount() ? itemStack : itemStack.asQuantity(amount));
+        skyShop.getServer().getPluginManager().callEvent(itemSoldEvent);
+        if(itemSoldEvent.isCancelled()) return false;
+
+        if(amount == itemStack.getAmount()) {
+            item.remove();
+        } else {
+            item.setItemStack(itemStack.asQuantity(itemStack.getAmount() - amount));
+        }
+
+        playerLimitManager.recordSell(player.getUniqueId(), itemType, amount);
+        SaleBuffer buffer = buffers.computeIfAbsent(player.getUniqueId(), uuid -> new SaleBuffer(materials.length));
+        buffer.add(itemStack.getType().ordinal(), amount, price * amount);
+        buffer.multiplier = sellMultiplierManager.getMultiplier(player);
+
+        return true;
+    }
+
+    /**
+     * Flush the auto-sell buffers of every player.
+     * Players who are no longer online are paid with the sell multiplier they last auto-sold with.
+     */
+    public void flush() {
+        for(UUID uuid : List.copyOf(buffers.keySet())) {
+            Player player = skyShop.getServer().getPlayer(uuid);
+            if(player != null) {
+                flush(player);
+            } else {
+                SaleBuffer buffer = buffers.remove(uuid);
+                if(buffer != null && buffer.touchedCount != 0) pay(skyShop.getServer().getOfflinePlayer(uuid), buffer, buffer.multiplier);
+            }
+        }
+    }
+
+    /**
+     * Flush the auto-sell buffer of a player with a single deposit and summary message.
+     * @param player The {@link Player}.
+     */
+    public void flush(@NotNull Player player) {
+        SaleBuffer buffer = buffers.remove(player.getUniqueId());
+        if(buffer == null || buffer.touchedCount == 0) return;
+
+        pay(player, buffer, sellMultiplierManager.getMultiplier(player));
+    }
+
+    /**
+     * Pay a player for a flushed auto-sell buffer with a single deposit, and send the summary message if they are online.
+     * @param offlinePlayer The {@link OfflinePlayer} to pay.
+     * @param buffer The {@link SaleBuffer} that was flushed.
+     * @param multiplier The sell multiplier to apply.
+     */
+    private void pay(@NotNull OfflinePlayer offlinePlayer, @NotNull SaleBuffer buffer, double multiplier) {
+        long totalAmount = 0;
+        for(int i = 0; i < buffer.touchedCount; i++) {
+            int index = buffer.touched[i];
+            int amount = buffer.counts[index];
+            totalAmount += amount;
+
+            ItemType itemType = materials[index].asItemType();
+            if(statsManager != null && itemType != null) statsManager.incrementAmountSold(itemType, amount);
+        }
+
+        double money = buffer.money * multiplier;
+        long finalTotalAmount = totalAmount;
+
+        // The items were already picked up and sold, so the payout stays owed until it is paid, even if the player quits while the economy is unavailable.
+        EconomyManager economyManager = skyShop.getEconomyManager();
+        economyManager.runOnMain(skyShop.getPendingCreditManager().depositOwed(offlinePlayer, money), result -> {
+            Player player = offlinePlayer.getPlayer();
+            if(player == null) return;
+
+            Locale locale = localeManager.getLocale();
+
+            DecimalFormat df = new DecimalFormat("#.##");
+            df.setRoundingMode(RoundingMode.CEILING);
+
+            String formattedPrice = df.format(BigDecimal.valueOf(money));
+            if(!result.success()) {
+                player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.salePayoutDelayed(), List.of(Placeholder.parsed("price", formattedPrice))));
+                return;
+            }
+
+            String bal = df.format(BigDecimal.valueOf(result.balance()));
+
+            List<TagResolver.Single> placeholders = new ArrayList<>();
+            placeholders.add(Placeholder.parsed("amount", String.valueOf(finalTotalAmount)));
+            placeholders.add(Placeholder.parsed("price", formattedPrice));
+            placeholders.add(Placeholder.parsed("bal", bal));
+
+            player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.autoSellSummary(), placeholders));
+        });
+    }
+
+    /**
+     * The pending auto-sell sales of a single player.
+     */
+    private static final class SaleBuffer {
+        private final int @NotNull [] counts;
+        // The indexes of counts that are non-zero, so flushing doesn't scan every material.
+        private int @NotNull [] touched = new int[8];
+        private int touchedCount = 0;
+        private double money = 0.0;
+        // The player's sell multiplier at their last sale, used if they are paid while offline.
+        private double multiplier = 1.0;
+
+        /**
+         * Constructor
+         * @param size The number of materials.
+         */
+        private SaleBuffer(int size) {
+            this.counts = new int[size];
+        }
+
+        /**
+         * Add a sale to the buffer.
+         * @param index The {@link Material#ordinal()} of the item sold.
+         * @param amount The amount sold.
+         * @param value The value of the items sold.
+         */
+        private void add(int index, int amount, double value) {
+            if(counts[index] == 0) {
+                if(touchedCount == touched.length) touched = Arrays.copyOf(touched, touched.length * 2);
+                touched[touchedCount++] = index;
+            }
+
+            counts[index] += amount;
+            money += value;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.manager;
+
+import com.github.lukesky19.skylib.api.placeholderapi.PlaceholderAPIUtil;
+import com.github.lukesky19.skyshop.SkyShop;
+import org.bukkit.Server;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * This class queues console commands executed by COMMAND transactions.
+ * Placeholders are parsed once per transaction and the dispatches are spread across ticks so a large purchase doesn't spike a single tick.
+ * The budget is shared by every transaction in a tick, so many purchases in the same tick can't each spend a full budget.
+ */
+public class CommandQueueManager {
+    /**
+     * The placeholder that is replaced with the amount bought or sold.
+     * A command containing it is dispatched once instead of once per amount.
+     */
+    public static final @NotNull String AMOUNT_PLACEHOLDER = "<amount>";
+    /**
+     * The maximum time in nanoseconds to spend dispatching queued commands each tick.
+     */
+    private static final long DISPATCH_BUDGET_NANOS = 2_000_000L;
+
+    private final @NotNull SkyShop skyShop;
+    private final @NotNull Deque<PendingCommand> pending = new ArrayDeque<>();
+    private @Nullable BukkitTask dispatchTask;
+    private int budgetTick = -1;
+    private long spentNanos = 0L;
+
+    /**
+     * Constructor
+     * @param skyShop A {@link SkyShop} instance.
+     */
+    public CommandQueueManager(@NotNull SkyShop skyShop) {
+        this.skyShop = skyShop;
+    }
+
+    /**
+     * Queue the commands for a transaction.
+     * Commands containing {@value #AMOUNT_PLACEHOLDER} are dispatched once with the amount substituted, all others are dispatched once per amount.
+     * Whatever fits in what is left of the current tick's budget is dispatched immediately, the rest is dispatched on the following ticks.
+     * @param player The {@link Player} to parse placeholders for.
+     * @param commands A {@link List} of {@link String} containing the commands to execute in console.
+     * @param amount The amount bought or sold.
+     */
+    public void queueCommands(@NotNull Player player, @NotNull List<String> commands, int amount) {
+        if(amount <= 0) return;
+
+        String amountString = String.valueOf(amount);
+        for(String command : commands) {
+            String parsed = PlaceholderAPIUtil.parsePlaceholders(player, command);
+
+            if(parsed.contains(AMOUNT_PLACEHOLDER)) {
+                pending.add(new PendingCommand(parsed.replace(AMOUNT_PLACEHOLDER, amountString), 1));
+            } else {
+                pending.add(new PendingCommand(parsed, amount));
+            }
+        }
+
+        dispatchWithinBudget();
+
+        if(!pending.isEmpty() && dispatchTask == null) {
+            dispatchTask = skyShop.getServer().getScheduler().runTaskTimer(skyShop, task -> {
+                dispatchWithinBudget();
+
+                if(pending.isEmpty()) {
+                    task.cancel();
+                    dispatchTask = null;
+                }
+            }, 1L, 1L);
+        }
+    }
+
+    /**
+     * Dispatch every queued command immediately, ignoring the per-tick budget.
+     * Used on plugin disable so that no paid for commands are lost.
+     */
+    public void flush() {
+        if(dispatchTask != null) {
+            dispatchTask.cancel();
+            dispatchTask = null;
+        }
+
+        dispatch(Long.MAX_VALUE);
+    }
+
+    /**
+     * Dispatch queued commands with whatever is left of the current tick's budget.
+     * At least one command is dispatched if any are queued and the budget isn't used up, so the queue drains.
+     */
+    private void dispatchWithinBudget() {
+        int currentTick = skyShop.getServer().getCurrentTick();
+        if(currentTick != budgetTick) {
+            budgetTick = currentTick;
+            spentNanos = 0L;
+        }
+
+        if(spentNanos >= DISPATCH_BUDGET_NANOS) return;
+
+        long start = System.nanoTime();
+        dispatch(start + DISPATCH_BUDGET_NANOS - spentNanos);
+        spentNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * Dispatch queued commands until the queue is empty or the deadline has passed.
+     * At least one command is dispatched if any are queued.
+     * @param deadline The {@link System#nanoTime()} to stop dispatching at.
+     */
+    private void dispatch(long deadline) {
+        Server server = skyShop.getServer();
+        ConsoleCommandSender commandSender = server.getConsoleSender();
+
+        do {
+            PendingCommand pendingCommand = pending.peek();
+            if(pendingCommand == null) break;
+
+            server.dispatchCommand(commandSender, pendingCommand.command);
+
+            pendingCommand.remaining--;
+            if(pendingCommand.remaining <= 0) pending.poll();
+        } while(System.nanoTime() < deadline);
+    }
+
+    /**
+     * A parsed command and the number of times it still needs to be dispatched.
+     */
+    private static final class PendingCommand {
+        private final @NotNull String command;
+        private int remaining;
+
+        /**
+         * Constructor
+         * @param command The parsed command.
+         * @param remaining The number of times to dispatch the command.
+         */
+        private PendingCommand(@NotNull String command, int remaining) {
+            this.command = command;
+            this.remaining = remaining;
+        }
+    }
+}
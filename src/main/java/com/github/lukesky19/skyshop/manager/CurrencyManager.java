@@ -0,0 +1,175 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.manager;
+
+import com.github.lukesky19.skylib.api.adventure.AdventureUtil;
+import com.github.lukesky19.skylib.api.itemstack.ItemStackBuilder;
+import com.github.lukesky19.skyshop.SkyShop;
+import com.github.lukesky19.skyshop.configuration.CurrenciesManager;
+import com.github.lukesky19.skyshop.currency.Currency;
+import com.github.lukesky19.skyshop.currency.ExperienceCurrency;
+import com.github.lukesky19.skyshop.currency.ItemCurrency;
+import com.github.lukesky19.skyshop.currency.VaultCurrency;
+import com.github.lukesky19.skyshop.data.Currencies;
+import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * This class manages the {@link Currency}s that transactions can be bought and sold with.
+ * The built-in and configured currencies are rebuilt on reload, while currencies registered by other plugins are kept until they are unregistered.
+ */
+public class CurrencyManager {
+    /**
+     * The id of the Vault money currency. Transactions without a currency use this currency.
+     */
+    public static final @NotNull String VAULT_ID = "vault";
+    /**
+     * The id of the experience level currency.
+     */
+    public static final @NotNull String EXPERIENCE_ID = "experience";
+
+    private final @NotNull SkyShop skyShop;
+    private final @NotNull CurrenciesManager currenciesManager;
+    private final @NotNull Map<String, Currency> registeredCurrencies = new HashMap<>();
+    private @NotNull Map<String, Currency> currencies = Map.of();
+    private @NotNull Currency vaultCurrency;
+
+    /**
+     * Constructor
+     * @param skyShop A {@link SkyShop} instance.
+     * @param currenciesManager A {@link CurrenciesManager} instance.
+     */
+    public CurrencyManager(@NotNull SkyShop skyShop, @NotNull CurrenciesManager currenciesManager) {
+        this.skyShop = skyShop;
+        this.currenciesManager = currenciesManager;
+        this.vaultCurrency = new VaultCurrency(skyShop, "$");
+    }
+
+    /**
+     * Checks if a currency id refers to the Vault money currency.
+     * @param id The currency id of a transaction. May be null.
+     * @return true if the id is null, blank, or the Vault currency id, otherwise false.
+     */
+    public static boolean isVault(@Nullable String id) {
+        return id == null || id.isBlank() || id.equalsIgnoreCase(VAULT_ID);
+    }
+
+    /**
+     * Build the built-in currencies and the item currencies from the {@link Currencies} config.
+     * The new currencies are only swapped in once they have all been built.
+     */
+    public void reload() {
+        ComponentLogger logger = skyShop.getComponentLogger();
+        Optional<Currencies> optionalCurrencies = currenciesManager.getCurrencies();
+
+        String vaultName = optionalCurrencies.map(Currencies::vaultName).orElse("$");
+        String experienceName = optionalCurrencies.map(Currencies::experienceName).orElse("Levels");
+
+        Currency newVaultCurrency = new VaultCurrency(skyShop, vaultName);
+        Map<String, Currency> newCurrencies = new HashMap<>();
+        newCurrencies.put(VAULT_ID, newVaultCurrency);
+        newCurrencies.put(EXPERIENCE_ID, new ExperienceCurrency(experienceName));
+
+        optionalCurrencies.ifPresent(config -> config.items().forEach((id, itemConfig) -> {
+            String currencyId = id.toLowerCase(Locale.ROOT);
+            if(newCurrencies.containsKey(currencyId)) {
+                logger.warn(AdventureUtil.serialize("Skipping the item currency <yellow>" + id + "</yellow> in <yellow>currencies.yml</yellow> because the id is already used."));
+                return;
+            }
+
+            ItemStackBuilder itemStackBuilder = new ItemStackBuilder(logger);
+            itemStackBuilder.fromItemStackConfig(itemConfig.item(), null, null, List.of());
+            Optional<ItemStack> optionalItemStack = itemStackBuilder.buildItemStack();
+            if(optionalItemStack.isEmpty()) {
+                logger.warn(AdventureUtil.serialize("Skipping the item currency <yellow>" + id + "</yellow> in <yellow>currencies.yml</yellow> due to an invalid item."));
+                return;
+            }
+
+            String name = itemConfig.name() != null ? itemConfig.name() : id;
+            newCurrencies.put(currencyId, new ItemCurrency(currencyId, name, optionalItemStack.get()));
+        }));
+
+        registeredCurrencies.forEach((id, currency) -> {
+            if(newCurrencies.containsKey(id)) {
+                logger.warn(AdventureUtil.serialize("The registered currency <yellow>" + id + "</yellow> is replaced by a currency with the same id."));
+                return;
+            }
+
+            newCurrencies.put(id, currency);
+        });
+
+        vaultCurrency = newVaultCurrency;
+        currencies = newCurrencies;
+    }
+
+    /**
+     * Get the {@link Currency} for a currency id.
+     * @param id The currency id of a transaction. Null or blank ids use the Vault currency.
+     * @return An {@link Optional} containing the {@link Currency}. Will be empty if no currency with the id exists.
+     */
+    public @NotNull Optional<Currency> getCurrency(@Nullable String id) {
+        if(isVault(id)) return Optional.of(vaultCurrency);
+
+        return Optional.ofNullable(currencies.get(id.toLowerCase(Locale.ROOT)));
+    }
+
+    /**
+     * Get the Vault money {@link Currency}.
+     * @return The Vault {@link Currency}.
+     */
+    public @NotNull Currency getVaultCurrency() {
+        return vaultCurrency;
+    }
+
+    /**
+     * Register a {@link Currency} provided by another plugin.
+     * @param currency The {@link Currency} to register.
+     * @return true if the currency was registered, false if a currency with the same id already exists.
+     */
+    public boolean registerCurrency(@NotNull Currency currency) {
+        String id = currency.getId().toLowerCase(Locale.ROOT);
+        if(id.isBlank() || currencies.containsKey(id) || registeredCurrencies.containsKey(id)) return false;
+
+        registeredCurrencies.put(id, currency);
+
+        Map<String, Currency> newCurrencies = new HashMap<>(currencies);
+        newCurrencies.put(id, currency);
+        currencies = newCurrencies;
+        return true;
+    }
+
+    /**
+     * Unregister a {@link Currency} provided by another plugin. Transactions using it can no longer be opened.
+     * @param id The id of the currency.
+     * @return true if the currency was unregistered, false if no currency with the id was registered.
+     */
+    public boolean unregisterCurrency(@NotNull String id) {
+        String currencyId = id.toLowerCase(Locale.ROOT);
+        Currency currency = registeredCurrencies.remove(currencyId);
+        if(currency == null) return false;
+
+        Map<String, Currency> newCurrencies = new HashMap<>(currencies);
+        newCurrencies.remove(currencyId, currency);
+        currencies = newCurrencies;
+        return true;
+    }
+}
@@ -0,0 +1,387 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.manager;
+
+import com.github.lukesky19.skylib.api.adventure.AdventureUtil;
+import com.github.lukesky19.skyshop.SkyShop;
+import com.github.lukesky19.skyshop.data.CircuitBreaker;
+import com.github.lukesky19.skyshop.data.EconomyResult;
+import com.github.lukesky19.skyshop.data.LatencyHistogram;
+import com.github.lukesky19.skyshop.data.Settings;
+import com.github.lukesky19.skyshop.util.EconomyOperation;
+import net.milkbowl.vault.economy.Economy;
+import net.milkbowl.vault.economy.EconomyResponse;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * This class wraps the Vault {@link Economy} so that economy calls can be made off the main thread.
+ * When async economy is enabled in settings.yml, every call runs in order on a single dedicated thread and the returned futures complete there.
+ * Otherwise, every call runs immediately on the calling thread and the returned futures are already complete.
+ * Use {@link #runOnMain(CompletableFuture, Consumer)} to update GUIs or send messages once a call completes.
+ * The balance returned by each call is cached per player so that balances can be displayed without another economy call.
+ * <p>Every economy call is timed and recorded in a {@link LatencyHistogram} per {@link EconomyOperation}.
+ * If enabled, a {@link CircuitBreaker} opens once several calls in a row were too slow or threw an error.
+ * While it is open, calls are refused immediately with an unavailable {@link EconomyResult} instead of waiting on the economy,
+ * and {@link #isAvailable()} returns false so transactions can be refused before any items are moved.</p>
+ */
+public class EconomyManager {
+    /**
+     * How long to wait for queued economy calls to finish when the plugin is disabled.
+     */
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10L;
+    /**
+     * The default latency threshold of the circuit breaker, used if it is missing from settings.yml.
+     */
+    private static final long DEFAULT_LATENCY_THRESHOLD_MILLIS = 250L;
+    /**
+     * The default number of failed calls in a row that open the circuit, used if it is missing from settings.yml.
+     */
+    private static final int DEFAULT_TRIP_COUNT = 3;
+    /**
+     * The default number of seconds the circuit stays open, used if it is missing from settings.yml.
+     */
+    private static final long DEFAULT_OPEN_SECONDS = 30L;
+    /**
+     * The error message of calls refused while the circuit is open.
+     */
+    private static final @NotNull String UNAVAILABLE_MESSAGE = "The economy is temporarily unavailable";
+
+    private final @NotNull SkyShop skyShop;
+    private final @Nullable ExecutorService executor;
+    private final @NotNull Map<UUID, Double> cachedBalances = new ConcurrentHashMap<>();
+    private final @NotNull Queue<Runnable> mainThreadCallbacks = new ConcurrentLinkedQueue<>();
+    private final @NotNull Map<EconomyOperation, LatencyHistogram> histograms = new EnumMap<>(EconomyOperation.class);
+    private final @Nullable CircuitBreaker circuitBreaker;
+    private @Nullable BukkitTask reconcileTask;
+
+    /**
+     * Constructor
+     * @param skyShop A {@link SkyShop} instance.
+     * @param async Should economy calls run on a dedicated thread?
+     * @param circuitBreakerSettings The {@link Settings.CircuitBreakerSettings} or null to use the defaults.
+     */
+    public EconomyManager(@NotNull SkyShop skyShop, boolean async, @Nullable Settings.CircuitBreakerSettings circuitBreakerSettings) {
+        this.skyShop = skyShop;
+        for(EconomyOperation operation : EconomyOperation.values()) {
+            histograms.put(operation, new LatencyHistogram());
+        }
+
+        if(circuitBreakerSettings == null || !Boolean.FALSE.equals(circuitBreakerSettings.enabled())) {
+            long latencyThresholdMillis = DEFAULT_LATENCY_THRESHOLD_MILLIS;
+            int tripCount = DEFAULT_TRIP_COUNT;
+            long openSeconds = DEFAULT_OPEN_SECONDS;
+            if(circuitBreakerSettings != null) {
+                if(circuitBreakerSettings.latencyThresholdMillis() != null) latencyThresholdMillis = circuitBreakerSettings.latencyThresholdMillis();
+                if(circuitBreakerSettings.tripCount() != null) tripCount = circuitBreakerSettings.tripCount();
+                if(circuitBreakerSettings.openSeconds() != null) openSeconds = circuitBreakerSettings.openSeconds();
+            }
+
+            this.circuitBreaker = new CircuitBreaker(latencyThresholdMillis, tripCount, openSeconds * 1000L);
+        } else {
+            this.circuitBreaker = null;
+        }
+
+        this.executor = async ? Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "SkyShop-Economy");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    /**
+     * Start the task that runs the callbacks of completed economy calls on the main thread.
+     */
+    public void start() {
+        reconcileTask = skyShop.getServer().getScheduler().runTaskTimer(skyShop, this::reconcile, 1L, 1L);
+    }
+
+    /**
+     * Wait for any queued economy calls to finish, then run their callbacks on the calling thread.
+     * This is expected to be called on the main thread when the plugin is disabled.
+     */
+    public void shutdown() {
+        if(reconcileTask != null) {
+            reconcileTask.cancel();
+            reconcileTask = null;
+        }
+
+        if(executor != null) {
+            executor.shutdown();
+
+            try {
+                if(!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    skyShop.getComponentLogger().error(AdventureUtil.serialize("Economy calls were still running after " + SHUTDOWN_TIMEOUT_SECONDS + " seconds on plugin disable. Some transactions may not be completed."));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        reconcile();
+    }
+
+    /**
+     * Checks if economy calls run on a dedicated thread.
+     * @return true if economy calls are asynchronous, otherwise false.
+     */
+    public boolean isAsync() {
+        return executor != null;
+    }
+
+    /**
+     * Checks if economy calls are currently allowed by the circuit breaker.
+     * Transactions should be refused before moving any items if this returns false.
+     * @return true if the economy is available, otherwise false.
+     */
+    public boolean isAvailable() {
+        return circuitBreaker == null || circuitBreaker.isAllowed(System.currentTimeMillis());
+    }
+
+    /**
+     * Get the {@link CircuitBreaker} guarding economy calls.
+     * @return An {@link Optional} containing the {@link CircuitBreaker}. Will be empty if it is disabled.
+     */
+    public @NotNull Optional<CircuitBreaker> getCircuitBreaker() {
+        return Optional.ofNullable(circuitBreaker);
+    }
+
+    /**
+     * Get the {@link LatencyHistogram} of an {@link EconomyOperation}, covering every call since the plugin was enabled.
+     * @param operation The {@link EconomyOperation}.
+     * @return The {@link LatencyHistogram}.
+     */
+    public @NotNull LatencyHistogram getHistogram(@NotNull EconomyOperation operation) {
+        return histograms.get(operation);
+    }
+
+    /**
+     * Deposit money into a player's balance.
+     * @param player The {@link OfflinePlayer} to pay.
+     * @param amount The amount to deposit.
+     * @return A {@link CompletableFuture} containing the {@link EconomyResult}. The future never completes exceptionally.
+     */
+    public @NotNull CompletableFuture<EconomyResult> deposit(@NotNull OfflinePlayer player, double amount) {
+        return submit(permit -> {
+            try {
+                return toResult(player, amount, timed(EconomyOperation.DEPOSIT, permit, () -> getEconomy().depositPlayer(player, amount), response -> !response.transactionSuccess()));
+            } catch (RuntimeException e) {
+                return failure(player, amount, e);
+            }
+        }, () -> unavailable(player, amount));
+    }
+
+    /**
+     * Withdraw money from a player's balance. The withdrawal fails without calling the economy if the player can't afford it.
+     * @param player The {@link OfflinePlayer} to charge.
+     * @param amount The amount to withdraw.
+     * @return A {@link CompletableFuture} containing the {@link EconomyResult}. The future never completes exceptionally.
+     */
+    public @NotNull CompletableFuture<EconomyResult> withdraw(@NotNull OfflinePlayer player, double amount) {
+        return submit(permit -> {
+            try {
+                Economy economy = getEconomy();
+                double balance = timed(EconomyOperation.BALANCE, permit, () -> economy.getBalance(player), result -> false);
+                cachedBalances.put(player.getUniqueId(), balance);
+                if(balance < amount) return new EconomyResult(false, amount, balance, "Insufficient funds", false);
+
+                return toResult(player, amount, timed(EconomyOperation.WITHDRAW, permit, () -> economy.withdrawPlayer(player, amount), response -> !response.transactionSuccess()));
+            } catch (RuntimeException e) {
+                return failure(player, amount, e);
+            }
+        }, () -> unavailable(player, amount));
+    }
+
+    /**
+     * Get a player's balance from the economy and cache it.
+     * @param player The {@link OfflinePlayer}.
+     * @return A {@link CompletableFuture} containing the balance. If the economy call fails or is refused, the last cached balance or 0.0 is returned instead.
+     */
+    public @NotNull CompletableFuture<Double> getBalance(@NotNull OfflinePlayer player) {
+        return submit(permit -> {
+            try {
+                double balance = timed(EconomyOperation.BALANCE, permit, () -> getEconomy().getBalance(player), result -> false);
+                cachedBalances.put(player.getUniqueId(), balance);
+                return balance;
+            } catch (RuntimeException e) {
+                skyShop.getComponentLogger().error(AdventureUtil.serialize("Failed to get the balance of " + player.getName() + ": " + e.getMessage()));
+                return cachedBalances.getOrDefault(player.getUniqueId(), 0.0);
+            }
+        }, () -> cachedBalances.getOrDefault(player.getUniqueId(), 0.0));
+    }
+
+    /**
+     * Get the last known balance of a player, as returned by the most recent economy call made through this class.
+     * @param uuid The {@link UUID} of the player.
+     * @return An {@link Optional} containing the cached balance. Will be empty if no economy call was made for the player yet.
+     */
+    public @NotNull Optional<Double> getCachedBalance(@NotNull UUID uuid) {
+        return Optional.ofNullable(cachedBalances.get(uuid));
+    }
+
+    /**
+     * Remove the cached balance of a player, i.e., when they quit.
+     * @param uuid The {@link UUID} of the player.
+     */
+    public void invalidate(@NotNull UUID uuid) {
+        cachedBalances.remove(uuid);
+    }
+
+    /**
+     * Run a callback on the main thread once a future completes.
+     * If the future is already complete and this is called on the main thread, the callback runs immediately.
+     * @param future The {@link CompletableFuture} returned by this class.
+     * @param callback The {@link Consumer} to run with the result.
+     * @param <T> The type of the result.
+     */
+    public <T> void runOnMain(@NotNull CompletableFuture<T> future, @NotNull Consumer<T> callback) {
+        if(future.isDone() && skyShop.getServer().isPrimaryThread()) {
+            callback.accept(future.join());
+            return;
+        }
+
+        future.thenAccept(result -> mainThreadCallbacks.add(() -> callback.accept(result)));
+    }
+
+    /**
+     * Run the callbacks of all completed economy calls.
+     */
+    private void reconcile() {
+        Runnable callback;
+        while((callback = mainThreadCallbacks.poll()) != null) {
+            try {
+                callback.run();
+            } catch (RuntimeException e) {
+                skyShop.getComponentLogger().error(AdventureUtil.serialize("An economy callback failed: " + e.getMessage()));
+            }
+        }
+    }
+
+    /**
+     * Run an economy call on the dedicated thread, or immediately if async economy is disabled.
+     * The call is refused if the circuit is open, both when it is submitted and again when it is about to run.
+     * @param call The {@link LongFunction} making the economy call, given the circuit breaker permit to pass to {@link #timed(EconomyOperation, long, Supplier, Predicate)}.
+     * @param refused The {@link Supplier} of the result to use if the call is refused.
+     * @return A {@link CompletableFuture} containing the result.
+     * @param <T> The type of the result.
+     */
+    private <T> @NotNull CompletableFuture<T> submit(@NotNull LongFunction<T> call, @NotNull Supplier<T> refused) {
+        if(!isAvailable()) return CompletableFuture.completedFuture(refused.get());
+
+        Supplier<T> guarded = () -> {
+            long permit = circuitBreaker != null ? circuitBreaker.tryAcquire(System.currentTimeMillis()) : CircuitBreaker.CLOSED_PERMIT;
+            return permit != CircuitBreaker.REFUSED ? call.apply(permit) : refused.get();
+        };
+        if(executor == null) return CompletableFuture.completedFuture(guarded.get());
+
+        return CompletableFuture.supplyAsync(guarded, executor);
+    }
+
+    /**
+     * Make a single economy call, recording how long it took and whether it failed.
+     * @param operation The {@link EconomyOperation} being made.
+     * @param permit The circuit breaker permit the call was allowed with.
+     * @param call The {@link Supplier} making the economy call.
+     * @param failed The {@link Predicate} that checks if the call's result is a failure.
+     * @return The result of the call.
+     * @param <T> The type of the result.
+     */
+    private <T> T timed(@NotNull EconomyOperation operation, long permit, @NotNull Supplier<T> call, @NotNull Predicate<T> failed) {
+        long start = System.nanoTime();
+        boolean error = true;
+        boolean failure = true;
+        try {
+            T result = call.get();
+            error = false;
+            failure = failed.test(result);
+            return result;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            histograms.get(operation).record(nanos, failure);
+
+            // Only slow calls and errors trip the circuit. Declined transactions are not a sign of an unhealthy economy.
+            if(circuitBreaker != null) {
+                CircuitBreaker.State newState = circuitBreaker.record(System.currentTimeMillis(), nanos, error, permit);
+                if(newState == CircuitBreaker.State.OPEN) {
+                    skyShop.getComponentLogger().warn(AdventureUtil.serialize("The economy circuit breaker opened after a " + operation.name().toLowerCase() + " call took " + (nanos / 1_000_000L) + "ms" + (error ? " and failed" : "") + ". Transactions will be refused until the economy recovers."));
+                } else if(newState == CircuitBreaker.State.CLOSED) {
+                    skyShop.getComponentLogger().info(AdventureUtil.serialize("The economy circuit breaker closed. Transactions are allowed again."));
+                }
+            }
+        }
+    }
+
+    /**
+     * Convert an {@link EconomyResponse} into an {@link EconomyResult}, caching the new balance.
+     * @param player The {@link OfflinePlayer}.
+     * @param amount The amount deposited or withdrawn.
+     * @param response The {@link EconomyResponse}.
+     * @return An {@link EconomyResult}.
+     */
+    private @NotNull EconomyResult toResult(@NotNull OfflinePlayer player, double amount, @NotNull EconomyResponse response) {
+        if(response.transactionSuccess()) {
+            cachedBalances.put(player.getUniqueId(), response.balance);
+            return new EconomyResult(true, amount, response.balance, null, false);
+        }
+
+        return new EconomyResult(false, amount, cachedBalances.getOrDefault(player.getUniqueId(), response.balance), response.errorMessage, false);
+    }
+
+    /**
+     * Create a failed {@link EconomyResult} for an economy call that threw an exception.
+     * @param player The {@link OfflinePlayer}.
+     * @param amount The amount deposited or withdrawn.
+     * @param exception The {@link RuntimeException} thrown.
+     * @return An {@link EconomyResult}.
+     */
+    private @NotNull EconomyResult failure(@NotNull OfflinePlayer player, double amount, @NotNull RuntimeException exception) {
+        skyShop.getComponentLogger().error(AdventureUtil.serialize("An economy call for " + player.getName() + " of " + amount + " failed: " + exception.getMessage()));
+        return new EconomyResult(false, amount, cachedBalances.getOrDefault(player.getUniqueId(), 0.0), exception.getMessage(), false);
+    }
+
+    /**
+     * Create an unavailable {@link EconomyResult} for an economy call refused because the circuit is open.
+     * @param player The {@link OfflinePlayer}.
+     * @param amount The amount to deposit or withdraw.
+     * @return An {@link EconomyResult}.
+     */
+    private @NotNull EconomyResult unavailable(@NotNull OfflinePlayer player, double amount) {
+        return new EconomyResult(false, amount, cachedBalances.getOrDefault(player.getUniqueId(), 0.0), UNAVAILABLE_MESSAGE, true);
+    }
+
+    /**
+     * Get the server's {@link Economy}.
+     * @return The {@link Economy}.
+     */
+    private @NotNull Economy getEconomy() {
+        return skyShop.getEconomy();
+    }
+}
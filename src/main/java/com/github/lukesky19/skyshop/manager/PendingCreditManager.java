@@ -0,0 +1,311 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.manager;
+
+import com.github.lukesky19.skylib.api.adventure.AdventureUtil;
+import com.github.lukesky19.skyshop.SkyShop;
+import com.github.lukesky19.skyshop.data.EconomyResult;
+import com.github.lukesky19.skyshop.data.Settings;
+import com.github.lukesky19.skyshop.database.DatabaseManager;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class coalesces the deposits of many small sales by the same player into a single deposit.
+ * <p>When deposit coalescing is enabled in settings.yml, the money from each sale is added to a pending credit for the player.
+ * Once the window of the first pending sale ends, the whole credit is paid with one deposit through the {@link EconomyManager},
+ * and the future of every sale in it completes with the settled balance.</p>
+ * <p>The total owed to each player is journaled in the {@link com.github.lukesky19.skyshop.database.PendingCreditTable} before it is paid,
+ * so credits that weren't paid because the server stopped or crashed are paid on the next start.
+ * A crash between a deposit and its journal update pays that credit again on the next start, as being owed money is worse than being paid twice.
+ * If the deposit of a replayed credit fails, it stays journaled and is retried after {@link #RETRY_MILLIS}.
+ * Money deposited using {@link #depositOwed(OfflinePlayer, double)} is handled the same way.</p>
+ * When deposit coalescing is disabled, deposits are passed straight to the {@link EconomyManager}. Journaled credits and owed money are still paid through the journal.
+ * This class is expected to only be used from the main thread.
+ */
+public class PendingCreditManager {
+    /**
+     * The default length of the coalescing window, used if it is missing from settings.yml.
+     */
+    private static final long DEFAULT_WINDOW_MILLIS = 500L;
+    /**
+     * Owed totals smaller than this are treated as settled, as they are left over from floating point rounding.
+     */
+    private static final double SETTLED_EPSILON = 1.0E-9;
+    /**
+     * How long to wait before retrying a deposit of money that stays owed when it fails, i.e., while the economy circuit breaker is open.
+     */
+    private static final long RETRY_MILLIS = 30_000L;
+
+    private final @NotNull SkyShop skyShop;
+    private final @NotNull DatabaseManager databaseManager;
+    private final boolean enabled;
+    private final long windowMillis;
+    private final @NotNull Map<UUID, Credit> credits = new HashMap<>();
+    private final @NotNull Map<UUID, Double> owed = new HashMap<>();
+    private final @NotNull Set<CompletableFuture<Boolean>> pendingWrites = ConcurrentHashMap.newKeySet();
+    private long lastVersion = 0L;
+    private boolean replayed = false;
+    private @Nullable BukkitTask settleTask;
+
+    /**
+     * Constructor
+     * @param skyShop A {@link SkyShop} instance.
+     * @param databaseManager A {@link DatabaseManager} instance.
+     * @param coalescingSettings The {@link Settings.DepositCoalescingSettings} or null to disable coalescing.
+     */
+    public PendingCreditManager(@NotNull SkyShop skyShop, @NotNull DatabaseManager databaseManager, @Nullable Settings.DepositCoalescingSettings coalescingSettings) {
+        this.skyShop = skyShop;
+        this.databaseManager = databaseManager;
+        this.enabled = coalescingSettings != null && Boolean.TRUE.equals(coalescingSettings.enabled());
+        this.windowMillis = coalescingSettings != null && coalescingSettings.windowMillis() != null ? Math.max(0L, coalescingSettings.windowMillis()) : DEFAULT_WINDOW_MILLIS;
+    }
+
+    /**
+     * Start the task that settles pending credits and pay any credits journaled by a previous run.
+     * Until the journal has been loaded, deposits are not coalesced so they can't overwrite journaled credits.
+     */
+    public void start() {
+        settleTask = skyShop.getServer().getScheduler().runTaskTimer(skyShop, () -> settleDue(System.currentTimeMillis()), 1L, 1L);
+
+        databaseManager.getPendingCreditTable().deleteSettled()
+                .thenCompose(deleted -> databaseManager.getPendingCreditTable().loadCredits())
+                .whenComplete((journaled, throwable) -> skyShop.getServer().getScheduler().runTask(skyShop, () -> {
+                    // Money owed since the start wasn't journaled so it couldn't overwrite the journal before it was loaded.
+                    Set<UUID> unjournaled = Set.copyOf(owed.keySet());
+                    replayed = true;
+
+                    if(throwable != null) {
+                        skyShop.getComponentLogger().error(AdventureUtil.serialize("Failed to load the pending credits journal. Credits owed from before the restart will not be paid: " + throwable.getMessage()));
+                    } else {
+                        replay(journaled);
+                    }
+
+                    unjournaled.forEach(uuid -> {
+                        Double amount = owed.get(uuid);
+                        if(amount != null) journal(uuid, amount);
+                    });
+                }));
+    }
+
+    /**
+     * Stop the settle task and pay every pending credit immediately.
+     * This is expected to be called on plugin disable, before the {@link EconomyManager} is shut down.
+     */
+    public void stop() {
+        if(settleTask != null) {
+            settleTask.cancel();
+            settleTask = null;
+        }
+
+        settleDue(Long.MAX_VALUE);
+    }
+
+    /**
+     * Get a future that completes once every journal write queued so far has finished.
+     * @return A {@link CompletableFuture}.
+     */
+    public @NotNull CompletableFuture<Void> getPendingWrites() {
+        return CompletableFuture.allOf(pendingWrites.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Deposit the money from a sale into a player's balance.
+     * If deposit coalescing is enabled, the money is journaled and added to the player's pending credit instead of being deposited immediately.
+     * @param player The {@link OfflinePlayer} to pay.
+     * @param amount The amount to deposit.
+     * @return A {@link CompletableFuture} containing the {@link EconomyResult} for this sale's amount, with the balance after the coalesced deposit.
+     * The future completes on the main thread once the deposit settles and never completes exceptionally.
+     */
+    public @NotNull CompletableFuture<EconomyResult> deposit(@NotNull OfflinePlayer player, double amount) {
+        if(!enabled || !replayed || amount <= 0.0) return skyShop.getEconomyManager().deposit(player, amount);
+
+        UUID uuid = player.getUniqueId();
+        CompletableFuture<EconomyResult> future = new CompletableFuture<>();
+        long dueAt = System.currentTimeMillis() + windowMillis;
+        Credit credit = credits.computeIfAbsent(uuid, key -> new Credit(dueAt));
+        // A credit waiting to be retried is paid with this sale instead, so the sale isn't delayed until the retry.
+        credit.dueAt = Math.min(credit.dueAt, dueAt);
+        credit.add(amount, future, false);
+        journal(uuid, owed.merge(uuid, amount, Double::sum));
+
+        return future;
+    }
+
+    /**
+     * Deposit money a player is owed for items that were already taken from them, i.e., by a sell wand or /sell.
+     * The money is always journaled and added to the player's pending credit, and stays owed until a deposit of it succeeds.
+     * @param player The {@link OfflinePlayer} to pay.
+     * @param amount The amount to deposit.
+     * @return A {@link CompletableFuture} containing the {@link EconomyResult} of the first attempt to pay this amount.
+     * If it failed, the money is still owed and will be retried. The future completes on the main thread and never completes exceptionally.
+     */
+    public @NotNull CompletableFuture<EconomyResult> depositOwed(@NotNull OfflinePlayer player, double amount) {
+        if(amount <= 0.0) return skyShop.getEconomyManager().deposit(player, amount);
+
+        UUID uuid = player.getUniqueId();
+        CompletableFuture<EconomyResult> future = new CompletableFuture<>();
+        // Without coalescing, the credit is paid by the next settle.
+        long dueAt = System.currentTimeMillis() + (enabled ? windowMillis : 0L);
+        Credit credit = credits.computeIfAbsent(uuid, key -> new Credit(dueAt));
+        credit.dueAt = Math.min(credit.dueAt, dueAt);
+        credit.add(amount, future, true);
+        journal(uuid, owed.merge(uuid, amount, Double::sum));
+
+        return future;
+    }
+
+    /**
+     * Add the credits journaled by a previous run so they are paid by the next settle.
+     * @param journaled A {@link Map} mapping player {@link UUID}s to the amount they are owed.
+     */
+    private void replay(@NotNull Map<UUID, Double> journaled) {
+        if(journaled.isEmpty()) return;
+
+        long now = System.currentTimeMillis();
+        journaled.forEach((uuid, amount) -> {
+            // The journal already contains these amounts, so they aren't written again.
+            credits.computeIfAbsent(uuid, key -> new Credit(now)).addRetained(amount);
+            owed.merge(uuid, amount, Double::sum);
+        });
+
+        skyShop.getComponentLogger().info(AdventureUtil.serialize("Paying " + journaled.size() + " pending credit(s) that were not paid before the last shutdown."));
+    }
+
+    /**
+     * Deposit every pending credit whose window has ended.
+     * @param now The current epoch time in milliseconds.
+     */
+    private void settleDue(long now) {
+        if(credits.isEmpty()) return;
+
+        // Due credits are collected first, as a failed deposit may add its credit back to be retried.
+        List<Map.Entry<UUID, Credit>> due = new ArrayList<>();
+        Iterator<Map.Entry<UUID, Credit>> iterator = credits.entrySet().iterator();
+        while(iterator.hasNext()) {
+            Map.Entry<UUID, Credit> entry = iterator.next();
+            if(entry.getValue().dueAt > now) continue;
+
+            iterator.remove();
+            due.add(entry);
+        }
+
+        due.forEach(entry -> settle(entry.getKey(), entry.getValue()));
+    }
+
+    /**
+     * Pay a credit with a single deposit, then update the journal and complete the future of every sale in it.
+     * If the deposit fails, the sales waiting on the credit handle their own failure, while the money that stays owed is kept journaled and retried.
+     * @param uuid The {@link UUID} of the player.
+     * @param credit The {@link Credit} to pay.
+     */
+    private void settle(@NotNull UUID uuid, @NotNull Credit credit) {
+        OfflinePlayer player = skyShop.getServer().getOfflinePlayer(uuid);
+        EconomyManager economyManager = skyShop.getEconomyManager();
+
+        economyManager.runOnMain(economyManager.deposit(player, credit.total), result -> {
+            double settled = result.success() ? credit.total : credit.total - credit.retainedAmount;
+            if(settled > 0.0) {
+                double remaining = owed.merge(uuid, -settled, Double::sum);
+                if(remaining < SETTLED_EPSILON) {
+                    owed.remove(uuid);
+                    remaining = 0.0;
+                }
+                journal(uuid, remaining);
+            }
+
+            if(!result.success() && credit.retainedAmount > 0.0) {
+                skyShop.getComponentLogger().warn(AdventureUtil.serialize("Failed to pay " + player.getName() + " the " + credit.retainedAmount + " they are owed. It will be retried in " + (RETRY_MILLIS / 1000L) + " seconds: " + result.errorMessage()));
+                credits.computeIfAbsent(uuid, key -> new Credit(System.currentTimeMillis() + RETRY_MILLIS)).addRetained(credit.retainedAmount);
+            }
+
+            for(int i = 0; i < credit.futures.size(); i++) {
+                credit.futures.get(i).complete(new EconomyResult(result.success(), credit.amounts.get(i), result.balance(), result.errorMessage(), result.unavailable()));
+            }
+        });
+    }
+
+    /**
+     * Journal the total a player is owed.
+     * @param uuid The {@link UUID} of the player.
+     * @param amount The total the player is owed.
+     */
+    private void journal(@NotNull UUID uuid, double amount) {
+        // Until the journal has been loaded, writing to it could overwrite credits owed from before the restart.
+        if(!replayed) return;
+
+        // Versions are based on the current time so they keep increasing across restarts.
+        lastVersion = Math.max(lastVersion + 1, System.currentTimeMillis() * 1000L);
+
+        CompletableFuture<Boolean> write = databaseManager.getPendingCreditTable().saveCredit(uuid, amount, lastVersion);
+        pendingWrites.add(write);
+        write.whenComplete((saved, throwable) -> {
+            pendingWrites.remove(write);
+            if(!Boolean.TRUE.equals(saved)) {
+                skyShop.getComponentLogger().warn(AdventureUtil.serialize("Failed to journal the pending credit of " + uuid + " (" + amount + ")."));
+            }
+        });
+    }
+
+    /**
+     * The pending credit of a single player.
+     */
+    private static final class Credit {
+        private long dueAt;
+        private final @NotNull List<Double> amounts = new ArrayList<>();
+        private final @NotNull List<CompletableFuture<EconomyResult>> futures = new ArrayList<>();
+        private double total = 0.0;
+        private double retainedAmount = 0.0;
+
+        /**
+         * Constructor
+         * @param dueAt The epoch time in milliseconds the credit is paid at.
+         */
+        private Credit(long dueAt) {
+            this.dueAt = dueAt;
+        }
+
+        /**
+         * Add the money from a sale to the credit.
+         * @param amount The amount of the sale.
+         * @param future The {@link CompletableFuture} to complete once the credit is paid.
+         * @param retained Whether the money stays owed if the deposit fails.
+         */
+        private void add(double amount, @NotNull CompletableFuture<EconomyResult> future, boolean retained) {
+            amounts.add(amount);
+            futures.add(future);
+            total += amount;
+            if(retained) retainedAmount += amount;
+        }
+
+        /**
+         * Add money that stays owed if the deposit fails to the credit, i.e., money journaled by a previous run.
+         * @param amount The amount owed.
+         */
+        private void addRetained(double amount) {
+            retainedAmount += amount;
+            total += amount;
+        }
+    }
+}
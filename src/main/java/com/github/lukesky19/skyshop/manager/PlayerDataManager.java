@@ -0,0 +1,225 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.manager;
+
+import com.github.lukesky19.skylib.api.adventure.AdventureUtil;
+import com.github.lukesky19.skyshop.SkyShop;
+import com.github.lukesky19.skyshop.data.Booster;
+import com.github.lukesky19.skyshop.data.LimitCounterState;
+import com.github.lukesky19.skyshop.data.PlayerData;
+import com.github.lukesky19.skyshop.database.DatabaseManager;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * This class manages the cache of {@link PlayerData}.
+ * Player data is loaded off the main thread before the player joins and kept in memory while they are online, so transactions never wait on the database.
+ * Changed data is written to the database in batches when the player quits and by {@link #savePlayerData()}.
+ * After a player quits, their data is kept for a grace period so quickly rejoining doesn't load it again.
+ */
+public class PlayerDataManager {
+    /**
+     * How long the login thread waits for a player's data to load before letting them join anyway.
+     */
+    private static final long LOAD_TIMEOUT_SECONDS = 5L;
+    /**
+     * How long a player's data stays cached after they quit.
+     */
+    private static final long EVICTION_GRACE_MILLIS = 300_000L;
+
+    private final @NotNull SkyShop skyShop;
+    private final @NotNull DatabaseManager databaseManager;
+    private final @NotNull Map<UUID, PlayerData> playerDataMap = new ConcurrentHashMap<>();
+    private final @NotNull Map<UUID, CompletableFuture<PlayerData>> pendingLoads = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor
+     * @param skyShop A {@link SkyShop} instance.
+     * @param databaseManager A {@link DatabaseManager} instance.
+     */
+    public PlayerDataManager(@NotNull SkyShop skyShop, @NotNull DatabaseManager databaseManager) {
+        this.skyShop = skyShop;
+        this.databaseManager = databaseManager;
+    }
+
+    /**
+     * Get the cached {@link PlayerData} of a player.
+     * @param uuid The {@link UUID} of the player.
+     * @return An {@link Optional} containing the {@link PlayerData}. Will be empty if the player's data hasn't finished loading.
+     */
+    public @NotNull Optional<PlayerData> getPlayerData(@NotNull UUID uuid) {
+        return Optional.ofNullable(playerDataMap.get(uuid));
+    }
+
+    /**
+     * Check if a player's data has finished loading.
+     * @param uuid The {@link UUID} of the player.
+     * @return true if the player's data is loaded, otherwise false.
+     */
+    public boolean isLoaded(@NotNull UUID uuid) {
+        return playerDataMap.containsKey(uuid);
+    }
+
+    /**
+     * Load a player's data from the database, unless it is still cached from a recent session.
+     * @param uuid The {@link UUID} of the player.
+     * @return A {@link CompletableFuture} that completes once the player's data is loaded.
+     */
+    public @NotNull CompletableFuture<PlayerData> loadPlayerData(@NotNull UUID uuid) {
+        PlayerData cachedData = playerDataMap.get(uuid);
+        if(cachedData != null) {
+            cachedData.setEvictAt(-1L);
+            return CompletableFuture.completedFuture(cachedData);
+        }
+
+        CompletableFuture<PlayerData> future = new CompletableFuture<>();
+        CompletableFuture<PlayerData> pendingLoad = pendingLoads.putIfAbsent(uuid, future);
+        if(pendingLoad != null) return pendingLoad;
+
+        CompletableFuture<Map<String, LimitCounterState>> limitsFuture = databaseManager.getLimitTable().loadCounters(uuid);
+        CompletableFuture<List<Booster>> boostersFuture = databaseManager.getBoosterTable().loadBoosters(uuid.toString());
+
+        limitsFuture.thenCombine(boostersFuture, (limitStates, boosters) -> new PlayerData(uuid, limitStates, boosters)).whenComplete((loadedData, throwable) -> {
+            if(throwable != null) {
+                pendingLoads.remove(uuid);
+                skyShop.getComponentLogger().warn(AdventureUtil.serialize("Failed to load the player data for <yellow>" + uuid + "</yellow>. " + throwable.getMessage()));
+                future.completeExceptionally(throwable);
+                return;
+            }
+
+            PlayerData playerData = playerDataMap.computeIfAbsent(uuid, key -> loadedData);
+            pendingLoads.remove(uuid);
+            future.complete(playerData);
+        });
+
+        return future;
+    }
+
+    /**
+     * Load a player's data and wait a bounded amount of time for it to finish.
+     * This should only be called off the main thread, i.e., while the player is logging in.
+     * If the data takes longer to load, it finishes in the background and transactions fail until it does.
+     * @param uuid The {@link UUID} of the player.
+     */
+    public void loadPlayerDataBlocking(@NotNull UUID uuid) {
+        try {
+            loadPlayerData(uuid).get(LOAD_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            skyShop.getComponentLogger().warn(AdventureUtil.serialize("The player data for <yellow>" + uuid + "</yellow> took too long to load. It will keep loading in the background."));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ignored) {
+            // Already logged when the load failed.
+        }
+    }
+
+    /**
+     * Get the data of every cached player.
+     * @return A {@link Collection} of {@link PlayerData}.
+     */
+    public @NotNull Collection<PlayerData> getCachedPlayerData() {
+        return Collections.unmodifiableCollection(playerDataMap.values());
+    }
+
+    /**
+     * Handle a player quitting. Their changed data is saved and the data is evicted once the grace period ends.
+     * @param uuid The {@link UUID} of the player.
+     */
+    public void handleQuit(@NotNull UUID uuid) {
+        PlayerData playerData = playerDataMap.get(uuid);
+        if(playerData == null) return;
+
+        playerData.setEvictAt(System.currentTimeMillis() + EVICTION_GRACE_MILLIS);
+        saveBatch(List.of(playerData));
+    }
+
+    /**
+     * Saves the data of every cached player that changed since the last save to the database in one batch.
+     * Once the batch is saved successfully, the data of players whose grace period ended is evicted on the main thread.
+     * @return A {@link CompletableFuture} containing true if saved successfully, otherwise false.
+     */
+    public @NotNull CompletableFuture<@NotNull Boolean> savePlayerData() {
+        CompletableFuture<Boolean> future = saveBatch(List.copyOf(playerDataMap.values()));
+
+        future.thenAccept(saved -> {
+            // Nothing is evicted on plugin disable, since the scheduler can't be used anymore.
+            if(saved && skyShop.isEnabled()) skyShop.getServer().getScheduler().runTask(skyShop, this::evictExpired);
+        });
+
+        return future;
+    }
+
+    /**
+     * Evict the data of players whose grace period ended and who are still offline, unless it changed since it was saved.
+     */
+    private void evictExpired() {
+        long now = System.currentTimeMillis();
+        playerDataMap.values().removeIf(playerData -> playerData.getEvictAt() >= 0 && playerData.getEvictAt() <= now && !playerData.isDirty()
+                && skyShop.getServer().getPlayer(playerData.getUuid()) == null);
+    }
+
+    /**
+     * Saves the changed data of the provided players to the database in one batch.
+     * @param playerDataList A {@link List} of {@link PlayerData} to save.
+     * @return A {@link CompletableFuture} containing true if saved successfully, otherwise false.
+     */
+    private @NotNull CompletableFuture<@NotNull Boolean> saveBatch(@NotNull List<PlayerData> playerDataList) {
+        Map<UUID, PlayerData> savedData = new HashMap<>();
+        Map<UUID, Map<String, LimitCounterState>> changedLimits = new HashMap<>();
+        Map<String, List<Booster>> changedBoosters = new HashMap<>();
+        for(PlayerData playerData : playerDataList) {
+            savedData.put(playerData.getUuid(), playerData);
+
+            Map<String, LimitCounterState> states = playerData.snapshotChangedLimits();
+            if(!states.isEmpty()) changedLimits.put(playerData.getUuid(), states);
+
+            List<Booster> boosters = playerData.snapshotChangedBoosters();
+            if(boosters != null) changedBoosters.put(playerData.getUuid().toString(), boosters);
+        }
+
+        CompletableFuture<Boolean> limitsFuture = databaseManager.getLimitTable().saveCounters(changedLimits).exceptionally(throwable -> false).thenApply(result -> {
+            // Mark the captured data as changed again so the next save retries it, even if it was evicted in the meantime.
+            if(!result) {
+                changedLimits.forEach((uuid, states) -> {
+                    PlayerData playerData = savedData.get(uuid);
+                    states.keySet().forEach(playerData::markLimitDirty);
+                    playerDataMap.putIfAbsent(uuid, playerData);
+                });
+            }
+
+            return result;
+        });
+
+        CompletableFuture<Boolean> boostersFuture = databaseManager.getBoosterTable().saveBoosters(changedBoosters).exceptionally(throwable -> false).thenApply(result -> {
+            if(!result) {
+                changedBoosters.keySet().forEach(ownerId -> {
+                    UUID uuid = UUID.fromString(ownerId);
+                    PlayerData playerData = savedData.get(uuid);
+                    playerData.markBoostersDirty();
+                    playerDataMap.putIfAbsent(uuid, playerData);
+                });
+            }
+
+            return result;
+        });
+
+        return limitsFuture.thenCombine(boostersFuture, (limitsSaved, boostersSaved) -> limitsSaved && boostersSaved);
+    }
+}
@@ -0,0 +1,306 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.manager;
+
+import com.github.lukesky19.skylib.api.adventure.AdventureUtil;
+import com.github.lukesky19.skylib.api.registry.RegistryUtil;
+import com.github.lukesky19.skyshop.SkyShop;
+import com.github.lukesky19.skyshop.configuration.LimitsManager;
+import com.github.lukesky19.skyshop.data.LimitCounterState;
+import com.github.lukesky19.skyshop.data.Limits;
+import com.github.lukesky19.skyshop.data.PlayerData;
+import com.github.lukesky19.skyshop.data.SlidingWindowCounter;
+import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
+import org.bukkit.inventory.ItemType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * This class manages the per-player purchase and sell limits configured in limits.yml.
+ * Each limit is tracked with a {@link SlidingWindowCounter} per player, which is stored in the player's {@link PlayerData}.
+ * Changed counters are written to the database by the {@link PlayerDataManager}.
+ */
+public class PlayerLimitManager {
+    private final @NotNull SkyShop skyShop;
+    private final @NotNull LimitsManager limitsManager;
+    private final @NotNull PlayerDataManager playerDataManager;
+    private @NotNull Map<ItemType, Limit> itemLimits = Map.of();
+    private @NotNull Map<String, Limit> transactionLimits = Map.of();
+
+    /**
+     * Constructor
+     * @param skyShop A {@link SkyShop} instance.
+     * @param limitsManager A {@link LimitsManager} instance.
+     * @param playerDataManager A {@link PlayerDataManager} instance.
+     */
+    public PlayerLimitManager(@NotNull SkyShop skyShop, @NotNull LimitsManager limitsManager, @NotNull PlayerDataManager playerDataManager) {
+        this.skyShop = skyShop;
+        this.limitsManager = limitsManager;
+        this.playerDataManager = playerDataManager;
+    }
+
+    /**
+     * Build the limits from the {@link Limits} config.
+     * Counters of limits whose window or buckets changed are reset the next time they are used.
+     */
+    public void reload() {
+        ComponentLogger logger = skyShop.getComponentLogger();
+        Map<ItemType, Limit> newItemLimits = new HashMap<>();
+        Map<String, Limit> newTransactionLimits = new HashMap<>();
+
+        Optional<Limits> optionalLimits = limitsManager.getLimits();
+        if(optionalLimits.isPresent()) {
+            optionalLimits.get().limits().forEach((limitId, limitConfig) -> {
+                if(limitConfig.window() == null || limitConfig.window() <= 0) {
+                    logger.warn(AdventureUtil.serialize("Skipping limit <yellow>" + limitId + "</yellow> in <yellow>limits.yml</yellow> due to an invalid window."));
+                    return;
+                }
+
+                int maxBuy = limitConfig.maxBuy() != null ? limitConfig.maxBuy() : -1;
+                int maxSell = limitConfig.maxSell() != null ? limitConfig.maxSell() : -1;
+                int buckets = limitConfig.buckets() != null && limitConfig.buckets() > 0 ? limitConfig.buckets() : 1;
+                Limit limit = new Limit(limitId, maxBuy, maxSell, limitConfig.window() * 1000L, buckets);
+
+                if(limitConfig.itemType() != null) {
+                    Optional<ItemType> optionalItemType = RegistryUtil.getItemType(logger, limitConfig.itemType());
+                    optionalItemType.ifPresent(itemType -> newItemLimits.put(itemType, limit));
+                } else if(limitConfig.transactionName() != null) {
+                    newTransactionLimits.put(limitConfig.transactionName(), limit);
+                } else {
+                    logger.warn(AdventureUtil.serialize("Skipping limit <yellow>" + limitId + "</yellow> in <yellow>limits.yml</yellow> due to no item type or transaction name."));
+                }
+            });
+        }
+
+        itemLimits = newItemLimits;
+        transactionLimits = newTransactionLimits;
+    }
+
+    /**
+     * Get the amount of an item type a player can still buy.
+     * @param uuid The {@link UUID} of the player.
+     * @param itemType The {@link ItemType} being bought.
+     * @return The remaining amount, or {@link Integer#MAX_VALUE} if the item type has no buy limit.
+     */
+    public int getRemainingBuys(@NotNull UUID uuid, @NotNull ItemType itemType) {
+        Limit limit = itemLimits.get(itemType);
+        return limit != null ? getRemaining(uuid, limit, limit.maxBuy(), "buy") : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Get the amount of an item type a player can still sell.
+     * @param uuid The {@link UUID} of the player.
+     * @param itemType The {@link ItemType} being sold.
+     * @return The remaining amount, or {@link Integer#MAX_VALUE} if the item type has no sell limit.
+     */
+    public int getRemainingSells(@NotNull UUID uuid, @NotNull ItemType itemType) {
+        Limit limit = itemLimits.get(itemType);
+        return limit != null ? getRemaining(uuid, limit, limit.maxSell(), "sell") : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Get the amount of times a player can still buy a command transaction.
+     * @param uuid The {@link UUID} of the player.
+     * @param transactionName The name of the transaction.
+     * @return The remaining amount, or {@link Integer#MAX_VALUE} if the transaction has no buy limit.
+     */
+    public int getRemainingBuys(@NotNull UUID uuid, @NotNull String transactionName) {
+        Limit limit = transactionLimits.get(transactionName);
+        return limit != null ? getRemaining(uuid, limit, limit.maxBuy(), "buy") : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Get the amount of times a player can still sell a command transaction.
+     * @param uuid The {@link UUID} of the player.
+     * @param transactionName The name of the transaction.
+     * @return The remaining amount, or {@link Integer#MAX_VALUE} if the transaction has no sell limit.
+     */
+    public int getRemainingSells(@NotNull UUID uuid, @NotNull String transactionName) {
+        Limit limit = transactionLimits.get(transactionName);
+        return limit != null ? getRemaining(uuid, limit, limit.maxSell(), "sell") : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Record an amount of an item type bought by a player.
+     * @param uuid The {@link UUID} of the player.
+     * @param itemType The {@link ItemType} bought.
+     * @param amount The amount bought.
+     */
+    public void recordBuy(@NotNull UUID uuid, @NotNull ItemType itemType, int amount) {
+        Limit limit = itemLimits.get(itemType);
+        if(limit != null && limit.maxBuy() >= 0) record(uuid, limit, "buy", amount);
+    }
+
+    /**
+     * Record an amount of an item type sold by a player.
+     * @param uuid The {@link UUID} of the player.
+     * @param itemType The {@link ItemType} sold.
+     * @param amount The amount sold.
+     */
+    public void recordSell(@NotNull UUID uuid, @NotNull ItemType itemType, int amount) {
+        Limit limit = itemLimits.get(itemType);
+        if(limit != null && limit.maxSell() >= 0) record(uuid, limit, "sell", amount);
+    }
+
+    /**
+     * Record an amount of a command transaction bought by a player.
+     * @param uuid The {@link UUID} of the player.
+     * @param transactionName The name of the transaction.
+     * @param amount The amount bought.
+     */
+    public void recordBuy(@NotNull UUID uuid, @NotNull String transactionName, int amount) {
+        Limit limit = transactionLimits.get(transactionName);
+        if(limit != null && limit.maxBuy() >= 0) record(uuid, limit, "buy", amount);
+    }
+
+    /**
+     * Record an amount of a command transaction sold by a player.
+     * @param uuid The {@link UUID} of the player.
+     * @param transactionName The name of the transaction.
+     * @param amount The amount sold.
+     */
+    public void recordSell(@NotNull UUID uuid, @NotNull String transactionName, int amount) {
+        Limit limit = transactionLimits.get(transactionName);
+        if(limit != null && limit.maxSell() >= 0) record(uuid, limit, "sell", amount);
+    }
+
+    /**
+     * Release an amount of an item type that was recorded as sold by a player, but whose sale didn't complete.
+     * @param uuid The {@link UUID} of the player.
+     * @param itemType The {@link ItemType} that was recorded.
+     * @param amount The amount to release.
+     */
+    public void releaseSell(@NotNull UUID uuid, @NotNull ItemType itemType, int amount) {
+        Limit limit = itemLimits.get(itemType);
+        if(limit != null && limit.maxSell() >= 0) release(uuid, limit, "sell", amount);
+    }
+
+    /**
+     * Release an amount of a command transaction that was recorded as sold by a player, but whose sale didn't complete.
+     * @param uuid The {@link UUID} of the player.
+     * @param transactionName The name of the transaction.
+     * @param amount The amount to release.
+     */
+    public void releaseSell(@NotNull UUID uuid, @NotNull String transactionName, int amount) {
+        Limit limit = transactionLimits.get(transactionName);
+        if(limit != null && limit.maxSell() >= 0) release(uuid, limit, "sell", amount);
+    }
+
+    /**
+     * Get the amount remaining for a limit.
+     * @param uuid The {@link UUID} of the player.
+     * @param limit The {@link Limit}.
+     * @param max The max amount of the limit. Negative for no limit.
+     * @param direction Either buy or sell.
+     * @return The remaining amount, or {@link Integer#MAX_VALUE} if there is no limit. Zero if the player's data isn't loaded.
+     */
+    private int getRemaining(@NotNull UUID uuid, @NotNull Limit limit, int max, @NotNull String direction) {
+        if(max < 0) return Integer.MAX_VALUE;
+
+        Optional<PlayerData> optionalPlayerData = playerDataManager.getPlayerData(uuid);
+        if(optionalPlayerData.isEmpty()) return 0;
+
+        SlidingWindowCounter counter = getCounter(optionalPlayerData.get(), limit, direction);
+        if(counter == null) return max;
+
+        return Math.max(0, max - counter.getTotal(System.currentTimeMillis()));
+    }
+
+    /**
+     * Add an amount to a limit's counter.
+     * @param uuid The {@link UUID} of the player.
+     * @param limit The {@link Limit}.
+     * @param direction Either buy or sell.
+     * @param amount The amount to add.
+     */
+    private void record(@NotNull UUID uuid, @NotNull Limit limit, @NotNull String direction, int amount) {
+        Optional<PlayerData> optionalPlayerData = playerDataManager.getPlayerData(uuid);
+        if(optionalPlayerData.isEmpty()) return;
+        PlayerData playerData = optionalPlayerData.get();
+        String counterKey = limit.id() + ":" + direction;
+
+        SlidingWindowCounter counter = getCounter(playerData, limit, direction);
+        if(counter == null) {
+            counter = new SlidingWindowCounter(limit.buckets(), limit.windowMillis());
+            playerData.getLimitCounters().put(counterKey, counter);
+        }
+
+        counter.add(System.currentTimeMillis(), amount);
+        playerData.markLimitDirty(counterKey);
+    }
+
+    /**
+     * Remove an amount from a limit's counter.
+     * @param uuid The {@link UUID} of the player.
+     * @param limit The {@link Limit}.
+     * @param direction Either buy or sell.
+     * @param amount The amount to remove.
+     */
+    private void release(@NotNull UUID uuid, @NotNull Limit limit, @NotNull String direction, int amount) {
+        Optional<PlayerData> optionalPlayerData = playerDataManager.getPlayerData(uuid);
+        if(optionalPlayerData.isEmpty()) return;
+        PlayerData playerData = optionalPlayerData.get();
+
+        SlidingWindowCounter counter = getCounter(playerData, limit, direction);
+        if(counter == null) return;
+
+        counter.remove(System.currentTimeMillis(), amount);
+        playerData.markLimitDirty(limit.id() + ":" + direction);
+    }
+
+    /**
+     * Get a player's counter for a limit, creating it from the stored state loaded from the database if needed.
+     * @param playerData The player's {@link PlayerData}.
+     * @param limit The {@link Limit}.
+     * @param direction Either buy or sell.
+     * @return The {@link SlidingWindowCounter} or null if the player hasn't bought or sold anything under the limit.
+     */
+    private @Nullable SlidingWindowCounter getCounter(@NotNull PlayerData playerData, @NotNull Limit limit, @NotNull String direction) {
+        String counterKey = limit.id() + ":" + direction;
+        Map<String, SlidingWindowCounter> counters = playerData.getLimitCounters();
+        SlidingWindowCounter counter = counters.get(counterKey);
+
+        // Rebuild the counter if the limit's window changed since it was created.
+        if(counter != null && !counter.matches(limit.buckets(), limit.windowMillis())) {
+            counter = null;
+            counters.remove(counterKey);
+        }
+
+        if(counter == null) {
+            LimitCounterState storedState = playerData.getStoredLimitStates().remove(counterKey);
+            if(storedState != null) {
+                counter = SlidingWindowCounter.fromState(limit.buckets(), limit.windowMillis(), storedState);
+                if(counter != null) counters.put(counterKey, counter);
+            }
+        }
+
+        return counter;
+    }
+
+    /**
+     * A compiled limit from limits.yml.
+     * @param id The id of the limit.
+     * @param maxBuy The max amount that can be bought inside the window. Negative for no limit.
+     * @param maxSell The max amount that can be sold inside the window. Negative for no limit.
+     * @param windowMillis The length of the window in milliseconds.
+     * @param buckets The number of buckets the window is divided into.
+     */
+    private record Limit(@NotNull String id, int maxBuy, int maxSell, long windowMillis, int buckets) {}
+}
@@ -20,26 +20,41 @@ package com.github.lukesky19.skyshop.manager;
 import com.github.lukesky19.skylib.api.adventure.AdventureUtil;
 import com.github.lukesky19.skylib.api.registry.RegistryUtil;
 import com.github.lukesky19.skyshop.SkyShop;
+import com.github.lukesky19.skyshop.configuration.PricingRulesManager;
+import com.github.lukesky19.skyshop.data.PricingRules;
+import com.github.lukesky19.skyshop.data.SaleSchedule;
 import com.github.lukesky19.skyshop.data.gui.ShopConfig;
 import com.github.lukesky19.skyshop.util.ButtonType;
 import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Tag;
 import org.bukkit.inventory.ItemType;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 /**
- * This class keeps track of the appropriate sell price for each {@link ItemType} as configured in {@link ShopConfig}s.
+ * This class keeps track of the appropriate sell price for each {@link ItemType} as configured in {@link ShopConfig}s and the pricing rules.
+ * Prices are compiled into a table indexed by {@link Material#ordinal()} so a lookup is a single array read.
+ * The active scheduled sales are applied on top of the compiled table, and the sale prices are swapped in whenever the active sales change.
  */
 public class PriceManager {
     private final @NotNull SkyShop skyShop;
-    private final @NotNull HashMap<@NotNull ItemType, @NotNull Double> sellPrices = new HashMap<>();
+    private final @NotNull PricingRulesManager pricingRulesManager;
+    // Indexed by Material#ordinal(). NaN means the item is not configured to be sold.
+    private double @NotNull [] sellPrices = createEmptyTable();
+    // The compiled table before sales are applied and the categories of each Material, used to match sales.
+    private double @NotNull [] baseSellPrices = sellPrices;
+    private @NotNull Map<@NotNull Material, @NotNull Set<String>> materialCategories = Map.of();
+    private @NotNull List<SaleSchedule.Window> activeSales = List.of();
 
     /**
      * Default Constructor.
-     * You should use {@link PriceManager#PriceManager(SkyShop)} instead.
+     * You should use {@link PriceManager#PriceManager(SkyShop, PricingRulesManager)} instead.
      * @throws RuntimeException if used.
      */
     @Deprecated
@@ -50,9 +65,11 @@ public class PriceManager {
     /**
      * Constructor
      * @param skyShop A {@link SkyShop} instance.
+     * @param pricingRulesManager A {@link PricingRulesManager} instance.
      */
-    public PriceManager(@NotNull SkyShop skyShop) {
+    public PriceManager(@NotNull SkyShop skyShop, @NotNull PricingRulesManager pricingRulesManager) {
         this.skyShop = skyShop;
+        this.pricingRulesManager = pricingRulesManager;
     }
 
     /**
@@ -63,22 +80,94 @@ public class PriceManager {
      */
     @NotNull
     public Optional<@NotNull Double> getItemTypeSellPrice(@NotNull ItemType itemType) {
-        return Optional.ofNullable(sellPrices.get(itemType));
+        Material material = itemType.asMaterial();
+        if(material == null) return Optional.empty();
+
+        double price = sellPrices[material.ordinal()];
+
+        return Double.isNaN(price) ? Optional.empty() : Optional.of(price);
+    }
+
+    /**
+     * Get a copy of the compiled sell prices before any scheduled sales are applied.
+     * Used to take a snapshot on the main thread that can be read from a worker thread.
+     * @return The price table indexed by {@link Material#ordinal()}. NaN means the item is not configured to be sold.
+     */
+    public double @NotNull [] getBaseSellPrices() {
+        return baseSellPrices.clone();
     }
 
     /**
      * Clear cached sell prices.
      */
     public void clearPrices() {
-        sellPrices.clear();
+        sellPrices = createEmptyTable();
+        baseSellPrices = sellPrices;
+        materialCategories = Map.of();
     }
 
     /**
-     * Stores the sell prices for all buttons with a {@link ButtonType} of TRANSACTION from a {@link ShopConfig}.
+     * Builds the sell prices for all buttons with a {@link ButtonType} of TRANSACTION from the provided {@link ShopConfig}s,
+     * applies the pricing rules, and swaps the result in once complete.
      * If multiple {@link ShopConfig} contains prices the same {@link ItemType}, the last {@link ShopConfig} processed will take priority.
+     * @param shopConfigs A {@link Collection} of {@link ShopConfig}s.
+     */
+    public void cacheSellPrices(@NotNull Collection<@NotNull ShopConfig> shopConfigs) {
+        double[] newSellPrices = createEmptyTable();
+        Map<@NotNull Material, @NotNull Set<String>> categories = new HashMap<>();
+
+        shopConfigs.forEach(shopConfig -> cacheSellPrices(shopConfig, newSellPrices, categories));
+
+        pricingRulesManager.getPricingRules().ifPresent(pricingRules -> applyPricingRules(pricingRules, newSellPrices, categories));
+
+        baseSellPrices = newSellPrices;
+        materialCategories = categories;
+        sellPrices = applySales(newSellPrices, categories, activeSales);
+    }
+
+    /**
+     * Apply the active scheduled sales to the compiled sell prices.
+     * Sales that only match shops are not applied, since these prices are not taken from a single shop.
+     * @param activeSales The active {@link SaleSchedule.Window}s.
+     */
+    public void applySales(@NotNull List<SaleSchedule.Window> activeSales) {
+        this.activeSales = activeSales;
+        sellPrices = applySales(baseSellPrices, materialCategories, activeSales);
+    }
+
+    /**
+     * Create a copy of the sell prices with the sell multipliers of the matching sales applied.
+     * @param prices The compiled price table.
+     * @param categories The categories of each {@link Material}.
+     * @param activeSales The active {@link SaleSchedule.Window}s.
+     * @return The price table with the sales applied. The compiled table is returned as-is if no sale changes sell prices.
+     */
+    private static double @NotNull [] applySales(double @NotNull [] prices, @NotNull Map<@NotNull Material, @NotNull Set<String>> categories, @NotNull List<SaleSchedule.Window> activeSales) {
+        List<SaleSchedule.Window> sellSales = activeSales.stream().filter(window -> window.sellMultiplier() != 1.0).toList();
+        if(sellSales.isEmpty()) return prices;
+
+        double[] salePrices = prices.clone();
+        for(Material material : Material.values()) {
+            int index = material.ordinal();
+            if(Double.isNaN(salePrices[index])) continue;
+
+            Set<String> itemCategories = categories.getOrDefault(material, Set.of());
+            String key = material.getKey().asString();
+            for(SaleSchedule.Window window : sellSales) {
+                if(window.matches(null, itemCategories, key)) salePrices[index] *= window.sellMultiplier();
+            }
+        }
+
+        return salePrices;
+    }
+
+    /**
+     * Stores the sell prices for all buttons with a {@link ButtonType} of TRANSACTION from a {@link ShopConfig}.
      * @param shopConfig A {@link ShopConfig}.
+     * @param prices The price table to store the sell prices in.
+     * @param categories The {@link Map} to store the categories of each {@link Material} in.
      */
-    public void cacheSellPrices(@NotNull ShopConfig shopConfig) {
+    private void cacheSellPrices(@NotNull ShopConfig shopConfig, double @NotNull [] prices, @NotNull Map<@NotNull Material, @NotNull Set<String>> categories) {
         ComponentLogger logger = skyShop.getComponentLogger();
 
         List<ShopConfig.PageConfig> pages = shopConfig.gui().pages();
@@ -93,13 +182,14 @@ public class PriceManager {
                 if(buttonConfig.buttonType() == null || !buttonConfig.buttonType().equals(ButtonType.TRANSACTION)) continue;
                 // Get the transaction data
                 ShopConfig.TransactionData transactionData = buttonConfig.transactionData();
+                // Only Vault prices are cached, since /sell and the sellall GUI pay out Vault money.
+                if(!CurrencyManager.isVault(transactionData.currency())) continue;
 
-                // If no sell price is configured, skip to the next button.
-                if(transactionData.sellPrice() == null || transactionData.sellPrice() <= 0.0) continue;
-
-                // If the ItemType isn't configured, log an error and skip to the next button.
+                // If the ItemType isn't configured, log an error if a sell price is configured and skip to the next button.
                 if(transactionData.transactionItem().itemType() == null) {
-                    logger.warn(AdventureUtil.serialize("Unable to cache sell price due to an invalid ItemType."));
+                    if(transactionData.sellPrice() != null && transactionData.sellPrice() > 0.0) {
+                        logger.warn(AdventureUtil.serialize("Unable to cache sell price due to an invalid ItemType."));
+                    }
                     continue;
                 }
 
@@ -109,10 +199,147 @@ public class PriceManager {
                     logger.warn(AdventureUtil.serialize("Unable to cache sell price due to an invalid ItemType for ." + transactionData.transactionItem().itemType()));
                     continue;
                 }
+                Material material = optionalItemType.get().asMaterial();
+                if(material == null) continue;
+
+                // Store the category so category rules can match this item.
+                if(transactionData.category() != null) {
+                    categories.computeIfAbsent(material, key -> new HashSet<>()).add(transactionData.category());
+                }
+
+                // If no sell price is configured, skip to the next button.
+                if(transactionData.sellPrice() == null || transactionData.sellPrice() <= 0.0) continue;
 
                 // Cache the sell price
-                sellPrices.put(optionalItemType.get(), transactionData.sellPrice());
+                prices[material.ordinal()] = transactionData.sellPrice();
             }
         }
     }
+
+    /**
+     * Applies the highest priority matching pricing rule to each {@link Material} in the price table.
+     * Rules that can't change a {@link Material}'s price are skipped, so lower priority rules can still apply to it.
+     * @param pricingRules The {@link PricingRules} to apply.
+     * @param prices The price table containing the sell prices configured in the shops.
+     * @param categories The categories of each {@link Material} as configured in the shops.
+     */
+    private void applyPricingRules(@NotNull PricingRules pricingRules, double @NotNull [] prices, @NotNull Map<@NotNull Material, @NotNull Set<String>> categories) {
+        List<CompiledRule> compiledRules = new ArrayList<>();
+        for(PricingRules.Rule rule : pricingRules.rules()) {
+            compileRule(rule).ifPresent(compiledRules::add);
+        }
+        if(compiledRules.isEmpty()) return;
+
+        // Sort so the first matching rule is the one with the highest priority.
+        compiledRules.sort(Comparator.comparingInt((CompiledRule compiledRule) -> compiledRule.rule().priority()).reversed());
+
+        for(Material material : Material.values()) {
+            if(material.isLegacy() || !material.isItem()) continue;
+
+            Set<String> materialCategories = categories.getOrDefault(material, Set.of());
+            String key = material.getKey().asString();
+
+            for(CompiledRule compiledRule : compiledRules) {
+                if(!compiledRule.matches(material, key, materialCategories)) continue;
+
+                PricingRules.Rule rule = compiledRule.rule();
+                int index = material.ordinal();
+                if(rule.price() != null) {
+                    // A price rule only replaces a shop price if it overrides it.
+                    if(!Double.isNaN(prices[index]) && !rule.overrideShopPrice()) continue;
+
+                    prices[index] = rule.price() > 0.0 ? rule.price() : Double.NaN;
+                } else {
+                    // A multiplier rule has nothing to scale without a shop price.
+                    if(Double.isNaN(prices[index])) continue;
+
+                    double price = prices[index] * rule.multiplier();
+                    prices[index] = price > 0.0 ? price : Double.NaN;
+                }
+
+                // Only the highest priority rule that applied is used.
+                break;
+            }
+        }
+    }
+
+    /**
+     * Resolves the tags and compiles the patterns of a {@link PricingRules.Rule}.
+     * @param rule The {@link PricingRules.Rule} to compile.
+     * @return An {@link Optional} containing the {@link CompiledRule}. Will be empty if the rule has neither a price nor a multiplier.
+     */
+    private @NotNull Optional<CompiledRule> compileRule(@NotNull PricingRules.Rule rule) {
+        ComponentLogger logger = skyShop.getComponentLogger();
+
+        if(rule.price() == null && rule.multiplier() == null) {
+            logger.warn(AdventureUtil.serialize("Skipping a pricing rule with priority <yellow>" + rule.priority() + "</yellow> as it has no price or multiplier."));
+            return Optional.empty();
+        }
+
+        List<Tag<Material>> tags = new ArrayList<>();
+        for(String tagName : rule.tags()) {
+            NamespacedKey tagKey = NamespacedKey.fromString(tagName);
+            Tag<Material> tag = tagKey != null ? Bukkit.getTag(Tag.REGISTRY_ITEMS, tagKey, Material.class) : null;
+            if(tag == null) {
+                logger.warn(AdventureUtil.serialize("Unable to find the item tag <yellow>" + tagName + "</yellow> used in a pricing rule."));
+                continue;
+            }
+
+            tags.add(tag);
+        }
+
+        List<Pattern> patterns = new ArrayList<>();
+        for(String regex : rule.patterns()) {
+            try {
+                patterns.add(Pattern.compile(regex));
+            } catch (PatternSyntaxException e) {
+                logger.warn(AdventureUtil.serialize("Invalid pattern <yellow>" + regex + "</yellow> used in a pricing rule. " + e.getDescription()));
+            }
+        }
+
+        return Optional.of(new CompiledRule(rule, tags, patterns, Set.copyOf(rule.categories())));
+    }
+
+    /**
+     * Creates a price table with no prices set.
+     * @return A price table indexed by {@link Material#ordinal()} filled with NaN.
+     */
+    private static double @NotNull [] createEmptyTable() {
+        double[] table = new double[Material.values().length];
+        Arrays.fill(table, Double.NaN);
+
+        return table;
+    }
+
+    /**
+     * A {@link PricingRules.Rule} with its tags resolved and patterns compiled.
+     * @param rule The {@link PricingRules.Rule}.
+     * @param tags The resolved item {@link Tag}s.
+     * @param patterns The compiled {@link Pattern}s.
+     * @param categories The categories to match.
+     */
+    private record CompiledRule(@NotNull PricingRules.Rule rule, @NotNull List<Tag<Material>> tags, @NotNull List<Pattern> patterns, @NotNull Set<String> categories) {
+        /**
+         * Checks if a {@link Material} matches this rule.
+         * @param material The {@link Material} to check.
+         * @param key The {@link Material}'s key as a {@link String}.
+         * @param materialCategories The categories the {@link Material} belongs to.
+         * @return true if the {@link Material} matches any tag, pattern, or category, otherwise false.
+         */
+        private boolean matches(@NotNull Material material, @NotNull String key, @NotNull Set<String> materialCategories) {
+            for(Tag<Material> tag : tags) {
+                if(tag.isTagged(material)) return true;
+            }
+
+            for(Pattern pattern : patterns) {
+                if(pattern.matcher(key).matches()) return true;
+            }
+
+            for(String category : materialCategories) {
+                if(categories.contains(category)) return true;
+            }
+
+            return false;
+        }
+    }
 }
@@ -0,0 +1,227 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.manager;
+
+import com.github.lukesky19.skylib.api.adventure.AdventureUtil;
+import com.github.lukesky19.skyshop.SkyShop;
+import com.github.lukesky19.skyshop.data.SaleSchedule;
+import com.github.lukesky19.skyshop.data.TieredPrice;
+import com.github.lukesky19.skyshop.data.gui.ShopConfig;
+import com.github.lukesky19.skyshop.util.ButtonType;
+import com.github.lukesky19.skyshop.util.TransactionType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * This class manages the {@link TieredPrice}s of every transaction, keyed by the same shop, page, and slot key as the stock.
+ * The tables are compiled when the shops are reloaded, so GUIs only look them up when rendering prices.
+ * The active scheduled sales are applied on top of the compiled tables, and the sale prices are swapped in whenever the active sales change.
+ */
+public class PriceTierManager {
+    private final @NotNull SkyShop skyShop;
+    // The tables compiled from the shop configurations, before sales are applied.
+    private @NotNull Map<String, TieredPrice> baseBuyPrices = Map.of();
+    private @NotNull Map<String, TieredPrice> baseSellPrices = Map.of();
+    private @NotNull Map<String, SaleTarget> saleTargets = Map.of();
+    private @NotNull List<SaleSchedule.Window> activeSales = List.of();
+    // The tables with the active sales applied. Only transactions with a sale multiplier are stored in the multiplier maps.
+    private @NotNull Map<String, TieredPrice> buyPrices = Map.of();
+    private @NotNull Map<String, TieredPrice> sellPrices = Map.of();
+    private @NotNull Map<String, Double> buyMultipliers = Map.of();
+    private @NotNull Map<String, Double> sellMultipliers = Map.of();
+
+    /**
+     * Constructor
+     * @param skyShop A {@link SkyShop} instance.
+     */
+    public PriceTierManager(@NotNull SkyShop skyShop) {
+        this.skyShop = skyShop;
+    }
+
+    /**
+     * Compile the buy and sell {@link TieredPrice}s of every transaction in the provided shop configurations and apply the active sales.
+     * The new tables are only swapped in once they have all been compiled.
+     * @param shopConfigurations A {@link Map} mapping shop ids to their {@link ShopConfig}.
+     */
+    public void rebuild(@NotNull Map<String, ShopConfig> shopConfigurations) {
+        Map<String, TieredPrice> newBuyPrices = new HashMap<>();
+        Map<String, TieredPrice> newSellPrices = new HashMap<>();
+        Map<String, SaleTarget> newSaleTargets = new HashMap<>();
+
+        shopConfigurations.forEach((shopId, shopConfig) -> {
+            List<ShopConfig.PageConfig> pages = shopConfig.gui().pages();
+            for(int pageNum = 0; pageNum < pages.size(); pageNum++) {
+                for(ShopConfig.Button button : pages.get(pageNum).buttons()) {
+                    if(button.buttonType() != ButtonType.TRANSACTION || button.slot() == null) continue;
+
+                    ShopConfig.TransactionData transactionData = button.transactionData();
+                    String stockKey = StockManager.getStockKey(shopId, pageNum, button.slot());
+
+                    // Invalid tiers are logged once and the prices are used without tiers.
+                    List<ShopConfig.PriceTier> tiers = transactionData.priceTiers();
+                    if(tiers != null && TieredPrice.compile(1.0, tiers) == null) {
+                        skyShop.getComponentLogger().warn(AdventureUtil.serialize("Ignoring the price tiers of the transaction at <yellow>" + stockKey + "</yellow> due to an invalid tier. Every tier needs a multiplier greater than 0 and every tier but the last needs an amount greater than 0."));
+                        tiers = null;
+                    }
+
+                    TieredPrice buyPrice = compile(transactionData.buyPrice(), tiers);
+                    if(buyPrice != null) newBuyPrices.put(stockKey, buyPrice);
+
+                    TieredPrice sellPrice = compile(transactionData.sellPrice(), tiers);
+                    if(sellPrice != null) newSellPrices.put(stockKey, sellPrice);
+
+                    String itemKey = transactionData.transactionType() == TransactionType.ITEM ? SaleSchedule.getItemKey(transactionData.transactionItem().itemType()) : null;
+                    Set<String> categories = transactionData.category() != null ? Set.of(transactionData.category()) : Set.of();
+                    newSaleTargets.put(stockKey, new SaleTarget(shopId, categories, itemKey));
+                }
+            }
+        });
+
+        baseBuyPrices = newBuyPrices;
+        baseSellPrices = newSellPrices;
+        saleTargets = newSaleTargets;
+        applyPrices();
+    }
+
+    /**
+     * Apply the active scheduled sales to the compiled tables.
+     * @param activeSales The active {@link SaleSchedule.Window}s.
+     * @return A {@link Set} containing the keys of the transactions whose prices changed.
+     */
+    public @NotNull Set<String> applySales(@NotNull List<SaleSchedule.Window> activeSales) {
+        Map<String, Double> oldBuyMultipliers = buyMultipliers;
+        Map<String, Double> oldSellMultipliers = sellMultipliers;
+
+        this.activeSales = activeSales;
+        applyPrices();
+
+        Set<String> changed = new HashSet<>();
+        addChanged(changed, oldBuyMultipliers, buyMultipliers);
+        addChanged(changed, oldSellMultipliers, sellMultipliers);
+        return changed;
+    }
+
+    /**
+     * Get the buy {@link TieredPrice} of a transaction with the active sales applied.
+     * @param stockKey The key of the transaction, see {@link StockManager#getStockKey(String, int, int)}.
+     * @return An {@link Optional} containing the {@link TieredPrice}. Will be empty if the transaction can't be bought.
+     */
+    public @NotNull Optional<TieredPrice> getBuyPrice(@NotNull String stockKey) {
+        return Optional.ofNullable(buyPrices.get(stockKey));
+    }
+
+    /**
+     * Get the sell {@link TieredPrice} of a transaction with the active sales applied.
+     * @param stockKey The key of the transaction, see {@link StockManager#getStockKey(String, int, int)}.
+     * @return An {@link Optional} containing the {@link TieredPrice}. Will be empty if the transaction can't be sold.
+     */
+    public @NotNull Optional<TieredPrice> getSellPrice(@NotNull String stockKey) {
+        return Optional.ofNullable(sellPrices.get(stockKey));
+    }
+
+    /**
+     * Calculate the sale multipliers of every transaction from the active sales and swap in the scaled tables.
+     */
+    private void applyPrices() {
+        Map<String, Double> newBuyMultipliers = new HashMap<>();
+        Map<String, Double> newSellMultipliers = new HashMap<>();
+
+        if(!activeSales.isEmpty()) {
+            saleTargets.forEach((stockKey, target) -> {
+                double buyMultiplier = 1.0;
+                double sellMultiplier = 1.0;
+                for(SaleSchedule.Window window : activeSales) {
+                    if(!window.matches(target.shopId(), target.categories(), target.itemKey())) continue;
+
+                    buyMultiplier *= window.buyMultiplier();
+                    sellMultiplier *= window.sellMultiplier();
+                }
+
+                if(buyMultiplier != 1.0) newBuyMultipliers.put(stockKey, buyMultiplier);
+                if(sellMultiplier != 1.0) newSellMultipliers.put(stockKey, sellMultiplier);
+            });
+        }
+
+        buyPrices = scale(baseBuyPrices, newBuyMultipliers);
+        sellPrices = scale(baseSellPrices, newSellMultipliers);
+        buyMultipliers = newBuyMultipliers;
+        sellMultipliers = newSellMultipliers;
+    }
+
+    /**
+     * Compile the {@link TieredPrice} for a buy or sell price.
+     * @param price The buy or sell price.
+     * @param tiers The valid {@link ShopConfig.PriceTier}s of the transaction.
+     * @return The {@link TieredPrice} or null if the price is not configured.
+     */
+    private @Nullable TieredPrice compile(@Nullable Double price, @Nullable List<ShopConfig.PriceTier> tiers) {
+        if(price == null || price <= 0.0) return null;
+        if(tiers == null) return TieredPrice.flat(price);
+
+        return TieredPrice.compile(price, tiers);
+    }
+
+    /**
+     * Scale the tables of the transactions with a sale multiplier.
+     * @param basePrices The tables before sales are applied.
+     * @param multipliers The sale multipliers of the transactions.
+     * @return A {@link Map} containing the scaled tables. The base tables are returned as-is if there are no multipliers.
+     */
+    private static @NotNull Map<String, TieredPrice> scale(@NotNull Map<String, TieredPrice> basePrices, @NotNull Map<String, Double> multipliers) {
+        if(multipliers.isEmpty()) return basePrices;
+
+        Map<String, TieredPrice> scaledPrices = new HashMap<>(basePrices);
+        multipliers.forEach((stockKey, multiplier) -> {
+            TieredPrice basePrice = basePrices.get(stockKey);
+            if(basePrice != null) scaledPrices.put(stockKey, basePrice.scaled(multiplier));
+        });
+
+        return scaledPrices;
+    }
+
+    /**
+     * Add the keys whose multiplier differs between the old and new multipliers.
+     * @param changed The {@link Set} to add the changed keys to.
+     * @param oldMultipliers The previous multipliers.
+     * @param newMultipliers The new multipliers.
+     */
+    private static void addChanged(@NotNull Set<String> changed, @NotNull Map<String, Double> oldMultipliers, @NotNull Map<String, Double> newMultipliers) {
+        oldMultipliers.forEach((stockKey, multiplier) -> {
+            if(!Objects.equals(multiplier, newMultipliers.get(stockKey))) changed.add(stockKey);
+        });
+        newMultipliers.forEach((stockKey, multiplier) -> {
+            if(!oldMultipliers.containsKey(stockKey)) changed.add(stockKey);
+        });
+    }
+
+    /**
+     * What a scheduled sale can match a transaction by.
+     * @param shopId The id of the shop the transaction is in.
+     * @param categories The category of the transaction, if configured.
+     * @param itemKey The item type key of an ITEM transaction.
+     */
+    private record SaleTarget(@NotNull String shopId, @NotNull Set<String> categories, @Nullable String itemKey) {}
+}
@@ -0,0 +1,206 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.manager;
+
+import com.github.lukesky19.skylib.api.adventure.AdventureUtil;
+import com.github.lukesky19.skyshop.SkyShop;
+import com.github.lukesky19.skyshop.configuration.SalesManager;
+import com.github.lukesky19.skyshop.data.SaleSchedule;
+import com.github.lukesky19.skyshop.data.Sales;
+import com.github.lukesky19.skyshop.gui.GUIManager;
+import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * This class manages the scheduled sales configured in sales.yml.
+ * The sales are indexed in a {@link SaleSchedule}, and a task is scheduled for the next time a sale starts or ends.
+ * When the active sales change, the new sale prices are swapped into the {@link PriceManager} and {@link PriceTierManager},
+ * and only the open GUI buttons of the transactions whose prices changed are re-rendered.
+ */
+public class SaleScheduleManager {
+    private final @NotNull SkyShop skyShop;
+    private final @NotNull SalesManager salesManager;
+    private final @NotNull PriceManager priceManager;
+    private final @NotNull PriceTierManager priceTierManager;
+    private final @NotNull GUIManager guiManager;
+    private @NotNull SaleSchedule saleSchedule = SaleSchedule.empty();
+    private @NotNull List<SaleSchedule.Window> activeSales = List.of();
+    private @Nullable BukkitTask switchTask;
+
+    /**
+     * Constructor
+     * @param skyShop A {@link SkyShop} instance.
+     * @param salesManager A {@link SalesManager} instance.
+     * @param priceManager A {@link PriceManager} instance.
+     * @param priceTierManager A {@link PriceTierManager} instance.
+     * @param guiManager A {@link GUIManager} instance.
+     */
+    public SaleScheduleManager(
+            @NotNull SkyShop skyShop,
+            @NotNull SalesManager salesManager,
+            @NotNull PriceManager priceManager,
+            @NotNull PriceTierManager priceTierManager,
+            @NotNull GUIManager guiManager) {
+        this.skyShop = skyShop;
+        this.salesManager = salesManager;
+        this.priceManager = priceManager;
+        this.priceTierManager = priceTierManager;
+        this.guiManager = guiManager;
+    }
+
+    /**
+     * Build the {@link SaleSchedule} from the {@link Sales} config and apply the sales active right now.
+     * Open GUIs are not re-rendered here, since a reload already re-renders every open GUI.
+     */
+    public void reload() {
+        ComponentLogger logger = skyShop.getComponentLogger();
+        ZoneId zoneId = ZoneId.systemDefault();
+        List<SaleSchedule.Window> windows = new ArrayList<>();
+
+        salesManager.getSales().ifPresent(sales -> sales.sales().forEach(sale -> {
+            String name = Objects.requireNonNullElse(sale.name(), "unnamed");
+
+            if(sale.start() == null || sale.end() == null) {
+                logger.warn(AdventureUtil.serialize("Skipping the sale <yellow>" + name + "</yellow> in <yellow>sales.yml</yellow> as it has no start or end."));
+                return;
+            }
+
+            long start;
+            long end;
+            try {
+                start = LocalDateTime.parse(sale.start()).atZone(zoneId).toInstant().toEpochMilli();
+                end = LocalDateTime.parse(sale.end()).atZone(zoneId).toInstant().toEpochMilli();
+            } catch (DateTimeParseException e) {
+                logger.warn(AdventureUtil.serialize("Skipping the sale <yellow>" + name + "</yellow> in <yellow>sales.yml</yellow> due to an invalid start or end. " + e.getMessage()));
+                return;
+            }
+
+            if(start >= end) {
+                logger.warn(AdventureUtil.serialize("Skipping the sale <yellow>" + name + "</yellow> in <yellow>sales.yml</yellow> as it ends before it starts."));
+                return;
+            }
+
+            double buyMultiplier = Objects.requireNonNullElse(sale.buyMultiplier(), 1.0);
+            double sellMultiplier = Objects.requireNonNullElse(sale.sellMultiplier(), 1.0);
+            if(buyMultiplier <= 0.0 || sellMultiplier <= 0.0) {
+                logger.warn(AdventureUtil.serialize("Skipping the sale <yellow>" + name + "</yellow> in <yellow>sales.yml</yellow> due to a multiplier of 0 or less."));
+                return;
+            }
+
+            Set<String> items = new HashSet<>();
+            for(String item : sale.items()) {
+                String itemKey = SaleSchedule.getItemKey(item);
+                if(itemKey == null) {
+                    logger.warn(AdventureUtil.serialize("Ignoring the invalid item type <yellow>" + item + "</yellow> in the sale <yellow>" + name + "</yellow>."));
+                    continue;
+                }
+
+                items.add(itemKey);
+            }
+
+            windows.add(new SaleSchedule.Window(name, start, end, buyMultiplier, sellMultiplier, Set.copyOf(sale.shops()), Set.copyOf(sale.categories()), Set.copyOf(items)));
+        }));
+
+        saleSchedule = new SaleSchedule(windows);
+        switchSales(false);
+    }
+
+    /**
+     * Stop the task that switches the sale prices.
+     */
+    public void stop() {
+        if(switchTask != null) {
+            switchTask.cancel();
+            switchTask = null;
+        }
+    }
+
+    /**
+     * Get the sales active right now.
+     * @return A {@link List} of the active {@link SaleSchedule.Window}s.
+     */
+    public @NotNull List<SaleSchedule.Window> getActiveSales() {
+        return activeSales;
+    }
+
+    /**
+     * Apply the sales active right now and schedule the next switch.
+     * @param refreshGUIs Whether to re-render the open GUI buttons of the transactions whose prices changed.
+     */
+    private void switchSales(boolean refreshGUIs) {
+        long now = System.currentTimeMillis();
+        List<SaleSchedule.Window> newActiveSales = saleSchedule.getActive(now);
+
+        if(!newActiveSales.equals(activeSales)) {
+            logChanges(activeSales, newActiveSales);
+            activeSales = newActiveSales;
+
+            priceManager.applySales(newActiveSales);
+            Set<String> changed = priceTierManager.applySales(newActiveSales);
+            if(refreshGUIs && !changed.isEmpty()) guiManager.refreshPrices(changed);
+        }
+
+        scheduleNextSwitch(now);
+    }
+
+    /**
+     * Schedule a task for the next time a sale starts or ends. Any previously scheduled task is cancelled.
+     * @param now The current epoch time in milliseconds.
+     */
+    private void scheduleNextSwitch(long now) {
+        stop();
+
+        OptionalLong nextBoundary = saleSchedule.getNextBoundary(now);
+        if(nextBoundary.isEmpty()) return;
+
+        // Ticks are 50 milliseconds. Round up so the task never runs before the boundary on a server keeping up.
+        long delayTicks = Math.max(1L, (nextBoundary.getAsLong() - now + 49L) / 50L);
+        switchTask = skyShop.getServer().getScheduler().runTaskLater(skyShop, () -> {
+            switchTask = null;
+            switchSales(true);
+        }, delayTicks);
+    }
+
+    /**
+     * Log the sales that started and ended.
+     * @param oldActiveSales The previously active {@link SaleSchedule.Window}s.
+     * @param newActiveSales The newly active {@link SaleSchedule.Window}s.
+     */
+    private void logChanges(@NotNull List<SaleSchedule.Window> oldActiveSales, @NotNull List<SaleSchedule.Window> newActiveSales) {
+        ComponentLogger logger = skyShop.getComponentLogger();
+
+        String started = newActiveSales.stream().filter(window -> !oldActiveSales.contains(window)).map(SaleSchedule.Window::name).collect(Collectors.joining(", "));
+        String ended = oldActiveSales.stream().filter(window -> !newActiveSales.contains(window)).map(SaleSchedule.Window::name).collect(Collectors.joining(", "));
+
+        if(!started.isEmpty()) logger.info(AdventureUtil.serialize("Sale(s) started: <yellow>" + started + "</yellow>"));
+        if(!ended.isEmpty()) logger.info(AdventureUtil.serialize("Sale(s) ended: <yellow>" + ended + "</yellow>"));
+    }
+}
@@ -0,0 +1,199 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.manager;
+
+import com.github.lukesky19.skylib.api.adventure.AdventureUtil;
+import com.github.lukesky19.skyshop.SkyShop;
+import com.github.lukesky19.skyshop.configuration.MultipliersManager;
+import com.github.lukesky19.skyshop.data.Booster;
+import com.github.lukesky19.skyshop.data.Multipliers;
+import com.github.lukesky19.skyshop.data.PlayerData;
+import com.github.lukesky19.skyshop.database.BoosterTable;
+import com.github.lukesky19.skyshop.database.DatabaseManager;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * This class manages the sell multipliers granted by permission and by timed boosters.
+ * The effective multiplier of a player is calculated once and cached in their {@link PlayerData}.
+ * It is only recalculated when the player's or global boosters change, a booster expires, the config is reloaded,
+ * or the cached value is older than {@link #PERMISSION_REFRESH_MILLIS} so that permission changes are picked up.
+ */
+public class SellMultiplierManager {
+    /**
+     * The max age of a cached multiplier before the player's permissions are checked again.
+     */
+    private static final long PERMISSION_REFRESH_MILLIS = 60_000L;
+
+    private final @NotNull SkyShop skyShop;
+    private final @NotNull MultipliersManager multipliersManager;
+    private final @NotNull PlayerDataManager playerDataManager;
+    private final @NotNull DatabaseManager databaseManager;
+    private final @NotNull List<Booster> globalBoosters = new ArrayList<>();
+    // Permission multipliers sorted from the highest to the lowest multiplier.
+    private @NotNull List<Map.Entry<String, Double>> permissionMultipliers = List.of();
+
+    /**
+     * Constructor
+     * @param skyShop A {@link SkyShop} instance.
+     * @param multipliersManager A {@link MultipliersManager} instance.
+     * @param playerDataManager A {@link PlayerDataManager} instance.
+     * @param databaseManager A {@link DatabaseManager} instance.
+     */
+    public SellMultiplierManager(
+            @NotNull SkyShop skyShop,
+            @NotNull MultipliersManager multipliersManager,
+            @NotNull PlayerDataManager playerDataManager,
+            @NotNull DatabaseManager databaseManager) {
+        this.skyShop = skyShop;
+        this.multipliersManager = multipliersManager;
+        this.playerDataManager = playerDataManager;
+        this.databaseManager = databaseManager;
+    }
+
+    /**
+     * Build the permission multipliers from the {@link Multipliers} config and invalidate every cached multiplier.
+     */
+    public void reload() {
+        List<Map.Entry<String, Double>> newPermissionMultipliers = new ArrayList<>();
+
+        Optional<Multipliers> optionalMultipliers = multipliersManager.getMultipliers();
+        optionalMultipliers.ifPresent(multipliers -> multipliers.permissions().forEach((permission, multiplier) -> {
+            if(multiplier == null || multiplier < 0.0) {
+                skyShop.getComponentLogger().warn(AdventureUtil.serialize("Skipping the multiplier for <yellow>" + permission + "</yellow> in <yellow>multipliers.yml</yellow> due to an invalid multiplier."));
+                return;
+            }
+
+            newPermissionMultipliers.add(Map.entry(permission, multiplier));
+        }));
+        newPermissionMultipliers.sort(Map.Entry.<String, Double>comparingByValue().reversed());
+
+        permissionMultipliers = newPermissionMultipliers;
+        invalidateAll();
+    }
+
+    /**
+     * Loads the global boosters from the database. The loaded boosters are applied on the main thread.
+     */
+    public void loadGlobalBoosters() {
+        databaseManager.getBoosterTable().loadBoosters(BoosterTable.GLOBAL_OWNER_ID).thenAccept(boosters -> skyShop.getServer().getScheduler().runTask(skyShop, () -> {
+            globalBoosters.addAll(boosters);
+            invalidateAll();
+        }));
+    }
+
+    /**
+     * Get the effective sell multiplier of a player. The cached multiplier is used unless it needs to be recalculated.
+     * @param player The {@link Player}.
+     * @return The effective sell multiplier. 1.0 if the player's data isn't loaded.
+     */
+    public double getMultiplier(@NotNull Player player) {
+        Optional<PlayerData> optionalPlayerData = playerDataManager.getPlayerData(player.getUniqueId());
+        if(optionalPlayerData.isEmpty()) return 1.0;
+        PlayerData playerData = optionalPlayerData.get();
+
+        long now = System.currentTimeMillis();
+        Double cachedMultiplier = playerData.getSellMultiplier(now);
+        if(cachedMultiplier != null) return cachedMultiplier;
+
+        return calculateMultiplier(player, playerData, now);
+    }
+
+    /**
+     * Invalidate the cached multiplier of a player, i.e., after their permissions changed.
+     * @param player The {@link Player}.
+     */
+    public void refresh(@NotNull Player player) {
+        playerDataManager.getPlayerData(player.getUniqueId()).ifPresent(PlayerData::invalidateSellMultiplier);
+    }
+
+    /**
+     * Give a player a timed sell booster.
+     * @param player The {@link Player}.
+     * @param multiplier The multiplier of the booster.
+     * @param durationSeconds How long the booster lasts in seconds.
+     * @return true if the booster was given, false if the player's data isn't loaded.
+     */
+    public boolean addBooster(@NotNull Player player, double multiplier, long durationSeconds) {
+        Optional<PlayerData> optionalPlayerData = playerDataManager.getPlayerData(player.getUniqueId());
+        if(optionalPlayerData.isEmpty()) return false;
+        PlayerData playerData = optionalPlayerData.get();
+
+        playerData.getBoosters().add(new Booster(multiplier, System.currentTimeMillis() + durationSeconds * 1000L));
+        playerData.markBoostersDirty();
+        return true;
+    }
+
+    /**
+     * Start a timed sell booster for every player. The global boosters are saved to the database right away.
+     * @param multiplier The multiplier of the booster.
+     * @param durationSeconds How long the booster lasts in seconds.
+     * @return A {@link CompletableFuture} containing true if the global boosters were saved, otherwise false.
+     */
+    public @NotNull CompletableFuture<@NotNull Boolean> addGlobalBooster(double multiplier, long durationSeconds) {
+        globalBoosters.add(new Booster(multiplier, System.currentTimeMillis() + durationSeconds * 1000L));
+        invalidateAll();
+
+        return databaseManager.getBoosterTable().saveBoosters(Map.of(BoosterTable.GLOBAL_OWNER_ID, List.copyOf(globalBoosters))).exceptionally(throwable -> false);
+    }
+
+    /**
+     * Calculate and cache the effective sell multiplier of a player.
+     * The highest permission multiplier is multiplied by every active player and global booster. Expired boosters are removed.
+     * @param player The {@link Player}.
+     * @param playerData The player's {@link PlayerData}.
+     * @param now The current epoch time in milliseconds.
+     * @return The effective sell multiplier.
+     */
+    private double calculateMultiplier(@NotNull Player player, @NotNull PlayerData playerData, long now) {
+        double multiplier = 1.0;
+        for(Map.Entry<String, Double> entry : permissionMultipliers) {
+            if(player.hasPermission(entry.getKey())) {
+                multiplier = entry.getValue();
+                break;
+            }
+        }
+
+        long validUntil = now + PERMISSION_REFRESH_MILLIS;
+
+        if(playerData.getBoosters().removeIf(booster -> booster.expiresAt() <= now)) playerData.markBoostersDirty();
+        for(Booster booster : playerData.getBoosters()) {
+            multiplier *= booster.multiplier();
+            validUntil = Math.min(validUntil, booster.expiresAt());
+        }
+
+        globalBoosters.removeIf(booster -> booster.expiresAt() <= now);
+        for(Booster booster : globalBoosters) {
+            multiplier *= booster.multiplier();
+            validUntil = Math.min(validUntil, booster.expiresAt());
+        }
+
+        playerData.setSellMultiplier(multiplier, validUntil);
+        return multiplier;
+    }
+
+    /**
+     * Invalidate the cached multiplier of every cached player.
+     */
+    private void invalidateAll() {
+        playerDataManager.getCachedPlayerData().forEach(PlayerData::invalidateSellMultiplier);
+    }
+}
@@ -0,0 +1,313 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.manager;
+
+import com.github.lukesky19.skylib.api.adventure.AdventureUtil;
+import com.github.lukesky19.skyshop.SkyShop;
+import com.github.lukesky19.skyshop.SkyShopAPI;
+import com.github.lukesky19.skyshop.configuration.LocaleManager;
+import com.github.lukesky19.skyshop.data.Locale;
+import com.github.lukesky19.skyshop.util.WandMode;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.block.Barrel;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Chest;
+import org.bukkit.block.Container;
+import org.bukkit.block.Hopper;
+import org.bukkit.block.ShulkerBox;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.inventory.EquipmentSlot;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * This class manages sell wands, which sell the contents of the containers a player clicks.
+ * Area sells are processed as a job that sells at most {@link #CONTAINERS_PER_TICK} containers per tick within {@link #TICK_BUDGET_NANOS}, and pays the player once when it finishes.
+ * Containers in an area that the player cannot access (i.e., protected by a claim) are skipped.
+ * All methods are expected to be called on the main thread.
+ */
+public class SellWandManager {
+    private static final int RADIUS = 8;
+    private static final int CONTAINERS_PER_TICK = 16;
+    private static final long TICK_BUDGET_NANOS = 1_000_000L;
+
+    private final @NotNull SkyShop skyShop;
+    private final @NotNull LocaleManager localeManager;
+    private final @NotNull SkyShopAPI skyShopAPI;
+    private final @NotNull NamespacedKey wandKey;
+    private final @NotNull Map<UUID, SellJob> jobs = new HashMap<>();
+
+    /**
+     * Constructor
+     * @param skyShop A {@link SkyShop} instance.
+     * @param localeManager A {@link LocaleManager} instance.
+     * @param skyShopAPI A {@link SkyShopAPI} instance.
+     */
+    public SellWandManager(@NotNull SkyShop skyShop, @NotNull LocaleManager localeManager, @NotNull SkyShopAPI skyShopAPI) {
+        this.skyShop = skyShop;
+        this.localeManager = localeManager;
+        this.skyShopAPI = skyShopAPI;
+        this.wandKey = new NamespacedKey(skyShop, "sell_wand");
+    }
+
+    /**
+     * Create a sell wand {@link ItemStack}.
+     * @param mode The {@link WandMode} of the wand.
+     * @return An {@link ItemStack} for the sell wand.
+     */
+    public @NotNull ItemStack createWand(@NotNull WandMode mode) {
+        Locale locale = localeManager.getLocale();
+        TagResolver.Single placeholder = Placeholder.parsed("mode", mode.name().toLowerCase(java.util.Locale.ROOT));
+
+        ItemStack itemStack = new ItemStack(Material.BLAZE_ROD);
+        itemStack.editMeta(itemMeta -> {
+            itemMeta.itemName(MiniMessage.miniMessage().deserialize(locale.sellWandName(), placeholder));
+            itemMeta.getPersistentDataContainer().set(wandKey, PersistentDataType.STRING, mode.name());
+        });
+
+        return itemStack;
+    }
+
+    /**
+     * Get the {@link WandMode} of a sell wand.
+     * @param itemStack The {@link ItemStack} to check.
+     * @return An {@link Optional} containing the {@link WandMode}. Will be empty if the item is not a sell wand.
+     */
+    public @NotNull Optional<WandMode> getWandMode(@NotNull ItemStack itemStack) {
+        if(!itemStack.hasItemMeta()) return Optional.empty();
+
+        String mode = itemStack.getItemMeta().getPersistentDataContainer().get(wandKey, PersistentDataType.STRING);
+        if(mode == null) return Optional.empty();
+
+        try {
+            return Optional.of(WandMode.valueOf(mode));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Use a sell wand on a container.
+     * @param player The {@link Player} using the wand.
+     * @param block The {@link Block} that was clicked.
+     * @param mode The {@link WandMode} of the wand.
+     * @return true if the block was a sellable container and the wand was used, otherwise false.
+     */
+    public boolean useWand(@NotNull Player player, @NotNull Block block, @NotNull WandMode mode) {
+        if(!(block.getState(false) instanceof Container container) || !isSellable(container)) return false;
+        Locale locale = localeManager.getLocale();
+
+        if(!skyShop.getEconomyManager().isAvailable()) {
+            player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.economyUnavailable()));
+            return true;
+        }
+
+        if(mode == WandMode.SINGLE) {
+            if(!skyShopAPI.sellInventory(player, container.getInventory(), true)) {
+                player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.sellWandNothingSold()));
+            }
+
+            return true;
+        }
+
+        if(!player.hasPermission("skyshop.wand.area")) {
+            player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.sellWandAreaNoPermission()));
+            return true;
+        }
+
+        if(jobs.containsKey(player.getUniqueId())) {
+            player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.sellWandBusy()));
+            return true;
+        }
+
+        ArrayDeque<Location> locations = mode == WandMode.RADIUS ? findInRadius(block.getLocation()) : findInChunk(block.getChunk());
+
+        List<TagResolver.Single> placeholders = List.of(Placeholder.parsed("count", String.valueOf(locations.size())));
+        player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.sellWandStarted(), placeholders));
+
+        SellJob sellJob = new SellJob(player, locations);
+        jobs.put(player.getUniqueId(), sellJob);
+        sellJob.task = skyShop.getServer().getScheduler().runTaskTimer(skyShop, sellJob, 1L, 1L);
+
+        return true;
+    }
+
+    /**
+     * Finish a player's area sell job early, paying them for anything already sold.
+     * @param player The {@link Player}.
+     */
+    public void finish(@NotNull Player player) {
+        SellJob sellJob = jobs.get(player.getUniqueId());
+        if(sellJob != null) sellJob.finish();
+    }
+
+    /**
+     * Finish all area sell jobs early, paying each player for anything already sold.
+     */
+    public void finishAll() {
+        for(SellJob sellJob : List.copyOf(jobs.values())) {
+            sellJob.finish();
+        }
+    }
+
+    /**
+     * Find the locations of all sellable containers within {@link #RADIUS} blocks of a location.
+     * Only chunks that are already loaded are searched.
+     * @param center The center {@link Location}.
+     * @return An {@link ArrayDeque} of container {@link Location}s.
+     */
+    private @NotNull ArrayDeque<Location> findInRadius(@NotNull Location center) {
+        World world = center.getWorld();
+        ArrayDeque<Location> locations = new ArrayDeque<>();
+        int radiusSquared = RADIUS * RADIUS;
+
+        int minChunkX = (center.getBlockX() - RADIUS) >> 4;
+        int maxChunkX = (center.getBlockX() + RADIUS) >> 4;
+        int minChunkZ = (center.getBlockZ() - RADIUS) >> 4;
+        int maxChunkZ = (center.getBlockZ() + RADIUS) >> 4;
+
+        for(int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for(int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                if(!world.isChunkLoaded(chunkX, chunkZ)) continue;
+
+                for(BlockState blockState : world.getChunkAt(chunkX, chunkZ).getTileEntities(false)) {
+                    if(blockState instanceof Container container && isSellable(container)
+                            && blockState.getLocation().distanceSquared(center) <= radiusSquared) {
+                        locations.add(blockState.getLocation());
+                    }
+                }
+            }
+        }
+
+        return locations;
+    }
+
+    /**
+     * Find the locations of all sellable containers inside a chunk.
+     * @param chunk The {@link Chunk}.
+     * @return An {@link ArrayDeque} of container {@link Location}s.
+     */
+    private @NotNull ArrayDeque<Location> findInChunk(@NotNull Chunk chunk) {
+        ArrayDeque<Location> locations = new ArrayDeque<>();
+
+        for(BlockState blockState : chunk.getTileEntities(false)) {
+            if(blockState instanceof Container container && isSellable(container)) {
+                locations.add(blockState.getLocation());
+            }
+        }
+
+        return locations;
+    }
+
+    /**
+     * Checks if a player can access a block by calling a {@link PlayerInteractEvent} for it, letting protection plugins deny it.
+     * The event is called without an item so it isn't handled as another use of the sell wand.
+     * @param player The {@link Player}.
+     * @param block The {@link Block} to check.
+     * @return true if no plugin denied using the block, otherwise false.
+     */
+    private boolean canAccess(@NotNull Player player, @NotNull Block block) {
+        PlayerInteractEvent playerInteractEvent = new PlayerInteractEvent(player, Action.RIGHT_CLICK_BLOCK, null, block, BlockFace.UP, EquipmentSlot.HAND);
+        skyShop.getServer().getPluginManager().callEvent(playerInteractEvent);
+
+        return playerInteractEvent.useInteractedBlock() != Event.Result.DENY;
+    }
+
+    /**
+     * Checks if a container can be sold from using a sell wand.
+     * @param container The {@link Container}.
+     * @return true if the container is a chest, barrel, hopper, or shulker box, otherwise false.
+     */
+    private boolean isSellable(@NotNull Container container) {
+        return container instanceof Chest || container instanceof Barrel || container instanceof Hopper || container instanceof ShulkerBox;
+    }
+
+    /**
+     * An area sell job that is run every tick until all containers are sold.
+     */
+    private final class SellJob implements Runnable {
+        private final @NotNull Player player;
+        private final @NotNull ArrayDeque<Location> locations;
+        private @Nullable BukkitTask task;
+        private double money = 0.0;
+
+        /**
+         * Constructor
+         * @param player The {@link Player} selling.
+         * @param locations The {@link Location}s of the containers to sell.
+         */
+        private SellJob(@NotNull Player player, @NotNull ArrayDeque<Location> locations) {
+            this.player = player;
+            this.locations = locations;
+        }
+
+        @Override
+        public void run() {
+            long deadline = System.nanoTime() + TICK_BUDGET_NANOS;
+            int processed = 0;
+
+            while(!locations.isEmpty() && processed < CONTAINERS_PER_TICK && System.nanoTime() < deadline) {
+                Location location = locations.poll();
+                processed++;
+
+                // Skip containers whose chunk was unloaded or that were broken since the job started.
+                if(!location.isChunkLoaded()) continue;
+                if(!(location.getBlock().getState(false) instanceof Container container) || !isSellable(container)) continue;
+                // Skip containers the player isn't allowed to open.
+                if(!canAccess(player, location.getBlock())) continue;
+
+                // Sell each half of a double chest separately so it isn't sold twice.
+                Inventory inventory = container instanceof Chest chest ? chest.getBlockInventory() : container.getInventory();
+                money += skyShopAPI.sellInventoryContents(player, inventory, false);
+            }
+
+            if(locations.isEmpty()) finish();
+        }
+
+        /**
+         * Stop the job and pay the player once for everything sold.
+         */
+        private void finish() {
+            if(task != null) task.cancel();
+            jobs.remove(player.getUniqueId());
+
+            if(!skyShopAPI.depositSale(player, money, true)) {
+                Locale locale = localeManager.getLocale();
+                player.sendMessage(AdventureUtil.serialize(player, locale.prefix() + locale.sellWandNothingSold()));
+            }
+        }
+    }
+}
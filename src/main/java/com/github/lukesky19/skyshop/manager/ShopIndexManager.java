@@ -0,0 +1,278 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.manager;
+
+import com.github.lukesky19.skylib.api.registry.RegistryUtil;
+import com.github.lukesky19.skyshop.SkyShop;
+import com.github.lukesky19.skyshop.data.ShopEntry;
+import com.github.lukesky19.skyshop.data.ShopIndex;
+import com.github.lukesky19.skyshop.data.gui.ShopConfig;
+import com.github.lukesky19.skyshop.util.ButtonType;
+import com.github.lukesky19.skyshop.util.TransactionType;
+import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bukkit.inventory.ItemType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * This class keeps a reverse index of where each {@link ItemType} and transaction name can be bought or sold.
+ * The index is rebuilt whenever the shop configurations change so lookups never need to walk every {@link ShopConfig}.
+ * It also contains an inverted index of transaction names, display names, lore, and item type keys used for searching.
+ */
+public class ShopIndexManager {
+    private final @NotNull SkyShop skyShop;
+    private static final @NotNull Pattern TAG_PATTERN = Pattern.compile("<[^>]*>");
+    private static final @NotNull Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private @NotNull ShopIndex shopIndex = new ShopIndex(Map.of(), Map.of(), List.of(), new TreeMap<>(), Map.of());
+
+    /**
+     * Constructor
+     * @param skyShop A {@link SkyShop} instance.
+     */
+    public ShopIndexManager(@NotNull SkyShop skyShop) {
+        this.skyShop = skyShop;
+    }
+
+    /**
+     * Get the current {@link ShopIndex}.
+     * @return The {@link ShopIndex}.
+     */
+    public @NotNull ShopIndex getShopIndex() {
+        return shopIndex;
+    }
+
+    /**
+     * Get every transaction that buys or sells the {@link ItemType}.
+     * @param itemType The {@link ItemType}.
+     * @return A {@link List} of {@link ShopEntry}s in precedence order. Will be empty if the {@link ItemType} is not in any shop.
+     */
+    public @NotNull List<@NotNull ShopEntry> getEntries(@NotNull ItemType itemType) {
+        return shopIndex.byItemType().getOrDefault(itemType, List.of());
+    }
+
+    /**
+     * Get every transaction with the provided transaction name. The name is compared without formatting and ignoring case.
+     * @param transactionName The transaction name.
+     * @return A {@link List} of {@link ShopEntry}s in precedence order. Will be empty if no transaction uses the name.
+     */
+    public @NotNull List<@NotNull ShopEntry> getEntries(@NotNull String transactionName) {
+        return shopIndex.byTransactionName().getOrDefault(normalizeName(transactionName), List.of());
+    }
+
+    /**
+     * Rebuilds the index from the provided shop configurations and swaps it in once complete.
+     * @param shopConfigurations The shop configurations, in precedence order.
+     */
+    public void rebuild(@NotNull Map<@NotNull String, @NotNull ShopConfig> shopConfigurations) {
+        ComponentLogger logger = skyShop.getComponentLogger();
+        Map<ItemType, List<ShopEntry>> byItemType = new LinkedHashMap<>();
+        Map<String, List<ShopEntry>> byTransactionName = new LinkedHashMap<>();
+        List<ShopEntry> entries = new ArrayList<>();
+        Map<String, List<Integer>> postings = new HashMap<>();
+
+        shopConfigurations.forEach((shopId, shopConfig) -> {
+            List<ShopConfig.PageConfig> pages = shopConfig.gui().pages();
+            for(int pageNum = 0; pageNum <= (pages.size() - 1); pageNum++) {
+                for(ShopConfig.Button buttonConfig : pages.get(pageNum).buttons()) {
+                    if(buttonConfig.buttonType() != ButtonType.TRANSACTION || buttonConfig.slot() == null) continue;
+
+                    ShopConfig.TransactionData transactionData = buttonConfig.transactionData();
+
+                    // Only item transactions are indexed by ItemType.
+                    ItemType itemType = null;
+                    if(transactionData.transactionType() == TransactionType.ITEM && transactionData.transactionItem().itemType() != null) {
+                        itemType = RegistryUtil.getItemType(logger, transactionData.transactionItem().itemType()).orElse(null);
+                    }
+
+                    ShopEntry entry = new ShopEntry(shopId, pageNum, buttonConfig.slot(), itemType, transactionData.transactionType(),
+                            transactionData.transactionName(), transactionData.buyPrice(), transactionData.sellPrice(), transactionData.currency());
+
+                    if(itemType != null) byItemType.computeIfAbsent(itemType, key -> new ArrayList<>()).add(entry);
+                    if(transactionData.transactionName() != null) {
+                        byTransactionName.computeIfAbsent(normalizeName(transactionData.transactionName()), key -> new ArrayList<>()).add(entry);
+                    }
+
+                    // Add the entry's searchable text to the inverted index.
+                    int entryId = entries.size();
+                    entries.add(entry);
+
+                    Set<String> tokens = new HashSet<>();
+                    if(transactionData.transactionName() != null) tokens.addAll(tokenize(transactionData.transactionName()));
+                    if(buttonConfig.displayItem().name() != null) tokens.addAll(tokenize(buttonConfig.displayItem().name()));
+                    buttonConfig.displayItem().lore().forEach(line -> tokens.addAll(tokenize(line)));
+                    if(itemType != null) tokens.addAll(tokenize(itemType.getKey().getKey()));
+
+                    tokens.forEach(token -> postings.computeIfAbsent(token, key -> new ArrayList<>()).add(entryId));
+                }
+            }
+        });
+
+        byItemType.replaceAll((key, entries) -> List.copyOf(entries));
+        byTransactionName.replaceAll((key, entries) -> List.copyOf(entries));
+
+        // Entry ids are added in increasing order, so each posting list is already sorted.
+        NavigableMap<String, int[]> searchTokens = new TreeMap<>();
+        Map<Integer, List<String>> searchTokensByLength = new HashMap<>();
+        postings.forEach((token, ids) -> {
+            searchTokens.put(token, ids.stream().mapToInt(Integer::intValue).toArray());
+            searchTokensByLength.computeIfAbsent(token.length(), key -> new ArrayList<>()).add(token);
+        });
+
+        shopIndex = new ShopIndex(
+                Collections.unmodifiableMap(byItemType),
+                Collections.unmodifiableMap(byTransactionName),
+                List.copyOf(entries),
+                Collections.unmodifiableNavigableMap(searchTokens),
+                Collections.unmodifiableMap(searchTokensByLength));
+    }
+
+    /**
+     * Searches the transaction names, display names, lore, and item type keys of every transaction.
+     * Every word in the query must match a word of the transaction exactly, as a prefix, or with a small number of typos.
+     * Exact matches are ranked first, followed by prefix matches and fuzzy matches.
+     * @param query The search query.
+     * @return A {@link List} of the matching {@link ShopEntry}s, best matches first.
+     */
+    public @NotNull List<@NotNull ShopEntry> search(@NotNull String query) {
+        ShopIndex index = shopIndex;
+        List<String> queryTokens = List.copyOf(tokenize(query));
+        if(queryTokens.isEmpty()) return List.of();
+
+        Map<Integer, Integer> scores = null;
+        for(String queryToken : queryTokens) {
+            Map<Integer, Integer> tokenScores = new HashMap<>();
+
+            // Exact matches
+            addScores(tokenScores, index.searchTokens().get(queryToken), 3);
+
+            // Prefix matches
+            index.searchTokens().subMap(queryToken, false, queryToken + Character.MAX_VALUE, false)
+                    .values().forEach(ids -> addScores(tokenScores, ids, 2));
+
+            // Fuzzy matches, only for longer words so short queries don't match everything.
+            if(queryToken.length() >= 4) {
+                int maxEdits = queryToken.length() >= 8 ? 2 : 1;
+                for(int length = queryToken.length() - maxEdits; length <= queryToken.length() + maxEdits; length++) {
+                    for(String token : index.searchTokensByLength().getOrDefault(length, List.of())) {
+                        if(!token.equals(queryToken) && isWithinEditDistance(queryToken, token, maxEdits)) {
+                            addScores(tokenScores, index.searchTokens().get(token), 1);
+                        }
+                    }
+                }
+            }
+
+            // Every word in the query must match.
+            if(scores == null) {
+                scores = tokenScores;
+            } else {
+                Map<Integer, Integer> previousScores = scores;
+                scores = new HashMap<>();
+                for(Map.Entry<Integer, Integer> scoreEntry : tokenScores.entrySet()) {
+                    Integer previousScore = previousScores.get(scoreEntry.getKey());
+                    if(previousScore != null) scores.put(scoreEntry.getKey(), previousScore + scoreEntry.getValue());
+                }
+            }
+
+            if(scores.isEmpty()) return List.of();
+        }
+
+        Map<Integer, Integer> finalScores = scores;
+        return finalScores.keySet().stream()
+                .sorted(Comparator.comparing((Integer id) -> finalScores.get(id)).reversed().thenComparing(id -> id))
+                .map(id -> index.entries().get(id))
+                .toList();
+    }
+
+    /**
+     * Adds a score to each entry id, keeping the best score if the entry already has one.
+     * @param scores The {@link Map} mapping entry ids to scores.
+     * @param ids The entry ids to add the score to.
+     * @param score The score to add.
+     */
+    private void addScores(@NotNull Map<Integer, Integer> scores, int @Nullable [] ids, int score) {
+        if(ids == null) return;
+
+        for(int id : ids) {
+            scores.merge(id, score, Math::max);
+        }
+    }
+
+    /**
+     * Checks if two words are within a maximum Levenshtein distance of each other.
+     * Stops early once every path through the current row exceeds the maximum.
+     * @param first The first word.
+     * @param second The second word.
+     * @param maxEdits The maximum number of edits.
+     * @return true if the words are within the maximum distance, otherwise false.
+     */
+    private boolean isWithinEditDistance(@NotNull String first, @NotNull String second, int maxEdits) {
+        if(Math.abs(first.length() - second.length()) > maxEdits) return false;
+
+        int[] previous = new int[second.length() + 1];
+        int[] current = new int[second.length() + 1];
+        for(int j = 0; j <= second.length(); j++) previous[j] = j;
+
+        for(int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+
+            for(int j = 1; j <= second.length(); j++) {
+                int cost = first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+
+            if(rowMin > maxEdits) return false;
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return previous[second.length()] <= maxEdits;
+    }
+
+    /**
+     * Splits text into lower-case search tokens, removing any formatting tags.
+     * @param text The text to split.
+     * @return A {@link Set} of {@link String} containing the tokens. Single characters are ignored.
+     */
+    private @NotNull Set<@NotNull String> tokenize(@NotNull String text) {
+        String plainText = TAG_PATTERN.matcher(text).replaceAll(" ").toLowerCase(java.util.Locale.ROOT);
+
+        Set<String> tokens = new LinkedHashSet<>();
+        for(String token : TOKEN_SEPARATOR.split(plainText)) {
+            if(token.length() >= 2) tokens.add(token);
+        }
+
+        return tokens;
+    }
+
+    /**
+     * Removes any formatting from a transaction name and converts it to lower case.
+     * @param transactionName The transaction name.
+     * @return The normalized transaction name.
+     */
+    private @NotNull String normalizeName(@NotNull String transactionName) {
+        return MiniMessage.miniMessage().stripTags(transactionName).trim().toLowerCase(java.util.Locale.ROOT);
+    }
+}
@@ -0,0 +1,328 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.manager;
+
+import com.github.lukesky19.skylib.api.adventure.AdventureUtil;
+import com.github.lukesky19.skyshop.SkyShop;
+import com.github.lukesky19.skyshop.data.Locale;
+import com.github.lukesky19.skyshop.data.StockState;
+import com.github.lukesky19.skyshop.data.gui.ShopConfig;
+import com.github.lukesky19.skyshop.database.DatabaseManager;
+import com.github.lukesky19.skyshop.util.ButtonType;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class manages the shared stock of transactions that have a {@link ShopConfig.Stock} configured.
+ * Stock is reserved with a compare-and-set on an in-memory counter, so buying never waits on the database.
+ * Changed counters are written to the database in batches by {@link #saveStock()}.
+ */
+public class StockManager {
+    private final @NotNull SkyShop skyShop;
+    private final @NotNull DatabaseManager databaseManager;
+    private final @NotNull Map<String, StockCounter> counters = new ConcurrentHashMap<>();
+    // Persisted states for transactions that don't currently exist, used if they are added back by a reload.
+    private final @NotNull Map<String, StockState> storedStates = new HashMap<>();
+
+    /**
+     * Constructor
+     * @param skyShop A {@link SkyShop} instance.
+     * @param databaseManager A {@link DatabaseManager} instance.
+     */
+    public StockManager(@NotNull SkyShop skyShop, @NotNull DatabaseManager databaseManager) {
+        this.skyShop = skyShop;
+        this.databaseManager = databaseManager;
+    }
+
+    /**
+     * Get the key used to identify the stock of a transaction.
+     * @param shopId The id of the shop the transaction is in.
+     * @param pageNum The page number the transaction button is on.
+     * @param slot The slot of the transaction button.
+     * @return The stock key.
+     */
+    public static @NotNull String getStockKey(@NotNull String shopId, int pageNum, int slot) {
+        return shopId + ":" + pageNum + ":" + slot;
+    }
+
+    /**
+     * Create, update, or remove the stock counters to match the provided shop configurations.
+     * The remaining stock of transactions that still exist is kept and clamped to the new max stock.
+     * @param shopConfigurations A {@link Map} mapping shop ids to {@link ShopConfig}s.
+     */
+    public void rebuild(@NotNull Map<String, ShopConfig> shopConfigurations) {
+        long now = System.currentTimeMillis();
+        Set<String> stockKeys = new HashSet<>();
+
+        shopConfigurations.forEach((shopId, shopConfig) -> {
+            List<ShopConfig.PageConfig> pages = shopConfig.gui().pages();
+            for(int pageNum = 0; pageNum < pages.size(); pageNum++) {
+                for(ShopConfig.Button button : pages.get(pageNum).buttons()) {
+                    if(button.buttonType() != ButtonType.TRANSACTION || button.slot() == null) continue;
+
+                    ShopConfig.Stock stock = button.transactionData().stock();
+                    if(stock == null || stock.maxStock() == null || stock.maxStock() <= 0) continue;
+
+                    String stockKey = getStockKey(shopId, pageNum, button.slot());
+                    stockKeys.add(stockKey);
+
+                    StockCounter counter = counters.get(stockKey);
+                    if(counter == null) {
+                        StockState storedState = storedStates.remove(stockKey);
+                        counter = storedState != null
+                                ? new StockCounter(storedState.remaining(), storedState.lastRestock())
+                                : new StockCounter(stock.maxStock(), now);
+                        counters.put(stockKey, counter);
+                    }
+
+                    counter.configure(stock);
+                }
+            }
+        });
+
+        // Keep the state of removed transactions in case a later reload adds them back.
+        counters.entrySet().removeIf(entry -> {
+            if(stockKeys.contains(entry.getKey())) return false;
+
+            storedStates.put(entry.getKey(), entry.getValue().snapshot());
+            return true;
+        });
+    }
+
+    /**
+     * Loads the remaining stock from the database.
+     * The loaded states are applied on the main thread. Anything reserved before they finished loading is subtracted from the loaded stock.
+     */
+    public void loadStock() {
+        databaseManager.getStockTable().loadStock().thenAccept(states -> skyShop.getServer().getScheduler().runTask(skyShop, () -> {
+            states.forEach((stockKey, state) -> {
+                StockCounter counter = counters.get(stockKey);
+                if(counter != null) {
+                    counter.applyLoaded(state);
+                } else {
+                    storedStates.put(stockKey, state);
+                }
+            });
+        }));
+    }
+
+    /**
+     * Saves the counters that changed since the last save to the database in one batch.
+     * @return A {@link CompletableFuture} containing true if saved successfully, otherwise false.
+     */
+    public @NotNull CompletableFuture<@NotNull Boolean> saveStock() {
+        Map<String, StockState> changedStates = new HashMap<>();
+        counters.forEach((stockKey, counter) -> {
+            if(counter.dirty.getAndSet(false)) changedStates.put(stockKey, counter.snapshot());
+        });
+
+        return databaseManager.getStockTable().saveStock(changedStates).exceptionally(throwable -> false).thenApply(result -> {
+            // Mark the counters as changed again so the next save retries them.
+            if(!result) {
+                changedStates.keySet().forEach(stockKey -> {
+                    StockCounter counter = counters.get(stockKey);
+                    if(counter != null) counter.dirty.set(true);
+                });
+            }
+
+            return result;
+        });
+    }
+
+    /**
+     * Check if a transaction has limited stock.
+     * @param stockKey The stock key from {@link #getStockKey(String, int, int)}.
+     * @return true if the transaction has limited stock, otherwise false.
+     */
+    public boolean isLimited(@NotNull String stockKey) {
+        return counters.containsKey(stockKey);
+    }
+
+    /**
+     * Get the remaining stock of a transaction. Any restocks that are due are applied first.
+     * @param stockKey The stock key from {@link #getStockKey(String, int, int)}.
+     * @return An {@link Optional} containing the remaining stock. Will be empty if the transaction doesn't have limited stock.
+     */
+    public @NotNull Optional<Integer> getRemaining(@NotNull String stockKey) {
+        StockCounter counter = counters.get(stockKey);
+        if(counter == null) return Optional.empty();
+
+        counter.restock(System.currentTimeMillis());
+        return Optional.of(counter.remaining.get());
+    }
+
+    /**
+     * Get the max stock of a transaction.
+     * @param stockKey The stock key from {@link #getStockKey(String, int, int)}.
+     * @return An {@link Optional} containing the max stock. Will be empty if the transaction doesn't have limited stock.
+     */
+    public @NotNull Optional<Integer> getMaxStock(@NotNull String stockKey) {
+        StockCounter counter = counters.get(stockKey);
+        if(counter == null) return Optional.empty();
+
+        return Optional.of(counter.maxStock);
+    }
+
+    /**
+     * Add the remaining stock or sold out lore line to an {@link ItemStack} if the transaction has limited stock.
+     * @param player The {@link Player} viewing the item, used to parse placeholders.
+     * @param locale The plugin's {@link Locale}.
+     * @param itemStack The {@link ItemStack} to add the lore line to.
+     * @param stockKey The stock key from {@link #getStockKey(String, int, int)}.
+     */
+    public void addStockLore(@NotNull Player player, @NotNull Locale locale, @NotNull ItemStack itemStack, @NotNull String stockKey) {
+        Optional<Integer> optionalRemaining = getRemaining(stockKey);
+        if(optionalRemaining.isEmpty()) return;
+
+        int remaining = optionalRemaining.get();
+        int maxStock = getMaxStock(stockKey).orElse(remaining);
+
+        List<TagResolver.Single> stockPlaceholders = new ArrayList<>();
+        stockPlaceholders.add(Placeholder.parsed("stock", String.valueOf(remaining)));
+        stockPlaceholders.add(Placeholder.parsed("max_stock", String.valueOf(maxStock)));
+
+        String stockLine = remaining > 0 ? locale.stockRemaining() : locale.stockSoldOut();
+
+        List<Component> lore = new ArrayList<>(Objects.requireNonNullElse(itemStack.lore(), List.of()));
+        lore.add(AdventureUtil.serialize(player, stockLine, stockPlaceholders).decorationIfAbsent(TextDecoration.ITALIC, TextDecoration.State.FALSE));
+        itemStack.lore(lore);
+    }
+
+    /**
+     * Atomically reserve stock for a purchase.
+     * Transactions without limited stock can always be reserved.
+     * @param stockKey The stock key from {@link #getStockKey(String, int, int)}.
+     * @param amount The amount to reserve.
+     * @return true if the stock was reserved, false if there isn't enough stock remaining.
+     */
+    public boolean tryReserve(@NotNull String stockKey, int amount) {
+        StockCounter counter = counters.get(stockKey);
+        if(counter == null) return true;
+
+        counter.restock(System.currentTimeMillis());
+
+        while(true) {
+            int remaining = counter.remaining.get();
+            if(remaining < amount) return false;
+
+            if(counter.remaining.compareAndSet(remaining, remaining - amount)) {
+                counter.dirty.set(true);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release stock that was reserved for a purchase that didn't complete.
+     * @param stockKey The stock key from {@link #getStockKey(String, int, int)}.
+     * @param amount The amount to release.
+     */
+    public void release(@NotNull String stockKey, int amount) {
+        StockCounter counter = counters.get(stockKey);
+        if(counter == null) return;
+
+        counter.remaining.getAndUpdate(remaining -> Math.min(counter.maxStock, remaining + amount));
+        counter.dirty.set(true);
+    }
+
+    /**
+     * The in-memory stock counter for a single transaction.
+     */
+    private static final class StockCounter {
+        private final @NotNull AtomicInteger remaining;
+        private final @NotNull AtomicBoolean dirty = new AtomicBoolean(false);
+        private volatile long lastRestock;
+        private volatile int maxStock;
+        private volatile int restockAmount;
+        private volatile long restockIntervalMillis;
+
+        /**
+         * Constructor
+         * @param remaining The amount remaining in stock.
+         * @param lastRestock The epoch time in milliseconds the stock was last restocked at.
+         */
+        private StockCounter(int remaining, long lastRestock) {
+            this.remaining = new AtomicInteger(remaining);
+            this.lastRestock = lastRestock;
+        }
+
+        /**
+         * Apply the {@link ShopConfig.Stock} configuration, clamping the remaining stock to the max stock.
+         * @param stock The {@link ShopConfig.Stock} configuration.
+         */
+        private void configure(@NotNull ShopConfig.Stock stock) {
+            maxStock = Objects.requireNonNull(stock.maxStock());
+            restockAmount = stock.restockAmount() != null && stock.restockAmount() > 0 ? stock.restockAmount() : maxStock;
+            restockIntervalMillis = stock.restockInterval() != null && stock.restockInterval() > 0 ? stock.restockInterval() * 1000L : 0L;
+
+            remaining.getAndUpdate(current -> Math.min(maxStock, current));
+        }
+
+        /**
+         * Apply a state loaded from the database. The counter started at the max stock, so anything reserved since is subtracted.
+         * @param state The loaded {@link StockState}.
+         */
+        private void applyLoaded(@NotNull StockState state) {
+            int reserved = Math.max(0, maxStock - remaining.get());
+            remaining.set(Math.clamp((long) state.remaining() - reserved, 0, maxStock));
+            lastRestock = state.lastRestock();
+            dirty.set(true);
+
+            restock(System.currentTimeMillis());
+        }
+
+        /**
+         * Apply any restocks that are due. Only the rare case where a restock is due takes the lock.
+         * @param now The current epoch time in milliseconds.
+         */
+        private void restock(long now) {
+            if(restockIntervalMillis <= 0 || now - lastRestock < restockIntervalMillis) return;
+
+            synchronized(this) {
+                long last = lastRestock;
+                long interval = restockIntervalMillis;
+                if(interval <= 0 || now - last < interval) return;
+
+                long periods = (now - last) / interval;
+                long added = periods * restockAmount;
+                remaining.getAndUpdate(current -> (int) Math.min(maxStock, current + added));
+                lastRestock = last + periods * interval;
+                dirty.set(true);
+            }
+        }
+
+        /**
+         * Create a {@link StockState} snapshot of this counter.
+         * @return A {@link StockState}.
+         */
+        private @NotNull StockState snapshot() {
+            return new StockState(remaining.get(), lastRestock);
+        }
+    }
+}
@@ -23,27 +23,41 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
- * This class manages the scheduled task that saves stats to the database.
+ * This class manages the scheduled tasks that save stats, stock, and player data to the database and flush auto-sell.
  */
 public class TaskManager {
     private final @NotNull SkyShop skyShop;
-    private final @NotNull StatsManager statsManager;
+    private final @Nullable StatsManager statsManager;
+    private final @NotNull StockManager stockManager;
+    private final @NotNull PlayerDataManager playerDataManager;
+    private final @NotNull AutoSellManager autoSellManager;
     private @Nullable BukkitTask saveStatsTask;
+    private @Nullable BukkitTask saveStockTask;
+    private @Nullable BukkitTask savePlayerDataTask;
+    private @Nullable BukkitTask autoSellFlushTask;
 
     /**
      * Constructor
      * @param skyShop A {@link SkyShop} instance.
-     * @param statsManager A {@link StatsManager} instance.
+     * @param statsManager A {@link StatsManager} instance. Null if stats tracking is disabled.
+     * @param stockManager A {@link StockManager} instance.
+     * @param playerDataManager A {@link PlayerDataManager} instance.
+     * @param autoSellManager An {@link AutoSellManager} instance.
      */
-    public TaskManager(@NotNull SkyShop skyShop, @NotNull StatsManager statsManager) {
+    public TaskManager(@NotNull SkyShop skyShop, @Nullable StatsManager statsManager, @NotNull StockManager stockManager, @NotNull PlayerDataManager playerDataManager, @NotNull AutoSellManager autoSellManager) {
         this.skyShop = skyShop;
         this.statsManager = statsManager;
+        this.stockManager = stockManager;
+        this.playerDataManager = playerDataManager;
+        this.autoSellManager = autoSellManager;
     }
 
     /**
      * Start the task that regularly saves stats to the database.
      */
     public void startSaveStatsTask() {
+        if(statsManager == null) return;
+
         saveStatsTask = skyShop.getServer().getScheduler().runTaskTimer(skyShop, statsManager::saveStats, 20L * 900, 20L * 900);
     }
 
@@ -56,4 +70,58 @@ public class TaskManager {
             saveStatsTask = null;
         }
     }
+
+    /**
+     * Start the task that regularly saves changed stock to the database.
+     */
+    public void startSaveStockTask() {
+        saveStockTask = skyShop.getServer().getScheduler().runTaskTimer(skyShop, stockManager::saveStock, 20L * 60, 20L * 60);
+    }
+
+    /**
+     * Stop the task that regularly saves changed stock to the database.
+     */
+    public void stopSaveStockTask() {
+        if(saveStockTask != null && !saveStockTask.isCancelled()) {
+            saveStockTask.cancel();
+            saveStockTask = null;
+        }
+    }
+
+    /**
+     * Start the task that regularly saves changed player data to the database and evicts the data of players that quit.
+     */
+    public void startSavePlayerDataTask() {
+        savePlayerDataTask = skyShop.getServer().getScheduler().runTaskTimer(skyShop, playerDataManager::savePlayerData, 20L * 60, 20L * 60);
+    }
+
+    /**
+     * Stop the task that regularly saves changed player data to the database.
+     */
+    public void stopSavePlayerDataTask() {
+        if(savePlayerDataTask != null && !savePlayerDataTask.isCancelled()) {
+            savePlayerDataTask.cancel();
+            savePlayerDataTask = null;
+        }
+    }
+
+    /**
+     * Start the task that regularly pays out the sales buffered by auto-sell.
+     */
+    public void startAutoSellFlushTask() {
+        autoSellFlushTask = skyShop.getServer().getScheduler().runTaskTimer(skyShop, () -> {
+            // Keep the buffered sales while the economy is unavailable so they are paid once it recovers.
+            if(skyShop.getEconomyManager().isAvailable()) autoSellManager.flush();
+        }, 20L * 5, 20L * 5);
+    }
+
+    /**
+     * Stop the task that regularly pays out the sales buffered by auto-sell.
+     */
+    public void stopAutoSellFlushTask() {
+        if(autoSellFlushTask != null && !autoSellFlushTask.isCancelled()) {
+            autoSellFlushTask.cancel();
+            autoSellFlushTask = null;
+        }
+    }
 }
@@ -0,0 +1,94 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.manager;
+
+import com.github.lukesky19.skylib.api.adventure.AdventureUtil;
+import com.github.lukesky19.skylib.api.itemstack.ItemStackBuilder;
+import com.github.lukesky19.skyshop.SkyShop;
+import com.github.lukesky19.skyshop.data.gui.ShopConfig;
+import com.github.lukesky19.skyshop.util.ButtonType;
+import com.github.lukesky19.skyshop.util.TransactionType;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * This class manages the {@link ItemStack}s bought and sold by ITEM transactions, keyed by the same shop, page, and slot key as the stock.
+ * The {@link ItemStack}s are built when the shops are reloaded, so GUIs only clone them when a transaction is made.
+ */
+public class TransactionItemManager {
+    private final @NotNull SkyShop skyShop;
+    private @NotNull Map<String, ItemStack> transactionItems = Map.of();
+
+    /**
+     * Constructor
+     * @param skyShop A {@link SkyShop} instance.
+     */
+    public TransactionItemManager(@NotNull SkyShop skyShop) {
+        this.skyShop = skyShop;
+    }
+
+    /**
+     * Build the transaction {@link ItemStack} of every ITEM transaction in the provided shop configurations.
+     * The new {@link ItemStack}s are only swapped in once they have all been built.
+     * @param shopConfigurations A {@link Map} mapping shop ids to their {@link ShopConfig}.
+     */
+    public void rebuild(@NotNull Map<String, ShopConfig> shopConfigurations) {
+        Map<String, ItemStack> newTransactionItems = new HashMap<>();
+
+        shopConfigurations.forEach((shopId, shopConfig) -> {
+            List<ShopConfig.PageConfig> pages = shopConfig.gui().pages();
+            for(int pageNum = 0; pageNum < pages.size(); pageNum++) {
+                for(ShopConfig.Button button : pages.get(pageNum).buttons()) {
+                    if(button.buttonType() != ButtonType.TRANSACTION || button.slot() == null) continue;
+
+                    ShopConfig.TransactionData transactionData = button.transactionData();
+                    if(transactionData.transactionType() != TransactionType.ITEM) continue;
+
+                    String stockKey = StockManager.getStockKey(shopId, pageNum, button.slot());
+
+                    ItemStackBuilder itemStackBuilder = new ItemStackBuilder(skyShop.getComponentLogger());
+                    itemStackBuilder.fromItemStackConfig(transactionData.transactionItem(), null, null, List.of());
+                    Optional<ItemStack> optionalItemStack = itemStackBuilder.buildItemStack();
+                    if(optionalItemStack.isEmpty()) {
+                        skyShop.getComponentLogger().warn(AdventureUtil.serialize("The transaction at <yellow>" + stockKey + "</yellow> can't be bought or sold due to an invalid transaction item."));
+                        continue;
+                    }
+
+                    newTransactionItems.put(stockKey, optionalItemStack.get().asOne());
+                }
+            }
+        });
+
+        transactionItems = newTransactionItems;
+    }
+
+    /**
+     * Get the {@link ItemStack} bought and sold by an ITEM transaction.
+     * The {@link ItemStack} is shared, so it must be cloned before it is modified or given to a player.
+     * @param stockKey The key of the transaction, see {@link StockManager#getStockKey(String, int, int)}.
+     * @return An {@link Optional} containing the {@link ItemStack}. Will be empty if this is not an ITEM transaction or the {@link ItemStack} failed to be built.
+     */
+    public @NotNull Optional<ItemStack> getTransactionItem(@NotNull String stockKey) {
+        return Optional.ofNullable(transactionItems.get(stockKey));
+    }
+}
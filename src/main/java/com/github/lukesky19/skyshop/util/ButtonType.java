@@ -60,6 +60,22 @@ public enum ButtonType {
      * This type is used to identify the configuration for the button to sell something.
      */
     SELL,
+    /**
+     * This type is used to identify the configuration for the button to buy the maximum amount the player can afford and hold.
+     */
+    BUY_MAX,
+    /**
+     * This type is used to identify the configuration for the button to buy the selected quantity.
+     */
+    BUY_SELECTED,
+    /**
+     * This type is used to identify the configuration for the button to sell the selected quantity.
+     */
+    SELL_SELECTED,
+    /**
+     * This type is used to identify the configuration for the button that changes the selected quantity by its transaction amount.
+     */
+    QUANTITY,
     /**
      * This type is used to identify the configuration for the button that displays what is being purchased or sold.
      */
@@ -72,6 +88,10 @@ public enum ButtonType {
      * This type is used to identify the configuration for the button that opens the {@link SellAllGUI}.
      */
     SELL_GUI,
+    /**
+     * This type is used to identify the configuration for the button that displays the live sell total of the items inside the {@link SellAllGUI}.
+     */
+    SELL_TOTAL,
     /**
      * This type is used to identify configuration for dummy buttons. This button type is similar to FILLER, but is only for a single slot.
      */
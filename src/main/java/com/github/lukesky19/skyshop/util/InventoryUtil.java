@@ -0,0 +1,171 @@
+/*
+    SkyShop is a simple inventory based shop plugin with page support, sell commands, and error checking.
+    Copyright (C) 2024 lukeskywlker19
+
+    This program is free software: you can redistribute it and/or modify
+    it under the terms of the GNU Affero General Public License as published
+    by the Free Software Foundation, either version 3 of the License, or
+    (at your option) any later version.
+
+    This program is distributed in the hope that it will be useful,
+    but WITHOUT ANY WARRANTY; without even the implied warranty of
+    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+    GNU Affero General Public License for more details.
+
+    You should have received a copy of the GNU Affero General Public License
+    along with this program.  If not, see <https://www.gnu.org/licenses/>.
+*/
+package com.github.lukesky19.skyshop.util;
+
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * This class contains inventory helpers that only sweep an {@link Inventory} once.
+ */
+public final class InventoryUtil {
+    /**
+     * Constructor
+     * This class only contains static methods and should not be created.
+     */
+    private InventoryUtil() {}
+
+    /**
+     * Calculate how many items similar to the provided {@link ItemStack} fit inside the {@link Inventory}'s storage contents in a single sweep.
+     * Both partial stacks of the same item and empty slots are counted.
+     * @param inventory The {@link Inventory} to check.
+     * @param prototype The {@link ItemStack} that will be added. Its amount is ignored.
+     * @return The amount of items that fit.
+     */
+    public static int getFreeCapacity(@NotNull Inventory inventory, @NotNull ItemStack prototype) {
+        int maxStackSize = prototype.getMaxStackSize();
+        int capacity = 0;
+
+        for(ItemStack itemStack : inventory.getStorageContents()) {
+            if(itemStack == null || itemStack.isEmpty()) {
+                capacity += maxStackSize;
+            } else if(itemStack.isSimilar(prototype)) {
+                capacity += Math.max(0, maxStackSize - itemStack.getAmount());
+            }
+        }
+
+        return capacity;
+    }
+
+    /**
+     * Find the slots of the {@link Inventory}'s storage contents holding items similar to the provided {@link ItemStack} in a single sweep.
+     * The sweep stops as soon as enough items are found.
+     * @param inventory The {@link Inventory} to search.
+     * @param prototype The {@link ItemStack} to match against. Its amount is ignored.
+     * @param amount The amount of items needed.
+     * @return The slots holding at least the amount of matching items or null if the {@link Inventory} does not contain enough.
+     */
+    public static int @Nullable [] findSimilar(@NotNull Inventory inventory, @NotNull ItemStack prototype, int amount) {
+        ItemStack[] contents = inventory.getStorageContents();
+        int[] matchingSlots = new int[contents.length];
+        int matchingCount = 0;
+        int found = 0;
+
+        for(int slot = 0; slot < contents.length && found < amount; slot++) {
+            ItemStack itemStack = contents[slot];
+            if(itemStack == null || !itemStack.isSimilar(prototype)) continue;
+
+            matchingSlots[matchingCount++] = slot;
+            found += itemStack.getAmount();
+        }
+
+        if(found < amount) return null;
+
+        return Arrays.copyOf(matchingSlots, matchingCount);
+    }
+
+    /**
+     * Remove the amount of items similar to the provided {@link ItemStack} from the slots returned by {@link #findSimilar(Inventory, ItemStack, int)}.
+     * Only the provided slots are touched, the rest of the {@link Inventory} is not swept again.
+     * Nothing is removed if the slots no longer hold the full amount, i.e., if the inventory changed since they were found.
+     * @param inventory The {@link Inventory} to remove items from.
+     * @param slots The slots to remove items from.
+     * @param prototype The {@link ItemStack} to match against. Its amount is ignored.
+     * @param amount The amount to remove.
+     * @return true if the full amount was removed, otherwise false.
+     */
+    public static boolean removeFromSlots(@NotNull Inventory inventory, int @NotNull [] slots, @NotNull ItemStack prototype, int amount) {
+        // Re-check the slots in case the inventory changed since they were found.
+        int found = 0;
+        for(int slot : slots) {
+            ItemStack itemStack = inventory.getItem(slot);
+            if(itemStack != null && itemStack.isSimilar(prototype)) found += itemStack.getAmount();
+        }
+
+        if(found < amount) return false;
+
+        int remaining = amount;
+        for(int slot : slots) {
+            if(remaining <= 0) break;
+
+            ItemStack itemStack = inventory.getItem(slot);
+            if(itemStack == null || !itemStack.isSimilar(prototype)) continue;
+
+            int stackAmount = itemStack.getAmount();
+            if(stackAmount <= remaining) {
+                inventory.setItem(slot, null);
+                remaining -= stackAmount;
+            } else {
+                itemStack.setAmount(stackAmount - remaining);
+                inventory.setItem(slot, itemStack);
+                remaining = 0;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Count the items similar to the provided {@link ItemStack} inside the {@link Inventory}'s storage contents in a single sweep.
+     * @param inventory The {@link Inventory} to count.
+     * @param prototype The {@link ItemStack} to match against. Its amount is ignored.
+     * @return The amount of matching items.
+     */
+    public static int countSimilar(@NotNull Inventory inventory, @NotNull ItemStack prototype) {
+        int count = 0;
+
+        for(ItemStack itemStack : inventory.getStorageContents()) {
+            if(itemStack != null && itemStack.isSimilar(prototype)) count += itemStack.getAmount();
+        }
+
+        return count;
+    }
+
+    /**
+     * Remove the amount of items similar to the provided {@link ItemStack} from the {@link Inventory}'s storage contents.
+     * The contents are swept once to find and count the matching slots. Nothing is removed if the {@link Inventory} does not contain enough.
+     * @param inventory The {@link Inventory} to remove items from.
+     * @param prototype The {@link ItemStack} to match against. Its amount is ignored.
+     * @param amount The amount to remove.
+     * @return The amount of matching items left after removing or -1 if the {@link Inventory} does not contain enough.
+     */
+    public static int removeSimilar(@NotNull Inventory inventory, @NotNull ItemStack prototype, int amount) {
+        ItemStack[] contents = inventory.getStorageContents();
+        int[] matchingSlots = new int[contents.length];
+        int matchingCount = 0;
+        int found = 0;
+
+        for(int slot = 0; slot < contents.length; slot++) {
+            ItemStack itemStack = contents[slot];
+            if(itemStack == null || !itemStack.isSimilar(prototype)) continue;
+
+            matchingSlots[matchingCount++] = slot;
+            found += itemStack.getAmount();
+        }
+
+        if(found < amount) return -1;
+        if(amount <= 0) return found;
+
+        removeFromSlots(inventory, Arrays.copyOf(matchingSlots, matchingCount), prototype, amount);
+        return found - amount;
+    }
+}